@@ -10,6 +10,7 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.convert.FromString;
 import org.joda.convert.ToString;
@@ -275,6 +276,10 @@ public final class Currency
    * The cached hash code.
    */
   private final transient int cachedHashCode;
+  /**
+   * The registry index, a small integer unique to the currency code, used to index arrays of amounts.
+   */
+  private final transient int registryIndex;
 
   //-------------------------------------------------------------------------
   /**
@@ -352,6 +357,7 @@ public final class Currency
     this.triangulationCurrency = triangulationCurrency;
     // total universe is (26 * 26 * 26) codes, which can provide a unique hash code
     this.cachedHashCode = ((code.charAt(0) - 64) << 16) + ((code.charAt(1) - 64) << 8) + (code.charAt(2) - 64);
+    this.registryIndex = Registry.index(code);
   }
 
   /**
@@ -401,6 +407,19 @@ public final class Currency
     return Currency.of(triangulationCurrency);
   }
 
+  /**
+   * Gets the registry index of the currency.
+   * <p>
+   * The registry index is a small non-negative integer, unique to the currency code,
+   * assigned in the order in which the currencies are created.
+   * It allows amounts to be held in arrays indexed by currency, see {@link MutableMultiCurrencyAmount}.
+   * 
+   * @return the registry index
+   */
+  int getRegistryIndex() {
+    return registryIndex;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Compares this currency to another.
@@ -463,4 +482,26 @@ public final class Currency
     return code;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The registry of indices.
+   * <p>
+   * This is a holder class, as the currencies are created during the initialization of {@code Currency}.
+   */
+  private static final class Registry {
+    /**
+     * The next index to assign.
+     */
+    private static final AtomicInteger NEXT = new AtomicInteger();
+    /**
+     * The indices, keyed by currency code.
+     */
+    private static final ConcurrentMap<String, Integer> INDICES = new ConcurrentHashMap<>();
+
+    // gets the index of the currency code, assigning the next index if necessary
+    private static int index(String code) {
+      return INDICES.computeIfAbsent(code, c -> NEXT.getAndIncrement());
+    }
+  }
+
 }
@@ -162,18 +162,15 @@ public final class MultiCurrencyAmount
    * @return the collector
    */
   public static Collector<CurrencyAmount, ?, MultiCurrencyAmount> toMultiCurrencyAmount() {
-    return Collector.<CurrencyAmount, Map<Currency, CurrencyAmount>, MultiCurrencyAmount>of(
-        // accumulate into a map
-        HashMap::new,
-        // merge two CurrencyAmounts if same currency
-        (map, ca) -> map.merge(ArgChecker.notNull(ca, "amount").getCurrency(), ca, CurrencyAmount::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmount::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmount, MutableMultiCurrencyAmount, MultiCurrencyAmount>of(
+        // accumulate into a mutable amount, keyed by the registry index of the currency
+        MutableMultiCurrencyAmount::new,
+        // add the amount, merging if same currency
+        (mutable, ca) -> mutable.add(ArgChecker.notNull(ca, "amount")),
+        // combine two mutable amounts
+        MutableMultiCurrencyAmount::addAll,
         // convert to MultiCurrencyAmount
-        map -> new MultiCurrencyAmount(ImmutableSortedSet.copyOf(map.values())),
+        MutableMultiCurrencyAmount::toImmutable,
         UNORDERED);
   }
 
@@ -193,6 +190,18 @@ public final class MultiCurrencyAmount
         MultiCurrencyAmount::new);
   }
 
+  /**
+   * Obtains an instance from a set of amounts where each amount has a different currency.
+   * <p>
+   * This is used by {@link MutableMultiCurrencyAmount} and does not validate the input.
+   * 
+   * @param amounts  the set of amounts, each amount having a different currency
+   * @return the amount
+   */
+  static MultiCurrencyAmount ofUnique(ImmutableSortedSet<CurrencyAmount> amounts) {
+    return new MultiCurrencyAmount(amounts);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance where the input is already validated.
@@ -313,7 +322,7 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(CurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), Stream.of(amountToAdd)).collect(toMultiCurrencyAmount());
+    return new MutableMultiCurrencyAmount().add(this).add(amountToAdd).toImmutable();
   }
 
   /**
@@ -331,7 +340,7 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(MultiCurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), amountToAdd.stream()).collect(toMultiCurrencyAmount());
+    return new MutableMultiCurrencyAmount().add(this).add(amountToAdd).toImmutable();
   }
 
   //-------------------------------------------------------------------------
@@ -7,11 +7,9 @@ package com.opengamma.strata.basics.currency;
 
 import static java.util.stream.Collector.Characteristics.UNORDERED;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -40,7 +38,6 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Sets;
 import com.opengamma.strata.collect.Guavate;
-import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -86,16 +83,11 @@ public final class MultiCurrencyAmountArray
    */
   public static MultiCurrencyAmountArray of(List<MultiCurrencyAmount> amounts) {
     int size = amounts.size();
-    HashMap<Currency, double[]> valueMap = new HashMap<>();
+    MutableMultiCurrencyAmountArray mutable = new MutableMultiCurrencyAmountArray(size);
     for (int i = 0; i < size; i++) {
-      MultiCurrencyAmount multiCurrencyAmount = amounts.get(i);
-      for (CurrencyAmount currencyAmount : multiCurrencyAmount.getAmounts()) {
-        double[] currencyValues = valueMap.computeIfAbsent(currencyAmount.getCurrency(), ccy -> new double[size]);
-        currencyValues[i] = currencyAmount.getAmount();
-      }
+      mutable.add(i, amounts.get(i));
     }
-    Map<Currency, DoubleArray> doubleArrayMap = MapStream.of(valueMap).mapValues(v -> DoubleArray.ofUnsafe(v)).toMap();
-    return new MultiCurrencyAmountArray(size, doubleArrayMap);
+    return mutable.toImmutable();
   }
 
   /**
@@ -109,15 +101,11 @@ public final class MultiCurrencyAmountArray
    * @throws IllegalArgumentException is size is zero or less
    */
   public static MultiCurrencyAmountArray of(int size, IntFunction<MultiCurrencyAmount> valueFunction) {
-    Map<Currency, double[]> map = new HashMap<>();
+    MutableMultiCurrencyAmountArray mutable = new MutableMultiCurrencyAmountArray(size);
     for (int i = 0; i < size; i++) {
-      MultiCurrencyAmount mca = valueFunction.apply(i);
-      for (CurrencyAmount ca : mca.getAmounts()) {
-        double[] array = map.computeIfAbsent(ca.getCurrency(), c -> new double[size]);
-        array[i] = ca.getAmount();
-      }
+      mutable.add(i, valueFunction.apply(i));
     }
-    return new MultiCurrencyAmountArray(size, MapStream.of(map).mapValues(array -> DoubleArray.ofUnsafe(array)).toMap());
+    return mutable.toImmutable();
   }
 
   /**
@@ -139,6 +127,19 @@ public final class MultiCurrencyAmountArray
     return new MultiCurrencyAmountArray(size, values);
   }
 
+  /**
+   * Obtains an instance from the size and a map of amounts where each array has that size.
+   * <p>
+   * This is used by {@link MutableMultiCurrencyAmountArray} and does not validate the input.
+   *
+   * @param size  the size
+   * @param values  map of currencies to values, each array having the size
+   * @return an instance containing the values from the map
+   */
+  static MultiCurrencyAmountArray ofUnique(int size, Map<Currency, DoubleArray> values) {
+    return new MultiCurrencyAmountArray(size, values);
+  }
+
   /**
    * Checks the size of the arrays are the same and throws an exception if not.
    *
@@ -255,9 +256,7 @@ public final class MultiCurrencyAmountArray
       throw new IllegalArgumentException(Messages.format(
           "Sizes must be equal, this size is {}, other size is {}", size, other.size()));
     }
-    Map<Currency, DoubleArray> addedValues = Stream.concat(values.entrySet().stream(), other.values.entrySet().stream())
-        .collect(toMap(e -> e.getKey(), e -> e.getValue(), (arr1, arr2) -> arr1.plus(arr2)));
-    return MultiCurrencyAmountArray.of(addedValues);
+    return new MutableMultiCurrencyAmountArray(size).add(this).add(other).toImmutable();
   }
 
   /**
@@ -357,20 +356,14 @@ public final class MultiCurrencyAmountArray
    * @return the collector
    */
   public static Collector<CurrencyAmountArray, ?, MultiCurrencyAmountArray> toMultiCurrencyAmountArray() {
-    return Collector.<CurrencyAmountArray, Map<Currency, CurrencyAmountArray>, MultiCurrencyAmountArray>of(
-        // accumulate into a map
-        HashMap::new,
-        (map, ca) -> map.merge(ca.getCurrency(), ca, CurrencyAmountArray::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmountArray::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmountArray, MutableMultiCurrencyAmountArray, MultiCurrencyAmountArray>of(
+        // accumulate into a mutable array, keyed by the registry index of the currency
+        MutableMultiCurrencyAmountArray::new,
+        MutableMultiCurrencyAmountArray::add,
+        // combine two mutable arrays
+        MutableMultiCurrencyAmountArray::addAll,
         // convert to MultiCurrencyAmountArray
-        map -> {
-          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(caa -> caa.getValues()).toMap();
-          return MultiCurrencyAmountArray.of(currencyArrayMap);
-        },
+        MutableMultiCurrencyAmountArray::toImmutable,
         UNORDERED);
   }
 
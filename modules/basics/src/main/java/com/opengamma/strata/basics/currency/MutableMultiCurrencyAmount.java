@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Mutable builder for the sum of amounts in multiple currencies.
+ * <p>
+ * The amounts are held in a small open-addressing table of primitive arrays, keyed by the registry index
+ * of the currency, which is sized to the number of currencies present rather than to all the currencies.
+ * Adding an amount is thus an array access, with no object created.
+ * <p>
+ * A currency is present once an amount has been added in that currency, even if the sum is zero,
+ * as in {@link MultiCurrencyAmount#total(Iterable)}.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create an immutable {@link MultiCurrencyAmount} instance.
+ */
+public final class MutableMultiCurrencyAmount {
+
+  /**
+   * The initial capacity of the table, a power of two.
+   */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /**
+   * The currencies of the table, null if the slot is empty.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts of the table.
+   */
+  private double[] amounts = new double[INITIAL_CAPACITY];
+  /**
+   * The number of currencies present.
+   */
+  private int size;
+
+  /**
+   * Creates an empty instance.
+   */
+  public MutableMultiCurrencyAmount() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of currencies present.
+   *
+   * @return the number of currencies
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the amount in the specified currency, zero if the currency is not present.
+   *
+   * @param currency  the currency
+   * @return the amount
+   */
+  public double getAmount(Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    int slot = slot(currencies, currency);
+    return currencies[slot] == null ? 0d : amounts[slot];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount in the specified currency.
+   *
+   * @param currency  the currency
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MutableMultiCurrencyAmount add(Currency currency, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    int slot = slot(currencies, currency);
+    if (currencies[slot] == null) {
+      if (2 * (size + 1) > currencies.length) {
+        grow();
+        slot = slot(currencies, currency);
+      }
+      currencies[slot] = currency;
+      size++;
+    }
+    amounts[slot] += amount;
+    return this;
+  }
+
+  /**
+   * Adds an amount.
+   *
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MutableMultiCurrencyAmount add(CurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    return add(amount.getCurrency(), amount.getAmount());
+  }
+
+  /**
+   * Adds the amounts in multiple currencies.
+   *
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MutableMultiCurrencyAmount add(MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      add(currencyAmount.getCurrency(), currencyAmount.getAmount());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the amounts of another builder.
+   *
+   * @param other  the other builder
+   * @return this, for chaining
+   */
+  public MutableMultiCurrencyAmount addAll(MutableMultiCurrencyAmount other) {
+    ArgChecker.notNull(other, "other");
+    for (int slot = 0; slot < other.currencies.length; slot++) {
+      if (other.currencies[slot] != null) {
+        add(other.currencies[slot], other.amounts[slot]);
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an immutable version of this object.
+   *
+   * @return the immutable amount
+   */
+  public MultiCurrencyAmount toImmutable() {
+    if (size == 0) {
+      return MultiCurrencyAmount.empty();
+    }
+    CurrencyAmount[] result = new CurrencyAmount[size];
+    int count = 0;
+    for (int slot = 0; slot < currencies.length; slot++) {
+      if (currencies[slot] != null) {
+        result[count++] = CurrencyAmount.of(currencies[slot], amounts[slot]);
+      }
+    }
+    return MultiCurrencyAmount.ofUnique(ImmutableSortedSet.copyOf(result));
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the slot of the currency, or the empty slot where it would be added, using linear probing
+  private static int slot(Currency[] table, Currency currency) {
+    int mask = table.length - 1;
+    int slot = currency.getRegistryIndex() & mask;
+    while (table[slot] != null && table[slot].getRegistryIndex() != currency.getRegistryIndex()) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  // doubles the capacity of the table
+  private void grow() {
+    Currency[] oldCurrencies = currencies;
+    double[] oldAmounts = amounts;
+    currencies = new Currency[oldCurrencies.length * 2];
+    amounts = new double[oldCurrencies.length * 2];
+    for (int oldSlot = 0; oldSlot < oldCurrencies.length; oldSlot++) {
+      if (oldCurrencies[oldSlot] != null) {
+        int slot = slot(currencies, oldCurrencies[oldSlot]);
+        currencies[slot] = oldCurrencies[oldSlot];
+        amounts[slot] = oldAmounts[oldSlot];
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MutableMultiCurrencyAmount" + toImmutable().getAmounts();
+  }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Mutable builder for the sum of arrays of amounts in multiple currencies.
+ * <p>
+ * The amounts of each currency are held in a primitive array, one element for each index of the array.
+ * The arrays are held in a small open-addressing table keyed by the registry index of the currency,
+ * as in {@link MutableMultiCurrencyAmount}, so that adding an array is a loop over primitive arrays,
+ * with no intermediate array created.
+ * <p>
+ * The size of the arrays is either specified on creation, or set by the first array added.
+ * All the arrays added must have that size.
+ * A currency is present once an amount has been added in that currency.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create an immutable {@link MultiCurrencyAmountArray} instance.
+ */
+public final class MutableMultiCurrencyAmountArray {
+
+  /**
+   * The initial capacity of the table, a power of two.
+   */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /**
+   * The size of the arrays, negative until known.
+   */
+  private int size;
+  /**
+   * The currencies of the table, null if the slot is empty.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts of the table, one array of the size for each currency present.
+   */
+  private double[][] amounts = new double[INITIAL_CAPACITY][];
+  /**
+   * The number of currencies present.
+   */
+  private int currencyCount;
+
+  /**
+   * Creates an empty instance, where the size is set by the first array added.
+   * <p>
+   * If nothing is added, the size of the immutable array is zero.
+   */
+  public MutableMultiCurrencyAmountArray() {
+    this.size = -1;
+  }
+
+  /**
+   * Creates an empty instance of the specified size.
+   *
+   * @param size  the size of the arrays
+   */
+  public MutableMultiCurrencyAmountArray(int size) {
+    this.size = ArgChecker.notNegative(size, "size");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the size of the arrays, zero if not yet known.
+   *
+   * @return the size
+   */
+  public int size() {
+    return Math.max(size, 0);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount in the specified currency at the specified index.
+   *
+   * @param currency  the currency
+   * @param index  the index of the array
+   * @param amount  the amount to add
+   * @return this, for chaining
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public MutableMultiCurrencyAmountArray add(Currency currency, int index, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index invalid: " + index);
+    }
+    amounts(currency)[index] += amount;
+    return this;
+  }
+
+  /**
+   * Adds the amounts in multiple currencies at the specified index.
+   *
+   * @param index  the index of the array
+   * @param amount  the amount to add
+   * @return this, for chaining
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public MutableMultiCurrencyAmountArray add(int index, MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      add(currencyAmount.getCurrency(), index, currencyAmount.getAmount());
+    }
+    return this;
+  }
+
+  /**
+   * Adds an array of amounts in the specified currency.
+   *
+   * @param currency  the currency
+   * @param values  the amounts to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the values is not the size of this array
+   */
+  public MutableMultiCurrencyAmountArray add(Currency currency, DoubleArray values) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(values, "values");
+    checkSize(values.size());
+    double[] array = amounts(currency);
+    for (int i = 0; i < size; i++) {
+      array[i] += values.get(i);
+    }
+    return this;
+  }
+
+  /**
+   * Adds an array of amounts.
+   *
+   * @param amounts  the amounts to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the amounts is not the size of this array
+   */
+  public MutableMultiCurrencyAmountArray add(CurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    return add(amounts.getCurrency(), amounts.getValues());
+  }
+
+  /**
+   * Adds an array of amounts in multiple currencies.
+   *
+   * @param amounts  the amounts to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the amounts is not the size of this array
+   */
+  public MutableMultiCurrencyAmountArray add(MultiCurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    checkSize(amounts.size());
+    for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
+      add(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the amounts of another builder.
+   *
+   * @param other  the other builder
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the other builder is not the size of this array
+   */
+  public MutableMultiCurrencyAmountArray addAll(MutableMultiCurrencyAmountArray other) {
+    ArgChecker.notNull(other, "other");
+    if (other.size < 0) {
+      return this;
+    }
+    checkSize(other.size);
+    for (int slot = 0; slot < other.currencies.length; slot++) {
+      if (other.currencies[slot] != null) {
+        double[] array = amounts(other.currencies[slot]);
+        double[] otherArray = other.amounts[slot];
+        for (int i = 0; i < size; i++) {
+          array[i] += otherArray[i];
+        }
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an immutable version of this object.
+   * <p>
+   * The amounts are copied, so this builder may continue to be used.
+   *
+   * @return the immutable array
+   */
+  public MultiCurrencyAmountArray toImmutable() {
+    Map<Currency, DoubleArray> values = new HashMap<>();
+    for (int slot = 0; slot < currencies.length; slot++) {
+      if (currencies[slot] != null) {
+        values.put(currencies[slot], DoubleArray.copyOf(amounts[slot]));
+      }
+    }
+    return MultiCurrencyAmountArray.ofUnique(size(), values);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the size, setting it if not yet known
+  private void checkSize(int otherSize) {
+    if (size < 0) {
+      size = otherSize;
+    } else if (otherSize != size) {
+      throw new IllegalArgumentException(Messages.format(
+          "Sizes must be equal, this size is {}, other size is {}", size, otherSize));
+    }
+  }
+
+  // gets the amounts of the currency, adding the currency if necessary
+  private double[] amounts(Currency currency) {
+    int slot = slot(currencies, currency);
+    if (currencies[slot] == null) {
+      if (2 * (currencyCount + 1) > currencies.length) {
+        grow();
+        slot = slot(currencies, currency);
+      }
+      currencies[slot] = currency;
+      amounts[slot] = new double[size];
+      currencyCount++;
+    }
+    return amounts[slot];
+  }
+
+  // finds the slot of the currency, or the empty slot where it would be added, using linear probing
+  private static int slot(Currency[] table, Currency currency) {
+    int mask = table.length - 1;
+    int slot = currency.getRegistryIndex() & mask;
+    while (table[slot] != null && table[slot].getRegistryIndex() != currency.getRegistryIndex()) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  // doubles the capacity of the table
+  private void grow() {
+    Currency[] oldCurrencies = currencies;
+    double[][] oldAmounts = amounts;
+    currencies = new Currency[oldCurrencies.length * 2];
+    amounts = new double[oldCurrencies.length * 2][];
+    for (int oldSlot = 0; oldSlot < oldCurrencies.length; oldSlot++) {
+      if (oldCurrencies[oldSlot] != null) {
+        int slot = slot(currencies, oldCurrencies[oldSlot]);
+        currencies[slot] = oldCurrencies[oldSlot];
+        amounts[slot] = oldAmounts[oldSlot];
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MutableMultiCurrencyAmountArray" + toImmutable().getValues();
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.AUD;
+import static com.opengamma.strata.basics.currency.Currency.CAD;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link MutableMultiCurrencyAmountArray}.
+ */
+@Test
+public class MutableMultiCurrencyAmountArrayTest {
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    MutableMultiCurrencyAmountArray test = new MutableMultiCurrencyAmountArray();
+    assertEquals(test.size(), 0);
+    assertEquals(test.toImmutable(), MultiCurrencyAmountArray.of(ImmutableMap.of()));
+  }
+
+  public void test_empty_size() {
+    MultiCurrencyAmountArray test = new MutableMultiCurrencyAmountArray(3).toImmutable();
+    assertEquals(test.size(), 3);
+    assertEquals(test.getCurrencies().size(), 0);
+    assertThrowsIllegalArg(() -> new MutableMultiCurrencyAmountArray(-1));
+  }
+
+  public void test_add() {
+    MutableMultiCurrencyAmountArray test = new MutableMultiCurrencyAmountArray()
+        .add(GBP, DoubleArray.of(1, 2, 3))
+        .add(CurrencyAmountArray.of(AUD, DoubleArray.of(4, 5, 6)))
+        .add(MultiCurrencyAmountArray.of(ImmutableMap.of(
+            GBP, DoubleArray.of(10, 20, 30),
+            CAD, DoubleArray.of(7, 8, 9))))
+        .add(1, MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 100), CurrencyAmount.of(CAD, 200)))
+        .add(AUD, 2, 300);
+    assertEquals(test.size(), 3);
+    assertEquals(test.toImmutable(), MultiCurrencyAmountArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(11, 122, 33),
+        AUD, DoubleArray.of(4, 5, 306),
+        CAD, DoubleArray.of(7, 208, 9))));
+  }
+
+  public void test_add_sizeMismatch() {
+    MutableMultiCurrencyAmountArray test = new MutableMultiCurrencyAmountArray(2);
+    assertThrowsIllegalArg(() -> test.add(GBP, DoubleArray.of(1, 2, 3)));
+    assertThrowsIllegalArg(() -> test.add(CurrencyAmountArray.of(GBP, DoubleArray.of(1))));
+    assertThrowsIllegalArg(() -> test.addAll(new MutableMultiCurrencyAmountArray(3)));
+    assertThrows(() -> test.add(GBP, 2, 1d), IndexOutOfBoundsException.class);
+    assertThrows(() -> new MutableMultiCurrencyAmountArray().add(GBP, 0, 1d), IndexOutOfBoundsException.class);
+  }
+
+  public void test_addAll() {
+    MutableMultiCurrencyAmountArray base = new MutableMultiCurrencyAmountArray()
+        .add(GBP, DoubleArray.of(1, 2))
+        .add(AUD, DoubleArray.of(3, 4));
+    MutableMultiCurrencyAmountArray other = new MutableMultiCurrencyAmountArray(2)
+        .add(GBP, DoubleArray.of(10, 20))
+        .add(CAD, DoubleArray.of(30, 40));
+    base.addAll(other).addAll(new MutableMultiCurrencyAmountArray());
+    assertEquals(base.toImmutable(), MultiCurrencyAmountArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(11, 22),
+        AUD, DoubleArray.of(3, 4),
+        CAD, DoubleArray.of(30, 40))));
+    MutableMultiCurrencyAmountArray unsized = new MutableMultiCurrencyAmountArray().addAll(other);
+    assertEquals(unsized.toImmutable(), other.toImmutable());
+  }
+
+  public void test_toImmutable_independent() {
+    MutableMultiCurrencyAmountArray test = new MutableMultiCurrencyAmountArray().add(GBP, DoubleArray.of(1, 2));
+    MultiCurrencyAmountArray immutable = test.toImmutable();
+    test.add(GBP, DoubleArray.of(1, 2));
+    assertEquals(immutable.getValues(GBP), DoubleArray.of(1, 2));
+    assertEquals(test.toImmutable().getValues(GBP), DoubleArray.of(2, 4));
+  }
+
+  public void test_toString() {
+    assertEquals(
+        new MutableMultiCurrencyAmountArray().add(GBP, DoubleArray.of(1, 2)).toString(),
+        "MutableMultiCurrencyAmountArray{GBP=[1.0, 2.0]}");
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.AUD;
+import static com.opengamma.strata.basics.currency.Currency.CAD;
+import static com.opengamma.strata.basics.currency.Currency.CHF;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link MutableMultiCurrencyAmount}.
+ */
+@Test
+public class MutableMultiCurrencyAmountTest {
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    MutableMultiCurrencyAmount test = new MutableMultiCurrencyAmount();
+    assertEquals(test.size(), 0);
+    assertEquals(test.getAmount(GBP), 0d);
+    assertEquals(test.toImmutable(), MultiCurrencyAmount.empty());
+  }
+
+  public void test_add() {
+    MutableMultiCurrencyAmount test = new MutableMultiCurrencyAmount()
+        .add(GBP, 1d)
+        .add(CurrencyAmount.of(AUD, 2d))
+        .add(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 3d), CurrencyAmount.of(CAD, -4d)))
+        .add(CHF, 0d);
+    assertEquals(test.size(), 4);
+    assertEquals(test.getAmount(GBP), 4d);
+    assertEquals(test.getAmount(AUD), 2d);
+    assertEquals(test.getAmount(CAD), -4d);
+    assertEquals(test.getAmount(CHF), 0d);
+    assertEquals(test.getAmount(Currency.USD), 0d);
+    assertEquals(test.toImmutable(), MultiCurrencyAmount.of(
+        CurrencyAmount.of(AUD, 2d),
+        CurrencyAmount.of(CAD, -4d),
+        CurrencyAmount.of(CHF, 0d),
+        CurrencyAmount.of(GBP, 4d)));
+  }
+
+  public void test_add_null() {
+    MutableMultiCurrencyAmount test = new MutableMultiCurrencyAmount();
+    assertThrowsIllegalArg(() -> test.add(null, 1d));
+    assertThrowsIllegalArg(() -> test.add((CurrencyAmount) null));
+    assertThrowsIllegalArg(() -> test.add((MultiCurrencyAmount) null));
+    assertThrowsIllegalArg(() -> test.addAll(null));
+  }
+
+  public void test_add_manyCurrencies() {
+    // grows the table beyond its initial capacity
+    MutableMultiCurrencyAmount test = new MutableMultiCurrencyAmount();
+    Set<Currency> currencies = new HashSet<>(Currency.getAvailableCurrencies());
+    for (Currency currency : currencies) {
+      test.add(currency, currency.getMinorUnitDigits() + 1d);
+      test.add(currency, 1d);
+    }
+    assertEquals(test.size(), currencies.size());
+    for (Currency currency : currencies) {
+      assertEquals(test.getAmount(currency), currency.getMinorUnitDigits() + 2d);
+    }
+    assertEquals(test.toImmutable().getCurrencies(), currencies);
+  }
+
+  public void test_addAll() {
+    MutableMultiCurrencyAmount base = new MutableMultiCurrencyAmount().add(GBP, 1d).add(AUD, 2d);
+    MutableMultiCurrencyAmount other = new MutableMultiCurrencyAmount().add(GBP, 3d).add(CAD, 4d);
+    MultiCurrencyAmount otherImmutable = other.toImmutable();
+    base.addAll(other);
+    assertEquals(base.toImmutable(), MultiCurrencyAmount.of(
+        CurrencyAmount.of(AUD, 2d),
+        CurrencyAmount.of(CAD, 4d),
+        CurrencyAmount.of(GBP, 4d)));
+    assertEquals(other.toImmutable(), otherImmutable);
+  }
+
+  public void test_toImmutable_independent() {
+    MutableMultiCurrencyAmount test = new MutableMultiCurrencyAmount().add(GBP, 1d);
+    MultiCurrencyAmount immutable = test.toImmutable();
+    test.add(GBP, 1d);
+    assertEquals(immutable, MultiCurrencyAmount.of(GBP, 1d));
+    assertNotEquals(test.toImmutable(), immutable);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_registryIndex() {
+    assertEquals(Currency.of("GBP").getRegistryIndex(), GBP.getRegistryIndex());
+    assertNotEquals(GBP.getRegistryIndex(), AUD.getRegistryIndex());
+  }
+
+  public void test_toString() {
+    assertEquals(new MutableMultiCurrencyAmount().add(GBP, 1d).toString(), "MutableMultiCurrencyAmount[GBP 1]");
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The aggregated results of a set of calculations, one row for each group.
+ * <p>
+ * The results are held in the form of {@link Results}, with one row for each grouping key,
+ * in the order of the keys, and one column for each aggregated column.
+ * The result of a group and column is a failure if any of the results of the group failed.
+ *
+ * @param <K>  the type of the grouping key
+ */
+public final class AggregatedResults<K> {
+
+  /**
+   * The grouping keys, one for each row of the results.
+   */
+  private final ImmutableList<K> keys;
+  /**
+   * The aggregated results.
+   */
+  private final Results results;
+  /**
+   * The row index of each grouping key.
+   */
+  private final ImmutableMap<K, Integer> rowIndices;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the grouping keys and the aggregated results.
+   * <p>
+   * The cells are in row-major order, with one row for each grouping key.
+   *
+   * @param <K>  the type of the grouping key
+   * @param keys  the grouping keys, one for each row
+   * @param columns  the headers of the aggregated columns
+   * @param cells  the aggregated results, one for each row and column
+   * @return the aggregated results
+   * @throws IllegalArgumentException if the keys are not unique or the number of cells is invalid
+   */
+  public static <K> AggregatedResults<K> of(
+      List<? extends K> keys,
+      List<ColumnHeader> columns,
+      List<? extends Result<?>> cells) {
+
+    ArgChecker.noNulls(keys, "keys");
+    ArgChecker.notNull(columns, "columns");
+    ArgChecker.notNull(cells, "cells");
+    ArgChecker.isTrue(
+        cells.size() == keys.size() * columns.size(),
+        "The number of cells ({}) must equal the number of keys ({}) multiplied by the number of columns ({})",
+        cells.size(), keys.size(), columns.size());
+    return new AggregatedResults<>(ImmutableList.copyOf(keys), Results.of(columns, cells));
+  }
+
+  // creates an instance
+  private AggregatedResults(ImmutableList<K> keys, Results results) {
+    this.keys = keys;
+    this.results = results;
+    ImmutableMap.Builder<K, Integer> builder = ImmutableMap.builder();
+    for (int i = 0; i < keys.size(); i++) {
+      builder.put(keys.get(i), i);
+    }
+    this.rowIndices = builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the grouping keys, one for each row of the results.
+   *
+   * @return the grouping keys
+   */
+  public ImmutableList<K> getKeys() {
+    return keys;
+  }
+
+  /**
+   * Gets the aggregated results, one row for each grouping key.
+   *
+   * @return the results
+   */
+  public Results getResults() {
+    return results;
+  }
+
+  /**
+   * Gets the aggregated result of a group and column.
+   *
+   * @param key  the grouping key
+   * @param columnName  the name of the column
+   * @return the aggregated result
+   * @throws IllegalArgumentException if the key or the column is not found
+   */
+  public Result<?> get(K key, ColumnName columnName) {
+    return results.get(rowIndex(key), columnName);
+  }
+
+  /**
+   * Gets the aggregated result of a group and column, ensuring the result is of the specified type.
+   *
+   * @param <T>  the result type
+   * @param key  the grouping key
+   * @param columnName  the name of the column
+   * @param type  the result type
+   * @return the aggregated result
+   * @throws IllegalArgumentException if the key or the column is not found
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(K key, ColumnName columnName, Class<T> type) {
+    return results.get(rowIndex(key), columnName, type);
+  }
+
+  // finds the row of the key
+  private int rowIndex(K key) {
+    Integer rowIndex = rowIndices.get(key);
+    ArgChecker.isTrue(rowIndex != null, "Grouping key not found: {}", key);
+    return rowIndex;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof AggregatedResults) {
+      AggregatedResults<?> other = (AggregatedResults<?>) obj;
+      return keys.equals(other.keys) && results.equals(other.results);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keys, results);
+  }
+
+  @Override
+  public String toString() {
+    return "AggregatedResults[keys=" + keys + ", results=" + results + "]";
+  }
+
+}
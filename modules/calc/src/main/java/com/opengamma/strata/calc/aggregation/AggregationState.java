@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The mutable state of an aggregation, holding the accumulated value of each group and aggregated column.
+ * <p>
+ * The groups are held in the order in which they are first encountered.
+ * When two states are combined, the groups of this state come first, so that the order is preserved
+ * by a parallel reduction.
+ * <p>
+ * This is mutable state that is not intended for use in multiple threads.
+ *
+ * @param <K>  the type of the grouping key
+ */
+final class AggregationState<K> {
+
+  /**
+   * The function providing the grouping key of a target.
+   */
+  private final Function<? super CalculationTarget, ? extends K> groupingFunction;
+  /**
+   * The collectors, one for each aggregated column.
+   */
+  private final List<Collector<Object, Object, Object>> collectors;
+  /**
+   * The accumulated cells of each group, one for each aggregated column, keyed by grouping key.
+   */
+  private final Map<K, Cell[]> groups = new LinkedHashMap<>();
+
+  // creates an instance
+  AggregationState(
+      Function<? super CalculationTarget, ? extends K> groupingFunction,
+      List<Collector<Object, Object, Object>> collectors) {
+
+    this.groupingFunction = groupingFunction;
+    this.collectors = collectors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the grouping key of a target.
+   *
+   * @param target  the target
+   * @return the grouping key
+   * @throws IllegalArgumentException if the grouping function returns null
+   */
+  K key(CalculationTarget target) {
+    K key = groupingFunction.apply(target);
+    if (key == null) {
+      throw new IllegalArgumentException(Messages.format("Grouping function returned null for target {}", target));
+    }
+    return key;
+  }
+
+  /**
+   * Adds a result to the group of the key, creating the group if necessary.
+   *
+   * @param key  the grouping key
+   * @param column  the index of the aggregated column
+   * @param result  the result to add
+   */
+  void add(K key, int column, Result<?> result) {
+    cells(key)[column].add(result);
+  }
+
+  /**
+   * Adds the groups of another state, mutating this state.
+   *
+   * @param other  the other state
+   */
+  void combine(AggregationState<K> other) {
+    for (Map.Entry<K, Cell[]> entry : other.groups.entrySet()) {
+      Cell[] cells = groups.get(entry.getKey());
+      if (cells == null) {
+        groups.put(entry.getKey(), entry.getValue());
+      } else {
+        for (int column = 0; column < cells.length; column++) {
+          cells[column].combine(entry.getValue()[column]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the aggregated results from the current state.
+   * <p>
+   * The state is not modified, provided the finishers of the collectors do not modify their containers.
+   *
+   * @param headers  the headers of the aggregated columns
+   * @return the aggregated results
+   */
+  AggregatedResults<K> toAggregatedResults(List<ColumnHeader> headers) {
+    List<K> keys = new ArrayList<>(groups.size());
+    List<Result<?>> results = new ArrayList<>(groups.size() * collectors.size());
+    for (Map.Entry<K, Cell[]> entry : groups.entrySet()) {
+      keys.add(entry.getKey());
+      for (Cell cell : entry.getValue()) {
+        results.add(cell.result());
+      }
+    }
+    return AggregatedResults.of(keys, headers, results);
+  }
+
+  // gets the cells of the group, creating the group if necessary
+  private Cell[] cells(K key) {
+    Cell[] cells = groups.get(key);
+    if (cells == null) {
+      cells = new Cell[collectors.size()];
+      for (int column = 0; column < cells.length; column++) {
+        cells[column] = new Cell(collectors.get(column));
+      }
+      groups.put(key, cells);
+    }
+    return cells;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The accumulated value of a group and column, and the failures of the results.
+   */
+  private static final class Cell {
+    /**
+     * The collector.
+     */
+    private final Collector<Object, Object, Object> collector;
+    /**
+     * The mutable container of the collector.
+     */
+    private Object container;
+    /**
+     * The failures of the results, and of their accumulation.
+     */
+    private final Set<FailureItem> failures = new LinkedHashSet<>();
+
+    // creates an instance
+    private Cell(Collector<Object, Object, Object> collector) {
+      this.collector = collector;
+      this.container = collector.supplier().get();
+    }
+
+    // adds a result, recording a failure if the result is a failure or cannot be accumulated
+    private void add(Result<?> result) {
+      if (result.isFailure()) {
+        failures.addAll(result.getFailure().getItems());
+        return;
+      }
+      try {
+        collector.accumulator().accept(container, result.getValue());
+      } catch (RuntimeException ex) {
+        failures.add(FailureItem.of(
+            FailureReason.CALCULATION_FAILED, ex, "Unable to aggregate result: {}", ex.getMessage()));
+      }
+    }
+
+    // combines with another cell, mutating this cell
+    private void combine(Cell other) {
+      try {
+        container = collector.combiner().apply(container, other.container);
+      } catch (RuntimeException ex) {
+        failures.add(FailureItem.of(
+            FailureReason.CALCULATION_FAILED, ex, "Unable to aggregate result: {}", ex.getMessage()));
+      }
+      failures.addAll(other.failures);
+    }
+
+    // the result of the cell, a failure if any result failed
+    private Result<?> result() {
+      if (!failures.isEmpty()) {
+        return Result.failure(Failure.of(failures));
+      }
+      return Result.of(() -> collector.finisher().apply(container));
+    }
+  }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import static java.util.stream.Collector.Characteristics.UNORDERED;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collector;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MutableMultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MutableMultiCurrencyAmountArray;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Standard collectors used to aggregate the values of a column of results.
+ * <p>
+ * The values of a column are untyped, so each collector accepts an {@code Object}
+ * and throws {@link IllegalArgumentException} if the value is of an unsupported type,
+ * which {@link ResultsAggregator} reports as a failure of the group.
+ * <p>
+ * The collectors accumulate into mutable containers, such as {@link MutableMultiCurrencyAmount},
+ * so that adding a value creates no intermediate objects.
+ * The finishers do not modify the containers, as required by {@link ResultsAggregationListener#snapshot()}.
+ * <p>
+ * A single scenario calculation produces single values, such as {@link CurrencyAmount},
+ * while a multiple scenario calculation produces scenario arrays, such as {@link CurrencyScenarioArray}.
+ * Other types are supported by {@link #ofType(Class, Collector)} and {@link #scenarioArrays(Class, Collector)},
+ * for example the sum of sensitivities using {@code CurrencyParameterSensitivities.toCurrencyParameterSensitivities()}.
+ */
+public final class ResultCollectors {
+
+  // Private constructor because this only contains static helper methods.
+  private ResultCollectors() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a collector that sums the values of type {@link CurrencyAmount} or {@link MultiCurrencyAmount}.
+   *
+   * @return the collector
+   */
+  public static Collector<Object, ?, MultiCurrencyAmount> currencyAmounts() {
+    return Collector.<Object, MutableMultiCurrencyAmount, MultiCurrencyAmount>of(
+        MutableMultiCurrencyAmount::new,
+        (mutable, value) -> {
+          if (value instanceof CurrencyAmount) {
+            mutable.add((CurrencyAmount) value);
+          } else if (value instanceof MultiCurrencyAmount) {
+            mutable.add((MultiCurrencyAmount) value);
+          } else {
+            throw unsupported(value, CurrencyAmount.class, MultiCurrencyAmount.class);
+          }
+        },
+        MutableMultiCurrencyAmount::addAll,
+        MutableMultiCurrencyAmount::toImmutable,
+        UNORDERED);
+  }
+
+  /**
+   * Returns a collector that sums the values of type {@link Double}.
+   *
+   * @return the collector
+   */
+  public static Collector<Object, ?, Double> doubles() {
+    return Collector.<Object, double[], Double>of(
+        () -> new double[1],
+        (sum, value) -> {
+          if (!(value instanceof Double)) {
+            throw unsupported(value, Double.class);
+          }
+          sum[0] += (Double) value;
+        },
+        (sum1, sum2) -> {
+          sum1[0] += sum2[0];
+          return sum1;
+        },
+        sum -> sum[0],
+        UNORDERED);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a collector that sums the values of type {@link CurrencyScenarioArray} or
+   * {@link MultiCurrencyScenarioArray}, scenario by scenario.
+   * <p>
+   * The values must all have the same number of scenarios.
+   *
+   * @return the collector
+   */
+  public static Collector<Object, ?, MultiCurrencyScenarioArray> scenarioCurrencyAmounts() {
+    return Collector.<Object, MutableMultiCurrencyAmountArray, MultiCurrencyScenarioArray>of(
+        MutableMultiCurrencyAmountArray::new,
+        (mutable, value) -> {
+          if (value instanceof CurrencyScenarioArray) {
+            mutable.add(((CurrencyScenarioArray) value).getAmounts());
+          } else if (value instanceof MultiCurrencyScenarioArray) {
+            mutable.add(((MultiCurrencyScenarioArray) value).getAmounts());
+          } else {
+            throw unsupported(value, CurrencyScenarioArray.class, MultiCurrencyScenarioArray.class);
+          }
+        },
+        MutableMultiCurrencyAmountArray::addAll,
+        mutable -> MultiCurrencyScenarioArray.of(mutable.toImmutable()),
+        UNORDERED);
+  }
+
+  /**
+   * Returns a collector that sums the values of type {@link DoubleScenarioArray}, scenario by scenario.
+   * <p>
+   * The values must all have the same number of scenarios.
+   *
+   * @return the collector
+   */
+  public static Collector<Object, ?, DoubleScenarioArray> scenarioDoubles() {
+    return Collector.<Object, DoubleSums, DoubleScenarioArray>of(
+        DoubleSums::new,
+        (sums, value) -> {
+          if (!(value instanceof DoubleScenarioArray)) {
+            throw unsupported(value, DoubleScenarioArray.class);
+          }
+          sums.add(((DoubleScenarioArray) value).getValues().toArrayUnsafe());
+        },
+        (sums1, sums2) -> sums1.add(sums2.values),
+        sums -> DoubleScenarioArray.of(sums.values == null ? DoubleArray.EMPTY : DoubleArray.copyOf(sums.values)),
+        UNORDERED);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a collector that applies a typed collector to the values, which must be of the specified type.
+   * <p>
+   * For example, the sensitivities of a single scenario calculation may be summed
+   * using {@code ofType(CurrencyParameterSensitivities.class, toCurrencyParameterSensitivities())}.
+   *
+   * @param <T>  the type of the values
+   * @param <A>  the type of the mutable container
+   * @param <R>  the type of the aggregated value
+   * @param type  the type of the values
+   * @param collector  the typed collector
+   * @return the collector
+   */
+  public static <T, A, R> Collector<Object, A, R> ofType(Class<T> type, Collector<? super T, A, R> collector) {
+    return Collector.of(
+        collector.supplier(),
+        (container, value) -> collector.accumulator().accept(container, cast(type, value)),
+        collector.combiner(),
+        collector.finisher(),
+        collector.characteristics().toArray(new Collector.Characteristics[0]));
+  }
+
+  /**
+   * Returns a collector that applies a typed collector to the values of each scenario of a {@link ScenarioArray}.
+   * <p>
+   * The values must be scenario arrays with the same number of scenarios, the value of each scenario
+   * being of the specified type. For example, the sensitivities of a multiple scenario calculation may be summed
+   * using {@code scenarioArrays(CurrencyParameterSensitivities.class, toCurrencyParameterSensitivities())}.
+   *
+   * @param <T>  the type of the value of each scenario
+   * @param <A>  the type of the mutable container of each scenario
+   * @param <R>  the type of the aggregated value of each scenario
+   * @param type  the type of the value of each scenario
+   * @param collector  the typed collector
+   * @return the collector
+   */
+  public static <T, A, R> Collector<Object, ?, ScenarioArray<R>> scenarioArrays(
+      Class<T> type,
+      Collector<? super T, A, R> collector) {
+
+    return Collector.<Object, ScenarioContainers<A>, ScenarioArray<R>>of(
+        ScenarioContainers::new,
+        (containers, value) -> {
+          if (!(value instanceof ScenarioArray)) {
+            throw unsupported(value, ScenarioArray.class);
+          }
+          ScenarioArray<?> array = (ScenarioArray<?>) value;
+          List<A> list = containers.containers(collector, array.getScenarioCount());
+          for (int i = 0; i < list.size(); i++) {
+            collector.accumulator().accept(list.get(i), cast(type, array.get(i)));
+          }
+        },
+        (containers1, containers2) -> containers1.combine(collector, containers2),
+        containers -> containers.list == null ?
+            ScenarioArray.of(new ArrayList<>()) :
+            ScenarioArray.of(containers.list.size(), i -> collector.finisher().apply(containers.list.get(i))));
+  }
+
+  //-------------------------------------------------------------------------
+  // casts the value, throwing IllegalArgumentException if the type is not supported
+  private static <T> T cast(Class<T> type, Object value) {
+    if (!type.isInstance(value)) {
+      throw unsupported(value, type);
+    }
+    return type.cast(value);
+  }
+
+  // the exception thrown when the value is not of a supported type
+  private static IllegalArgumentException unsupported(Object value, Class<?>... types) {
+    List<String> names = new ArrayList<>();
+    for (Class<?> type : types) {
+      names.add(type.getSimpleName());
+    }
+    return new IllegalArgumentException(Messages.format(
+        "Unable to aggregate value of type {}, expected {}",
+        value == null ? "null" : value.getClass().getSimpleName(),
+        String.join(" or ", names)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sums of the values of each scenario, null until the number of scenarios is known.
+   */
+  private static final class DoubleSums {
+    private double[] values;
+
+    // adds the values of each scenario
+    private DoubleSums add(double[] other) {
+      if (other == null) {
+        return this;
+      }
+      if (values == null) {
+        values = other.clone();
+      } else {
+        checkScenarioCount(values.length, other.length);
+        for (int i = 0; i < values.length; i++) {
+          values[i] += other[i];
+        }
+      }
+      return this;
+    }
+  }
+
+  /**
+   * The mutable containers of each scenario, null until the number of scenarios is known.
+   *
+   * @param <A>  the type of the mutable container
+   */
+  private static final class ScenarioContainers<A> {
+    private List<A> list;
+
+    // gets the containers, creating them if necessary
+    private List<A> containers(Collector<?, A, ?> collector, int scenarioCount) {
+      if (list == null) {
+        list = new ArrayList<>(scenarioCount);
+        for (int i = 0; i < scenarioCount; i++) {
+          list.add(collector.supplier().get());
+        }
+      } else {
+        checkScenarioCount(list.size(), scenarioCount);
+      }
+      return list;
+    }
+
+    // combines the containers of each scenario
+    private ScenarioContainers<A> combine(Collector<?, A, ?> collector, ScenarioContainers<A> other) {
+      if (other.list == null) {
+        return this;
+      }
+      if (list == null) {
+        return other;
+      }
+      checkScenarioCount(list.size(), other.list.size());
+      for (int i = 0; i < list.size(); i++) {
+        list.set(i, collector.combiner().apply(list.get(i), other.list.get(i)));
+      }
+      return this;
+    }
+  }
+
+  // checks that the number of scenarios is the same
+  private static void checkScenarioCount(int expected, int actual) {
+    if (expected != actual) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} scenarios but found {}", expected, actual));
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+
+/**
+ * Calculation listener that aggregates the results of individual calculations as they are received.
+ * <p>
+ * Each result is accumulated into the group of its target as soon as it is received,
+ * so that the aggregated results are available without holding the individual results.
+ * The aggregate of the results received so far is available at any time from {@link #snapshot()},
+ * and the final aggregate from {@link #result()} when the calculations are complete.
+ * <p>
+ * The results are the same as those of {@link ResultsAggregator#aggregate}, except that the groups
+ * are in the order in which their first result is received.
+ * The snapshot requires that the finishers of the collectors do not modify their containers,
+ * which is the case for the collectors of {@link ResultCollectors}.
+ * <p>
+ * Instances are created by {@link ResultsAggregator#listener()}.
+ * A listener instance should not be used for multiple sets of calculations.
+ *
+ * @param <K>  the type of the grouping key
+ */
+public final class ResultsAggregationListener<K>
+    extends AggregatingCalculationListener<AggregatedResults<K>> {
+
+  /**
+   * The aggregator.
+   */
+  private final ResultsAggregator<K> aggregator;
+  /**
+   * The state of the aggregation, null until the calculations start.
+   */
+  private AggregationState<K> state;
+  /**
+   * The targets of the calculations.
+   */
+  private List<CalculationTarget> targets;
+  /**
+   * The grouping key of each target, populated lazily.
+   */
+  private Object[] keys;
+  /**
+   * The index of the aggregated column of each column, negative if not aggregated.
+   */
+  private int[] aggregatedColumns;
+  /**
+   * The headers of the aggregated columns.
+   */
+  private List<ColumnHeader> headers = ImmutableList.of();
+
+  // creates an instance
+  ResultsAggregationListener(ResultsAggregator<K> aggregator) {
+    this.aggregator = aggregator;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public synchronized void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    List<ColumnHeader> allHeaders = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    int[] columnIndices = aggregator.aggregatedColumns(allHeaders);
+    this.targets = ImmutableList.copyOf(targets);
+    this.keys = new Object[targets.size()];
+    this.aggregatedColumns = new int[columns.size()];
+    Arrays.fill(aggregatedColumns, -1);
+    for (int column = 0; column < columnIndices.length; column++) {
+      aggregatedColumns[columnIndices[column]] = column;
+    }
+    this.headers = ResultsAggregator.headers(allHeaders, columnIndices);
+    this.state = aggregator.createState();
+  }
+
+  @Override
+  public synchronized void resultReceived(CalculationTarget target, CalculationResult result) {
+    int column = aggregatedColumns[result.getColumnIndex()];
+    if (column >= 0) {
+      state.add(key(result.getRowIndex()), column, result.getResult());
+    }
+  }
+
+  /**
+   * Returns the aggregate of the results received so far.
+   * <p>
+   * This may be invoked at any time, by any thread, including while the calculations are running.
+   * The result is empty if the calculations have not started.
+   *
+   * @return the aggregate of the results received so far
+   */
+  public synchronized AggregatedResults<K> snapshot() {
+    if (state == null) {
+      return AggregatedResults.of(ImmutableList.of(), headers, ImmutableList.of());
+    }
+    return state.toAggregatedResults(headers);
+  }
+
+  @Override
+  protected AggregatedResults<K> createAggregateResult() {
+    return snapshot();
+  }
+
+  // gets the grouping key of the target of a row, computing it on first use
+  @SuppressWarnings("unchecked")
+  private K key(int rowIndex) {
+    Object key = keys[rowIndex];
+    if (key == null) {
+      key = state.key(targets.get(rowIndex));
+      keys[rowIndex] = key;
+    }
+    return (K) key;
+  }
+
+}
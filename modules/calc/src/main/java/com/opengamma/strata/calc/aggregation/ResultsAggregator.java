@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Aggregates the results of a set of calculations by a grouping key.
+ * <p>
+ * The rows of the results are grouped by a key obtained from the calculation target of each row,
+ * such as the counterparty or the book of a trade.
+ * The results of each group are then reduced, column by column, by a {@link Collector},
+ * which accumulates the values into a mutable container.
+ * Only the columns with a collector are aggregated, in the order of the collectors.
+ * <p>
+ * The aggregation runs as a parallel reduction, each thread of the fork-join pool accumulating
+ * the rows of its part into its own containers, which are then combined.
+ * The collectors must thus be usable in a parallel stream, as required by {@link Collector}.
+ * <p>
+ * The result of a group and column is a failure if any of the results of the group failed,
+ * or if a value could not be accumulated by the collector.
+ * The groups are in the order of the first row of each group.
+ * <p>
+ * The results may also be aggregated incrementally, as they are calculated, using {@link #listener()}.
+ *
+ * @param <K>  the type of the grouping key
+ */
+public final class ResultsAggregator<K> {
+
+  /**
+   * The function providing the grouping key of a target.
+   */
+  private final Function<? super CalculationTarget, ? extends K> groupingFunction;
+  /**
+   * The collectors, keyed by the name of the column they aggregate.
+   */
+  private final ImmutableMap<ColumnName, Collector<Object, ?, ?>> collectors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the grouping function and the collector of each aggregated column.
+   * <p>
+   * The grouping function must not return null.
+   * Standard collectors are provided by {@link ResultCollectors}.
+   *
+   * @param <K>  the type of the grouping key
+   * @param groupingFunction  the function providing the grouping key of a target
+   * @param collectors  the collectors, keyed by the name of the column they aggregate
+   * @return the aggregator
+   */
+  public static <K> ResultsAggregator<K> of(
+      Function<? super CalculationTarget, ? extends K> groupingFunction,
+      Map<ColumnName, ? extends Collector<Object, ?, ?>> collectors) {
+
+    ArgChecker.notNull(groupingFunction, "groupingFunction");
+    ArgChecker.noNulls(collectors, "collectors");
+    return new ResultsAggregator<>(groupingFunction, ImmutableMap.copyOf(collectors));
+  }
+
+  // creates an instance
+  private ResultsAggregator(
+      Function<? super CalculationTarget, ? extends K> groupingFunction,
+      ImmutableMap<ColumnName, Collector<Object, ?, ?>> collectors) {
+
+    this.groupingFunction = groupingFunction;
+    this.collectors = collectors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Aggregates the results of a set of calculations.
+   * <p>
+   * The targets are those of the rows of the results, in the same order,
+   * as in {@code ReportCalculationResults}.
+   *
+   * @param targets  the calculation targets, one for each row of the results
+   * @param results  the results
+   * @return the aggregated results
+   * @throws IllegalArgumentException if the number of targets differs from the number of rows
+   */
+  public AggregatedResults<K> aggregate(List<? extends CalculationTarget> targets, Results results) {
+    ArgChecker.noNulls(targets, "targets");
+    ArgChecker.notNull(results, "results");
+    ArgChecker.isTrue(
+        targets.size() == results.getRowCount(),
+        "The number of targets ({}) must equal the number of rows of the results ({})",
+        targets.size(), results.getRowCount());
+    int[] columns = aggregatedColumns(results.getColumns());
+    List<ColumnHeader> headers = headers(results.getColumns(), columns);
+    AggregationState<K> state = IntStream.range(0, targets.size()).parallel().collect(
+        this::createState,
+        (partState, row) -> {
+          K key = partState.key(targets.get(row));
+          for (int column = 0; column < columns.length; column++) {
+            partState.add(key, column, results.get(row, columns[column]));
+          }
+        },
+        AggregationState::combine);
+    return state.toAggregatedResults(headers);
+  }
+
+  /**
+   * Creates a listener that aggregates the results incrementally, as they are calculated.
+   * <p>
+   * The listener is passed to the calculation runner.
+   * A listener instance should not be used for multiple sets of calculations.
+   *
+   * @return the listener
+   */
+  public ResultsAggregationListener<K> listener() {
+    return new ResultsAggregationListener<>(this);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates an empty state
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  AggregationState<K> createState() {
+    List<Collector<Object, Object, Object>> stateCollectors = new ArrayList<>(collectors.size());
+    for (Collector<Object, ?, ?> collector : collectors.values()) {
+      stateCollectors.add((Collector) collector);
+    }
+    return new AggregationState<>(groupingFunction, stateCollectors);
+  }
+
+  // finds the index of the aggregated columns in the headers, in the order of the collectors
+  int[] aggregatedColumns(List<ColumnHeader> headers) {
+    int[] columns = new int[collectors.size()];
+    int index = 0;
+    for (ColumnName name : collectors.keySet()) {
+      int column = -1;
+      for (int i = 0; i < headers.size(); i++) {
+        if (headers.get(i).getName().equals(name)) {
+          column = i;
+          break;
+        }
+      }
+      ArgChecker.isTrue(column >= 0, "Column name not found: {}", name);
+      columns[index++] = column;
+    }
+    return columns;
+  }
+
+  // the headers of the aggregated columns
+  static List<ColumnHeader> headers(List<ColumnHeader> headers, int[] columns) {
+    List<ColumnHeader> result = new ArrayList<>(columns.length);
+    for (int column : columns) {
+      result.add(headers.get(column));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ResultsAggregator[columns=" + collectors.keySet() + "]";
+  }
+
+}
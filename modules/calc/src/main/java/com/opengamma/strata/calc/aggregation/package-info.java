@@ -0,0 +1,20 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Aggregation of calculation results.
+ * <p>
+ * The main entry point is {@link com.opengamma.strata.calc.aggregation.ResultsAggregator ResultsAggregator}.
+ * It groups the rows of a set of {@link com.opengamma.strata.calc.Results Results} by a key derived from
+ * the calculation target, such as the counterparty or the book of a trade, and reduces the columns
+ * of each group with a {@link java.util.stream.Collector Collector}, in parallel.
+ * The results may also be aggregated incrementally, as they are calculated,
+ * using {@link com.opengamma.strata.calc.aggregation.ResultsAggregationListener ResultsAggregationListener}.
+ * <p>
+ * Standard collectors for the common result types are provided by
+ * {@link com.opengamma.strata.calc.aggregation.ResultCollectors ResultCollectors}.
+ */
+package com.opengamma.strata.calc.aggregation;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A time-series provider backed by a memory-mapped file.
+ * <p>
+ * The time-series are held in a {@link MappedTimeSeriesStore}, keyed by the standard identifier,
+ * field name and observable source of the {@link ObservableId}. The time-series returned are views
+ * of the mapped file, thus large volumes of historical fixings and quotes can be provided
+ * without being loaded onto the heap.
+ * <p>
+ * A store suitable for this provider is created using {@link #write(Path, Map)}.
+ */
+public final class MappedTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The underlying store.
+   */
+  private final MappedTimeSeriesStore store;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a file.
+   * <p>
+   * The file is mapped into memory, see {@link MappedTimeSeriesStore#of(Path)}.
+   *
+   * @param file  the file containing the store
+   * @return the provider
+   */
+  public static MappedTimeSeriesProvider of(Path file) {
+    return new MappedTimeSeriesProvider(MappedTimeSeriesStore.of(file));
+  }
+
+  /**
+   * Obtains an instance from a store.
+   * <p>
+   * The store must have been written using {@link #write(Path, Map)}.
+   *
+   * @param store  the store
+   * @return the provider
+   */
+  public static MappedTimeSeriesProvider of(MappedTimeSeriesStore store) {
+    return new MappedTimeSeriesProvider(store);
+  }
+
+  // restricted constructor
+  private MappedTimeSeriesProvider(MappedTimeSeriesStore store) {
+    this.store = ArgChecker.notNull(store, "store");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the time-series to a file that can be used by this provider.
+   * <p>
+   * The file is replaced if it exists.
+   *
+   * @param file  the file to write
+   * @param timeSeries  the time-series to write, keyed by identifier
+   */
+  public static void write(Path file, Map<? extends ObservableId, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    Map<String, ? extends LocalDateDoubleTimeSeries> keyed = MapStream.of(timeSeries)
+        .mapKeys(MappedTimeSeriesProvider::key)
+        .toMap();
+    MappedTimeSeriesStore.write(file, keyed);
+  }
+
+  // the key of the identifier in the store
+  private static String key(ObservableId id) {
+    return id.getStandardId() + "/" + id.getFieldName() + "/" + id.getObservableSource();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying store.
+   *
+   * @return the store
+   */
+  public MappedTimeSeriesStore getStore() {
+    return store;
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+    return store.findTimeSeries(key(id))
+        .map(Result::success)
+        .orElseGet(() -> Result.failure(
+            FailureReason.MISSING_DATA,
+            "No time-series found in memory-mapped store for '{}'",
+            id));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesProvider[" + store + "]";
+  }
+
+}
@@ -202,13 +202,34 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, ScenarioFxRateProvider.of(marketData), refData);
+  }
+
+  /**
+   * Executes the task, performing calculations for the target using multiple sets of market data.
+   * <p>
+   * This invokes the function with the correct set of market data.
+   * The results are converted to the reporting currency using the specified FX rate provider,
+   * which must take its rates from the market data.
+   * The FX rate provider caches the rates, thus sharing one provider between the tasks
+   * of a calculation allows the rates to be found once rather than once per task.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param fxProvider  the provider of the FX rates of the market data
+   * @param refData  the reference data
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  @SuppressWarnings("unchecked")
+  public CalculationResults execute(
+      ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
+
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
 
     // convert the results, using a normal loop for better stack traces
-    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
@@ -24,6 +24,7 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -180,19 +181,22 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
     // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    // the FX rates are shared between the tasks, so that each rate is found once
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
+    taskList.forEach(task -> runTask(task, marketData, fxProvider, refData, consumer));
   }
 
   // submits a task to the executor to be run
   private void runTask(
       CalculationTask task,
       ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxProvider,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, fxProvider, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Test {@link ResultCollectors}.
+ */
+@Test
+public class ResultCollectorsTest {
+
+  //-------------------------------------------------------------------------
+  public void test_currencyAmounts() {
+    MultiCurrencyAmount test = Stream.of(
+        CurrencyAmount.of(GBP, 1),
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 2), CurrencyAmount.of(USD, 3)))
+        .collect(ResultCollectors.currencyAmounts());
+    assertEquals(test, MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 3), CurrencyAmount.of(USD, 3)));
+    assertThrowsIllegalArg(() -> Stream.of("A").collect(ResultCollectors.currencyAmounts()));
+  }
+
+  public void test_doubles() {
+    assertEquals(Stream.of(1d, 2d, 3d).parallel().collect(ResultCollectors.doubles()), 6d);
+    assertThrowsIllegalArg(() -> Stream.of(1).collect(ResultCollectors.doubles()));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_scenarioCurrencyAmounts() {
+    MultiCurrencyScenarioArray test = Stream.of(
+        CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2)),
+        MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, DoubleArray.of(3, 4), USD, DoubleArray.of(5, 6))))
+        .collect(ResultCollectors.scenarioCurrencyAmounts());
+    assertEquals(test, MultiCurrencyScenarioArray.of(
+        ImmutableMap.of(GBP, DoubleArray.of(4, 6), USD, DoubleArray.of(5, 6))));
+    assertThrowsIllegalArg(() -> Stream.of(
+        CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2)),
+        CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3)))
+        .collect(ResultCollectors.scenarioCurrencyAmounts()));
+    assertThrowsIllegalArg(() -> Stream.of(1d).collect(ResultCollectors.scenarioCurrencyAmounts()));
+  }
+
+  public void test_scenarioDoubles() {
+    DoubleScenarioArray test = Stream.of(
+        DoubleScenarioArray.of(DoubleArray.of(1, 2)),
+        DoubleScenarioArray.of(DoubleArray.of(3, 4)))
+        .collect(ResultCollectors.scenarioDoubles());
+    assertEquals(test, DoubleScenarioArray.of(DoubleArray.of(4, 6)));
+    assertEquals(Stream.empty().collect(ResultCollectors.scenarioDoubles()), DoubleScenarioArray.of(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> Stream.of(
+        DoubleScenarioArray.of(DoubleArray.of(1, 2)),
+        DoubleScenarioArray.of(DoubleArray.of(1)))
+        .collect(ResultCollectors.scenarioDoubles()));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ofType() {
+    List<String> test = Stream.of("A", "B").collect(ResultCollectors.ofType(String.class, Collectors.toList()));
+    assertEquals(test.size(), 2);
+    assertThrowsIllegalArg(() -> Stream.of("A", 1).collect(ResultCollectors.ofType(String.class, Collectors.toList())));
+  }
+
+  public void test_scenarioArrays() {
+    ScenarioArray<String> test = Stream.of(ScenarioArray.of("A", "B"), ScenarioArray.of("C", "D"))
+        .collect(ResultCollectors.scenarioArrays(String.class, Collectors.joining()));
+    assertEquals(test, ScenarioArray.of("AC", "BD"));
+    assertEquals(
+        Stream.empty().collect(ResultCollectors.scenarioArrays(String.class, Collectors.joining())).getScenarioCount(),
+        0);
+    assertThrowsIllegalArg(() -> Stream.of(ScenarioArray.of("A", "B"), ScenarioArray.of("C"))
+        .collect(ResultCollectors.scenarioArrays(String.class, Collectors.joining())));
+    assertThrowsIllegalArg(() -> Stream.of(ScenarioArray.of(1))
+        .collect(ResultCollectors.scenarioArrays(String.class, Collectors.joining())));
+    assertThrowsIllegalArg(() -> Stream.of("A")
+        .collect(ResultCollectors.scenarioArrays(String.class, Collectors.joining())));
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.aggregation;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ResultsAggregator} and {@link ResultsAggregationListener}.
+ */
+@Test
+public class ResultsAggregatorTest {
+
+  private static final ColumnName PV = ColumnName.of("PV");
+  private static final ColumnName PAR_RATE = ColumnName.of("ParRate");
+  private static final ColumnName PV01 = ColumnName.of("PV01");
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE, PV.getName()),
+      Column.of(TestingMeasures.PAR_RATE, PAR_RATE.getName()),
+      Column.of(TestingMeasures.BUCKETED_PV01, PV01.getName()));
+  private static final List<ColumnHeader> HEADERS = ImmutableList.of(
+      COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader(), COLUMNS.get(2).toHeader());
+  private static final Function<CalculationTarget, String> BOOK = target -> ((TestTarget) target).book;
+  private static final ResultsAggregator<String> AGGREGATOR = ResultsAggregator.of(
+      BOOK, ImmutableMap.of(PV01, ResultCollectors.doubles(), PV, ResultCollectors.currencyAmounts()));
+
+  //-------------------------------------------------------------------------
+  public void test_aggregate() {
+    List<TestTarget> targets = ImmutableList.of(
+        new TestTarget("B"), new TestTarget("A"), new TestTarget("B"), new TestTarget("A"));
+    Results results = Results.of(HEADERS, ImmutableList.of(
+        Result.success(CurrencyAmount.of(GBP, 1)), Result.success(0.1), Result.success(10d),
+        Result.success(CurrencyAmount.of(USD, 2)), Result.success(0.2), Result.success(20d),
+        Result.success(MultiCurrencyAmount.of(GBP, 3)), Result.success(0.3), Result.success(30d),
+        Result.success(CurrencyAmount.of(EUR, 4)), Result.success(0.4), Result.success(40d)));
+    AggregatedResults<String> test = AGGREGATOR.aggregate(targets, results);
+    assertEquals(test.getKeys(), ImmutableList.of("B", "A"));
+    assertEquals(test.getResults().getColumns(), ImmutableList.of(HEADERS.get(2), HEADERS.get(0)));
+    assertEquals(test.get("B", PV), Result.success(MultiCurrencyAmount.of(GBP, 4)));
+    assertEquals(test.get("A", PV, MultiCurrencyAmount.class).getValue(), MultiCurrencyAmount.of(
+        CurrencyAmount.of(USD, 2), CurrencyAmount.of(EUR, 4)));
+    assertEquals(test.get("B", PV01), Result.success(40d));
+    assertEquals(test.get("A", PV01), Result.success(60d));
+    assertThrowsIllegalArg(() -> test.get("C", PV));
+    assertThrowsIllegalArg(() -> test.get("A", PAR_RATE));
+  }
+
+  public void test_aggregate_parallel() {
+    List<TestTarget> targets = new ArrayList<>();
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      targets.add(new TestTarget("B" + (i % 7)));
+      cells.add(Result.success(CurrencyAmount.of(i % 2 == 0 ? GBP : USD, i)));
+      cells.add(Result.success((double) i));
+      cells.add(Result.success(1d));
+    }
+    AggregatedResults<String> test = AGGREGATOR.aggregate(targets, Results.of(HEADERS, cells));
+    assertEquals(test.getKeys(), ImmutableList.of("B0", "B1", "B2", "B3", "B4", "B5", "B6"));
+    double total = 0;
+    for (String key : test.getKeys()) {
+      MultiCurrencyAmount pv = test.get(key, PV, MultiCurrencyAmount.class).getValue();
+      total += pv.getAmount(GBP).getAmount() + pv.getAmount(USD).getAmount();
+    }
+    assertEquals(total, 10_000 * 9_999 / 2d);
+    assertEquals(test.get("B0", PV01).getValue(), 1429d);
+  }
+
+  public void test_aggregate_failure() {
+    List<TestTarget> targets = ImmutableList.of(new TestTarget("A"), new TestTarget("A"), new TestTarget("B"));
+    Results results = Results.of(HEADERS, ImmutableList.of(
+        Result.success(CurrencyAmount.of(GBP, 1)), Result.success(0.1), Result.success(10d),
+        Result.failure(FailureReason.MISSING_DATA, "Missing"), Result.success(0.2), Result.success("Bad"),
+        Result.success(CurrencyAmount.of(GBP, 3)), Result.success(0.3), Result.success(30d)));
+    AggregatedResults<String> test = AGGREGATOR.aggregate(targets, results);
+    assertEquals(test.get("A", PV).getFailure().getReason(), FailureReason.MISSING_DATA);
+    assertEquals(test.get("A", PV01).getFailure().getReason(), FailureReason.CALCULATION_FAILED);
+    assertEquals(test.get("B", PV), Result.success(MultiCurrencyAmount.of(GBP, 3)));
+  }
+
+  public void test_aggregate_invalid() {
+    Results results = Results.of(HEADERS, ImmutableList.of(
+        Result.success(CurrencyAmount.of(GBP, 1)), Result.success(0.1), Result.success(10d)));
+    assertThrowsIllegalArg(() -> AGGREGATOR.aggregate(ImmutableList.of(), results));
+    assertThrowsIllegalArg(() -> AGGREGATOR.aggregate(ImmutableList.of(new TestTarget(null)), results));
+    ResultsAggregator<String> missingColumn =
+        ResultsAggregator.of(BOOK, ImmutableMap.of(ColumnName.of("Other"), ResultCollectors.doubles()));
+    assertThrowsIllegalArg(() -> missingColumn.aggregate(ImmutableList.of(new TestTarget("A")), results));
+  }
+
+  public void test_aggregate_empty() {
+    AggregatedResults<String> test = AGGREGATOR.aggregate(ImmutableList.of(), Results.of(HEADERS, ImmutableList.of()));
+    assertEquals(test.getKeys(), ImmutableList.of());
+    assertEquals(test.getResults().getRowCount(), 0);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_listener() {
+    List<CalculationTarget> targets = ImmutableList.of(new TestTarget("B"), new TestTarget("A"), new TestTarget("B"));
+    ResultsAggregationListener<String> test = AGGREGATOR.listener();
+    assertEquals(test.snapshot().getKeys(), ImmutableList.of());
+    test.calculationsStarted(targets, COLUMNS);
+    test.resultReceived(targets.get(2), CalculationResult.of(2, 0, Result.success(CurrencyAmount.of(GBP, 3))));
+    test.resultReceived(targets.get(2), CalculationResult.of(2, 1, Result.success(0.3)));
+    AggregatedResults<String> snapshot = test.snapshot();
+    assertEquals(snapshot.getKeys(), ImmutableList.of("B"));
+    assertEquals(snapshot.get("B", PV), Result.success(MultiCurrencyAmount.of(GBP, 3)));
+    assertEquals(snapshot.get("B", PV01), Result.success(0d));
+    test.resultReceived(targets.get(0), CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(GBP, 1))));
+    test.resultReceived(targets.get(0), CalculationResult.of(0, 2, Result.success(10d)));
+    test.resultReceived(targets.get(1), CalculationResult.of(1, 0, Result.success(CurrencyAmount.of(USD, 2))));
+    test.resultReceived(targets.get(1), CalculationResult.of(1, 2, Result.success(20d)));
+    test.resultReceived(targets.get(2), CalculationResult.of(2, 2, Result.success(30d)));
+    test.calculationsComplete();
+    AggregatedResults<String> result = test.result();
+    assertEquals(result.getKeys(), ImmutableList.of("B", "A"));
+    assertEquals(result.get("B", PV), Result.success(MultiCurrencyAmount.of(GBP, 4)));
+    assertEquals(result.get("B", PV01), Result.success(40d));
+    assertEquals(result.get("A", PV), Result.success(MultiCurrencyAmount.of(USD, 2)));
+    // the snapshot is unaffected by the later results
+    assertEquals(snapshot.get("B", PV), Result.success(MultiCurrencyAmount.of(GBP, 3)));
+    assertTrue(result.toString().contains("keys=[B, A]"));
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestTarget implements CalculationTarget {
+    private final String book;
+
+    private TestTarget(String book) {
+      this.book = book;
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.MappedTimeSeriesStore;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link MappedTimeSeriesProvider}.
+ */
+@Test
+public class MappedTimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID1_SOURCE = TestObservableId.of("1", ObservableSource.of("source"));
+  private static final LocalDateDoubleTimeSeries SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1d)
+      .put(date(2015, 1, 6), 2d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES2 = LocalDateDoubleTimeSeries.of(date(2016, 3, 1), 3d);
+
+  //-------------------------------------------------------------------------
+  public void test_provideTimeSeries() throws Exception {
+    Path file = write();
+    MappedTimeSeriesProvider test = MappedTimeSeriesProvider.of(file);
+    assertEquals(test.getStore().size(), 2);
+    Result<LocalDateDoubleTimeSeries> result1 = test.provideTimeSeries(ID1);
+    assertEquals(result1.isSuccess(), true);
+    assertEquals(result1.getValue().toBuilder().build(), SERIES1);
+    Result<LocalDateDoubleTimeSeries> result2 = test.provideTimeSeries(ID2);
+    assertEquals(result2.isSuccess(), true);
+    assertEquals(result2.getValue().toBuilder().build(), SERIES2);
+  }
+
+  public void test_provideTimeSeries_missing() throws Exception {
+    MappedTimeSeriesProvider test = MappedTimeSeriesProvider.of(MappedTimeSeriesStore.of(write()));
+    Result<LocalDateDoubleTimeSeries> result = test.provideTimeSeries(ID1_SOURCE);
+    assertEquals(result.isFailure(), true);
+    assertEquals(result.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path write() throws Exception {
+    File tempFile = File.createTempFile("TestMappedTimeSeriesProvider", "bin");
+    tempFile.deleteOnExit();
+    MappedTimeSeriesProvider.write(tempFile.toPath(), ImmutableMap.of(ID1, SERIES1, ID2, SERIES2));
+    return tempFile.toPath();
+  }
+
+}
@@ -51,6 +51,7 @@ import com.opengamma.strata.data.ObservableSource;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -162,6 +163,30 @@ public class CalculationTaskTest {
     assertThat(result).hasValue(expectedArray);
   }
 
+  /**
+   * Test that the result is converted using the FX rate provider shared between the tasks.
+   */
+  public void convertResultCurrencyUsingSharedFxRateProvider() {
+    List<FxRate> rates = ImmutableList.of(1.61, 1.62, 1.63).stream()
+        .map(rate -> FxRate.of(GBP, USD, rate))
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(GBP, USD), rates)
+        .build();
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task1 = CalculationTask.of(
+        TARGET, ConvertibleFunction.of(() -> CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3)), USD), cell);
+    CalculationTask task2 = CalculationTask.of(
+        TARGET, ConvertibleFunction.of(() -> CurrencyScenarioArray.of(GBP, DoubleArray.of(4, 5, 6)), USD), cell);
+
+    Result<?> result1 = task1.execute(marketData, fxProvider, REF_DATA).getCells().get(0).getResult();
+    Result<?> result2 = task2.execute(marketData, fxProvider, REF_DATA).getCells().get(0).getResult();
+    assertThat(result1).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(1 * 1.61, 2 * 1.62, 3 * 1.63)));
+    assertThat(result2).hasValue(CurrencyScenarioArray.of(USD, DoubleArray.of(4 * 1.61, 5 * 1.62, 6 * 1.63)));
+    assertThat(result2).hasValue(task2.execute(marketData, REF_DATA).getCells().get(0).getResult().getValue());
+  }
+
   /**
    * Test that the result is returned unchanged if it is a failure.
    */
@@ -123,6 +123,19 @@ public interface LocalDateDoubleTimeSeries {
    */
   public abstract OptionalDouble get(LocalDate date);
 
+  /**
+   * Gets the value associated with the specified date, expressed as an epoch day.
+   * <p>
+   * This is equivalent to {@link #get(LocalDate)} where the date is {@code LocalDate.ofEpochDay(epochDay)}.
+   * Implementations that store dates as epoch days avoid creating the date.
+   *
+   * @param epochDay  the date to get the value for, expressed as an epoch day
+   * @return the value associated with the date, optional empty if the date is not present
+   */
+  public default OptionalDouble get(int epochDay) {
+    return get(LocalDate.ofEpochDay(epochDay));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Get the earliest date contained in this time-series.
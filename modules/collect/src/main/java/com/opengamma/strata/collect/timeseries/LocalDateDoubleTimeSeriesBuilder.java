@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -18,6 +19,7 @@ import java.util.OptionalDouble;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,6 +31,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * Entries that are added in ascending date order are appended to primitive arrays.
+ * The time-series can then be built without sorting or boxing the entries.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -39,9 +44,30 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   private static final double DENSITY_THRESHOLD = 0.7;
 
   /**
-   * The entries for the time-series.
+   * The initial capacity of the arrays of appended entries.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The entries for the time-series, empty while entries are being appended.
    */
   private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  /**
+   * Whether the entries have been added in ascending order, and are held in the appended arrays.
+   */
+  private boolean appending = true;
+  /**
+   * The epoch days of the entries added in ascending order.
+   */
+  private int[] appendedEpochDays = new int[INITIAL_CAPACITY];
+  /**
+   * The values of the entries added in ascending order.
+   */
+  private double[] appendedValues = new double[INITIAL_CAPACITY];
+  /**
+   * The number of entries added in ascending order.
+   */
+  private int appendedSize;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -62,12 +88,15 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * <p>
    * Use {@link LocalDateDoubleTimeSeries#toBuilder()}.
    * 
-   * @param dates  the dates to initialize with
-   * @param values  the values to initialize with
+   * @param epochDays  the dates to initialize with, as epoch days in ascending order, not referenced elsewhere
+   * @param values  the values to initialize with, not referenced elsewhere
    */
-  LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
-    for (int i = 0; i < dates.length; i++) {
-      put(dates[i], values[i]);
+  LocalDateDoubleTimeSeriesBuilder(int[] epochDays, double[] values) {
+    this.appendedEpochDays = epochDays;
+    this.appendedValues = values;
+    this.appendedSize = epochDays.length;
+    for (int i = 0; i < epochDays.length && !containsWeekends; i++) {
+      containsWeekends = isWeekend(LocalDate.ofEpochDay(epochDays[i]));
     }
   }
 
@@ -94,6 +123,10 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
+    if (appending) {
+      int index = Arrays.binarySearch(appendedEpochDays, 0, appendedSize, Math.toIntExact(date.toEpochDay()));
+      return (index >= 0 ? OptionalDouble.of(appendedValues[index]) : OptionalDouble.empty());
+    }
     Double value = entries.get(date);
     return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
   }
@@ -109,13 +142,55 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
+    if (!appending || !append(date, value)) {
+      entries.put(date, value);
+    }
+    if (!containsWeekends && isWeekend(date)) {
       containsWeekends = true;
     }
     return this;
   }
 
+  // appends the entry if it is on or after the last appended entry, stops appending if not
+  private boolean append(LocalDate date, double value) {
+    int epochDay = Math.toIntExact(date.toEpochDay());
+    if (appendedSize > 0 && epochDay <= appendedEpochDays[appendedSize - 1]) {
+      if (epochDay == appendedEpochDays[appendedSize - 1]) {
+        appendedValues[appendedSize - 1] = value;
+        return true;
+      }
+      stopAppending();
+      return false;
+    }
+    if (appendedSize == appendedEpochDays.length) {
+      int capacity = Math.max(INITIAL_CAPACITY, appendedSize * 2);
+      appendedEpochDays = Arrays.copyOf(appendedEpochDays, capacity);
+      appendedValues = Arrays.copyOf(appendedValues, capacity);
+    }
+    appendedEpochDays[appendedSize] = epochDay;
+    appendedValues[appendedSize] = value;
+    appendedSize++;
+    return true;
+  }
+
+  // moves the appended entries to the map of entries
+  private void stopAppending() {
+    if (appending) {
+      for (int i = 0; i < appendedSize; i++) {
+        entries.put(LocalDate.ofEpochDay(appendedEpochDays[i]), appendedValues[i]);
+      }
+      appending = false;
+      appendedEpochDays = null;
+      appendedValues = null;
+      appendedSize = 0;
+    }
+  }
+
+  // checks if the date is a weekend
+  private static boolean isWeekend(LocalDate date) {
+    return date.get(ChronoField.DAY_OF_WEEK) > 5;
+  }
+
   /**
    * Puts the specified date/value point into this builder.
    *
@@ -142,6 +217,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDate date, double value, DoubleBinaryOperator operator) {
     ArgChecker.notNull(date, "date");
     ArgChecker.notNull(operator, "operator");
+    stopAppending();
     entries.merge(date, value, (a, b) -> operator.applyAsDouble(a, b));
     return this;
   }
@@ -157,6 +233,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDateDoublePoint point, DoubleBinaryOperator operator) {
     ArgChecker.notNull(point, "point");
+    stopAppending();
     entries.merge(point.getDate(), point.getValue(), (a, b) -> operator.applyAsDouble(a, b));
     return this;
   }
@@ -251,7 +328,17 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
+    if (other.appending) {
+      for (int i = 0; i < other.appendedSize; i++) {
+        LocalDate date = LocalDate.ofEpochDay(other.appendedEpochDays[i]);
+        if (!appending || !append(date, other.appendedValues[i])) {
+          entries.put(date, other.appendedValues[i]);
+        }
+      }
+    } else {
+      stopAppending();
+      entries.putAll(other.entries);
+    }
     containsWeekends = containsWeekends || other.containsWeekends;
     return this;
   }
@@ -277,7 +364,9 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return a time-series containing the entries from the builder
    */
   public LocalDateDoubleTimeSeries build() {
-
+    if (appending) {
+      return buildAppended();
+    }
     if (entries.isEmpty()) {
       return LocalDateDoubleTimeSeries.empty();
     }
@@ -289,6 +378,23 @@ public final class LocalDateDoubleTimeSeriesBuilder {
         createSparseSeries();
   }
 
+  // builds the time-series from the entries appended in ascending order
+  private LocalDateDoubleTimeSeries buildAppended() {
+    if (appendedSize == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    LocalDate firstDate = LocalDate.ofEpochDay(appendedEpochDays[0]);
+    LocalDate lastDate = LocalDate.ofEpochDay(appendedEpochDays[appendedSize - 1]);
+    if (density(firstDate, lastDate, appendedSize) > DENSITY_THRESHOLD) {
+      Stream<LocalDateDoublePoint> points = IntStream.range(0, appendedSize)
+          .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(appendedEpochDays[i]), appendedValues[i]));
+      return DenseLocalDateDoubleTimeSeries.of(firstDate, lastDate, points, determineCalculation());
+    }
+    return SparseLocalDateDoubleTimeSeries.createUnsafe(
+        Arrays.copyOf(appendedEpochDays, appendedSize),
+        Arrays.copyOf(appendedValues, appendedSize));
+  }
+
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
         entries.firstKey(),
@@ -312,9 +418,13 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   }
 
   private double density() {
+    return density(entries.firstKey(), entries.lastKey(), entries.size());
+  }
+
+  private double density(LocalDate firstDate, LocalDate lastDate, int size) {
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = determineCalculation().calculatePosition(firstDate, lastDate) + 1;
+    return size / rangeSize;
   }
 
 }
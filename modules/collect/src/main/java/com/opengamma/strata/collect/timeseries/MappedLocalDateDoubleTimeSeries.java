@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} that is a view of buffers.
+ * <p>
+ * The buffers hold the dates, as epoch days, and the values. They are typically regions of a
+ * memory-mapped file, see {@link MappedTimeSeriesStore}, such that the data is not held on the heap.
+ * Sub-series are views of the same buffers. Operations that create new data, such as
+ * {@link #mapValues(DoubleUnaryOperator)}, return a time-series held on the heap.
+ * <p>
+ * When serialized with Java serialization, the data is copied to a heap-based time-series.
+ * This class is not a Joda-Bean, unlike the other implementations, so it cannot be serialized
+ * with Joda-Beans serialization. It must first be copied to the heap using {@code toBuilder().build()}.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates in the series, as epoch days, read-only.
+   * The dates are ordered from earliest to latest.
+   */
+  private final transient IntBuffer epochDays;
+  /**
+   * The values in the series, read-only.
+   * The date for each value is at the matching buffer index.
+   */
+  private final transient DoubleBuffer values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance, without validation.
+   * <p>
+   * The buffers must have the same number of remaining elements, and the epoch days must be in ascending order.
+   * The views are taken from the current position to the limit of the buffers.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   */
+  MappedLocalDateDoubleTimeSeries(IntBuffer epochDays, DoubleBuffer values) {
+    this.epochDays = epochDays.slice().asReadOnlyBuffer();
+    this.values = values.slice().asReadOnlyBuffer();
+  }
+
+  // the view of a range of this time-series
+  private LocalDateDoubleTimeSeries view(int fromPosition, int toPosition) {
+    if (fromPosition == toPosition) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    IntBuffer epochDaysView = epochDays.duplicate();
+    epochDaysView.position(fromPosition).limit(toPosition);
+    DoubleBuffer valuesView = values.duplicate();
+    valuesView.position(fromPosition).limit(toPosition);
+    return new MappedLocalDateDoubleTimeSeries(epochDaysView, valuesView);
+  }
+
+  // copies the data to a heap-based time-series
+  private SparseLocalDateDoubleTimeSeries toSparse() {
+    return SparseLocalDateDoubleTimeSeries.createUnsafe(epochDaysArray(), valuesArray());
+  }
+
+  // copies the epoch days to an array
+  private int[] epochDaysArray() {
+    int[] array = new int[size()];
+    epochDays.duplicate().get(array);
+    return array;
+  }
+
+  // copies the values to an array
+  private double[] valuesArray() {
+    double[] array = new double[size()];
+    values.duplicate().get(array);
+    return array;
+  }
+
+  // the data is not serialized, a heap-based time-series is serialized instead
+  private Object writeReplace() {
+    return toSparse();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return epochDays.limit();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return epochDays.limit() == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(values.get(position)) : OptionalDouble.empty());
+  }
+
+  @Override
+  public OptionalDouble get(int epochDay) {
+    int position = findPosition(epochDay);
+    return (position >= 0 ? OptionalDouble.of(values.get(position)) : OptionalDouble.empty());
+  }
+
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return epochDay < 0 ? -1 : -size() - 1;
+    }
+    return findPosition((int) epochDay);
+  }
+
+  // binary search, negative as per Arrays.binarySearch if not found
+  private int findPosition(int epochDay) {
+    int low = 0;
+    int high = size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midEpochDay = epochDays.get(mid);
+      if (midEpochDay < epochDay) {
+        low = mid + 1;
+      } else if (midEpochDay > epochDay) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  // the position of the first point on or after the date
+  private int findInsertionPosition(LocalDate date) {
+    int position = findDatePosition(date);
+    return position >= 0 ? position : -position - 1;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays.get(size() - 1));
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values.get(size() - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    return view(findInsertionPosition(startInclusive), findInsertionPosition(endExclusive));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints >= size()) {
+      return this;
+    }
+    return view(0, numPoints);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints >= size()) {
+      return this;
+    }
+    return view(size() - numPoints, size());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size())
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays.get(i)), values.get(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size()).mapToObj(i -> LocalDate.ofEpochDay(epochDays.get(i)));
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size()).mapToDouble(values::get);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(LocalDate.ofEpochDay(epochDays.get(i)), values.get(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    return toSparse().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toSparse().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toSparse().filter(predicate);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(epochDaysArray(), valuesArray());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      return epochDays.equals(other.epochDays) && values.equals(other.values);
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    return 31 * epochDays.hashCode() + values.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A store of time-series held in a memory-mapped file.
+ * <p>
+ * The store is a binary file containing many time-series, each identified by a string key.
+ * When the store is opened, only the index of keys is read. The data of each time-series is
+ * accessed directly from the mapped file, such that it is paged in lazily by the operating system,
+ * is not held on the heap, and is shared between processes via the page cache.
+ * <p>
+ * The time-series obtained from the store are views of the file and are immutable.
+ * The file must not be altered while it is mapped.
+ * They can be serialized with Java serialization, but not with Joda-Beans serialization,
+ * see {@link #findTimeSeries(String)}.
+ * <p>
+ * The file format is as follows, with all numbers big-endian:
+ * <ul>
+ * <li>header - the magic number {@code 0x4F475453}, the format version and the number of time-series
+ * <li>index - for each time-series, the length and UTF-8 bytes of the key,
+ *  the number of points and the offset of the data from the start of the file
+ * <li>data - for each time-series, the dates as epoch days, padded to a multiple of eight bytes, then the values
+ * </ul>
+ * The file size is limited to 2Gb.
+ */
+public final class MappedTimeSeriesStore {
+
+  /**
+   * The magic number identifying the file format.
+   */
+  private static final int MAGIC = 0x4F475453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The size of the header.
+   */
+  private static final int HEADER_SIZE = 12;
+
+  /**
+   * The mapped file.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The index, keyed by the key of the time-series.
+   * Each entry holds the number of points and the offset of the data.
+   */
+  private final ImmutableMap<String, long[]> index;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a store from a file.
+   * <p>
+   * The file is mapped into memory in read-only mode and the index is read.
+   * The data of the time-series is not read.
+   *
+   * @param file  the file to open
+   * @return the store
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not a valid store
+   */
+  public static MappedTimeSeriesStore of(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ArgChecker.isTrue(channel.size() <= Integer.MAX_VALUE, "Time-series store is too large: {}", file);
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedTimeSeriesStore(buffer, file);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // creates an instance, reading the index
+  private MappedTimeSeriesStore(ByteBuffer buffer, Path file) {
+    this.buffer = buffer.asReadOnlyBuffer();
+    ByteBuffer header = this.buffer.duplicate();
+    ArgChecker.isTrue(
+        header.remaining() >= HEADER_SIZE && header.getInt() == MAGIC,
+        "File is not a time-series store: {}", file);
+    int version = header.getInt();
+    ArgChecker.isTrue(version == VERSION, "Unsupported time-series store version {}: {}", version, file);
+    int count = header.getInt();
+    checkIndex(count >= 0, file);
+    ImmutableMap.Builder<String, long[]> builder = ImmutableMap.builder();
+    for (int i = 0; i < count; i++) {
+      checkIndex(header.remaining() >= 4, file);
+      int keyLength = header.getInt();
+      checkIndex(keyLength >= 0 && header.remaining() >= keyLength + 12L, file);
+      byte[] keyBytes = new byte[keyLength];
+      header.get(keyBytes);
+      int size = header.getInt();
+      long offset = header.getLong();
+      checkIndex(size >= 0 && offset >= 0 && offset + dataSize(size) <= header.capacity(), file);
+      builder.put(new String(keyBytes, StandardCharsets.UTF_8), new long[] {size, offset});
+    }
+    this.index = builder.build();
+  }
+
+  // checks that the index is consistent with the size of the file
+  private static void checkIndex(boolean valid, Path file) {
+    ArgChecker.isTrue(valid, "Time-series store is truncated or corrupt: {}", file);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a store to a file.
+   * <p>
+   * The file is replaced if it exists.
+   * The time-series are written in key order.
+   * The size of the store is checked before the file is opened, such that an existing file
+   * is left unchanged if the store is too large.
+   *
+   * @param file  the file to write
+   * @param timeSeries  the time-series to write, keyed by a unique identifier
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the store is too large
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    TreeMap<String, LocalDateDoubleTimeSeries> sorted = new TreeMap<>(timeSeries);
+    // calculate the size of the header and index, then of the file
+    long dataOffset = HEADER_SIZE;
+    for (String key : sorted.keySet()) {
+      dataOffset += 4 + key.getBytes(StandardCharsets.UTF_8).length + 4 + 8;
+    }
+    dataOffset = padding(dataOffset) + dataOffset;
+    long fileSize = dataOffset;
+    for (LocalDateDoubleTimeSeries series : sorted.values()) {
+      fileSize += dataSize(series.size());
+    }
+    ArgChecker.isTrue(fileSize <= Integer.MAX_VALUE, "Time-series store is too large: {} bytes", fileSize);
+    try (OutputStream out = Files.newOutputStream(file)) {
+      write(out, sorted, dataOffset);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes the store to the stream
+  private static void write(
+      OutputStream outputStream,
+      TreeMap<String, LocalDateDoubleTimeSeries> sorted,
+      long dataOffset) throws IOException {
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    // header
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(sorted.size());
+    // index
+    long offset = dataOffset;
+    for (Entry<String, LocalDateDoubleTimeSeries> entry : sorted.entrySet()) {
+      byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      int size = entry.getValue().size();
+      out.writeInt(keyBytes.length);
+      out.write(keyBytes);
+      out.writeInt(size);
+      out.writeLong(offset);
+      offset += dataSize(size);
+    }
+    writePadding(out, out.size());
+    // data
+    for (LocalDateDoubleTimeSeries series : sorted.values()) {
+      series.dates().forEach(date -> writeEpochDay(out, date.toEpochDay()));
+      writePadding(out, series.size() * 4L);
+      for (double value : series.values().toArray()) {
+        out.writeDouble(value);
+      }
+    }
+    out.flush();
+  }
+
+  // the size of the data of a time-series
+  private static long dataSize(int size) {
+    long epochDaysSize = size * 4L;
+    return epochDaysSize + padding(epochDaysSize) + size * 8L;
+  }
+
+  // the padding to reach a multiple of eight bytes
+  private static long padding(long size) {
+    return (8 - (size % 8)) % 8;
+  }
+
+  // writes the padding to reach a multiple of eight bytes
+  private static void writePadding(DataOutputStream out, long size) throws IOException {
+    for (long i = 0; i < padding(size); i++) {
+      out.writeByte(0);
+    }
+  }
+
+  // writes an epoch day
+  private static void writeEpochDay(DataOutputStream out, long epochDay) {
+    try {
+      out.writeInt(Math.toIntExact(epochDay));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the keys of the time-series in the store.
+   *
+   * @return the keys
+   */
+  public Set<String> getKeys() {
+    return index.keySet();
+  }
+
+  /**
+   * Gets the number of time-series in the store.
+   *
+   * @return the number of time-series
+   */
+  public int size() {
+    return index.size();
+  }
+
+  /**
+   * Checks if the store contains the time-series for the specified key.
+   *
+   * @param key  the key of the time-series
+   * @return true if the store contains the time-series
+   */
+  public boolean containsKey(String key) {
+    return index.containsKey(key);
+  }
+
+  /**
+   * Finds the time-series for the specified key.
+   * <p>
+   * The time-series is a view of the mapped file, with no data read until it is used.
+   * <p>
+   * The time-series is not a Joda-Bean, as its data is held in the file. Java serialization
+   * copies the data to a heap-based time-series, but Joda-Beans serialization is not supported,
+   * including that of market data containing the time-series. Use {@code toBuilder().build()}
+   * to copy the time-series to the heap before such serialization.
+   *
+   * @param key  the key of the time-series
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> findTimeSeries(String key) {
+    long[] entry = index.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    int size = (int) entry[0];
+    if (size == 0) {
+      return Optional.of(LocalDateDoubleTimeSeries.empty());
+    }
+    int offset = (int) entry[1];
+    ByteBuffer epochDays = buffer.duplicate();
+    epochDays.position(offset).limit(offset + size * 4);
+    int valuesOffset = offset + (int) (dataSize(size) - size * 8L);
+    ByteBuffer values = buffer.duplicate();
+    values.position(valuesOffset).limit(valuesOffset + size * 8);
+    return Optional.of(new MappedLocalDateDoubleTimeSeries(epochDays.asIntBuffer(), values.asDoubleBuffer()));
+  }
+
+  /**
+   * Gets the time-series for the specified key.
+   * <p>
+   * The time-series is a view of the mapped file, with no data read until it is used.
+   *
+   * @param key  the key of the time-series
+   * @return the time-series
+   * @throws IllegalArgumentException if the key is not found
+   */
+  public LocalDateDoubleTimeSeries getTimeSeries(String key) {
+    return findTimeSeries(key).orElseThrow(() -> new IllegalArgumentException(
+        Messages.format("Time-series not found in store: {}", key)));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedTimeSeriesStore[size=" + index.size() + "]";
+  }
+
+}
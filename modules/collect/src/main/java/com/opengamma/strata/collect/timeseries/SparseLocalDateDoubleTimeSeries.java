@@ -6,9 +6,12 @@
 package com.opengamma.strata.collect.timeseries;
 
 import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
@@ -23,20 +26,20 @@ import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
-import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
-import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
-import org.joda.beans.PropertyDefinition;
-import org.joda.beans.impl.direct.DirectMetaBean;
-import org.joda.beans.impl.direct.DirectMetaProperty;
-import org.joda.beans.impl.direct.DirectMetaPropertyMap;
-import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+import org.joda.beans.PropertyStyle;
+import org.joda.beans.impl.BasicImmutableBeanBuilder;
+import org.joda.beans.impl.BasicMetaBean;
+import org.joda.beans.impl.BasicMetaProperty;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Doubles;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.function.ObjDoublePredicate;
 
@@ -49,30 +52,48 @@ import com.opengamma.strata.collect.function.ObjDoublePredicate;
  * If more or less continuous data is being used then {@link DenseLocalDateDoubleTimeSeries}
  * is likely to be a better choice for the data.
  * <p>
- * This implementation uses arrays internally.
+ * This implementation uses arrays internally, with the dates stored as epoch days.
+ * The arrays may be shared between time-series, with sub-series being views of a range of the arrays.
  */
-@BeanDefinition(builderScope = "private", metaScope = "package")
 final class SparseLocalDateDoubleTimeSeries
     implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
 
+  /**
+   * Empty array of epoch days.
+   */
+  private static final int[] EMPTY_INT_ARRAY = new int[0];
   /**
    * An empty time-series.
    */
   static final LocalDateDoubleTimeSeries EMPTY =
-      new SparseLocalDateDoubleTimeSeries(new LocalDate[0], new double[0]);
+      new SparseLocalDateDoubleTimeSeries(EMPTY_INT_ARRAY, DoubleArrayMath.EMPTY_DOUBLE_ARRAY, 0, 0);
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 2L;
+  static {
+    JodaBeanUtils.registerMetaBean(Meta.INSTANCE);
+  }
 
   /**
-   * The dates in the series.
+   * The dates in the series, as epoch days.
    * The dates are ordered from earliest to latest.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
-  private final LocalDate[] dates;
+  private final int[] epochDays;
   /**
    * The values in the series.
    * The date for each value is at the matching array index.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] values;
+  /**
+   * The index of the first point of the series in the arrays, inclusive.
+   */
+  private final int startIndex;
+  /**
+   * The index of the last point of the series in the arrays, exclusive.
+   */
+  private final int endIndex;
 
   //-------------------------------------------------------------------------
   /**
@@ -89,18 +110,13 @@ final class SparseLocalDateDoubleTimeSeries
     ArgChecker.noNulls(values, "values");
     LocalDate[] datesArray = dates.toArray(new LocalDate[dates.size()]);
     double[] valuesArray = Doubles.toArray(values);
-    validate(datesArray, valuesArray);
-    return createUnsafe(datesArray, valuesArray);
-  }
-
-  // creates time-series by directly assigning the input arrays
-  // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
-    return new SparseLocalDateDoubleTimeSeries(dates, values, true);
+    return of(datesArray, valuesArray);
   }
 
-  // validates the arrays are same length and in order
-  private static void validate(LocalDate[] dates, double[] values) {
+  // creates time-series from arrays of dates and values, validating the arrays
+  private static SparseLocalDateDoubleTimeSeries of(LocalDate[] dates, double[] values) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.notNull(values, "values");
     ArgChecker.isTrue(dates.length == values.length,
         "Arrays are of different sizes - dates: {}, values: {}", dates.length, values.length);
     LocalDate maxDate = LocalDate.MIN;
@@ -109,69 +125,103 @@ final class SparseLocalDateDoubleTimeSeries
           "Dates must be in ascending order but: {} is not after: {}", date, maxDate);
       maxDate = date;
     }
+    return createUnsafe(toEpochDays(dates), values.clone());
   }
 
-  //-------------------------------------------------------------------------
   /**
-   * Creates an instance, validating the supplied arrays.
+   * Obtains a time-series from matching arrays of epoch days and values, without validation or cloning.
    * <p>
-   * The arrays are cloned as this constructor is called from Joda-Beans.
+   * The two arrays must be the same size and must be sorted from earliest to latest.
+   * This must only be called when the caller no longer references the arrays.
    *
-   * @param dates  the dates
-   * @param values  the values
+   * @param epochDays  the epoch day array
+   * @param values  the value array
+   * @return the time-series
    */
-  @ImmutableConstructor
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values) {
-    ArgChecker.noNulls(dates, "dates");
-    ArgChecker.notNull(values, "values");
-    validate(dates, values);
-    this.dates = dates.clone();
-    this.values = values.clone();
+  static SparseLocalDateDoubleTimeSeries createUnsafe(int[] epochDays, double[] values) {
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values, 0, epochDays.length);
+  }
+
+  // converts the dates to epoch days
+  private static int[] toEpochDays(LocalDate[] dates) {
+    int[] epochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      epochDays[i] = Math.toIntExact(dates[i].toEpochDay());
+    }
+    return epochDays;
   }
 
+  //-------------------------------------------------------------------------
   /**
-   * Creates an instance without validating the supplied arrays.
+   * Creates an instance without validating or cloning the supplied arrays.
    *
-   * @param dates  the dates
+   * @param epochDays  the epoch days
    * @param values  the values
-   * @param trusted  flag to distinguish constructor
+   * @param startIndex  the index of the first point, inclusive
+   * @param endIndex  the index of the last point, exclusive
    */
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values, boolean trusted) {
-    // constructor exists to avoid clones where possible
-    // because Joda-Beans owns the main constructor, this one has a weird flag
-    // use createUnsafe() instead of calling this directly
-    this.dates = dates;
+  private SparseLocalDateDoubleTimeSeries(int[] epochDays, double[] values, int startIndex, int endIndex) {
+    this.epochDays = epochDays;
     this.values = values;
+    this.startIndex = startIndex;
+    this.endIndex = endIndex;
   }
 
-  //-----------------------------------------------------------------------
-  /**
-   * Gets the dates in the series.
-   * The dates are ordered from earliest to latest.
-   * @return the value of the property, not null
-   */
-  private LocalDate[] getDates() {
-    return dates.clone();
+  // the view of a range of this time-series, indices relative to this time-series
+  private SparseLocalDateDoubleTimeSeries view(int fromPosition, int toPosition) {
+    if (fromPosition == toPosition) {
+      return (SparseLocalDateDoubleTimeSeries) EMPTY;
+    }
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values, startIndex + fromPosition, startIndex + toPosition);
   }
 
-  /**
-   * Gets the values in the series.
-   * The date for each value is at the matching array index.
-   * @return the value of the property, not null
-   */
-  private double[] getValues() {
-    return values.clone();
+  // ensure that a view of a small range does not serialize the whole of the arrays
+  private Object writeReplace() {
+    if (startIndex == 0 && endIndex == epochDays.length) {
+      return this;
+    }
+    return createUnsafe(epochDaysArray(), valuesArray());
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the dates as a new array
+  private LocalDate[] datesArray() {
+    LocalDate[] dates = new LocalDate[size()];
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = LocalDate.ofEpochDay(epochDays[startIndex + i]);
+    }
+    return dates;
+  }
+
+  // gets the epoch days as a new array
+  private int[] epochDaysArray() {
+    return Arrays.copyOfRange(epochDays, startIndex, endIndex);
+  }
+
+  // gets the values as a new array
+  private double[] valuesArray() {
+    return Arrays.copyOfRange(values, startIndex, endIndex);
+  }
+
+  // gets the date at the specified position
+  private LocalDate date(int position) {
+    return LocalDate.ofEpochDay(epochDays[startIndex + position]);
+  }
+
+  // gets the value at the specified position
+  private double value(int position) {
+    return values[startIndex + position];
   }
 
   //-------------------------------------------------------------------------
   @Override
   public int size() {
-    return dates.length;
+    return endIndex - startIndex;
   }
 
   @Override
   public boolean isEmpty() {
-    return dates.length == 0;
+    return endIndex == startIndex;
   }
 
   @Override
@@ -182,11 +232,33 @@ final class SparseLocalDateDoubleTimeSeries
   @Override
   public OptionalDouble get(LocalDate date) {
     int position = findDatePosition(date);
-    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
+    return (position >= 0 ? OptionalDouble.of(value(position)) : OptionalDouble.empty());
+  }
+
+  @Override
+  public OptionalDouble get(int epochDay) {
+    int position = findPosition(epochDay);
+    return (position >= 0 ? OptionalDouble.of(value(position)) : OptionalDouble.empty());
   }
 
   private int findDatePosition(LocalDate date) {
-    return Arrays.binarySearch(dates, date);
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      return epochDay < 0 ? -1 : -size() - 1;
+    }
+    return findPosition((int) epochDay);
+  }
+
+  // the position relative to the start, negative as per binary search if not found
+  private int findPosition(int epochDay) {
+    int index = Arrays.binarySearch(epochDays, startIndex, endIndex, epochDay);
+    return index >= 0 ? index - startIndex : index + startIndex;
+  }
+
+  // the position relative to the start of the first point on or after the date
+  private int findInsertionPosition(LocalDate date) {
+    int position = findDatePosition(date);
+    return position >= 0 ? position : -position - 1;
   }
 
   //-------------------------------------------------------------------------
@@ -195,7 +267,7 @@ final class SparseLocalDateDoubleTimeSeries
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return dates[dates.length - 1];
+    return date(size() - 1);
   }
 
   @Override
@@ -203,7 +275,7 @@ final class SparseLocalDateDoubleTimeSeries
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return values[values.length - 1];
+    return value(size() - 1);
   }
 
   //-------------------------------------------------------------------------
@@ -220,14 +292,10 @@ final class SparseLocalDateDoubleTimeSeries
       return EMPTY;
     }
     // where in the array would start/end be (whether or not it's actually in the series)
-    int startPos = Arrays.binarySearch(dates, startInclusive);
-    startPos = startPos >= 0 ? startPos : -startPos - 1;
-    int endPos = Arrays.binarySearch(dates, endExclusive);
-    endPos = endPos >= 0 ? endPos : -endPos - 1;
-    // create sub-series
-    LocalDate[] timesArray = Arrays.copyOfRange(dates, startPos, endPos);
-    double[] valuesArray = Arrays.copyOfRange(values, startPos, endPos);
-    return createUnsafe(timesArray, valuesArray);
+    int startPos = findInsertionPosition(startInclusive);
+    int endPos = findInsertionPosition(endExclusive);
+    // create sub-series sharing the arrays
+    return view(startPos, endPos);
   }
 
   @Override
@@ -238,9 +306,7 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, 0, numPoints);
-    double[] valuesArray = Arrays.copyOfRange(values, 0, numPoints);
-    return createUnsafe(datesArray, valuesArray);
+    return view(0, numPoints);
   }
 
   @Override
@@ -251,72 +317,70 @@ final class SparseLocalDateDoubleTimeSeries
     } else if (numPoints >= size()) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, size() - numPoints, size());
-    double[] valuesArray = Arrays.copyOfRange(values, size() - numPoints, size());
-    return createUnsafe(datesArray, valuesArray);
+    return view(size() - numPoints, size());
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(dates[i], values[i]));
+    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(date(i), value(i)));
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return Stream.of(dates);
+    return IntStream.range(startIndex, endIndex).mapToObj(i -> LocalDate.ofEpochDay(epochDays[i]));
   }
 
   @Override
   public DoubleStream values() {
-    return DoubleStream.of(values);
+    return Arrays.stream(values, startIndex, endIndex);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
     ArgChecker.notNull(action, "action");
-    for (int i = 0; i < size(); i++) {
-      action.accept(dates[i], values[i]);
+    for (int i = startIndex; i < endIndex; i++) {
+      action.accept(LocalDate.ofEpochDay(epochDays[i]), values[i]);
     }
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    LocalDate[] dates = Arrays.stream(this.dates).map(mapper).toArray(size -> new LocalDate[size]);
+    LocalDate[] dates = Arrays.stream(datesArray()).map(mapper).toArray(size -> new LocalDate[size]);
     // Check the dates are still in ascending order after the mapping
     Arrays.stream(dates).reduce(this::checkAscending);
-    return createUnsafe(dates, values);
+    return createUnsafe(toEpochDays(dates), valuesArray());
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return createUnsafe(dates, DoubleStream.of(values).map(mapper).toArray());
+    return createUnsafe(epochDaysArray(), values().map(mapper).toArray());
   }
 
   @Override
   public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
     ArgChecker.notNull(predicate, "predicate");
     // build up result in arrays keeping track of count of retained dates
-    LocalDate[] resDates = new LocalDate[size()];
+    int[] resEpochDays = new int[size()];
     double[] resValues = new double[size()];
     int resCount = 0;
-    for (int i = 0; i < size(); i++) {
-      if (predicate.test(dates[i], values[i])) {
-        resDates[resCount] = dates[i];
+    for (int i = startIndex; i < endIndex; i++) {
+      if (predicate.test(LocalDate.ofEpochDay(epochDays[i]), values[i])) {
+        resEpochDays[resCount] = epochDays[i];
         resValues[resCount] = values[i];
         resCount++;
       }
     }
-    return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+    return createUnsafe(Arrays.copyOf(resEpochDays, resCount), Arrays.copyOf(resValues, resCount));
   }
 
   //-------------------------------------------------------------------------
   @Override
   public LocalDateDoubleTimeSeriesBuilder toBuilder() {
-    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+    return new LocalDateDoubleTimeSeriesBuilder(epochDaysArray(), valuesArray());
   }
 
   //-------------------------------------------------------------------------
@@ -336,7 +400,16 @@ final class SparseLocalDateDoubleTimeSeries
     }
     if (obj instanceof SparseLocalDateDoubleTimeSeries) {
       SparseLocalDateDoubleTimeSeries other = (SparseLocalDateDoubleTimeSeries) obj;
-      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+      if (size() != other.size()) {
+        return false;
+      }
+      for (int i = 0; i < size(); i++) {
+        if (epochDays[startIndex + i] != other.epochDays[other.startIndex + i] ||
+            Double.doubleToLongBits(value(i)) != Double.doubleToLongBits(other.value(i))) {
+          return false;
+        }
+      }
+      return true;
     }
     return false;
   }
@@ -348,12 +421,12 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @Override
   public int hashCode() {
-    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+    return 31 * Arrays.hashCode(datesArray()) + Arrays.hashCode(valuesArray());
   }
 
   /**
    * Returns a string representation of the time-series.
-   * 
+   *
    * @return the string
    */
   @Override
@@ -384,28 +457,19 @@ final class SparseLocalDateDoubleTimeSeries
             later));
   }
 
-  //------------------------- AUTOGENERATED START -------------------------
-  ///CLOVER:OFF
+  //-------------------------------------------------------------------------
   /**
    * The meta-bean for {@code SparseLocalDateDoubleTimeSeries}.
+   *
    * @return the meta-bean, not null
    */
   public static SparseLocalDateDoubleTimeSeries.Meta meta() {
-    return SparseLocalDateDoubleTimeSeries.Meta.INSTANCE;
-  }
-
-  static {
-    JodaBeanUtils.registerMetaBean(SparseLocalDateDoubleTimeSeries.Meta.INSTANCE);
+    return Meta.INSTANCE;
   }
 
-  /**
-   * The serialization version id.
-   */
-  private static final long serialVersionUID = 1L;
-
   @Override
   public SparseLocalDateDoubleTimeSeries.Meta metaBean() {
-    return SparseLocalDateDoubleTimeSeries.Meta.INSTANCE;
+    return Meta.INSTANCE;
   }
 
   @Override
@@ -418,33 +482,42 @@ final class SparseLocalDateDoubleTimeSeries
     return metaBean().metaPropertyMap().keySet();
   }
 
-  //-----------------------------------------------------------------------
+  //-------------------------------------------------------------------------
   /**
    * The meta-bean for {@code SparseLocalDateDoubleTimeSeries}.
+   * <p>
+   * The bean form has properties of the dates and values, hiding the epoch day storage.
    */
-  static final class Meta extends DirectMetaBean {
+  static final class Meta extends BasicMetaBean {
+
     /**
      * The singleton instance of the meta-bean.
      */
     static final Meta INSTANCE = new Meta();
-
     /**
      * The meta-property for the {@code dates} property.
      */
-    private final MetaProperty<LocalDate[]> dates = DirectMetaProperty.ofImmutable(
-        this, "dates", SparseLocalDateDoubleTimeSeries.class, LocalDate[].class);
+    private static final MetaProperty<LocalDate[]> DATES =
+        new ArrayMetaProperty<LocalDate[]>("dates", LocalDate[].class) {
+          @Override
+          public LocalDate[] get(Bean bean) {
+            return ((SparseLocalDateDoubleTimeSeries) bean).datesArray();
+          }
+        };
     /**
      * The meta-property for the {@code values} property.
      */
-    private final MetaProperty<double[]> values = DirectMetaProperty.ofImmutable(
-        this, "values", SparseLocalDateDoubleTimeSeries.class, double[].class);
+    private static final MetaProperty<double[]> VALUES =
+        new ArrayMetaProperty<double[]>("values", double[].class) {
+          @Override
+          public double[] get(Bean bean) {
+            return ((SparseLocalDateDoubleTimeSeries) bean).valuesArray();
+          }
+        };
     /**
      * The meta-properties.
      */
-    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
-        this, null,
-        "dates",
-        "values");
+    private static final ImmutableMap<String, MetaProperty<?>> MAP = ImmutableMap.of("dates", DATES, "values", VALUES);
 
     /**
      * Restricted constructor.
@@ -453,135 +526,120 @@ final class SparseLocalDateDoubleTimeSeries
     }
 
     @Override
-    protected MetaProperty<?> metaPropertyGet(String propertyName) {
-      switch (propertyName.hashCode()) {
-        case 95356549:  // dates
-          return dates;
-        case -823812830:  // values
-          return values;
-      }
-      return super.metaPropertyGet(propertyName);
-    }
-
-    @Override
-    public BeanBuilder<? extends SparseLocalDateDoubleTimeSeries> builder() {
-      return new SparseLocalDateDoubleTimeSeries.Builder();
+    public BeanBuilder<SparseLocalDateDoubleTimeSeries> builder() {
+      return new BasicImmutableBeanBuilder<SparseLocalDateDoubleTimeSeries>(this) {
+        private LocalDate[] dates = new LocalDate[0];
+        private double[] values = DoubleArrayMath.EMPTY_DOUBLE_ARRAY;
+
+        @Override
+        public Object get(String propertyName) {
+          if (propertyName.equals(DATES.name())) {
+            return dates.clone();
+          } else if (propertyName.equals(VALUES.name())) {
+            return values.clone();
+          } else {
+            throw new NoSuchElementException("Unknown property: " + propertyName);
+          }
+        }
+
+        @Override
+        public BeanBuilder<SparseLocalDateDoubleTimeSeries> set(String propertyName, Object value) {
+          if (propertyName.equals(DATES.name())) {
+            this.dates = ((LocalDate[]) ArgChecker.notNull(value, "value")).clone();
+          } else if (propertyName.equals(VALUES.name())) {
+            this.values = ((double[]) ArgChecker.notNull(value, "value")).clone();
+          } else {
+            throw new NoSuchElementException("Unknown property: " + propertyName);
+          }
+          return this;
+        }
+
+        @Override
+        public SparseLocalDateDoubleTimeSeries build() {
+          return SparseLocalDateDoubleTimeSeries.of(dates, values);
+        }
+      };
     }
 
     @Override
-    public Class<? extends SparseLocalDateDoubleTimeSeries> beanType() {
+    public Class<? extends Bean> beanType() {
       return SparseLocalDateDoubleTimeSeries.class;
     }
 
     @Override
     public Map<String, MetaProperty<?>> metaPropertyMap() {
-      return metaPropertyMap$;
+      return MAP;
     }
 
-    //-----------------------------------------------------------------------
+    //-------------------------------------------------------------------------
     /**
      * The meta-property for the {@code dates} property.
+     *
      * @return the meta-property, not null
      */
     public MetaProperty<LocalDate[]> dates() {
-      return dates;
+      return DATES;
     }
 
     /**
      * The meta-property for the {@code values} property.
+     *
      * @return the meta-property, not null
      */
     public MetaProperty<double[]> values() {
-      return values;
-    }
-
-    //-----------------------------------------------------------------------
-    @Override
-    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
-      switch (propertyName.hashCode()) {
-        case 95356549:  // dates
-          return ((SparseLocalDateDoubleTimeSeries) bean).getDates();
-        case -823812830:  // values
-          return ((SparseLocalDateDoubleTimeSeries) bean).getValues();
-      }
-      return super.propertyGet(bean, propertyName, quiet);
-    }
-
-    @Override
-    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
-      metaProperty(propertyName);
-      if (quiet) {
-        return;
-      }
-      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+      return VALUES;
     }
-
   }
 
-  //-----------------------------------------------------------------------
+  //-------------------------------------------------------------------------
   /**
-   * The bean-builder for {@code SparseLocalDateDoubleTimeSeries}.
+   * Meta-property for the immutable array properties.
+   *
+   * @param <P>  the type of the array
    */
-  private static final class Builder extends DirectPrivateBeanBuilder<SparseLocalDateDoubleTimeSeries> {
+  private abstract static class ArrayMetaProperty<P> extends BasicMetaProperty<P> {
 
-    private LocalDate[] dates;
-    private double[] values;
+    private final Class<P> type;
 
-    /**
-     * Restricted constructor.
-     */
-    private Builder() {
-      super(meta());
+    private ArrayMetaProperty(String name, Class<P> type) {
+      super(name);
+      this.type = type;
     }
 
-    //-----------------------------------------------------------------------
     @Override
-    public Object get(String propertyName) {
-      switch (propertyName.hashCode()) {
-        case 95356549:  // dates
-          return dates;
-        case -823812830:  // values
-          return values;
-        default:
-          throw new NoSuchElementException("Unknown property: " + propertyName);
-      }
+    public Meta metaBean() {
+      return Meta.INSTANCE;
     }
 
     @Override
-    public Builder set(String propertyName, Object newValue) {
-      switch (propertyName.hashCode()) {
-        case 95356549:  // dates
-          this.dates = (LocalDate[]) newValue;
-          break;
-        case -823812830:  // values
-          this.values = (double[]) newValue;
-          break;
-        default:
-          throw new NoSuchElementException("Unknown property: " + propertyName);
-      }
-      return this;
+    public Class<?> declaringType() {
+      return SparseLocalDateDoubleTimeSeries.class;
+    }
+
+    @Override
+    public Class<P> propertyType() {
+      return type;
+    }
+
+    @Override
+    public Type propertyGenericType() {
+      return type;
     }
 
     @Override
-    public SparseLocalDateDoubleTimeSeries build() {
-      return new SparseLocalDateDoubleTimeSeries(
-          dates,
-          values);
+    public PropertyStyle style() {
+      return PropertyStyle.IMMUTABLE;
     }
 
-    //-----------------------------------------------------------------------
     @Override
-    public String toString() {
-      StringBuilder buf = new StringBuilder(96);
-      buf.append("SparseLocalDateDoubleTimeSeries.Builder{");
-      buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
-      buf.append("values").append('=').append(JodaBeanUtils.toString(values));
-      buf.append('}');
-      return buf.toString();
+    public List<Annotation> annotations() {
+      return ImmutableList.of();
     }
 
+    @Override
+    public void set(Bean bean, Object value) {
+      throw new UnsupportedOperationException("Property cannot be written: " + name());
+    }
   }
 
-  ///CLOVER:ON
-  //-------------------------- AUTOGENERATED END --------------------------
 }
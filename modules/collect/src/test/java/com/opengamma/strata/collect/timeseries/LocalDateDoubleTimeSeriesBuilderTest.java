@@ -141,6 +141,37 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_appendThenPutOutOfOrder() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 1, 1), 12)
+        .put(date(2013, 1, 1), 13)
+        .put(date(2013, 1, 1), 23)
+        .put(date(2014, 1, 1), 14);
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(23d));
+    assertEquals(test.get(date(2015, 1, 1)), OptionalDouble.empty());
+    test.put(date(2011, 1, 1), 11);
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(23d));
+    LocalDateDoubleTimeSeries series = test.build();
+    assertEquals(series.size(), 4);
+    assertEquals(series.getEarliestDate(), date(2011, 1, 1));
+    assertEquals(series.getLatestDate(), date(2014, 1, 1));
+    assertEquals(series.get(date(2013, 1, 1)), OptionalDouble.of(23d));
+  }
+
+  public void test_appendThenMerge() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 1, 1), 12)
+        .put(date(2013, 1, 1), 13)
+        .merge(date(2013, 1, 1), 10, Double::sum)
+        .put(date(2014, 1, 1), 14)
+        .build();
+    assertEquals(test, LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 1), 14)
+        .put(date(2013, 1, 1), 23)
+        .put(date(2012, 1, 1), 12)
+        .build());
+  }
+
   public void test_useBuilderToAlterSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 14)
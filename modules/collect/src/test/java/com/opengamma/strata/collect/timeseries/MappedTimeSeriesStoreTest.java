@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@link MappedTimeSeriesStore}.
+ */
+@Test
+public class MappedTimeSeriesStoreTest {
+
+  private static final LocalDateDoubleTimeSeries SERIES_DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1d)
+      .put(date(2015, 1, 6), 2d)
+      .put(date(2015, 1, 7), 3d)
+      .put(date(2015, 1, 8), 4d)
+      .put(date(2015, 1, 9), 5d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES_SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2010, 1, 1), 10d)
+      .put(date(2011, 1, 1), 11d)
+      .put(date(2012, 1, 1), 12d)
+      .build();
+  private static final ImmutableMap<String, LocalDateDoubleTimeSeries> SERIES = ImmutableMap.of(
+      "B", SERIES_DENSE,
+      "A", SERIES_SPARSE,
+      "E", LocalDateDoubleTimeSeries.empty());
+
+  //-------------------------------------------------------------------------
+  public void test_writeAndRead() throws Exception {
+    MappedTimeSeriesStore test = MappedTimeSeriesStore.of(write(SERIES));
+    assertEquals(test.size(), 3);
+    assertEquals(test.getKeys(), ImmutableSet.of("A", "B", "E"));
+    assertTrue(test.containsKey("A"));
+    assertFalse(test.containsKey("C"));
+    assertEquals(test.getTimeSeries("A").stream().toArray(), SERIES_SPARSE.stream().toArray());
+    assertEquals(test.getTimeSeries("B").stream().toArray(), SERIES_DENSE.stream().toArray());
+    assertEquals(test.getTimeSeries("E").isEmpty(), true);
+    assertEquals(test.findTimeSeries("C").isPresent(), false);
+    assertThrowsIllegalArg(() -> test.getTimeSeries("C"));
+  }
+
+  public void test_timeSeries() throws Exception {
+    LocalDateDoubleTimeSeries test = MappedTimeSeriesStore.of(write(SERIES)).getTimeSeries("B");
+    assertEquals(test.size(), 5);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.containsDate(date(2015, 1, 6)), true);
+    assertEquals(test.containsDate(date(2015, 1, 10)), false);
+    assertEquals(test.get(date(2015, 1, 7)), OptionalDouble.of(3d));
+    assertEquals(test.get(date(2015, 1, 4)), OptionalDouble.empty());
+    assertEquals(test.get((int) date(2015, 1, 8).toEpochDay()), OptionalDouble.of(4d));
+    assertEquals(test.getEarliestDate(), date(2015, 1, 5));
+    assertEquals(test.getEarliestValue(), 1d);
+    assertEquals(test.getLatestDate(), date(2015, 1, 9));
+    assertEquals(test.getLatestValue(), 5d);
+    assertEquals(test.mapValues(v -> v * 2).values().toArray(), new double[] {2d, 4d, 6d, 8d, 10d});
+    assertEquals(test.toBuilder().build(), SERIES_DENSE);
+    assertEquals(test.toString(),
+        "[(2015-01-05=1.0), (2015-01-06=2.0), (2015-01-07=3.0), (2015-01-08=4.0), (2015-01-09=5.0)]");
+  }
+
+  public void test_timeSeries_subSeries() throws Exception {
+    LocalDateDoubleTimeSeries base = MappedTimeSeriesStore.of(write(SERIES)).getTimeSeries("B");
+    LocalDateDoubleTimeSeries test = base.subSeries(date(2015, 1, 6), date(2015, 1, 9));
+    assertEquals(test.size(), 3);
+    assertEquals(test.dates().toArray(), new LocalDate[] {date(2015, 1, 6), date(2015, 1, 7), date(2015, 1, 8)});
+    assertEquals(test.values().toArray(), new double[] {2d, 3d, 4d});
+    assertEquals(test.get(date(2015, 1, 9)), OptionalDouble.empty());
+    assertEquals(base.headSeries(2).values().toArray(), new double[] {1d, 2d});
+    assertEquals(base.tailSeries(2).values().toArray(), new double[] {4d, 5d});
+    assertEquals(base.headSeries(0).isEmpty(), true);
+    assertEquals(base.subSeries(date(2016, 1, 1), date(2016, 2, 1)).isEmpty(), true);
+  }
+
+  public void test_timeSeries_equalsHashCode() throws Exception {
+    Path file = write(SERIES);
+    LocalDateDoubleTimeSeries test = MappedTimeSeriesStore.of(file).getTimeSeries("B");
+    LocalDateDoubleTimeSeries test2 = MappedTimeSeriesStore.of(file).getTimeSeries("B");
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertFalse(test.equals(MappedTimeSeriesStore.of(file).getTimeSeries("A")));
+    assertFalse(test.equals(""));
+  }
+
+  public void test_timeSeries_serialization() throws Exception {
+    LocalDateDoubleTimeSeries test = MappedTimeSeriesStore.of(write(SERIES)).getTimeSeries("A");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(test);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(ois.readObject(), SERIES_SPARSE);
+    }
+  }
+
+  public void test_of_invalidFile() throws Exception {
+    File tempFile = File.createTempFile("TestMappedTimeSeriesStore", "bin");
+    tempFile.deleteOnExit();
+    Files.write(tempFile.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+    assertThrowsIllegalArg(() -> MappedTimeSeriesStore.of(tempFile.toPath()));
+  }
+
+  public void test_of_truncatedFile() throws Exception {
+    byte[] bytes = Files.readAllBytes(write(SERIES));
+    for (int length = 0; length < bytes.length; length++) {
+      // a new file each time, as a mapped file may not be writable on some platforms
+      File tempFile = File.createTempFile("TestMappedTimeSeriesStore", "bin");
+      tempFile.deleteOnExit();
+      Files.write(tempFile.toPath(), Arrays.copyOf(bytes, length));
+      assertThrowsIllegalArg(() -> MappedTimeSeriesStore.of(tempFile.toPath()));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path write(ImmutableMap<String, LocalDateDoubleTimeSeries> series) throws Exception {
+    File tempFile = File.createTempFile("TestMappedTimeSeriesStore", "bin");
+    tempFile.deleteOnExit();
+    MappedTimeSeriesStore.write(tempFile.toPath(), series);
+    return tempFile.toPath();
+  }
+
+}
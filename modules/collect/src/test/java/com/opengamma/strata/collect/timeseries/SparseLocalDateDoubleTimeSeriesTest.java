@@ -248,6 +248,40 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertEquals(points[2], LocalDateDoublePoint.of(DATE_2012_01_01, 12d));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_get_epochDay() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    for (int i = 0; i < DATES_2010_14.size(); i++) {
+      int epochDay = Math.toIntExact(DATES_2010_14.get(i).toEpochDay());
+      assertEquals(test.get(epochDay), OptionalDouble.of(VALUES_10_14.get(i)));
+      assertEquals(test.get(epochDay + 1), OptionalDouble.empty());
+    }
+    assertEquals(test.get(Integer.MIN_VALUE), OptionalDouble.empty());
+    assertEquals(test.get(Integer.MAX_VALUE), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MIN), OptionalDouble.empty());
+    assertEquals(test.get(LocalDate.MAX), OptionalDouble.empty());
+  }
+
+  public void test_subSeries_view() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries test = base.subSeries(DATE_2011_01_01, DATE_2014_01_01).tailSeries(2);
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .putAll(dates(DATE_2012_01_01, DATE_2013_01_01), values(12, 13))
+        .build();
+    assertEquals(test, expected);
+    assertEquals(expected, test);
+    assertEquals(test.hashCode(), expected.hashCode());
+    assertEquals(test.toString(), expected.toString());
+    assertEquals(test.get(DATE_2011_01_01), OptionalDouble.empty());
+    assertEquals(test.get(DATE_2014_01_01), OptionalDouble.empty());
+    assertEquals(test.dates().collect(toList()), dates(DATE_2012_01_01, DATE_2013_01_01));
+    assertEquals(test.values().boxed().collect(toList()), values(12, 13));
+    assertEquals(test.toBuilder().build(), expected);
+    assertEquals(test.headSeries(1).getLatestValue(), 12d, TOLERANCE);
+    assertEquals(test.subSeries(DATE_2013_01_01, DATE_2014_01_01).getEarliestValue(), 13d, TOLERANCE);
+    TestHelper.assertSerialization(test);
+  }
+
   //-------------------------------------------------------------------------
   public void test_earliestLatest() {
     LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, VALUES_10_12).build();
@@ -140,7 +140,7 @@ public final class CurrencyScenarioArray
           "Expected {} FX rates but received {}", amounts.size(), fxRateProvider.getScenarioCount()));
     }
     DoubleArray convertedValues =
-        amounts.getValues().mapWithIndex((i, v) -> v * fxRateProvider.fxRate(getCurrency(), reportingCurrency, i));
+        amounts.getValues().multipliedBy(fxRateProvider.fxRates(getCurrency(), reportingCurrency));
     return of(reportingCurrency, convertedValues);
   }
 
@@ -6,13 +6,23 @@
 package com.opengamma.strata.data.scenario;
 
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.ObservableSource;
 
 /**
  * A provider of FX rates which takes its data from one scenario in a set of data for multiple scenarios.
+ * <p>
+ * The FX rate provider of each scenario is created on first use and cached.
+ * The rates of a currency pair for all the scenarios are computed on first use, including any triangulation,
+ * and cached, so that the subsequent queries of the pair are a single lookup.
+ * The rate of a single scenario only uses the data of that scenario.
  */
 class DefaultScenarioFxRateProvider
     implements ScenarioFxRateProvider, Serializable {
@@ -24,26 +34,62 @@ class DefaultScenarioFxRateProvider
    * The market data for a set of scenarios.
    */
   private final ScenarioMarketData marketData;
-
   /**
    * The source of the FX rates.
    */
   private final ObservableSource source;
+  /**
+   * The FX rate provider of each scenario, null until first used.
+   */
+  private final AtomicReferenceArray<FxRateProvider> fxRateProviders;
+  /**
+   * The rates of each currency pair, one for each scenario.
+   */
+  private final ConcurrentHashMap<CurrencyPair, DoubleArray> fxRates = new ConcurrentHashMap<>();
 
   // creates an instance
   DefaultScenarioFxRateProvider(ScenarioMarketData marketData, ObservableSource source) {
     this.marketData = marketData;
     this.source = source;
+    this.fxRateProviders = new AtomicReferenceArray<>(marketData.getScenarioCount());
   }
 
   @Override
   public int getScenarioCount() {
-    return marketData.getScenarioCount();
+    return fxRateProviders.length();
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1;
+    }
+    DoubleArray rates = fxRates.get(CurrencyPair.of(baseCurrency, counterCurrency));
+    if (rates != null) {
+      return rates.get(scenarioIndex);
+    }
+    return fxRateProvider(scenarioIndex).fxRate(baseCurrency, counterCurrency);
+  }
+
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1d);
+    }
+    CurrencyPair pair = CurrencyPair.of(baseCurrency, counterCurrency);
+    return fxRates.computeIfAbsent(pair, p -> DoubleArray.of(
+        getScenarioCount(), i -> fxRateProvider(i).fxRate(baseCurrency, counterCurrency)));
   }
 
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
-    return MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
+    FxRateProvider fxRateProvider = fxRateProviders.get(scenarioIndex);
+    if (fxRateProvider == null) {
+      // the providers are immutable, so concurrent creation is harmless
+      fxRateProvider = MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
+      fxRateProviders.set(scenarioIndex, fxRateProvider);
+    }
+    return fxRateProvider;
   }
 
 }
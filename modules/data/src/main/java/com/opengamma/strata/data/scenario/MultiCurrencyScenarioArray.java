@@ -10,7 +10,6 @@ import static java.util.stream.Collectors.toList;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -34,11 +33,10 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
-import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
+import com.opengamma.strata.basics.currency.MutableMultiCurrencyAmountArray;
 import com.opengamma.strata.collect.Guavate;
-import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -195,10 +193,10 @@ public final class MultiCurrencyScenarioArray
     for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
       Currency currency = entry.getKey();
       DoubleArray currencyValues = entry.getValue();
+      DoubleArray fxRates = fxRateProvider.fxRates(currency, reportingCurrency);
 
       for (int i = 0; i < size; i++) {
-        double convertedValue = currencyValues.get(i) * fxRateProvider.fxRate(currency, reportingCurrency, i);
-        singleCurrencyValues[i] += convertedValue;
+        singleCurrencyValues[i] += currencyValues.get(i) * fxRates.get(i);
       }
     }
     return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
@@ -225,20 +223,14 @@ public final class MultiCurrencyScenarioArray
    * @return the collector
    */
   public static Collector<CurrencyScenarioArray, ?, MultiCurrencyScenarioArray> toMultiCurrencyScenarioArray() {
-    return Collector.<CurrencyScenarioArray, Map<Currency, CurrencyAmountArray>, MultiCurrencyScenarioArray>of(
-        // accumulate into a map
-        HashMap::new,
-        (map, ca) -> map.merge(ca.getCurrency(), ca.getAmounts(), CurrencyAmountArray::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmountArray::plus));
-          return map1;
-        },
+    return Collector.<CurrencyScenarioArray, MutableMultiCurrencyAmountArray, MultiCurrencyScenarioArray>of(
+        // accumulate into a mutable array, keyed by the registry index of the currency
+        MutableMultiCurrencyAmountArray::new,
+        (mutable, ca) -> mutable.add(ca.getAmounts()),
+        // combine two mutable arrays
+        MutableMultiCurrencyAmountArray::addAll,
         // convert to MultiCurrencyScenarioArray
-        map -> {
-          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(caa -> caa.getValues()).toMap();
-          return MultiCurrencyScenarioArray.of(currencyArrayMap);
-        },
+        mutable -> MultiCurrencyScenarioArray.of(mutable.toImmutable()),
         UNORDERED);
   }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A scenario array of {@code double} values that is a view of a buffer.
+ * <p>
+ * The buffer is typically a row of the off-heap matrix of an {@link OffHeapScenarioMarketData},
+ * such that the values are not held on the heap.
+ * <p>
+ * When serialized, the values are copied to a {@link DoubleScenarioArray}.
+ */
+final class OffHeapDoubleScenarioArray
+    implements ScenarioArray<Double>, Serializable {
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The values, one per scenario, read-only.
+   */
+  private final transient DoubleBuffer values;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The view is taken from the current position to the limit of the buffer.
+   *
+   * @param values  the values
+   */
+  OffHeapDoubleScenarioArray(DoubleBuffer values) {
+    this.values = values.slice().asReadOnlyBuffer();
+  }
+
+  // the values are not serialized, a heap-based array is serialized instead
+  private Object writeReplace() {
+    return DoubleScenarioArray.of(toDoubleArray());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return values.limit();
+  }
+
+  @Override
+  public Double get(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, values.limit(), "scenarioIndex");
+    return values.get(scenarioIndex);
+  }
+
+  @Override
+  public Stream<Double> stream() {
+    return IntStream.range(0, values.limit()).mapToObj(values::get);
+  }
+
+  /**
+   * Copies the values to a {@code DoubleArray}.
+   *
+   * @return the values
+   */
+  DoubleArray toDoubleArray() {
+    double[] array = new double[values.limit()];
+    values.duplicate().get(array);
+    return DoubleArray.ofUnsafe(array);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof OffHeapDoubleScenarioArray) {
+      OffHeapDoubleScenarioArray other = (OffHeapDoubleScenarioArray) obj;
+      return values.equals(other.values);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return values.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapDoubleScenarioArray{values=" + toDoubleArray() + "}";
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.nio.DoubleBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A set of observable market data for many scenarios, held in an off-heap matrix.
+ * <p>
+ * {@link ImmutableScenarioMarketData} holds one array per identifier on the heap.
+ * For large sets of historical scenarios, this implementation holds the values in off-heap
+ * buffers, typically direct or memory-mapped buffers, reducing heap usage and garbage collection.
+ * <p>
+ * The buffers are a matrix of identifiers by scenarios, stored row by row, such that the values
+ * of one identifier for all scenarios are contiguous. The matrix is split in chunks holding
+ * the same number of rows. The box for an identifier is a view of its row, obtained without copying.
+ * <p>
+ * Only {@linkplain ObservableId observable} values are held. Other market data, such as curves,
+ * can be added using {@link #combinedWith(ScenarioMarketData)}.
+ * <p>
+ * Instances are created using {@link #builder(LocalDate, int)}, or from an existing buffer
+ * using {@link #of(LocalDate, int, List, DoubleBuffer, Map)}.
+ */
+public final class OffHeapScenarioMarketData
+    implements ScenarioMarketData {
+
+  /**
+   * The valuation date of all scenarios.
+   */
+  private final MarketDataBox<LocalDate> valuationDate;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The row index of each identifier in the matrix.
+   */
+  private final ImmutableMap<ObservableId, Integer> rows;
+  /**
+   * The chunks of the matrix of values, read-only.
+   */
+  private final ImmutableList<DoubleBuffer> chunks;
+  /**
+   * The number of rows in a chunk.
+   */
+  private final int chunkRows;
+  /**
+   * The time-series.
+   */
+  private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a buffer.
+   * <p>
+   * The buffer is a matrix of identifiers by scenarios, stored row by row.
+   * The row of each identifier is defined by its position in the list.
+   * The matrix is taken from the current position of the buffer, which is not copied.
+   * As such, the buffer may be a view of a memory-mapped file.
+   *
+   * @param valuationDate  the valuation date of all scenarios
+   * @param scenarioCount  the number of scenarios
+   * @param ids  the identifiers, defining the rows of the matrix
+   * @param values  the matrix of values
+   * @param timeSeries  the time-series
+   * @return the market data
+   * @throws IllegalArgumentException if the buffer is too small or the identifiers are not unique
+   */
+  public static OffHeapScenarioMarketData of(
+      LocalDate valuationDate,
+      int scenarioCount,
+      List<? extends ObservableId> ids,
+      DoubleBuffer values,
+      Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    ArgChecker.noNulls(ids, "ids");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    ArgChecker.isTrue(
+        values.remaining() >= (long) ids.size() * scenarioCount,
+        "Buffer too small, expected {} values but found {}", (long) ids.size() * scenarioCount, values.remaining());
+    ImmutableMap.Builder<ObservableId, Integer> rows = ImmutableMap.builder();
+    for (int i = 0; i < ids.size(); i++) {
+      rows.put(ids.get(i), i);
+    }
+    return new OffHeapScenarioMarketData(
+        MarketDataBox.ofSingleValue(valuationDate),
+        scenarioCount,
+        rows.build(),
+        ImmutableList.of(values.slice().asReadOnlyBuffer()),
+        Math.max(ids.size(), 1),
+        ImmutableMap.copyOf(timeSeries));
+  }
+
+  /**
+   * Obtains a builder that writes the values to an off-heap buffer.
+   *
+   * @param valuationDate  the valuation date of all scenarios
+   * @param scenarioCount  the number of scenarios
+   * @return the builder
+   */
+  public static OffHeapScenarioMarketDataBuilder builder(LocalDate valuationDate, int scenarioCount) {
+    return new OffHeapScenarioMarketDataBuilder(valuationDate, scenarioCount);
+  }
+
+  /**
+   * Obtains a builder that writes the values to an off-heap buffer, sized for the expected number of identifiers.
+   * <p>
+   * The values of the expected identifiers are held in a single buffer.
+   * Further identifiers are added in further buffers of the same size.
+   *
+   * @param valuationDate  the valuation date of all scenarios
+   * @param scenarioCount  the number of scenarios
+   * @param expectedIdCount  the expected number of identifiers
+   * @return the builder
+   */
+  public static OffHeapScenarioMarketDataBuilder builder(
+      LocalDate valuationDate,
+      int scenarioCount,
+      int expectedIdCount) {
+
+    return new OffHeapScenarioMarketDataBuilder(valuationDate, scenarioCount, expectedIdCount);
+  }
+
+  // restricted constructor
+  OffHeapScenarioMarketData(
+      MarketDataBox<LocalDate> valuationDate,
+      int scenarioCount,
+      ImmutableMap<ObservableId, Integer> rows,
+      ImmutableList<DoubleBuffer> chunks,
+      int chunkRows,
+      ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+
+    this.valuationDate = valuationDate;
+    this.scenarioCount = scenarioCount;
+    this.rows = rows;
+    this.chunks = chunks;
+    this.chunkRows = chunkRows;
+    this.timeSeries = timeSeries;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return valuationDate;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return rows.containsKey(id);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    Integer row = rows.get(id);
+    if (row == null) {
+      return Optional.empty();
+    }
+    // an observable identifier always refers to a value of type Double
+    return Optional.of((MarketDataBox<T>) MarketDataBox.ofScenarioValue(row(row)));
+  }
+
+  // the view of a single row of the matrix
+  private OffHeapDoubleScenarioArray row(int row) {
+    int start = (row % chunkRows) * scenarioCount;
+    DoubleBuffer view = chunks.get(row / chunkRows).duplicate();
+    view.position(start).limit(start + scenarioCount);
+    return new OffHeapDoubleScenarioArray(view);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return (Set<MarketDataId<?>>) (Set<?>) rows.keySet();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    // observable identifiers do not have names
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return timeSeries.keySet();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    LocalDateDoubleTimeSeries found = timeSeries.get(id);
+    return found == null ? LocalDateDoubleTimeSeries.empty() : found;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "OffHeapScenarioMarketData[valuationDate=" + valuationDate.getSingleValue() +
+        ", scenarioCount=" + scenarioCount + ", size=" + rows.size() + "]";
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A mutable builder for off-heap scenario market data.
+ * <p>
+ * This is used to create instances of {@link OffHeapScenarioMarketData}.
+ * The values are written directly to off-heap buffers, in native byte order.
+ * The buffers are chunks of a fixed number of rows, allocated as identifiers are added,
+ * such that the values already written are never copied.
+ * Each identifier must have a value for every scenario when the market data is built.
+ */
+public final class OffHeapScenarioMarketDataBuilder {
+
+  /**
+   * The default number of values in a chunk, 1Mb.
+   */
+  private static final int CHUNK_VALUES = 1 << 17;
+
+  /**
+   * The valuation date of all scenarios.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The number of rows in a chunk.
+   */
+  private final int chunkRows;
+  /**
+   * The row index of each identifier in the matrix.
+   */
+  private final Map<ObservableId, Integer> rows = new LinkedHashMap<>();
+  /**
+   * The time-series.
+   */
+  private final Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+  /**
+   * The chunks of the matrix of values, missing values being NaN.
+   */
+  private final List<DoubleBuffer> chunks = new ArrayList<>();
+
+  //-------------------------------------------------------------------------
+  OffHeapScenarioMarketDataBuilder(LocalDate valuationDate, int scenarioCount) {
+    this(valuationDate, scenarioCount, Math.max(CHUNK_VALUES / Math.max(scenarioCount, 1), 1));
+  }
+
+  OffHeapScenarioMarketDataBuilder(LocalDate valuationDate, int scenarioCount, int expectedIdCount) {
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    ArgChecker.notNegativeOrZero(expectedIdCount, "expectedIdCount");
+    this.valuationDate = valuationDate;
+    this.scenarioCount = scenarioCount;
+    // a chunk is limited by the 2Gb size of a buffer
+    this.chunkRows = Math.min(expectedIdCount, Integer.MAX_VALUE / 8 / scenarioCount);
+    ArgChecker.isTrue(chunkRows > 0, "Too many scenarios for off-heap scenario market data: {}", scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the value of an identifier for a single scenario.
+   * <p>
+   * An exception is thrown if the identifier already has a value for the scenario.
+   *
+   * @param id  the identifier
+   * @param scenarioIndex  the scenario index
+   * @param value  the value
+   * @return this builder
+   * @throws IllegalArgumentException if the value is a duplicate
+   */
+  public OffHeapScenarioMarketDataBuilder addValue(ObservableId id, int scenarioIndex, double value) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    ArgChecker.isFalse(Double.isNaN(value), "Value must not be NaN: {}", id);
+    int row = row(id);
+    DoubleBuffer chunk = chunk(row);
+    int index = offset(row) + scenarioIndex;
+    if (!Double.isNaN(chunk.get(index))) {
+      throw new IllegalArgumentException(
+          Messages.format("Duplicate value for '{}' in scenario {}", id, scenarioIndex));
+    }
+    chunk.put(index, value);
+    return this;
+  }
+
+  /**
+   * Adds the values of an identifier for all scenarios.
+   * <p>
+   * Any existing values of the identifier will be replaced.
+   *
+   * @param id  the identifier
+   * @param scenarioValues  the values, one for each scenario
+   * @return this builder
+   * @throws IllegalArgumentException if the number of values does not match the scenario count
+   */
+  public OffHeapScenarioMarketDataBuilder addValues(ObservableId id, DoubleArray scenarioValues) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(scenarioValues, "scenarioValues");
+    ArgChecker.isTrue(
+        scenarioValues.size() == scenarioCount,
+        "Scenario count mismatch for '{}', expected {} but found {}", id, scenarioCount, scenarioValues.size());
+    int row = row(id);
+    DoubleBuffer view = chunk(row).duplicate();
+    view.position(offset(row));
+    view.put(scenarioValues.toArrayUnsafe());
+    return this;
+  }
+
+  /**
+   * Adds a time-series.
+   * <p>
+   * Any existing time-series with the same identifier will be replaced.
+   *
+   * @param id  the identifier
+   * @param timeSeries  the time-series
+   * @return this builder
+   */
+  public OffHeapScenarioMarketDataBuilder addTimeSeries(ObservableId id, LocalDateDoubleTimeSeries timeSeries) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    this.timeSeries.put(id, timeSeries);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds or allocates the row of an identifier, a new chunk being allocated when the last one is full
+  private int row(ObservableId id) {
+    Integer row = rows.get(id);
+    if (row != null) {
+      return row;
+    }
+    int newRow = rows.size();
+    if (newRow == chunks.size() * chunkRows) {
+      chunks.add(allocate(chunkRows));
+    }
+    rows.put(id, newRow);
+    return newRow;
+  }
+
+  // the chunk of a row
+  private DoubleBuffer chunk(int row) {
+    return chunks.get(row / chunkRows);
+  }
+
+  // the index of the first value of a row in its chunk
+  private int offset(int row) {
+    return (row % chunkRows) * scenarioCount;
+  }
+
+  // allocates an off-heap buffer in native byte order filled with NaN
+  private DoubleBuffer allocate(int rowCount) {
+    DoubleBuffer buffer = ByteBuffer.allocateDirect(rowCount * scenarioCount * 8)
+        .order(ByteOrder.nativeOrder())
+        .asDoubleBuffer();
+    for (int i = 0; i < buffer.capacity(); i++) {
+      buffer.put(i, Double.NaN);
+    }
+    return buffer;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the market data.
+   * <p>
+   * The builder must not be used after this method is called.
+   *
+   * @return the market data
+   * @throws IllegalArgumentException if an identifier does not have a value for every scenario
+   */
+  public OffHeapScenarioMarketData build() {
+    for (Entry<ObservableId, Integer> entry : rows.entrySet()) {
+      int row = entry.getValue();
+      DoubleBuffer chunk = chunk(row);
+      int start = offset(row);
+      for (int i = 0; i < scenarioCount; i++) {
+        if (Double.isNaN(chunk.get(start + i))) {
+          throw new IllegalArgumentException(
+              Messages.format("Missing value for '{}' in scenario {}", entry.getKey(), i));
+        }
+      }
+    }
+    ImmutableList.Builder<DoubleBuffer> matrix = ImmutableList.builder();
+    for (DoubleBuffer chunk : chunks) {
+      matrix.add(chunk.asReadOnlyBuffer());
+    }
+    return new OffHeapScenarioMarketData(
+        MarketDataBox.ofSingleValue(valuationDate),
+        scenarioCount,
+        ImmutableMap.copyOf(rows),
+        matrix.build(),
+        chunkRows,
+        ImmutableMap.copyOf(timeSeries));
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.TestingName;
+
+/**
+ * Test {@link OffHeapScenarioMarketData}.
+ */
+@Test
+public class OffHeapScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 7, 30);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.of(date(2015, 7, 29), 1d);
+
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    OffHeapScenarioMarketData test = OffHeapScenarioMarketData.builder(VAL_DATE, 3)
+        .addValue(ID1, 0, 1.0)
+        .addValue(ID1, 2, 1.2)
+        .addValue(ID1, 1, 1.1)
+        .addValues(ID2, DoubleArray.of(2.0, 2.1, 2.2))
+        .addTimeSeries(ID1, TIME_SERIES)
+        .build();
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(VAL_DATE));
+    assertEquals(test.getScenarioCount(), 3);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2));
+    assertEquals(test.containsValue(ID1), true);
+    assertEquals(test.containsValue(ID3), false);
+    assertEquals(test.findValue(ID3).isPresent(), false);
+    assertEquals(test.findIds(new TestingName("1")), ImmutableSet.of());
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID1));
+    assertEquals(test.getTimeSeries(ID1), TIME_SERIES);
+    assertEquals(test.getTimeSeries(ID2), LocalDateDoubleTimeSeries.empty());
+
+    MarketDataBox<Double> box1 = test.getValue(ID1);
+    assertEquals(box1.isScenarioValue(), true);
+    assertEquals(box1.getScenarioCount(), 3);
+    assertEquals(box1.getValue(0), Double.valueOf(1.0));
+    assertEquals(box1.getValue(1), Double.valueOf(1.1));
+    assertEquals(box1.getValue(2), Double.valueOf(1.2));
+    assertEquals(test.getValue(ID2).stream().toArray(), new Object[] {2.0, 2.1, 2.2});
+    assertEquals(test.scenario(1).getValue(ID2), Double.valueOf(2.1));
+  }
+
+  public void test_builder_manyRows() {
+    OffHeapScenarioMarketDataBuilder builder = OffHeapScenarioMarketData.builder(VAL_DATE, 2);
+    for (int i = 0; i < 1000; i++) {
+      builder.addValue(TestObservableId.of("id" + i), 1, i + 0.5);
+      builder.addValue(TestObservableId.of("id" + i), 0, i);
+    }
+    OffHeapScenarioMarketData test = builder.build();
+    assertEquals(test.getIds().size(), 1000);
+    for (int i = 0; i < 1000; i++) {
+      MarketDataBox<Double> box = test.getValue(TestObservableId.of("id" + i));
+      assertEquals(box.getValue(0), Double.valueOf(i));
+      assertEquals(box.getValue(1), Double.valueOf(i + 0.5));
+    }
+  }
+
+  public void test_builder_expectedIdCount() {
+    // the fourth and fifth identifiers are held in a second buffer
+    OffHeapScenarioMarketDataBuilder builder = OffHeapScenarioMarketData.builder(VAL_DATE, 2, 3);
+    for (int i = 0; i < 5; i++) {
+      builder.addValues(TestObservableId.of("id" + i), DoubleArray.of(i, i + 0.5));
+    }
+    OffHeapScenarioMarketData test = builder.build();
+    assertEquals(test.getIds().size(), 5);
+    for (int i = 0; i < 5; i++) {
+      MarketDataBox<Double> box = test.getValue(TestObservableId.of("id" + i));
+      assertEquals(box.getValue(0), Double.valueOf(i));
+      assertEquals(box.getValue(1), Double.valueOf(i + 0.5));
+    }
+    assertThrowsIllegalArg(() -> OffHeapScenarioMarketData.builder(VAL_DATE, 2, 0));
+  }
+
+  public void test_builder_manyScenarios() {
+    // the default buffers hold two identifiers
+    int scenarioCount = 1 << 16;
+    OffHeapScenarioMarketDataBuilder builder = OffHeapScenarioMarketData.builder(VAL_DATE, scenarioCount);
+    for (int i = 0; i < 5; i++) {
+      int shift = i;
+      builder.addValues(TestObservableId.of("id" + i), DoubleArray.of(scenarioCount, j -> j + shift));
+    }
+    OffHeapScenarioMarketData test = builder.build();
+    for (int i = 0; i < 5; i++) {
+      MarketDataBox<Double> box = test.getValue(TestObservableId.of("id" + i));
+      assertEquals(box.getValue(0), Double.valueOf(i));
+      assertEquals(box.getValue(scenarioCount - 1), Double.valueOf(scenarioCount - 1 + i));
+    }
+  }
+
+  public void test_builder_invalid() {
+    OffHeapScenarioMarketDataBuilder builder = OffHeapScenarioMarketData.builder(VAL_DATE, 2).addValue(ID1, 0, 1d);
+    assertThrowsIllegalArg(() -> builder.addValue(ID1, 0, 2d));
+    assertThrowsIllegalArg(() -> builder.addValue(ID1, 2, 2d));
+    assertThrowsIllegalArg(() -> builder.addValue(ID1, 1, Double.NaN));
+    assertThrowsIllegalArg(() -> builder.addValues(ID2, DoubleArray.of(1d, 2d, 3d)));
+    assertThrowsIllegalArg(() -> builder.build());
+    assertThrowsIllegalArg(() -> OffHeapScenarioMarketData.builder(VAL_DATE, 0));
+  }
+
+  public void test_of() {
+    DoubleBuffer buffer = ByteBuffer.allocateDirect(7 * 8).asDoubleBuffer();
+    buffer.put(new double[] {9d, 1.0, 1.1, 2.0, 2.1, 3.0, 3.1});
+    buffer.position(1);
+    OffHeapScenarioMarketData test = OffHeapScenarioMarketData.of(
+        VAL_DATE, 2, ImmutableList.of(ID1, ID2, ID3), buffer, ImmutableMap.of(ID2, TIME_SERIES));
+    assertEquals(test.getScenarioCount(), 2);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.getValue(ID1).getValue(0), Double.valueOf(1.0));
+    assertEquals(test.getValue(ID2).getValue(1), Double.valueOf(2.1));
+    assertEquals(test.getValue(ID3).getValue(1), Double.valueOf(3.1));
+    assertEquals(test.getTimeSeries(ID2), TIME_SERIES);
+    assertThrowsIllegalArg(() -> OffHeapScenarioMarketData.of(
+        VAL_DATE, 4, ImmutableList.of(ID1, ID2), buffer, ImmutableMap.of()));
+  }
+
+  public void test_scenarioArray() throws Exception {
+    OffHeapScenarioMarketData test = OffHeapScenarioMarketData.builder(VAL_DATE, 2)
+        .addValues(ID1, DoubleArray.of(1d, 2d))
+        .addValues(ID2, DoubleArray.of(1d, 2d))
+        .build();
+    ScenarioArray<Double> array1 = test.getValue(ID1).getScenarioValue();
+    ScenarioArray<Double> array2 = test.getValue(ID2).getScenarioValue();
+    assertEquals(array1, array2);
+    assertEquals(array1.hashCode(), array2.hashCode());
+    assertEquals(array1.getScenarioCount(), 2);
+    assertEquals(array1.get(1), Double.valueOf(2d));
+    assertThrowsIllegalArg(() -> array1.get(2));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(array1);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(ois.readObject(), DoubleScenarioArray.of(DoubleArray.of(1d, 2d)));
+    }
+  }
+
+}
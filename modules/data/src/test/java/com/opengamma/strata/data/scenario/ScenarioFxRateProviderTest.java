@@ -6,15 +6,20 @@
 package com.opengamma.strata.data.scenario;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
 
 @Test
@@ -51,4 +56,38 @@ public class ScenarioFxRateProviderTest {
     assertThat(defaultRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
     assertThat(sourceRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.41d);
   }
+
+  public void fxRates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(
+            FxRateId.of(Currency.GBP, Currency.USD),
+            ImmutableList.of(FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.USD, 1.5d)))
+        .addValue(FxRateId.of(Currency.EUR, Currency.USD), FxRate.of(Currency.EUR, Currency.USD, 1.1d))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.5d));
+    assertThat(test.fxRates(Currency.USD, Currency.GBP)).isEqualTo(DoubleArray.of(1d / 1.4d, 1d / 1.5d));
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d, 1d));
+    // the cached rates are the rates of each scenario, including the cross rates
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isSameAs(test.fxRates(Currency.GBP, Currency.USD));
+    assertThat(test.fxRate(Currency.GBP, Currency.EUR, 1))
+        .isEqualTo(test.fxRateProvider(1).fxRate(Currency.GBP, Currency.EUR));
+    assertThat(test.fxRates(Currency.GBP, Currency.EUR).get(0)).isEqualTo(1.4d / 1.1d, offset(1e-14));
+    assertThatThrownBy(() -> test.fxRates(Currency.GBP, Currency.JPY)).isInstanceOf(MarketDataNotFoundException.class);
+  }
+
+  public void fxRate_otherScenarioInvalid() {
+    // the second scenario holds a rate of the wrong currency pair
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(
+            FxRateId.of(Currency.GBP, Currency.USD),
+            ImmutableList.of(FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.EUR, 1.2d)))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
+    assertThatThrownBy(() -> test.fxRate(Currency.GBP, Currency.USD, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> test.fxRates(Currency.GBP, Currency.USD)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(test.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
+  }
+
 }
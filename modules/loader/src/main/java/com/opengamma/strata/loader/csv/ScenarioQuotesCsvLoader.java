@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import static java.util.stream.Collectors.toList;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.google.common.io.CharSource;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.io.UnicodeBom;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.data.scenario.OffHeapScenarioMarketData;
+import com.opengamma.strata.data.scenario.OffHeapScenarioMarketDataBuilder;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Loads a set of scenario quotes into off-heap market data from CSV resources.
+ * <p>
+ * The quotes are expected to be in a CSV format, with the following header row:<br />
+ * {@code Valuation Date, Scenario Index, Symbology, Ticker, Field Name, Value}.
+ * <ul>
+ * <li>The 'Valuation Date' column provides the valuation date, allowing data from different
+ *  days to be stored in the same file
+ * <li>The 'Scenario Index' column is the zero-based index of the scenario.
+ * <li>The 'Symbology' column is the symbology scheme applicable to the ticker.
+ * <li>The 'Ticker' column is the identifier within the symbology.
+ * <li>The 'Field Name' column is the field name, defaulted to 'MarketValue', allowing
+ *  fields such as 'Bid' or 'Ask' to be specified.
+ * <li>The 'Value' column is the value of the ticker in the scenario.
+ * </ul>
+ * <p>
+ * Each quote must have a value for every scenario.
+ * The files are read row-by-row and the values written directly to an off-heap buffer,
+ * allowing large sets of historical scenarios to be loaded, see {@link OffHeapScenarioMarketData}.
+ * <p>
+ * For example:
+ * <pre>
+ * Valuation Date, Scenario Index, Symbology, Ticker, Field Name, Value
+ * 2014-01-22, 0, OG-Future, Eurex-FGBL-Mar14, MarketValue, 150.43
+ * 2014-01-22, 1, OG-Future, Eurex-FGBL-Mar14, MarketValue, 150.51
+ * 2014-01-22, 0, OG-Future, CME-ED-Mar14, MarketValue, 99.620
+ * 2014-01-22, 1, OG-Future, CME-ED-Mar14, MarketValue, 99.615
+ * </pre>
+ * Note that Microsoft Excel prefers the CSV file to have no space after the comma.
+ * <p>
+ * CSV files sometimes contain a Unicode Byte Order Mark.
+ * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+ */
+public final class ScenarioQuotesCsvLoader {
+
+  // CSV column headers
+  private static final String DATE_FIELD = "Valuation Date";
+  private static final String SCENARIO_FIELD = "Scenario Index";
+  private static final String SYMBOLOGY_FIELD = "Symbology";
+  private static final String TICKER_FIELD = "Ticker";
+  private static final String FIELD_NAME_FIELD = "Field Name";
+  private static final String VALUE_FIELD = "Value";
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads one or more CSV format scenario quote files for a specific date.
+   * <p>
+   * Only those quotes that match the specified date will be loaded.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param marketDataDate  the date to load
+   * @param scenarioCount  the number of scenarios
+   * @param resources  the CSV resources
+   * @return the loaded quotes, as off-heap scenario market data
+   * @throws IllegalArgumentException if the files contain a duplicate entry or a missing scenario
+   */
+  public static OffHeapScenarioMarketData load(
+      LocalDate marketDataDate,
+      int scenarioCount,
+      ResourceLocator... resources) {
+
+    return load(marketDataDate, scenarioCount, Arrays.asList(resources));
+  }
+
+  /**
+   * Loads one or more CSV format scenario quote files for a specific date.
+   * <p>
+   * Only those quotes that match the specified date will be loaded.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param marketDataDate  the date to load
+   * @param scenarioCount  the number of scenarios
+   * @param resources  the CSV resources
+   * @return the loaded quotes, as off-heap scenario market data
+   * @throws IllegalArgumentException if the files contain a duplicate entry or a missing scenario
+   */
+  public static OffHeapScenarioMarketData load(
+      LocalDate marketDataDate,
+      int scenarioCount,
+      Collection<ResourceLocator> resources) {
+
+    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
+    return parse(marketDataDate, scenarioCount, charSources);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format scenario quote files for a specific date.
+   * <p>
+   * Only those quotes that match the specified date will be loaded.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param marketDataDate  the date to load
+   * @param scenarioCount  the number of scenarios
+   * @param charSources  the CSV character sources
+   * @return the loaded quotes, as off-heap scenario market data
+   * @throws IllegalArgumentException if the files contain a duplicate entry or a missing scenario
+   */
+  public static OffHeapScenarioMarketData parse(
+      LocalDate marketDataDate,
+      int scenarioCount,
+      Collection<CharSource> charSources) {
+
+    OffHeapScenarioMarketDataBuilder builder = OffHeapScenarioMarketData.builder(marketDataDate, scenarioCount);
+    for (CharSource charSource : charSources) {
+      parseSingle(marketDataDate, charSource, builder);
+    }
+    return builder.build();
+  }
+
+  // loads a single CSV file, filtering by date
+  private static void parseSingle(
+      LocalDate marketDataDate,
+      CharSource resource,
+      OffHeapScenarioMarketDataBuilder builder) {
+
+    try (CsvIterator csv = CsvIterator.of(resource, true)) {
+      for (CsvRow row : (Iterable<CsvRow>) () -> csv) {
+        String dateText = row.getField(DATE_FIELD);
+        LocalDate date = LocalDate.parse(dateText);
+        if (marketDataDate.equals(date)) {
+          String scenarioStr = row.getField(SCENARIO_FIELD);
+          String symbologyStr = row.getField(SYMBOLOGY_FIELD);
+          String tickerStr = row.getField(TICKER_FIELD);
+          String fieldNameStr = row.getField(FIELD_NAME_FIELD);
+          String valueStr = row.getField(VALUE_FIELD);
+
+          int scenarioIndex = Integer.parseInt(scenarioStr);
+          double value = Double.valueOf(valueStr);
+          StandardId id = StandardId.of(symbologyStr, tickerStr);
+          FieldName fieldName = fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr);
+          builder.addValue(QuoteId.of(id, fieldName), scenarioIndex, value);
+        }
+      }
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as CSV file: {}", resource), ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private ScenarioQuotesCsvLoader() {
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link ScenarioQuotesCsvLoader}.
+ */
+@Test
+public class ScenarioQuotesCsvLoaderTest {
+
+  private static final QuoteId FGBL_MAR14 = QuoteId.of(StandardId.of("OG-Future", "Eurex-FGBL-Mar14"));
+  private static final QuoteId ED_MAR14 = QuoteId.of(StandardId.of("OG-Future", "CME-ED-Mar14"));
+
+  private static final LocalDate DATE1 = date(2014, 1, 22);
+  private static final LocalDate DATE2 = date(2014, 1, 23);
+
+  private static final ResourceLocator QUOTES_1 =
+      ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/scenario-quotes-1.csv");
+  private static final ResourceLocator QUOTES_INVALID_MISSING =
+      ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/scenario-quotes-invalid-missing.csv");
+
+  //-------------------------------------------------------------------------
+  public void test_noFiles() {
+    ScenarioMarketData test = ScenarioQuotesCsvLoader.load(DATE1, 2);
+    assertEquals(test.getIds().size(), 0);
+  }
+
+  public void test_load_date1() {
+    ScenarioMarketData test = ScenarioQuotesCsvLoader.load(DATE1, 2, QUOTES_1);
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(DATE1));
+    assertEquals(test.getScenarioCount(), 2);
+    assertEquals(test.getIds(), ImmutableSet.of(FGBL_MAR14, ED_MAR14));
+    assertEquals(test.getValue(FGBL_MAR14).getValue(0), Double.valueOf(150.43));
+    assertEquals(test.getValue(FGBL_MAR14).getValue(1), Double.valueOf(150.51));
+    assertEquals(test.getValue(ED_MAR14).getValue(0), Double.valueOf(99.620));
+    assertEquals(test.getValue(ED_MAR14).getValue(1), Double.valueOf(99.615));
+  }
+
+  public void test_load_date2() {
+    ScenarioMarketData test = ScenarioQuotesCsvLoader.load(DATE2, 2, ImmutableList.of(QUOTES_1));
+    assertEquals(test.getIds(), ImmutableSet.of(FGBL_MAR14));
+    assertEquals(test.getValue(FGBL_MAR14).getValue(1), Double.valueOf(150.55));
+  }
+
+  public void test_load_invalid() {
+    assertThrowsIllegalArg(() -> ScenarioQuotesCsvLoader.load(DATE1, 2, QUOTES_INVALID_MISSING));
+    assertThrowsIllegalArg(() -> ScenarioQuotesCsvLoader.load(DATE1, 2, QUOTES_1, QUOTES_1));
+    assertThrowsIllegalArg(() -> ScenarioQuotesCsvLoader.load(DATE1, 1, QUOTES_1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(ScenarioQuotesCsvLoader.class);
+  }
+
+}
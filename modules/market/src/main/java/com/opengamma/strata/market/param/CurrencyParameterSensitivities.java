@@ -7,6 +7,7 @@ package com.opengamma.strata.market.param;
 
 import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -18,6 +19,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.joda.beans.Bean;
@@ -134,6 +136,26 @@ public final class CurrencyParameterSensitivities
     return new CurrencyParameterSensitivities(ImmutableList.copyOf(mutable));
   }
 
+  /**
+   * Returns a collector that can be used to combine a stream of sensitivities.
+   * <p>
+   * The sensitivities are summed in place by {@link MutableCurrencyParameterSensitivities},
+   * giving the same result as repeated calls to {@link #combinedWith(CurrencyParameterSensitivities)}.
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyParameterSensitivities, ?, CurrencyParameterSensitivities>
+      toCurrencyParameterSensitivities() {
+
+    return Collector.<CurrencyParameterSensitivities, MutableCurrencyParameterSensitivities,
+        CurrencyParameterSensitivities>of(
+            MutableCurrencyParameterSensitivities::new,
+            MutableCurrencyParameterSensitivities::add,
+            MutableCurrencyParameterSensitivities::addAll,
+            MutableCurrencyParameterSensitivities::toImmutable,
+            UNORDERED);
+  }
+
   // used when not pre-sorted
   @ImmutableConstructor
   private CurrencyParameterSensitivities(List<? extends CurrencyParameterSensitivity> sensitivities) {
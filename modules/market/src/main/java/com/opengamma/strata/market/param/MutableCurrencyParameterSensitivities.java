@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * Mutable builder for the sum of parameter sensitivities.
+ * <p>
+ * The sensitivities are summed in place, in one primitive array for each market data name and currency,
+ * so that adding a sensitivity creates no intermediate arrays.
+ * The result is the same as that of repeated calls to
+ * {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}.
+ * The parameter metadata of each entry is that of the first sensitivity added for the name and currency.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create an immutable {@link CurrencyParameterSensitivities} instance.
+ */
+public final class MutableCurrencyParameterSensitivities {
+
+  /**
+   * The sums of the sensitivities, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, Entry> entries = new HashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public MutableCurrencyParameterSensitivities() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   *
+   * @return the number of market data name and currency combinations
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a parameter sensitivity, mutating the sums.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if the parameter count differs from that of the sum
+   */
+  public MutableCurrencyParameterSensitivities add(CurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entries.put(key, new Entry(sensitivity));
+    } else {
+      entry.add(sensitivity.getSensitivity());
+    }
+    return this;
+  }
+
+  /**
+   * Adds parameter sensitivities, mutating the sums.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if a parameter count differs from that of the sum
+   */
+  public MutableCurrencyParameterSensitivities add(CurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Merges the sums of another instance, mutating the sums.
+   *
+   * @param other  the other sensitivities to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if a parameter count differs from that of the sum
+   */
+  public MutableCurrencyParameterSensitivities addAll(MutableCurrencyParameterSensitivities other) {
+    ArgChecker.notNull(other, "other");
+    for (Map.Entry<Pair<MarketDataName<?>, Currency>, Entry> otherEntry : other.entries.entrySet()) {
+      Entry entry = entries.get(otherEntry.getKey());
+      if (entry == null) {
+        entries.put(otherEntry.getKey(), new Entry(otherEntry.getValue()));
+      } else {
+        entry.add(otherEntry.getValue().sensitivity);
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an immutable version of this object.
+   * <p>
+   * The sums are copied, so this builder may continue to be used.
+   *
+   * @return the immutable sensitivities
+   */
+  public CurrencyParameterSensitivities toImmutable() {
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>(entries.size());
+    for (Entry entry : entries.values()) {
+      sensitivities.add(entry.first.withSensitivity(DoubleArray.copyOf(entry.sensitivity)));
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MutableCurrencyParameterSensitivities" + toImmutable().getSensitivities();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sum of the sensitivities of a market data name and currency.
+   */
+  private static final class Entry {
+    /**
+     * The first sensitivity added, providing the metadata.
+     */
+    private final CurrencyParameterSensitivity first;
+    /**
+     * The sum of the sensitivities.
+     */
+    private final double[] sensitivity;
+
+    // creates an entry from the first sensitivity
+    private Entry(CurrencyParameterSensitivity first) {
+      this.first = first;
+      this.sensitivity = first.getSensitivity().toArray();
+    }
+
+    // creates a copy of an entry
+    private Entry(Entry other) {
+      this.first = other.first;
+      this.sensitivity = other.sensitivity.clone();
+    }
+
+    // adds the sensitivity to the sum
+    private void add(DoubleArray other) {
+      add(other.toArrayUnsafe());
+    }
+
+    // adds the sensitivity to the sum
+    private void add(double[] other) {
+      if (other.length != sensitivity.length) {
+        throw new IllegalArgumentException(Messages.format(
+            "Sensitivity of {} must have {} parameters but found {}",
+            first.getMarketDataName(), sensitivity.length, other.length));
+      }
+      for (int i = 0; i < sensitivity.length; i++) {
+        sensitivity[i] += other[i];
+      }
+    }
+  }
+
+}
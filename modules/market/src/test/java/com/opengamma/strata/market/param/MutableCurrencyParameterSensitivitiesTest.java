@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.stream.Stream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link MutableCurrencyParameterSensitivities}.
+ */
+@Test
+public class MutableCurrencyParameterSensitivitiesTest {
+
+  private static final MarketDataName<?> NAME1 = CurveName.of("NAME-1");
+  private static final MarketDataName<?> NAME2 = CurveName.of("NAME-2");
+  private static final CurrencyParameterSensitivity ENTRY_USD =
+      CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(3), USD, DoubleArray.of(1, 2, 3));
+  private static final CurrencyParameterSensitivity ENTRY_USD2 =
+      CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(3), USD, DoubleArray.of(10, 20, 30));
+  private static final CurrencyParameterSensitivity ENTRY_USD_TOTAL =
+      CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(3), USD, DoubleArray.of(11, 22, 33));
+  private static final CurrencyParameterSensitivity ENTRY_USD_SMALL =
+      CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(1), USD, DoubleArray.of(1));
+  private static final CurrencyParameterSensitivity ENTRY_EUR =
+      CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(3), EUR, DoubleArray.of(4, 5, 6));
+  private static final CurrencyParameterSensitivity ENTRY_EUR2 =
+      CurrencyParameterSensitivity.of(NAME2, ParameterMetadata.listOfEmpty(2), EUR, DoubleArray.of(7, 8));
+  private static final CurrencyParameterSensitivities SENSI_1 =
+      CurrencyParameterSensitivities.of(ENTRY_USD, ENTRY_EUR);
+  private static final CurrencyParameterSensitivities SENSI_2 =
+      CurrencyParameterSensitivities.of(ENTRY_USD2, ENTRY_EUR2);
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities();
+    assertEquals(test.size(), 0);
+    assertEquals(test.toImmutable(), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_add() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities();
+    test.add(SENSI_1).add(ENTRY_USD2).add(ENTRY_EUR2);
+    assertEquals(test.size(), 3);
+    assertEquals(test.toImmutable(), SENSI_1.combinedWith(SENSI_2));
+    assertEquals(test.toImmutable().getSensitivity(NAME1, USD), ENTRY_USD_TOTAL);
+  }
+
+  public void test_add_inputUnchanged() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities();
+    test.add(ENTRY_USD).add(ENTRY_USD2);
+    assertEquals(ENTRY_USD.getSensitivity(), DoubleArray.of(1, 2, 3));
+    assertEquals(test.toImmutable(), CurrencyParameterSensitivities.of(ENTRY_USD_TOTAL));
+  }
+
+  public void test_add_sizeMismatch() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities();
+    test.add(ENTRY_USD);
+    assertThrowsIllegalArg(() -> test.add(ENTRY_USD_SMALL));
+  }
+
+  public void test_addAll() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities().add(SENSI_1);
+    MutableCurrencyParameterSensitivities other = new MutableCurrencyParameterSensitivities().add(SENSI_2);
+    test.addAll(other);
+    assertEquals(test.toImmutable(), SENSI_1.combinedWith(SENSI_2));
+    // the other is not affected by later changes
+    test.add(ENTRY_EUR2);
+    assertEquals(other.toImmutable(), SENSI_2);
+  }
+
+  public void test_toImmutable_snapshot() {
+    MutableCurrencyParameterSensitivities test = new MutableCurrencyParameterSensitivities().add(ENTRY_USD);
+    CurrencyParameterSensitivities snapshot = test.toImmutable();
+    test.add(ENTRY_USD2);
+    assertEquals(snapshot, CurrencyParameterSensitivities.of(ENTRY_USD));
+    assertEquals(test.toImmutable(), CurrencyParameterSensitivities.of(ENTRY_USD_TOTAL));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_toCurrencyParameterSensitivities() {
+    CurrencyParameterSensitivities test = Stream.of(SENSI_1, SENSI_2, SENSI_1)
+        .parallel()
+        .collect(CurrencyParameterSensitivities.toCurrencyParameterSensitivities());
+    assertEquals(test, SENSI_1.combinedWith(SENSI_2).combinedWith(SENSI_1));
+    assertEquals(
+        Stream.<CurrencyParameterSensitivities>empty()
+            .collect(CurrencyParameterSensitivities.toCurrencyParameterSensitivities()),
+        CurrencyParameterSensitivities.empty());
+    assertEquals(ImmutableList.of(SENSI_1).stream()
+        .collect(CurrencyParameterSensitivities.toCurrencyParameterSensitivities()), SENSI_1);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Brownian bridge construction of a Brownian motion on a time grid.
+ * <p>
+ * The Brownian motion is first set at the last time, then at the time in the middle of the grid,
+ * then at the middle of each half, and so on, each value being drawn conditionally to the values already set.
+ * The first variates therefore determine the coarse structure of the path.
+ * Used with low-discrepancy sequences, this concentrates the variance of the paths on the first dimensions
+ * of the sequence, where it is the most uniform.
+ * <p>
+ * The construction is the one described in Jäckel, P. "Monte Carlo methods in finance", Wiley, 2002.
+ */
+public final class BrownianBridge {
+
+  /**
+   * The times of the grid.
+   */
+  private final double[] times;
+  /**
+   * The square roots of the time steps.
+   */
+  private final double[] sqrtSteps;
+  /**
+   * The index of the time set at each stage.
+   */
+  private final int[] bridgeIndex;
+  /**
+   * The index following the left neighbour already set at each stage, zero for the origin.
+   */
+  private final int[] leftIndex;
+  /**
+   * The index of the right neighbour already set at each stage.
+   */
+  private final int[] rightIndex;
+  /**
+   * The weight of the left neighbour at each stage.
+   */
+  private final double[] leftWeight;
+  /**
+   * The weight of the right neighbour at each stage.
+   */
+  private final double[] rightWeight;
+  /**
+   * The conditional standard deviation at each stage.
+   */
+  private final double[] stdDev;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The Brownian motion starts at zero at time zero.
+   *
+   * @param times  the times of the grid, positive and strictly increasing
+   * @return the instance
+   */
+  public static BrownianBridge of(DoubleArray times) {
+    return new BrownianBridge(times.toArray());
+  }
+
+  // private constructor
+  private BrownianBridge(double[] times) {
+    int n = times.length;
+    ArgChecker.isTrue(n > 0, "times must not be empty");
+    ArgChecker.isTrue(times[0] > 0d, "times must be positive");
+    this.times = times;
+    this.sqrtSteps = new double[n];
+    for (int i = 0; i < n; i++) {
+      double step = times[i] - (i == 0 ? 0d : times[i - 1]);
+      ArgChecker.isTrue(step > 0d, "times must be strictly increasing");
+      sqrtSteps[i] = Math.sqrt(step);
+    }
+    this.bridgeIndex = new int[n];
+    this.leftIndex = new int[n];
+    this.rightIndex = new int[n];
+    this.leftWeight = new double[n];
+    this.rightWeight = new double[n];
+    this.stdDev = new double[n];
+    boolean[] set = new boolean[n];
+    set[n - 1] = true;
+    bridgeIndex[0] = n - 1;
+    stdDev[0] = Math.sqrt(times[n - 1]);
+    for (int i = 1, j = 0; i < n; i++) {
+      while (set[j]) { // first time not set
+        j++;
+      }
+      int k = j;
+      while (!set[k]) { // next time set
+        k++;
+      }
+      int l = j + ((k - 1 - j) >> 1); // middle of the times not set
+      set[l] = true;
+      bridgeIndex[i] = l;
+      leftIndex[i] = j;
+      rightIndex[i] = k;
+      double left = j == 0 ? 0d : times[j - 1];
+      leftWeight[i] = (times[k] - times[l]) / (times[k] - left);
+      rightWeight[i] = (times[l] - left) / (times[k] - left);
+      stdDev[i] = Math.sqrt((times[l] - left) * (times[k] - times[l]) / (times[k] - left));
+      j = k + 1;
+      if (j >= n) {
+        j = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of times of the grid.
+   *
+   * @return the number of times
+   */
+  public int getNumberOfTimes() {
+    return times.length;
+  }
+
+  /**
+   * Transforms independent standard normal variates into the increments of the Brownian motion.
+   * <p>
+   * The increments are normalized by the square root of the time steps, thus they are also independent
+   * standard normal variates. The variate of index {@code i} is the one used at the {@code i}-th stage of
+   * the construction, the first variate setting the value at the last time.
+   * <p>
+   * The arrays must be distinct and at least as long as the number of times.
+   *
+   * @param variates  the standard normal variates, in the order of the construction
+   * @param increments  the array used to return the normalized increments, in the order of the times
+   */
+  public void transform(double[] variates, double[] increments) {
+    int n = times.length;
+    increments[n - 1] = stdDev[0] * variates[0];
+    for (int i = 1; i < n; i++) {
+      int j = leftIndex[i];
+      int k = rightIndex[i];
+      int l = bridgeIndex[i];
+      double value = rightWeight[i] * increments[k] + stdDev[i] * variates[i];
+      if (j != 0) {
+        value += leftWeight[i] * increments[j - 1];
+      }
+      increments[l] = value;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      increments[i] = (increments[i] - increments[i - 1]) / sqrtSteps[i];
+    }
+    increments[0] /= sqrtSteps[0];
+  }
+
+}
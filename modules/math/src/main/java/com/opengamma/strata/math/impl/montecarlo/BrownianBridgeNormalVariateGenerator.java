@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Generator of standard normal variates applying a Brownian bridge to an underlying generator.
+ * <p>
+ * The variates of the underlying generator are used in the order of the Brownian bridge construction,
+ * see {@link BrownianBridge}, and transformed into the normalized increments of the Brownian motions
+ * over the time steps. The resulting variates are ordered by time step, then by factor, as expected
+ * by {@link PathGenerator}.
+ * <p>
+ * For several factors, the variates of the underlying generator are used by stage of the construction,
+ * then by factor. The first dimensions of the underlying generator are thus the terminal values of
+ * the Brownian motions of all the factors.
+ */
+public final class BrownianBridgeNormalVariateGenerator implements NormalVariateGenerator {
+
+  /**
+   * The underlying generator.
+   */
+  private final NormalVariateGenerator underlying;
+  /**
+   * The Brownian bridge.
+   */
+  private final BrownianBridge bridge;
+  /**
+   * The number of factors.
+   */
+  private final int numberOfFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The dimension of the underlying generator must be the number of times multiplied by the number of factors.
+   *
+   * @param underlying  the underlying generator
+   * @param times  the times of the grid, positive and strictly increasing
+   * @param numberOfFactors  the number of factors
+   * @return the instance
+   */
+  public static BrownianBridgeNormalVariateGenerator of(
+      NormalVariateGenerator underlying,
+      DoubleArray times,
+      int numberOfFactors) {
+
+    return new BrownianBridgeNormalVariateGenerator(underlying, BrownianBridge.of(times), numberOfFactors);
+  }
+
+  // private constructor
+  private BrownianBridgeNormalVariateGenerator(
+      NormalVariateGenerator underlying,
+      BrownianBridge bridge,
+      int numberOfFactors) {
+
+    ArgChecker.notNull(underlying, "underlying");
+    ArgChecker.notNegativeOrZero(numberOfFactors, "numberOfFactors");
+    ArgChecker.isTrue(underlying.getDimension() == bridge.getNumberOfTimes() * numberOfFactors,
+        "dimension of the underlying generator must be the number of times multiplied by the number of factors");
+    this.underlying = underlying;
+    this.bridge = bridge;
+    this.numberOfFactors = numberOfFactors;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return underlying.getDimension();
+  }
+
+  @Override
+  public List<NormalVariateSequence> sequences(long[] firstIndices) {
+    List<NormalVariateSequence> underlyingSequences = underlying.sequences(firstIndices);
+    List<NormalVariateSequence> sequences = new ArrayList<>(underlyingSequences.size());
+    for (NormalVariateSequence underlyingSequence : underlyingSequences) {
+      sequences.add(new Sequence(underlyingSequence));
+    }
+    return sequences;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sequence applying the Brownian bridge.
+   */
+  private final class Sequence implements NormalVariateSequence {
+
+    /**
+     * The underlying sequence.
+     */
+    private final NormalVariateSequence underlying;
+    /**
+     * The variates of the underlying sequence.
+     */
+    private final double[] underlyingVariates;
+    /**
+     * The variates of one factor, in the order of the construction.
+     */
+    private final double[] factorVariates;
+    /**
+     * The increments of one factor.
+     */
+    private final double[] factorIncrements;
+
+    Sequence(NormalVariateSequence underlying) {
+      int nTimes = bridge.getNumberOfTimes();
+      this.underlying = underlying;
+      this.underlyingVariates = new double[nTimes * numberOfFactors];
+      this.factorVariates = new double[nTimes];
+      this.factorIncrements = new double[nTimes];
+    }
+
+    @Override
+    public void next(double[] variates) {
+      underlying.next(underlyingVariates);
+      int nTimes = bridge.getNumberOfTimes();
+      for (int f = 0; f < numberOfFactors; f++) {
+        for (int i = 0; i < nTimes; i++) {
+          factorVariates[i] = underlyingVariates[i * numberOfFactors + f];
+        }
+        bridge.transform(factorVariates, factorIncrements);
+        for (int i = 0; i < nTimes; i++) {
+          variates[i * numberOfFactors + f] = factorIncrements[i];
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Monte Carlo simulation engine.
+ * <p>
+ * The paths are simulated by blocks. Each block uses its own sequence of normal variates and is stored
+ * in a primitive array, so that the blocks can be simulated in parallel. The statistics of the blocks are
+ * merged in the order of the blocks, thus the results do not depend on whether the blocks are simulated
+ * in parallel.
+ * <p>
+ * With antithetic variates, each vector of variates is used for two paths, once as is and once negated.
+ * The two paths are consecutive, and the sample is the average of their payoffs.
+ * <p>
+ * The paths are generated by a {@link PathGenerator} from the variates of a {@link NormalVariateGenerator}.
+ * The payoffs are defined by {@link PathPayoff}.
+ */
+public final class MonteCarloEngine {
+
+  /**
+   * The default number of paths in a block.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 1_000;
+
+  /**
+   * The number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The number of paths in a block.
+   */
+  private final int blockSize;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * Whether the blocks are simulated in parallel.
+   */
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the default block size, simulating the blocks in parallel.
+   *
+   * @param numberOfPaths  the number of paths, even if antithetic variates are used
+   * @param antithetic  whether antithetic variates are used
+   * @return the instance
+   */
+  public static MonteCarloEngine of(int numberOfPaths, boolean antithetic) {
+    return new MonteCarloEngine(numberOfPaths, DEFAULT_BLOCK_SIZE, antithetic, true);
+  }
+
+  /**
+   * Obtains an instance.
+   *
+   * @param numberOfPaths  the number of paths, even if antithetic variates are used
+   * @param blockSize  the number of paths in a block, even if antithetic variates are used
+   * @param antithetic  whether antithetic variates are used
+   * @param parallel  whether the blocks are simulated in parallel
+   * @return the instance
+   */
+  public static MonteCarloEngine of(int numberOfPaths, int blockSize, boolean antithetic, boolean parallel) {
+    return new MonteCarloEngine(numberOfPaths, blockSize, antithetic, parallel);
+  }
+
+  // private constructor
+  private MonteCarloEngine(int numberOfPaths, int blockSize, boolean antithetic, boolean parallel) {
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    if (antithetic) {
+      ArgChecker.isTrue(numberOfPaths % 2 == 0, "number of paths must be even with antithetic variates");
+      ArgChecker.isTrue(blockSize % 2 == 0, "block size must be even with antithetic variates");
+    }
+    this.numberOfPaths = numberOfPaths;
+    this.blockSize = blockSize;
+    this.antithetic = antithetic;
+    this.parallel = parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  /**
+   * Gets the number of paths in a block.
+   *
+   * @return the block size
+   */
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * Gets whether antithetic variates are used.
+   *
+   * @return true if antithetic variates are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  /**
+   * Gets whether the blocks are simulated in parallel.
+   *
+   * @return true if the blocks are simulated in parallel
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Simulates the paths.
+   * <p>
+   * The paths are stored one after the other, the value {@code k} of the path {@code i} being at index
+   * {@code i * generator.getPathSize() + k}. With antithetic variates, the paths {@code 2 * j} and
+   * {@code 2 * j + 1} are antithetic.
+   * <p>
+   * This is typically used when the paths are needed for several computations, for example exposures.
+   *
+   * @param generator  the path generator
+   * @param variates  the generator of normal variates
+   * @return the paths
+   */
+  public double[] simulate(PathGenerator generator, NormalVariateGenerator variates) {
+    List<NormalVariateSequence> sequences = sequences(generator, variates);
+    int pathSize = generator.getPathSize();
+    ArgChecker.isTrue((long) numberOfPaths * pathSize <= Integer.MAX_VALUE, "too many paths to be stored");
+    double[] paths = new double[numberOfPaths * pathSize];
+    blocks(sequences.size()).forEach(b -> {
+      int firstPath = b * blockSize;
+      int count = Math.min(blockSize, numberOfPaths - firstPath);
+      generateBlock(generator, sequences.get(b), variates.getDimension(), paths, firstPath * pathSize, count);
+    });
+    return paths;
+  }
+
+  /**
+   * Computes the expectation of a payoff.
+   * <p>
+   * The result is the expectation of the payoff in units of the numeraire of the path generator.
+   * It must be multiplied by the value of the numeraire today to obtain the price,
+   * see {@link MonteCarloResult#multipliedBy(double)}.
+   *
+   * @param generator  the path generator
+   * @param variates  the generator of normal variates
+   * @param payoff  the payoff
+   * @return the result
+   */
+  public MonteCarloResult price(PathGenerator generator, NormalVariateGenerator variates, PathPayoff payoff) {
+    return price(generator, variates, ImmutableList.of(payoff)).get(0);
+  }
+
+  /**
+   * Computes the expectations of several payoffs on the same paths.
+   * <p>
+   * The results are the expectations of the payoffs in units of the numeraire of the path generator.
+   * The paths are simulated once for all the payoffs.
+   *
+   * @param generator  the path generator
+   * @param variates  the generator of normal variates
+   * @param payoffs  the payoffs
+   * @return the results, in the order of the payoffs
+   */
+  public List<MonteCarloResult> price(
+      PathGenerator generator,
+      NormalVariateGenerator variates,
+      List<? extends PathPayoff> payoffs) {
+
+    ArgChecker.notEmpty(payoffs, "payoffs");
+    List<NormalVariateSequence> sequences = sequences(generator, variates);
+    int nPayoffs = payoffs.size();
+    double[][] blockStatistics = blocks(sequences.size())
+        .mapToObj(b -> blockStatistics(generator, sequences.get(b), variates.getDimension(), b, payoffs))
+        .toArray(double[][]::new);
+    // merge the statistics in the order of the blocks
+    double count = 0d;
+    double[] mean = new double[nPayoffs];
+    double[] m2 = new double[nPayoffs];
+    for (double[] statistics : blockStatistics) {
+      double blockCount = statistics[0];
+      double total = count + blockCount;
+      for (int p = 0; p < nPayoffs; p++) {
+        double delta = statistics[1 + p] - mean[p];
+        mean[p] += delta * blockCount / total;
+        m2[p] += statistics[1 + nPayoffs + p] + delta * delta * count * blockCount / total;
+      }
+      count = total;
+    }
+    long nSamples = (long) count;
+    ImmutableList.Builder<MonteCarloResult> builder = ImmutableList.builder();
+    for (int p = 0; p < nPayoffs; p++) {
+      double variance = nSamples > 1 ? m2[p] / (count - 1d) : 0d;
+      builder.add(MonteCarloResult.of(mean[p], Math.sqrt(variance / count), nSamples));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the sequences of variates of the blocks
+  private List<NormalVariateSequence> sequences(PathGenerator generator, NormalVariateGenerator variates) {
+    ArgChecker.notNull(generator, "generator");
+    ArgChecker.notNull(variates, "variates");
+    ArgChecker.isTrue(variates.getDimension() == generator.getVariateDimension(),
+        "dimension of the variates {} must match the path generator {}",
+        variates.getDimension(), generator.getVariateDimension());
+    int nBlocks = (numberOfPaths - 1) / blockSize + 1;
+    long[] firstIndices = new long[nBlocks];
+    for (int b = 0; b < nBlocks; b++) {
+      firstIndices[b] = antithetic ? b * (blockSize / 2) : b * blockSize;
+    }
+    return variates.sequences(firstIndices);
+  }
+
+  // the block indices, parallel if required
+  private IntStream blocks(int nBlocks) {
+    IntStream blocks = IntStream.range(0, nBlocks);
+    return parallel ? blocks.parallel() : blocks;
+  }
+
+  // generates the paths of a block
+  private void generateBlock(
+      PathGenerator generator,
+      NormalVariateSequence sequence,
+      int dimension,
+      double[] paths,
+      int offset,
+      int count) {
+
+    int pathSize = generator.getPathSize();
+    double[] variates = new double[dimension];
+    int step = antithetic ? 2 : 1;
+    for (int i = 0; i < count; i += step) {
+      sequence.next(variates);
+      generator.generate(variates, paths, offset + i * pathSize);
+      if (antithetic) {
+        for (int j = 0; j < dimension; j++) {
+          variates[j] = -variates[j];
+        }
+        generator.generate(variates, paths, offset + (i + 1) * pathSize);
+      }
+    }
+  }
+
+  // computes the number of samples, the means and the sums of squared deviations of the payoffs in a block
+  private double[] blockStatistics(
+      PathGenerator generator,
+      NormalVariateSequence sequence,
+      int dimension,
+      int block,
+      List<? extends PathPayoff> payoffs) {
+
+    int firstPath = block * blockSize;
+    int count = Math.min(blockSize, numberOfPaths - firstPath);
+    int pathSize = generator.getPathSize();
+    double[] paths = new double[count * pathSize];
+    generateBlock(generator, sequence, dimension, paths, 0, count);
+    int nPayoffs = payoffs.size();
+    int step = antithetic ? 2 : 1;
+    double[] statistics = new double[1 + 2 * nPayoffs];
+    statistics[0] = count / step;
+    for (int p = 0; p < nPayoffs; p++) {
+      PathPayoff payoff = payoffs.get(p);
+      double mean = 0d;
+      double m2 = 0d;
+      int n = 0;
+      for (int i = 0; i < count; i += step) {
+        double value = payoff.value(paths, i * pathSize);
+        if (antithetic) {
+          value = 0.5 * (value + payoff.value(paths, (i + 1) * pathSize));
+        }
+        n++;
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+      }
+      statistics[1 + p] = mean;
+      statistics[1 + nPayoffs + p] = m2;
+    }
+    return statistics;
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The result of a Monte Carlo simulation.
+ * <p>
+ * The result contains the estimate of the expectation, the sample mean, and its standard error.
+ * With antithetic variates, a sample is the average of the payoffs of a pair of antithetic paths.
+ */
+public final class MonteCarloResult {
+
+  /**
+   * The mean of the samples.
+   */
+  private final double mean;
+  /**
+   * The standard error of the mean.
+   */
+  private final double standardError;
+  /**
+   * The number of samples.
+   */
+  private final long numberOfSamples;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param mean  the mean of the samples
+   * @param standardError  the standard error of the mean
+   * @param numberOfSamples  the number of samples
+   * @return the instance
+   */
+  public static MonteCarloResult of(double mean, double standardError, long numberOfSamples) {
+    return new MonteCarloResult(mean, standardError, numberOfSamples);
+  }
+
+  // private constructor
+  private MonteCarloResult(double mean, double standardError, long numberOfSamples) {
+    ArgChecker.isTrue(standardError >= 0d, "standard error must not be negative");
+    ArgChecker.isTrue(numberOfSamples > 0, "number of samples must be positive");
+    this.mean = mean;
+    this.standardError = standardError;
+    this.numberOfSamples = numberOfSamples;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the mean of the samples, the estimate of the expectation.
+   *
+   * @return the mean
+   */
+  public double getMean() {
+    return mean;
+  }
+
+  /**
+   * Gets the standard error of the mean.
+   * <p>
+   * This is the standard deviation of the samples divided by the square root of the number of samples.
+   * It is not meaningful for quasi-random samples, which are not independent.
+   *
+   * @return the standard error
+   */
+  public double getStandardError() {
+    return standardError;
+  }
+
+  /**
+   * Gets the number of samples.
+   *
+   * @return the number of samples
+   */
+  public long getNumberOfSamples() {
+    return numberOfSamples;
+  }
+
+  /**
+   * Returns a result with the mean and standard error multiplied by the specified factor.
+   * <p>
+   * This is typically used to multiply the expectation of the payoff by the value of the numeraire today.
+   *
+   * @param factor  the multiplicative factor
+   * @return the scaled result
+   */
+  public MonteCarloResult multipliedBy(double factor) {
+    return new MonteCarloResult(mean * factor, standardError * Math.abs(factor), numberOfSamples);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof MonteCarloResult) {
+      MonteCarloResult other = (MonteCarloResult) obj;
+      return Double.doubleToLongBits(mean) == Double.doubleToLongBits(other.mean) &&
+          Double.doubleToLongBits(standardError) == Double.doubleToLongBits(other.standardError) &&
+          numberOfSamples == other.numberOfSamples;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Double.hashCode(mean);
+    hash = hash * 31 + Double.hashCode(standardError);
+    return hash * 31 + Long.hashCode(numberOfSamples);
+  }
+
+  @Override
+  public String toString() {
+    return "MonteCarloResult[mean=" + mean + ", standardError=" + standardError +
+        ", numberOfSamples=" + numberOfSamples + "]";
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import java.util.List;
+
+/**
+ * Generator of standard normal variates used to simulate paths.
+ * <p>
+ * The generator produces vectors of independent standard normal variates, one vector per path.
+ * The vectors form a single sequence, which is split into sequences starting at given indices so that
+ * blocks of paths can be simulated in parallel. The variates of a given index depend only on the generator
+ * and on the way the sequence is split, not on the order in which the blocks are simulated.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface NormalVariateGenerator {
+
+  /**
+   * Gets the dimension, the number of variates in each vector.
+   * 
+   * @return the dimension
+   */
+  public abstract int getDimension();
+
+  /**
+   * Creates the sequences starting at the specified indices.
+   * <p>
+   * Each sequence generates the vectors from its first index onwards. The sequences are independent of
+   * each other and are typically used by different threads.
+   * 
+   * @param firstIndices  the index of the first vector of each sequence, in increasing order
+   * @return the sequences, in the order of the indices
+   */
+  public abstract List<NormalVariateSequence> sequences(long[] firstIndices);
+
+}
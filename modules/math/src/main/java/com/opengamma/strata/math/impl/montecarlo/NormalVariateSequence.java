@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+/**
+ * Sequence of vectors of standard normal variates.
+ * <p>
+ * Instances are stateful and must not be shared between threads.
+ * 
+ * @see NormalVariateGenerator
+ */
+public interface NormalVariateSequence {
+
+  /**
+   * Generates the next vector of variates, storing the variates in the specified array.
+   * <p>
+   * The array must be at least as long as the dimension of the generator.
+   * 
+   * @param variates  the array used to return the variates
+   */
+  public abstract void next(double[] variates);
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+/**
+ * Generator of the paths of a stochastic process.
+ * <p>
+ * A path is generated from a vector of independent standard normal variates. The path is stored in a primitive
+ * array, the layout of the path being defined by the implementation, typically the state of the process
+ * at each simulation time. The paths of a block are stored one after the other in the same array.
+ * <p>
+ * The variates are ordered by time step, then by factor. If a Brownian bridge is used, it must be applied
+ * by the variate generator, see {@link BrownianBridgeNormalVariateGenerator}.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface PathGenerator {
+
+  /**
+   * Gets the number of variates required to generate a path.
+   * 
+   * @return the number of variates
+   */
+  public abstract int getVariateDimension();
+
+  /**
+   * Gets the number of values stored for each path.
+   * 
+   * @return the size of a path
+   */
+  public abstract int getPathSize();
+
+  /**
+   * Generates a path.
+   * <p>
+   * The values of the path are stored in {@code paths} from index {@code offset}.
+   * 
+   * @param variates  the standard normal variates
+   * @param paths  the array used to return the path
+   * @param offset  the index of the first value of the path
+   */
+  public abstract void generate(double[] variates, double[] paths, int offset);
+
+}
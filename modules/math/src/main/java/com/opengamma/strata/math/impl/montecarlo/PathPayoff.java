@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+/**
+ * Payoff of a path-dependent instrument.
+ * <p>
+ * The payoff is computed from a path generated by a {@link PathGenerator}.
+ * It is expressed in units of the numeraire of the path generator, so that the price is the expectation of the payoff,
+ * multiplied by the value of the numeraire today.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface PathPayoff {
+
+  /**
+   * Computes the payoff of a path.
+   * 
+   * @param paths  the array containing the path
+   * @param offset  the index of the first value of the path
+   * @return the payoff
+   */
+  public abstract double value(double[] paths, int offset);
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Generator of pseudo-random standard normal variates based on splittable random streams.
+ * <p>
+ * The uniform random numbers are generated by {@link SplittableRandom}. Each sequence is a stream split
+ * from a root stream created from the seed, the streams being split in the order of the sequences.
+ * The variates therefore only depend on the seed and on the number of sequences, thus the simulation is
+ * reproducible whatever the number of threads.
+ * <p>
+ * The normal variates are obtained by the polar method of Marsaglia.
+ * <p>
+ * The first index of the sequences is not used, each sequence being an independent stream.
+ */
+public final class PseudoRandomNormalVariateGenerator implements NormalVariateGenerator {
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The seed.
+   */
+  private final long seed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param dimension  the dimension
+   * @param seed  the seed of the root stream
+   * @return the instance
+   */
+  public static PseudoRandomNormalVariateGenerator of(int dimension, long seed) {
+    return new PseudoRandomNormalVariateGenerator(dimension, seed);
+  }
+
+  // private constructor
+  private PseudoRandomNormalVariateGenerator(int dimension, long seed) {
+    this.dimension = ArgChecker.notNegativeOrZero(dimension, "dimension");
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Gets the seed.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public List<NormalVariateSequence> sequences(long[] firstIndices) {
+    SplittableRandom root = new SplittableRandom(seed);
+    List<NormalVariateSequence> sequences = new ArrayList<>(firstIndices.length);
+    for (int i = 0; i < firstIndices.length; i++) {
+      sequences.add(new Sequence(root.split(), dimension));
+    }
+    return sequences;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sequence based on a random stream.
+   */
+  static final class Sequence implements NormalVariateSequence {
+
+    /**
+     * The random stream.
+     */
+    private final SplittableRandom random;
+    /**
+     * The dimension.
+     */
+    private final int dimension;
+    /**
+     * The second variate of the last pair generated by the polar method.
+     */
+    private double spare;
+    /**
+     * Whether the spare variate is available.
+     */
+    private boolean hasSpare;
+
+    Sequence(SplittableRandom random, int dimension) {
+      this.random = random;
+      this.dimension = dimension;
+    }
+
+    @Override
+    public void next(double[] variates) {
+      fill(variates, 0, dimension);
+    }
+
+    // fills the array with standard normal variates
+    void fill(double[] variates, int from, int to) {
+      for (int i = from; i < to; i++) {
+        variates[i] = nextGaussian();
+      }
+    }
+
+    // polar method of Marsaglia
+    private double nextGaussian() {
+      if (hasSpare) {
+        hasSpare = false;
+        return spare;
+      }
+      double u;
+      double v;
+      double s;
+      do {
+        u = 2d * random.nextDouble() - 1d;
+        v = 2d * random.nextDouble() - 1d;
+        s = u * u + v * v;
+      } while (s >= 1d || s == 0d);
+      double factor = Math.sqrt(-2d * Math.log(s) / s);
+      spare = v * factor;
+      hasSpare = true;
+      return u * factor;
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.random.SobolSequenceGenerator;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+
+/**
+ * Generator of quasi-random standard normal variates based on the Sobol sequence.
+ * <p>
+ * The vector of index {@code i} is obtained from the point of index {@code i + 1} of the Sobol sequence,
+ * the origin being skipped, by the inverse of the standard normal cumulative distribution.
+ * A sequence starting at a given index is positioned directly at the corresponding point,
+ * thus the variates do not depend on the way the sequence is split.
+ * <p>
+ * The Sobol sequence is available up to {@link SobolSequenceGenerator#MAX_DIMENSION} dimensions.
+ * The variates beyond that dimension are pseudo-random, generated from streams split from the seed.
+ * Combined with a Brownian bridge, see {@link BrownianBridgeNormalVariateGenerator}, the Sobol dimensions
+ * are used for the coarse structure of the paths which carries most of the variance.
+ * <p>
+ * The inverse cumulative distribution is {@link StandardNormalDistribution#inverseCdf(double)}.
+ */
+public final class SobolNormalVariateGenerator implements NormalVariateGenerator {
+
+  /**
+   * The standard normal distribution.
+   */
+  private static final StandardNormalDistribution NORMAL = StandardNormalDistribution.INSTANCE;
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The seed of the pseudo-random variates beyond the dimension of the Sobol sequence.
+   */
+  private final long seed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The seed is only used if the dimension is larger than {@link SobolSequenceGenerator#MAX_DIMENSION}.
+   *
+   * @param dimension  the dimension
+   * @param seed  the seed of the pseudo-random variates beyond the dimension of the Sobol sequence
+   * @return the instance
+   */
+  public static SobolNormalVariateGenerator of(int dimension, long seed) {
+    return new SobolNormalVariateGenerator(dimension, seed);
+  }
+
+  // private constructor
+  private SobolNormalVariateGenerator(int dimension, long seed) {
+    this.dimension = ArgChecker.notNegativeOrZero(dimension, "dimension");
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getDimension() {
+    return dimension;
+  }
+
+  @Override
+  public List<NormalVariateSequence> sequences(long[] firstIndices) {
+    int sobolDimension = Math.min(dimension, SobolSequenceGenerator.MAX_DIMENSION);
+    SplittableRandom root = new SplittableRandom(seed);
+    List<NormalVariateSequence> sequences = new ArrayList<>(firstIndices.length);
+    for (long firstIndex : firstIndices) {
+      ArgChecker.isTrue(firstIndex >= 0, "first index must not be negative");
+      SobolSequenceGenerator sobol = new SobolSequenceGenerator(sobolDimension);
+      sobol.skipTo(firstIndex + 1);
+      PseudoRandomNormalVariateGenerator.Sequence padding = dimension > sobolDimension ?
+          new PseudoRandomNormalVariateGenerator.Sequence(root.split(), dimension) :
+          null;
+      sequences.add(new Sequence(sobol, padding, dimension));
+    }
+    return sequences;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sequence based on the Sobol sequence.
+   */
+  private static final class Sequence implements NormalVariateSequence {
+
+    /**
+     * The Sobol sequence.
+     */
+    private final SobolSequenceGenerator sobol;
+    /**
+     * The pseudo-random variates beyond the dimension of the Sobol sequence, null if not used.
+     */
+    private final PseudoRandomNormalVariateGenerator.Sequence padding;
+    /**
+     * The dimension.
+     */
+    private final int dimension;
+
+    Sequence(SobolSequenceGenerator sobol, PseudoRandomNormalVariateGenerator.Sequence padding, int dimension) {
+      this.sobol = sobol;
+      this.padding = padding;
+      this.dimension = dimension;
+    }
+
+    @Override
+    public void next(double[] variates) {
+      sobol.nextPoint(variates);
+      int sobolDimension = sobol.getDimension();
+      for (int i = 0; i < sobolDimension; i++) {
+        variates[i] = NORMAL.inverseCdf(variates[i]);
+      }
+      if (padding != null) {
+        padding.fill(variates, sobolDimension, dimension);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Generator of Sobol low-discrepancy sequences.
+ * <p>
+ * The points of the sequence are in the unit hypercube. The points are generated in Gray code order
+ * (Antonov-Saleev), so that each point is obtained from the previous one by a single exclusive-or per coordinate.
+ * The generator can be positioned at any index of the sequence, which allows the sequence to be split
+ * into blocks generated independently.
+ * <p>
+ * The primitive polynomials and initial direction numbers are those of Joe and Kuo.
+ * Reference: Joe, S. and Kuo, F. Y. "Constructing Sobol sequences with better two-dimensional projections",
+ * SIAM J. Sci. Comput. 30, 2635-2654, 2008.
+ * <p>
+ * The first point of the sequence, at index zero, is the origin.
+ * <p>
+ * Instances of this class are stateful and must not be shared between threads.
+ */
+public final class SobolSequenceGenerator {
+
+  /**
+   * The maximum dimension.
+   */
+  public static final int MAX_DIMENSION = 21;
+  /**
+   * The number of bits of the direction numbers.
+   */
+  private static final int BITS = 52;
+  /**
+   * The scale from integer to the unit interval.
+   */
+  private static final double SCALE = Math.pow(2d, -BITS);
+  /**
+   * The degrees of the primitive polynomials, from the second dimension.
+   */
+  private static final int[] DEGREES = {1, 2, 3, 3, 4, 4, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 7, 7};
+  /**
+   * The coefficients of the primitive polynomials, from the second dimension.
+   */
+  private static final int[] COEFFICIENTS = {0, 1, 1, 2, 1, 4, 2, 4, 7, 11, 13, 14, 1, 13, 16, 19, 22, 25, 1, 4};
+  /**
+   * The initial direction numbers, from the second dimension.
+   */
+  private static final int[][] INITIAL_NUMBERS = {
+      {1},
+      {1, 3},
+      {1, 3, 1},
+      {1, 1, 1},
+      {1, 1, 3, 3},
+      {1, 3, 5, 13},
+      {1, 1, 5, 5, 17},
+      {1, 1, 5, 5, 5},
+      {1, 1, 7, 11, 19},
+      {1, 1, 5, 1, 1},
+      {1, 1, 1, 3, 11},
+      {1, 3, 5, 5, 31},
+      {1, 3, 3, 9, 7, 49},
+      {1, 1, 1, 15, 21, 21},
+      {1, 3, 1, 13, 27, 49},
+      {1, 1, 1, 15, 7, 5},
+      {1, 3, 1, 15, 13, 25},
+      {1, 1, 5, 5, 19, 61},
+      {1, 3, 7, 11, 23, 15, 103},
+      {1, 3, 7, 13, 13, 15, 69}};
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The direction numbers, by dimension then by bit.
+   */
+  private final long[][] directions;
+  /**
+   * The integer coordinates of the point preceding the next point, or the origin at the start.
+   */
+  private final long[] current;
+  /**
+   * The index of the next point.
+   */
+  private long index;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The generator is positioned at the start of the sequence.
+   *
+   * @param dimension  the dimension, from 1 to {@link #MAX_DIMENSION}
+   */
+  public SobolSequenceGenerator(int dimension) {
+    ArgChecker.inRangeInclusive(dimension, 1, MAX_DIMENSION, "dimension");
+    this.dimension = dimension;
+    this.directions = new long[dimension][BITS];
+    for (int k = 0; k < BITS; k++) {
+      directions[0][k] = 1L << (BITS - 1 - k);
+    }
+    for (int j = 1; j < dimension; j++) {
+      int degree = DEGREES[j - 1];
+      int coefficients = COEFFICIENTS[j - 1];
+      int[] initial = INITIAL_NUMBERS[j - 1];
+      long[] v = directions[j];
+      for (int k = 0; k < degree; k++) {
+        v[k] = ((long) initial[k]) << (BITS - 1 - k);
+      }
+      for (int k = degree; k < BITS; k++) {
+        v[k] = v[k - degree] ^ (v[k - degree] >> degree);
+        for (int i = 1; i < degree; i++) {
+          if (((coefficients >> (degree - 1 - i)) & 1) != 0) {
+            v[k] ^= v[k - i];
+          }
+        }
+      }
+    }
+    this.current = new long[dimension];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Gets the index of the next point.
+   *
+   * @return the index
+   */
+  public long getNextIndex() {
+    return index;
+  }
+
+  /**
+   * Positions the generator at the specified index.
+   * <p>
+   * The next point returned is the point of the specified index.
+   *
+   * @param index  the index of the next point
+   */
+  public void skipTo(long index) {
+    ArgChecker.isTrue(index >= 0 && index < (1L << BITS), "index must be between 0 and 2^{}", BITS);
+    // the current point is the point preceding the index, or the origin
+    long previous = Math.max(index - 1, 0L);
+    long gray = previous ^ (previous >> 1);
+    for (int j = 0; j < dimension; j++) {
+      long x = 0L;
+      for (int k = 0; k < BITS && (gray >> k) != 0; k++) {
+        if (((gray >> k) & 1L) != 0) {
+          x ^= directions[j][k];
+        }
+      }
+      current[j] = x;
+    }
+    this.index = index;
+  }
+
+  /**
+   * Generates the next point, storing the coordinates in the specified array.
+   * <p>
+   * The array must be at least as long as the dimension.
+   *
+   * @param point  the array used to return the coordinates of the point
+   */
+  public void nextPoint(double[] point) {
+    if (index > 0) {
+      int bit = Long.numberOfTrailingZeros(~(index - 1));
+      for (int j = 0; j < dimension; j++) {
+        current[j] ^= directions[j][bit];
+      }
+    }
+    for (int j = 0; j < dimension; j++) {
+      point[j] = current[j] * SCALE;
+    }
+    index++;
+  }
+
+}
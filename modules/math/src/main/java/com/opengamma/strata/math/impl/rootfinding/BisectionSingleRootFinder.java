@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -48,9 +50,35 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double x1, Double x2) {
-    checkInputs(function, x1, x2);
-    double y1 = function.apply(x1);
-    double y = function.apply(x2);
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRoot((DoubleUnaryOperator) x -> function.apply(x), x1, x2);
+  }
+
+  /**
+   * Finds the root of a function of primitive doubles.
+   * <p>
+   * This avoids the boxing of the values of the function.
+   * 
+   * @param function  the function
+   * @param x1  the first bound of the range containing the root
+   * @param x2  the second bound of the range containing the root
+   * @return the root
+   * @throws IllegalArgumentException if the bounds do not bracket a root
+   * @throws MathException if the root is not found to the required accuracy in 100 attempts
+   */
+  public double getRoot(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    double y1 = function.applyAsDouble(x1);
+    double y2 = function.applyAsDouble(x2);
+    checkInputs(x1, x2, y1, y2);
+    return root(function, x1, x2, y1, y2);
+  }
+
+  // the values at the bounds are those computed when checking the inputs
+  private double root(DoubleUnaryOperator function, double x1, double x2, double y1, double y2) {
+    double y = y2;
     if (Math.abs(y) < _accuracy) {
       return x2;
     }
@@ -68,7 +96,7 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
     for (int i = 0; i < MAX_ITER; i++) {
       dx *= 0.5;
       xMid = xRoot + dx;
-      y = function.apply(xMid);
+      y = function.applyAsDouble(xMid);
       if (y <= 0) {
         xRoot = xMid;
       }
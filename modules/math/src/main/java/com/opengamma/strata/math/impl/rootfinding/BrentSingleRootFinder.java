@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -37,8 +39,35 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
   //-------------------------------------------------------------------------
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLower, Double xUpper) {
-    checkInputs(function, xLower, xUpper);
-    if (xLower.equals(xUpper)) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(xLower, "x1");
+    ArgChecker.notNull(xUpper, "x2");
+    return getRoot((DoubleUnaryOperator) x -> function.apply(x), xLower, xUpper);
+  }
+
+  /**
+   * Finds the root of a function of primitive doubles.
+   * <p>
+   * This avoids the boxing of the values of the function.
+   * 
+   * @param function  the function
+   * @param xLower  the lower bound of the range containing the root
+   * @param xUpper  the upper bound of the range containing the root
+   * @return the root
+   * @throws IllegalArgumentException if the bounds do not bracket a root
+   * @throws MathException if the root is not found in 100 iterations
+   */
+  public double getRoot(DoubleUnaryOperator function, double xLower, double xUpper) {
+    ArgChecker.notNull(function, "function");
+    double fLower = function.applyAsDouble(xLower);
+    double fUpper = function.applyAsDouble(xUpper);
+    checkInputs(xLower, xUpper, fLower, fUpper);
+    return root(function, xLower, xUpper, fLower, fUpper);
+  }
+
+  // the function is evaluated once per iteration, the values at the other points being those already computed
+  private double root(DoubleUnaryOperator function, double xLower, double xUpper, double fLower, double fUpper) {
+    if (xLower == xUpper) {
       return xLower;
     }
     double x1 = xLower;
@@ -46,8 +75,8 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
     double x3 = xUpper;
     double delta = 0;
     double oldDelta = 0;
-    double f1 = function.apply(x1);
-    double f2 = function.apply(x2);
+    double f1 = fLower;
+    double f2 = fUpper;
     double f3 = f2;
     double r1, r2, r3, r4, eps, xMid, min1, min2;
     for (int i = 0; i < MAX_ITER; i++) {
@@ -99,14 +128,13 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
         oldDelta = delta;
       }
       x1 = x2;
+      f1 = f2;
       if (Math.abs(delta) > eps) {
         x2 += delta;
       } else {
         x2 += Math.copySign(eps, xMid);
       }
-      f1 = function.apply(x1);
-      f2 = function.apply(x2);
-      f3 = function.apply(x3);
+      f2 = function.applyAsDouble(x2);
     }
     throw new MathException("Could not converge to root in " + MAX_ITER + " attempts");
   }
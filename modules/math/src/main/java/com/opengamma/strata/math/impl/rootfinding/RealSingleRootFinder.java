@@ -57,4 +57,21 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that a root is bracketed by the bounding values, given the values of the function at the bounds.
+   * <p>
+   * This is the primitive version, the values at the bounds being computed by the caller,
+   * so that the root-finder can reuse them.
+   * 
+   * @param x1 The first bound
+   * @param x2 The second bound, must be greater than x1
+   * @param y1 The value of the function at the first bound
+   * @param y2 The value of the function at the second bound
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputs(double x1, double x2, double y1, double y2) {
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(y1 * y2 <= 0, "x1 and x2 do not bracket a root");
+  }
+
 }
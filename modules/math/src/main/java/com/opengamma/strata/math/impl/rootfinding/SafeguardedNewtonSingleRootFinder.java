@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.MathException;
+
+/**
+ * Finds a single root of a function using Newton's or Halley's method, safeguarded by bisection.
+ * <p>
+ * The function provides its value and first derivative, and optionally its second derivative,
+ * in a single call. If the second derivative is provided, the Halley step
+ * $$
+ * \begin{align*}
+ * \delta = -\frac{f(x)}{f'(x)} \left(1 - \frac{f(x)f''(x)}{2f'(x)^2}\right)^{-1}
+ * \end{align*}
+ * $$
+ * is used, otherwise the Newton step $\delta = -f(x)/f'(x)$ is used.
+ * <p>
+ * The root must be bracketed by two values $x_1$ and $x_2$, with $f(x_1)f(x_2) \leq 0$.
+ * The bracket is reduced at each iteration. A bisection step is taken instead of the Newton or Halley step
+ * when the latter falls outside the bracket or does not reduce the step size fast enough.
+ * The iterations stop when the change in the value of $x$ is below the accuracy.
+ * <p>
+ * The values are primitive doubles and the function writes its results into an array reused
+ * across iterations, so that no object is created during the iterations.
+ */
+public class SafeguardedNewtonSingleRootFinder {
+
+  /**
+   * The maximum number of iterations.
+   */
+  private static final int MAX_ITER = 100;
+
+  /**
+   * The accuracy of the root.
+   */
+  private final double accuracy;
+
+  /**
+   * Creates an instance.
+   * Sets the accuracy to 10<sup>-15</sup>.
+   */
+  public SafeguardedNewtonSingleRootFinder() {
+    this(1e-15);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param accuracy  the required accuracy of the $x$-position of the root
+   */
+  public SafeguardedNewtonSingleRootFinder(double accuracy) {
+    this.accuracy = Math.abs(accuracy);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the root, starting from the middle of the bracket.
+   *
+   * @param function  the function
+   * @param x1  the first bound of the range containing the root
+   * @param x2  the second bound of the range containing the root
+   * @return the root
+   * @throws IllegalArgumentException if the bounds do not bracket a root
+   * @throws MathException if the root is not found to the required accuracy in 100 iterations
+   */
+  public double getRoot(ValueDerivativesFunction function, double x1, double x2) {
+    return getRoot(function, x1, x2, 0.5 * (x1 + x2));
+  }
+
+  /**
+   * Finds the root, starting from a guess.
+   *
+   * @param function  the function
+   * @param x1  the first bound of the range containing the root
+   * @param x2  the second bound of the range containing the root
+   * @param guess  the initial guess, between the bounds
+   * @return the root
+   * @throws IllegalArgumentException if the bounds do not bracket a root
+   * @throws MathException if the root is not found to the required accuracy in 100 iterations
+   */
+  public double getRoot(ValueDerivativesFunction function, double x1, double x2, double guess) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue((guess - x1) * (guess - x2) <= 0, "guess must be between x1 and x2");
+    double[] values = new double[3];
+    double f1 = evaluate(function, x1, values);
+    if (f1 == 0d) {
+      return x1;
+    }
+    double f2 = evaluate(function, x2, values);
+    if (f2 == 0d) {
+      return x2;
+    }
+    ArgChecker.isTrue(f1 * f2 < 0, "x1 and x2 do not bracket a root");
+    // the function is negative at low and positive at high
+    double low = f1 < 0 ? x1 : x2;
+    double high = f1 < 0 ? x2 : x1;
+    double x = guess;
+    double dx = Math.abs(x2 - x1);
+    double dxOld = dx;
+    double f = evaluate(function, x, values);
+    for (int i = 0; i < MAX_ITER; i++) {
+      if (f == 0d) {
+        return x;
+      }
+      if (f < 0) {
+        low = x;
+      } else {
+        high = x;
+      }
+      double derivative = values[1];
+      double step = f / derivative;
+      double halleyFactor = 1d - 0.5 * step * values[2] / derivative;
+      if (halleyFactor > 0.5 && halleyFactor < 2d) {
+        step /= halleyFactor;
+      }
+      double xNew = x - step;
+      dxOld = dx;
+      // NaN steps fail the first test
+      if (!((xNew - low) * (xNew - high) < 0) || Math.abs(2d * step) > Math.abs(dxOld)) {
+        dx = 0.5 * (high - low);
+        xNew = low + dx;
+      } else {
+        dx = step;
+      }
+      if (Math.abs(dx) < accuracy) {
+        return xNew;
+      }
+      x = xNew;
+      f = evaluate(function, x, values);
+    }
+    throw new MathException("Could not find root in " + MAX_ITER + " attempts");
+  }
+
+  // evaluates the function, the second derivative being zero if not provided
+  private static double evaluate(ValueDerivativesFunction function, double x, double[] values) {
+    values[0] = Double.NaN;
+    values[1] = Double.NaN;
+    values[2] = 0d;
+    function.evaluate(x, values);
+    return values[0];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A function providing its value and derivatives in a single call.
+   */
+  @FunctionalInterface
+  public interface ValueDerivativesFunction {
+
+    /**
+     * Evaluates the function and its derivatives.
+     * <p>
+     * The value of the function must be written in the first element of the array and its first derivative
+     * in the second element. The second derivative may be written in the third element, which is zero otherwise.
+     *
+     * @param x  the point
+     * @param values  the array of size 3 to write the value and derivatives in
+     */
+    void evaluate(double x, double[] values);
+
+  }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+/**
+ * A univariate probability distribution of {@code double} values.
+ * <p>
+ * This is the primitive specialization of {@link ProbabilityDistribution}.
+ * Implementations must not allocate, allowing them to be used in performance sensitive code,
+ * such as the option formulas evaluated for every pricing and implied volatility calculation.
+ */
+public interface DoubleProbabilityDistribution {
+
+  /**
+   * Calculates the probability density function.
+   *
+   * @param x  the value
+   * @return the density at the value
+   */
+  public abstract double pdf(double x);
+
+  /**
+   * Calculates the cumulative distribution function.
+   *
+   * @param x  the value
+   * @return the probability that a random variable is less than or equal to the value
+   */
+  public abstract double cdf(double x);
+
+  /**
+   * Calculates the inverse of the cumulative distribution function.
+   *
+   * @param p  the probability, from zero to one inclusive
+   * @return the value for which the cumulative distribution function is the probability
+   * @throws IllegalArgumentException if the probability is out of range
+   */
+  public abstract double inverseCdf(double p);
+
+}
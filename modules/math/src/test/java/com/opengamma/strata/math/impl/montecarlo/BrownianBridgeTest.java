@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BrownianBridge}.
+ */
+@Test
+public class BrownianBridgeTest {
+
+  private static final double TOL = 1.0e-12;
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1.2, 1.3, 2d, 3.5, 5d);
+
+  public void test_terminalValue() {
+    BrownianBridge bridge = BrownianBridge.of(TIMES);
+    int n = TIMES.size();
+    assertEquals(bridge.getNumberOfTimes(), n);
+    double[] variates = new double[n];
+    variates[0] = 1.3;
+    double[] increments = new double[n];
+    bridge.transform(variates, increments);
+    double terminal = 0d;
+    double previousTime = 0d;
+    for (int i = 0; i < n; i++) {
+      terminal += increments[i] * Math.sqrt(TIMES.get(i) - previousTime);
+      previousTime = TIMES.get(i);
+    }
+    assertEquals(terminal, 1.3 * Math.sqrt(TIMES.get(n - 1)), TOL);
+  }
+
+  public void test_orthogonal() {
+    // the transformation is linear and maps independent standard normals to independent standard normals
+    BrownianBridge bridge = BrownianBridge.of(TIMES);
+    int n = TIMES.size();
+    double[][] columns = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      double[] variates = new double[n];
+      variates[i] = 1d;
+      bridge.transform(variates, columns[i]);
+    }
+    for (int j = 0; j < n; j++) {
+      for (int k = 0; k < n; k++) {
+        double covariance = 0d;
+        for (int i = 0; i < n; i++) {
+          covariance += columns[i][j] * columns[i][k];
+        }
+        assertEquals(covariance, j == k ? 1d : 0d, TOL);
+      }
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(0d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(1d, 1d)));
+  }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link MonteCarloEngine}.
+ */
+@Test
+public class MonteCarloEngineTest {
+
+  private static final DoubleArray TIMES = DoubleArray.of(0.5, 1d, 1.5, 2d);
+  private static final BrownianMotionGenerator GENERATOR = new BrownianMotionGenerator(TIMES);
+  private static final int N_TIMES = TIMES.size();
+  private static final double MATURITY = TIMES.get(N_TIMES - 1);
+  // W(T)^2, expectation T
+  private static final PathPayoff SQUARE = (paths, offset) -> {
+    double value = paths[offset + N_TIMES - 1];
+    return value * value;
+  };
+  // average of W(t_i) over the times, expectation 0
+  private static final PathPayoff AVERAGE = (paths, offset) -> {
+    double sum = 0d;
+    for (int i = 0; i < N_TIMES; i++) {
+      sum += paths[offset + i];
+    }
+    return sum / N_TIMES;
+  };
+  // max(W(T), 0), expectation sqrt(T / (2 pi))
+  private static final PathPayoff POSITIVE_PART = (paths, offset) -> Math.max(paths[offset + N_TIMES - 1], 0d);
+
+  public void test_of() {
+    MonteCarloEngine test = MonteCarloEngine.of(10_000, true);
+    assertEquals(test.getNumberOfPaths(), 10_000);
+    assertEquals(test.getBlockSize(), MonteCarloEngine.DEFAULT_BLOCK_SIZE);
+    assertEquals(test.isAntithetic(), true);
+    assertEquals(test.isParallel(), true);
+    MonteCarloEngine test2 = MonteCarloEngine.of(10_000, 500, false, false);
+    assertEquals(test2.getBlockSize(), 500);
+    assertEquals(test2.isAntithetic(), false);
+    assertEquals(test2.isParallel(), false);
+  }
+
+  public void test_price_pseudoRandom() {
+    MonteCarloEngine engine = MonteCarloEngine.of(100_000, false);
+    NormalVariateGenerator variates = PseudoRandomNormalVariateGenerator.of(N_TIMES, 12345L);
+    List<MonteCarloResult> results = engine.price(GENERATOR, variates, ImmutableList.of(SQUARE, AVERAGE));
+    assertEquals(results.size(), 2);
+    assertEquals(results.get(0).getNumberOfSamples(), 100_000);
+    assertWithinErrors(results.get(0), MATURITY);
+    assertWithinErrors(results.get(1), 0d);
+    // standard deviation of W(T)^2 is sqrt(2) T
+    assertEquals(results.get(0).getStandardError(), Math.sqrt(2d) * MATURITY / Math.sqrt(100_000), 3.0e-4);
+    assertEquals(engine.price(GENERATOR, variates, SQUARE), results.get(0));
+  }
+
+  public void test_price_parallel() {
+    NormalVariateGenerator variates = PseudoRandomNormalVariateGenerator.of(N_TIMES, 7L);
+    List<PathPayoff> payoffs = ImmutableList.of(SQUARE, AVERAGE, POSITIVE_PART);
+    // block size not dividing the number of paths
+    List<MonteCarloResult> sequential =
+        MonteCarloEngine.of(10_250, 500, false, false).price(GENERATOR, variates, payoffs);
+    List<MonteCarloResult> parallel =
+        MonteCarloEngine.of(10_250, 500, false, true).price(GENERATOR, variates, payoffs);
+    assertEquals(parallel, sequential);
+    assertEquals(sequential.get(0).getNumberOfSamples(), 10_250);
+  }
+
+  public void test_price_antithetic() {
+    MonteCarloEngine engine = MonteCarloEngine.of(100_000, true);
+    NormalVariateGenerator variates = PseudoRandomNormalVariateGenerator.of(N_TIMES, 12345L);
+    List<MonteCarloResult> results = engine.price(GENERATOR, variates, ImmutableList.of(AVERAGE, POSITIVE_PART));
+    assertEquals(results.get(0).getNumberOfSamples(), 50_000);
+    // odd payoff, exact with antithetic variates
+    assertEquals(results.get(0).getMean(), 0d, 1.0e-12);
+    assertEquals(results.get(0).getStandardError(), 0d, 1.0e-12);
+    assertWithinErrors(results.get(1), Math.sqrt(MATURITY / (2d * Math.PI)));
+  }
+
+  public void test_price_sobolBridge() {
+    MonteCarloEngine engine = MonteCarloEngine.of(1 << 14, 1 << 10, false, true);
+    NormalVariateGenerator variates = BrownianBridgeNormalVariateGenerator.of(
+        SobolNormalVariateGenerator.of(N_TIMES, 1L), TIMES, 1);
+    List<MonteCarloResult> results = engine.price(GENERATOR, variates, ImmutableList.of(SQUARE, POSITIVE_PART));
+    assertEquals(results.get(0).getMean(), MATURITY, 1.0e-2);
+    assertEquals(results.get(1).getMean(), Math.sqrt(MATURITY / (2d * Math.PI)), 1.0e-3);
+    // block boundaries do not change the quasi-random points
+    List<MonteCarloResult> oneBlock = MonteCarloEngine.of(1 << 14, 1 << 14, false, false)
+        .price(GENERATOR, variates, ImmutableList.of(SQUARE, POSITIVE_PART));
+    assertEquals(oneBlock.get(1).getMean(), results.get(1).getMean(), 1.0e-12);
+  }
+
+  public void test_simulate() {
+    MonteCarloEngine engine = MonteCarloEngine.of(2_000, 300, true, true);
+    NormalVariateGenerator variates = PseudoRandomNormalVariateGenerator.of(N_TIMES, 3L);
+    double[] paths = engine.simulate(GENERATOR, variates);
+    assertEquals(paths.length, 2_000 * N_TIMES);
+    for (int i = 0; i < 2_000; i += 2) {
+      for (int k = 0; k < N_TIMES; k++) {
+        assertEquals(paths[(i + 1) * N_TIMES + k], -paths[i * N_TIMES + k], 1.0e-14);
+      }
+    }
+    // consistent with the pricing
+    double sum = 0d;
+    for (int i = 0; i < 2_000; i++) {
+      sum += SQUARE.value(paths, i * N_TIMES);
+    }
+    assertEquals(engine.price(GENERATOR, variates, SQUARE).getMean(), sum / 2_000, 1.0e-12);
+  }
+
+  public void test_result() {
+    MonteCarloResult result = MonteCarloResult.of(2d, 0.1, 100);
+    MonteCarloResult scaled = result.multipliedBy(-0.5);
+    assertEquals(scaled.getMean(), -1d, 0d);
+    assertEquals(scaled.getStandardError(), 0.05, 0d);
+    assertEquals(scaled.getNumberOfSamples(), 100);
+    assertEquals(result, MonteCarloResult.of(2d, 0.1, 100));
+    assertEquals(result.hashCode(), MonteCarloResult.of(2d, 0.1, 100).hashCode());
+    assertTrue(!result.equals(scaled));
+    assertTrue(result.toString().contains("standardError=0.1"));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(0, false));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(1_001, true));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(1_000, 11, true, false));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(1_000, 0, false, false));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(1_000, false)
+        .price(GENERATOR, PseudoRandomNormalVariateGenerator.of(N_TIMES + 1, 1L), SQUARE));
+    assertThrowsIllegalArg(() -> MonteCarloEngine.of(1_000, false)
+        .price(GENERATOR, PseudoRandomNormalVariateGenerator.of(N_TIMES, 1L), ImmutableList.of()));
+    assertThrowsIllegalArg(() -> MonteCarloResult.of(1d, -1d, 10));
+    assertThrowsIllegalArg(() -> BrownianBridgeNormalVariateGenerator.of(
+        PseudoRandomNormalVariateGenerator.of(N_TIMES, 1L), TIMES, 2));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertWithinErrors(MonteCarloResult result, double expected) {
+    assertEquals(result.getMean(), expected, 4d * result.getStandardError());
+  }
+
+  // standard Brownian motion at the times
+  private static final class BrownianMotionGenerator implements PathGenerator {
+    private final double[] sqrtSteps;
+
+    BrownianMotionGenerator(DoubleArray times) {
+      sqrtSteps = new double[times.size()];
+      for (int i = 0; i < times.size(); i++) {
+        sqrtSteps[i] = Math.sqrt(times.get(i) - (i == 0 ? 0d : times.get(i - 1)));
+      }
+    }
+
+    @Override
+    public int getVariateDimension() {
+      return sqrtSteps.length;
+    }
+
+    @Override
+    public int getPathSize() {
+      return sqrtSteps.length;
+    }
+
+    @Override
+    public void generate(double[] variates, double[] paths, int offset) {
+      double value = 0d;
+      for (int i = 0; i < sqrtSteps.length; i++) {
+        value += sqrtSteps[i] * variates[i];
+        paths[offset + i] = value;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.montecarlo;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.random.SobolSequenceGenerator;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+
+/**
+ * Test {@link SobolNormalVariateGenerator}.
+ */
+@Test
+public class SobolNormalVariateGeneratorTest {
+
+  public void test_inverseCdf() {
+    // the variates are the standard normal quantiles of the Sobol points, the origin being skipped
+    int dimension = 3;
+    NormalVariateSequence sequence = SobolNormalVariateGenerator.of(dimension, 1L).sequences(new long[] {0}).get(0);
+    SobolSequenceGenerator sobol = new SobolSequenceGenerator(dimension);
+    sobol.skipTo(1);
+    double[] variates = new double[dimension];
+    double[] points = new double[dimension];
+    for (int i = 0; i < 10; i++) {
+      sequence.next(variates);
+      sobol.nextPoint(points);
+      for (int j = 0; j < dimension; j++) {
+        assertEquals(variates[j], StandardNormalDistribution.INSTANCE.inverseCdf(points[j]), 0d);
+      }
+    }
+  }
+
+  public void test_split() {
+    // the variates do not depend on the way the sequence is split
+    int dimension = 4;
+    SobolNormalVariateGenerator generator = SobolNormalVariateGenerator.of(dimension, 1L);
+    assertEquals(generator.getDimension(), dimension);
+    NormalVariateSequence whole = generator.sequences(new long[] {0}).get(0);
+    List<NormalVariateSequence> split = generator.sequences(new long[] {0, 10, 25});
+    double[] expected = new double[dimension];
+    double[] computed = new double[dimension];
+    for (int i = 0; i < 40; i++) {
+      whole.next(expected);
+      split.get(i < 10 ? 0 : (i < 25 ? 1 : 2)).next(computed);
+      for (int j = 0; j < dimension; j++) {
+        assertEquals(computed[j], expected[j], 0d);
+      }
+    }
+  }
+
+  public void test_moments() {
+    int dimension = 3;
+    int nPoints = (1 << 12) - 1;
+    NormalVariateSequence sequence = SobolNormalVariateGenerator.of(dimension, 1L).sequences(new long[] {0}).get(0);
+    double[] variates = new double[dimension];
+    double[] sum = new double[dimension];
+    double[] sumSquare = new double[dimension];
+    for (int i = 0; i < nPoints; i++) {
+      sequence.next(variates);
+      for (int j = 0; j < dimension; j++) {
+        sum[j] += variates[j];
+        sumSquare[j] += variates[j] * variates[j];
+      }
+    }
+    for (int j = 0; j < dimension; j++) {
+      assertEquals(sum[j] / nPoints, 0d, 1.0e-10);
+      assertEquals(sumSquare[j] / nPoints, 1d, 5.0e-3);
+    }
+  }
+
+  public void test_padding() {
+    int dimension = SobolSequenceGenerator.MAX_DIMENSION + 3;
+    SobolNormalVariateGenerator generator = SobolNormalVariateGenerator.of(dimension, 3L);
+    double[] variates1 = new double[dimension];
+    double[] variates2 = new double[dimension];
+    generator.sequences(new long[] {0}).get(0).next(variates1);
+    generator.sequences(new long[] {0}).get(0).next(variates2);
+    for (int j = 0; j < dimension; j++) {
+      assertEquals(variates2[j], variates1[j], 0d);
+      assertEquals(Double.isFinite(variates1[j]), true);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> SobolNormalVariateGenerator.of(0, 1L));
+    assertThrowsIllegalArg(() -> SobolNormalVariateGenerator.of(2, 1L).sequences(new long[] {-1}));
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SobolSequenceGenerator}.
+ */
+@Test
+public class SobolSequenceGeneratorTest {
+
+  public void test_firstDimension() {
+    SobolSequenceGenerator generator = new SobolSequenceGenerator(1);
+    double[] expected = {0d, 0.5, 0.75, 0.25, 0.375, 0.875, 0.625, 0.125};
+    double[] point = new double[1];
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(generator.getNextIndex(), i);
+      generator.nextPoint(point);
+      assertEquals(point[0], expected[i], 0d);
+    }
+  }
+
+  public void test_stratification() {
+    // each of the first 2^m points falls in a distinct interval of length 2^-m in every dimension
+    int dimension = SobolSequenceGenerator.MAX_DIMENSION;
+    int nPoints = 1 << 10;
+    SobolSequenceGenerator generator = new SobolSequenceGenerator(dimension);
+    boolean[][] visited = new boolean[dimension][nPoints];
+    double[] point = new double[dimension];
+    for (int i = 0; i < nPoints; i++) {
+      generator.nextPoint(point);
+      for (int j = 0; j < dimension; j++) {
+        assertEquals(point[j] >= 0d && point[j] < 1d, true);
+        int interval = (int) (point[j] * nPoints);
+        assertEquals(visited[j][interval], false);
+        visited[j][interval] = true;
+      }
+    }
+  }
+
+  public void test_skipTo() {
+    int dimension = 5;
+    SobolSequenceGenerator sequential = new SobolSequenceGenerator(dimension);
+    double[] expected = new double[dimension];
+    double[] computed = new double[dimension];
+    for (int i = 0; i < 100; i++) {
+      sequential.nextPoint(expected);
+      SobolSequenceGenerator skipped = new SobolSequenceGenerator(dimension);
+      skipped.skipTo(i);
+      assertEquals(skipped.getNextIndex(), i);
+      skipped.nextPoint(computed);
+      for (int j = 0; j < dimension; j++) {
+        assertEquals(computed[j], expected[j], 0d);
+      }
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new SobolSequenceGenerator(0));
+    assertThrowsIllegalArg(() -> new SobolSequenceGenerator(SobolSequenceGenerator.MAX_DIMENSION + 1));
+    assertThrowsIllegalArg(() -> new SobolSequenceGenerator(2).skipTo(-1));
+  }
+
+}
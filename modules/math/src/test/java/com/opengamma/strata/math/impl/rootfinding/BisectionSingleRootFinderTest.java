@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.function.DoubleUnaryOperator;
+
 import org.testng.annotations.Test;
 
 /**
@@ -12,11 +16,24 @@ import org.testng.annotations.Test;
  */
 @Test
 public class BisectionSingleRootFinderTest extends RealSingleRootFinderTestCase {
-  private static final RealSingleRootFinder FINDER = new BisectionSingleRootFinder();
+  private static final BisectionSingleRootFinder FINDER = new BisectionSingleRootFinder();
+  private static final DoubleUnaryOperator F_PRIMITIVE = x -> x * x * x - 4 * x * x + x + 6;
 
   @Override
   protected RealSingleRootFinder getRootFinder() {
     return FINDER;
   }
 
+  public void test_primitive() {
+    assertEquals(FINDER.getRoot(F_PRIMITIVE, 2.5, 3.5), 3, EPS);
+    assertEquals(FINDER.getRoot(F_PRIMITIVE, 1.5, 2.5), 2, EPS);
+    assertEquals(FINDER.getRoot(F_PRIMITIVE, -1.5, 0.5), -1, EPS);
+    assertEquals(FINDER.getRoot(F_PRIMITIVE, 2.5, 3.5), FINDER.getRoot(F, 2.5, 3.5), 0d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_primitive_outsideRoots() {
+    FINDER.getRoot(F_PRIMITIVE, 10., 100.);
+  }
+
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.rootfinding.SafeguardedNewtonSingleRootFinder.ValueDerivativesFunction;
+
+/**
+ * Test {@link SafeguardedNewtonSingleRootFinder}.
+ */
+@Test
+public class SafeguardedNewtonSingleRootFinderTest {
+
+  private static final SafeguardedNewtonSingleRootFinder FINDER = new SafeguardedNewtonSingleRootFinder();
+  // roots at -1, 2 and 3
+  private static final ValueDerivativesFunction HALLEY = (x, values) -> {
+    values[0] = x * x * x - 4 * x * x + x + 6;
+    values[1] = 3 * x * x - 8 * x + 1;
+    values[2] = 6 * x - 8;
+  };
+  private static final ValueDerivativesFunction NEWTON = (x, values) -> {
+    values[0] = x * x * x - 4 * x * x + x + 6;
+    values[1] = 3 * x * x - 8 * x + 1;
+  };
+  private static final double EPS = 1e-12;
+
+  public void test_root() {
+    assertEquals(FINDER.getRoot(HALLEY, 2.5, 3.5), 3, EPS);
+    assertEquals(FINDER.getRoot(HALLEY, 1.5, 2.5), 2, EPS);
+    assertEquals(FINDER.getRoot(HALLEY, -1.5, 0.5), -1, EPS);
+    assertEquals(FINDER.getRoot(HALLEY, 0.5, -1.5), -1, EPS);
+    assertEquals(FINDER.getRoot(NEWTON, 2.5, 3.5), 3, EPS);
+    assertEquals(FINDER.getRoot(NEWTON, 1.5, 2.5), 2, EPS);
+    assertEquals(FINDER.getRoot(NEWTON, -1.5, 0.5), -1, EPS);
+  }
+
+  public void test_root_guess() {
+    assertEquals(FINDER.getRoot(HALLEY, 2.5, 5d, 4.9), 3, EPS);
+    assertEquals(FINDER.getRoot(NEWTON, 2.5, 5d, 2.5), 3, EPS);
+    // the derivative vanishes at the guess, the first step is a bisection
+    double stationary = (8d + Math.sqrt(52d)) / 6d;
+    assertEquals(FINDER.getRoot(NEWTON, 2.5, 5d, stationary), 3, EPS);
+  }
+
+  public void test_root_bound() {
+    assertEquals(FINDER.getRoot(HALLEY, 3d, 5d), 3d);
+    assertEquals(FINDER.getRoot(HALLEY, 2.5, 3d), 3d);
+  }
+
+  public void test_noDerivative() {
+    // a missing derivative leads to bisection steps only
+    ValueDerivativesFunction function = (x, values) -> values[0] = x * x * x - 4 * x * x + x + 6;
+    assertEquals(FINDER.getRoot(function, 2.5, 3.5), 3, EPS);
+  }
+
+  public void test_wrongDerivative() {
+    // the safeguard ensures convergence even with a wrong derivative
+    ValueDerivativesFunction function = (x, values) -> {
+      values[0] = Math.atan(x - 1d);
+      values[1] = -1d;
+    };
+    assertEquals(FINDER.getRoot(function, -10d, 30d), 1d, EPS);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> FINDER.getRoot(null, 2.5, 3.5));
+    assertThrowsIllegalArg(() -> FINDER.getRoot(HALLEY, 10d, 100d));
+    assertThrowsIllegalArg(() -> FINDER.getRoot(HALLEY, 2.5, 3.5, 4d));
+    ValueDerivativesFunction notConverging = (x, values) -> {
+      values[0] = x < 0 ? -1d : 1d;
+      values[1] = 0d;
+    };
+    assertThrows(() -> new SafeguardedNewtonSingleRootFinder(0d).getRoot(notConverging, -1d, 1d), MathException.class);
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link StandardNormalDistribution}.
+ */
+@Test
+public class StandardNormalDistributionTest {
+
+  private static final DoubleProbabilityDistribution TEST = StandardNormalDistribution.INSTANCE;
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final double[] X = new double[] {0, 0.1, 0.4, 0.8, 1, 1.32, 1.78, 2, 2.36, 2.88, 3, 3.5, 4, 4.5, 5};
+  private static final double[] P = new double[] {
+      0.50000, 0.53982, 0.65542, 0.78814, 0.84134, 0.90658, 0.96246, 0.97724, 0.99086, 0.99801, 0.99865, 0.99976,
+      0.99996, 0.99999, 0.99999};
+  private static final double[] Z = new double[] {
+      0.39894, 0.39695, 0.36827, 0.28969, 0.24197, 0.16693, 0.08182, 0.05399, 0.02463, 0.00630, 4.43184e-3,
+      8.72682e-4, 1.3383e-4, 1.59837e-5, 1.48671e-6};
+
+  //-------------------------------------------------------------------------
+  public void test_cdf_pdf() {
+    for (int i = 0; i < X.length; i++) {
+      assertEquals(TEST.cdf(X[i]), P[i], 1e-5);
+      assertEquals(TEST.cdf(-X[i]), 1 - P[i], 1e-5);
+      assertEquals(TEST.pdf(X[i]), Z[i], 1e-5);
+      assertEquals(TEST.pdf(-X[i]), Z[i], 1e-5);
+    }
+  }
+
+  public void test_matchesNormalDistribution() {
+    for (int i = 0; i <= 200; i++) {
+      double x = -10d + 0.1 * i;
+      assertEquals(TEST.cdf(x), NORMAL.getCDF(x), 0d);
+      assertEquals(TEST.pdf(x), NORMAL.getPDF(x), 1e-16);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_inverseCdf() {
+    assertEquals(TEST.inverseCdf(0.5), 0d, 0d);
+    assertEquals(TEST.inverseCdf(0.975), 1.959963984540054, 1e-15);
+    assertEquals(TEST.inverseCdf(0.99), 2.326347874040841, 1e-15);
+    assertEquals(TEST.inverseCdf(1e-10), -6.361340902404056, 1e-14);
+    assertEquals(TEST.inverseCdf(0d), Double.NEGATIVE_INFINITY);
+    assertEquals(TEST.inverseCdf(1d), Double.POSITIVE_INFINITY);
+    assertThrowsIllegalArg(() -> TEST.inverseCdf(-1e-10));
+    assertThrowsIllegalArg(() -> TEST.inverseCdf(1.1));
+  }
+
+  public void test_inverseCdf_roundTrip() {
+    for (int i = 0; i <= 150; i++) {
+      double x = -15d + 0.1 * i;
+      double p = TEST.cdf(x);
+      assertEquals(TEST.inverseCdf(p), x, 1e-14 * Math.max(1d, Math.abs(x)));
+      assertEquals(TEST.inverseCdf(p), NORMAL.getInverseCDF(p), 1e-12 * Math.max(1d, Math.abs(x)));
+    }
+    for (int i = 1; i < 100; i++) {
+      double p = 0.01 * i;
+      assertEquals(TEST.inverseCdf(1d - p), -TEST.inverseCdf(p), 1e-13);
+    }
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.TradeAttributeType;
+import com.opengamma.strata.product.TradeInfo;
+
+/**
+ * Grouping functions used to aggregate the results of calculations on trades.
+ * <p>
+ * These functions provide the grouping key of a calculation target, for use with
+ * {@code com.opengamma.strata.calc.aggregation.ResultsAggregator}.
+ * The key is obtained from the {@link TradeInfo} of the target.
+ * It is empty if the target is not a {@link Trade}, or if the trade information does not have the value,
+ * so that such targets form a group of their own.
+ * <p>
+ * For example, the results may be aggregated by counterparty, matching the selection of
+ * {@link TradeCounterpartyCalculationParameter}, or by book, where the book is held in a
+ * {@link TradeAttributeType}, such as {@code TradeAttributeType.of("book")}.
+ */
+public final class TradeGroupingFunctions {
+
+  // Private constructor because this only contains static helper methods.
+  private TradeGroupingFunctions() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a grouping function that provides the counterparty of the trade.
+   *
+   * @return the grouping function
+   */
+  public static Function<CalculationTarget, Optional<StandardId>> counterparty() {
+    return info(TradeInfo::getCounterparty);
+  }
+
+  /**
+   * Returns a grouping function that provides the value of an attribute of the trade.
+   *
+   * @param <T>  the type of the attribute value
+   * @param type  the type of the attribute
+   * @return the grouping function
+   */
+  public static <T> Function<CalculationTarget, Optional<T>> attribute(TradeAttributeType<T> type) {
+    ArgChecker.notNull(type, "type");
+    return info(info -> info.findAttribute(type));
+  }
+
+  /**
+   * Returns a grouping function that provides a value derived from the trade information.
+   *
+   * @param <T>  the type of the value
+   * @param function  the function providing the value from the trade information
+   * @return the grouping function
+   */
+  public static <T> Function<CalculationTarget, Optional<T>> info(Function<TradeInfo, Optional<T>> function) {
+    ArgChecker.notNull(function, "function");
+    return target -> target instanceof Trade ? function.apply(((Trade) target).getInfo()) : Optional.empty();
+  }
+
+}
@@ -5,6 +5,6 @@
  */
 
 /**
- * Additional calculation parameters.
+ * Additional calculation parameters and functions used to group trades.
  */
 package com.opengamma.strata.measure.calc;
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.product.GenericSecurity;
+import com.opengamma.strata.product.GenericSecurityTrade;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.SecurityInfo;
+import com.opengamma.strata.product.TradeAttributeType;
+import com.opengamma.strata.product.TradeInfo;
+
+/**
+ * Test {@link TradeGroupingFunctions}.
+ */
+@Test
+public class TradeGroupingFunctionsTest {
+
+  private static final StandardId ID1 = StandardId.of("test", "cpty1");
+  private static final TradeAttributeType<String> BOOK = TradeAttributeType.of("book");
+
+  private static final SecurityInfo SEC_INFO =
+      SecurityInfo.of(SecurityId.of("test", "sec1"), 1.0, CurrencyAmount.of(Currency.EUR, 1.0));
+  private static final GenericSecurity SEC = GenericSecurity.of(SEC_INFO);
+  private static final TradeInfo TRADE_INFO_1 = TradeInfo.builder()
+      .counterparty(ID1)
+      .addAttribute(BOOK, "Book1")
+      .build();
+  private static final GenericSecurityTrade TRADE_1 = GenericSecurityTrade.of(TRADE_INFO_1, SEC, 1, 1.0);
+  private static final GenericSecurityTrade TRADE_2 = GenericSecurityTrade.of(TradeInfo.empty(), SEC, 2, 2.0);
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+
+  //-------------------------------------------------------------------------
+  public void test_counterparty() {
+    Function<CalculationTarget, Optional<StandardId>> test = TradeGroupingFunctions.counterparty();
+    assertEquals(test.apply(TRADE_1), Optional.of(ID1));
+    assertEquals(test.apply(TRADE_2), Optional.empty());
+    assertEquals(test.apply(TARGET), Optional.empty());
+  }
+
+  public void test_attribute() {
+    Function<CalculationTarget, Optional<String>> test = TradeGroupingFunctions.attribute(BOOK);
+    assertEquals(test.apply(TRADE_1), Optional.of("Book1"));
+    assertEquals(test.apply(TRADE_2), Optional.empty());
+    assertEquals(test.apply(TARGET), Optional.empty());
+  }
+
+  public void test_info() {
+    Function<CalculationTarget, Optional<StandardId>> test = TradeGroupingFunctions.info(TradeInfo::getId);
+    assertEquals(test.apply(TRADE_1), Optional.empty());
+    assertEquals(test.apply(TARGET), Optional.empty());
+  }
+
+}
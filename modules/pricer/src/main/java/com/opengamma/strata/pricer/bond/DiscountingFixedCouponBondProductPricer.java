@@ -11,7 +11,7 @@ import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.J
 import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
 
 import java.time.LocalDate;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -22,7 +22,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.SafeguardedNewtonSingleRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.SafeguardedNewtonSingleRootFinder.ValueDerivativesFunction;
 import com.opengamma.strata.pricer.CompoundedRateType;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
@@ -52,7 +53,11 @@ public class DiscountingFixedCouponBondProductPricer {
   /**
    * The root finder.
    */
-  private static final RealSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
+  private static final BrentSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
+  /**
+   * The root finder using the derivatives of the function.
+   */
+  private static final SafeguardedNewtonSingleRootFinder NEWTON_ROOT_FINDER = new SafeguardedNewtonSingleRootFinder();
   /**
    * Brackets a root.
    */
@@ -317,13 +322,8 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double z) {
-        return dirtyPriceFromCurvesWithZSpread(
-            bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
-      }
-    };
+    DoubleUnaryOperator residual = z -> dirtyPriceFromCurvesWithZSpread(
+        bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
     double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
     return ROOT_FINDER.getRoot(residual, range[0], range[1]);
   }
@@ -598,6 +598,7 @@ public class DiscountingFixedCouponBondProductPricer {
    * The dirty price must be fractional.
    * If the analytic formula is not available, the yield is computed by solving
    * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.  
+   * The root-finding uses the first and second derivatives of the dirty price with respect to the yield.
    * The result is also expressed in fraction.
    * 
    * @param bond  the product
@@ -613,17 +614,76 @@ public class DiscountingFixedCouponBondProductPricer {
       return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
     }
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double y) {
-        return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
-      }
+    DoubleUnaryOperator priceResidual = y -> dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
+    ValueDerivativesFunction priceResidualDerivatives = (y, values) -> {
+      dirtyPriceAndDerivativesFromYield(bond, settlementDate, y, values);
+      values[0] -= dirtyPrice;
     };
     double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+    double yield = NEWTON_ROOT_FINDER.getRoot(priceResidualDerivatives, range[0], range[1]);
     return yield;
   }
 
+  // the dirty price and its first and second derivatives with respect to the yield
+  private void dirtyPriceAndDerivativesFromYield(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      double yield,
+      double[] values) {
+
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    int nCoupon = payments.size() - couponIndex(payments, settlementDate);
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    boolean singleCoupon = nCoupon == 1 && (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS));
+    if (!singleCoupon && (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS))) {
+      dirtyPriceAndDerivativesFromYieldStandard(bond, settlementDate, yield, values);
+      return;
+    }
+    double dirtyPrice = dirtyPriceFromYield(bond, settlementDate, yield);
+    values[0] = dirtyPrice;
+    values[1] = -modifiedDurationFromYield(bond, settlementDate, yield) * dirtyPrice;
+    values[2] = convexityFromYield(bond, settlementDate, yield) * dirtyPrice;
+  }
+
+  // computed in a single loop over the coupons, see dirtyPriceFromYieldStandard
+  private void dirtyPriceAndDerivativesFromYieldStandard(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      double yield,
+      double[] values) {
+
+    int nbCoupon = bond.getPeriodicPayments().size();
+    double couponPerYear = bond.getFrequency().eventsPerYear();
+    double factorToNextCoupon = factorToNextCoupon(bond, settlementDate);
+    double factorOnPeriod = 1 + yield / couponPerYear;
+    double fixedRate = bond.getFixedRate();
+    double pv = 0d;
+    double pvFirstDerivative = 0d;
+    double pvSecondDerivative = 0d;
+    int pow = 0;
+    for (int loopcpn = 0; loopcpn < nbCoupon; loopcpn++) {
+      FixedCouponBondPaymentPeriod period = bond.getPeriodicPayments().get(loopcpn);
+      if ((period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+          (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate))) {
+        double exponent = pow + factorToNextCoupon;
+        double pvCoupon = fixedRate * period.getYearFraction() * Math.pow(factorOnPeriod, -exponent);
+        pv += pvCoupon;
+        pvFirstDerivative += exponent * pvCoupon;
+        pvSecondDerivative += exponent * (exponent + 1d) * pvCoupon;
+        ++pow;
+      }
+    }
+    double exponent = pow - 1 + factorToNextCoupon;
+    double pvNominal = Math.pow(factorOnPeriod, -exponent);
+    pv += pvNominal;
+    pvFirstDerivative += exponent * pvNominal;
+    pvSecondDerivative += exponent * (exponent + 1d) * pvNominal;
+    double factor = couponPerYear * factorOnPeriod;
+    values[0] = pv;
+    values[1] = -pvFirstDerivative / factor;
+    values[2] = pvSecondDerivative / (factor * factor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the modified duration of the fixed coupon bond product from yield.
@@ -808,7 +868,8 @@ public class DiscountingFixedCouponBondProductPricer {
   }
 
   //-------------------------------------------------------------------------
-  private double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+  // the fraction of the current coupon period remaining after the settlement date
+  double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
     if (bond.getPeriodicPayments().get(0).getStartDate().isAfter(settlementDate)) {
       return 0d;
     }
@@ -818,7 +879,8 @@ public class DiscountingFixedCouponBondProductPricer {
     return (factorPeriod - factorSpot) / factorPeriod;
   }
 
-  private int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
+  // the index of the first coupon ending after the date
+  int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
     int nbCoupon = list.size();
     int couponIndex = 0;
     for (int loopcpn = 0; loopcpn < nbCoupon; ++loopcpn) {
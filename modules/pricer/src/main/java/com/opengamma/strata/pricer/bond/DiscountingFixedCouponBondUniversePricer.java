@@ -0,0 +1,608 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.DE_BONDS;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.GB_BUMP_DMO;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.JP_SIMPLE;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
+
+import java.time.LocalDate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
+import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.SafeguardedNewtonSingleRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.SafeguardedNewtonSingleRootFinder.ValueDerivativesFunction;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricer for universes of fixed coupon bonds in columnar form.
+ * <p>
+ * This function provides the ability to compute the yield, duration, convexity and z-spread analytics
+ * of all the bonds of a {@link FixedCouponBondUniverse}.
+ * The bonds are processed in parallel, each one in a loop over the primitive arrays of the universe.
+ * The issuer curves are obtained once per issuer group, and the discount factors of the cash flows
+ * once per bond before solving for the z-spread.
+ * <p>
+ * The results are the same as those of {@link DiscountingFixedCouponBondProductPricer} using the standard
+ * period and nominal pricers, applied to each bond at its settlement date in the universe.
+ * The computations follow the same steps, so the results are identical, not only close.
+ */
+public class DiscountingFixedCouponBondUniversePricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingFixedCouponBondUniversePricer DEFAULT = new DiscountingFixedCouponBondUniversePricer();
+
+  /**
+   * Year fraction used as an effective zero, as in {@link DiscountFactors}.
+   */
+  private static final double EFFECTIVE_ZERO = 1e-10;
+  /**
+   * The root finder.
+   */
+  private static final BrentSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
+  /**
+   * The root finder using the derivatives of the function.
+   */
+  private static final SafeguardedNewtonSingleRootFinder NEWTON_ROOT_FINDER = new SafeguardedNewtonSingleRootFinder();
+  /**
+   * Brackets a root.
+   */
+  private static final BracketRoot ROOT_BRACKETER = new BracketRoot();
+
+  /**
+   * Creates an instance.
+   */
+  public DiscountingFixedCouponBondUniversePricer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price of each bond from its yield.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromYield}.
+   *
+   * @param universe  the bond universe
+   * @param yields  the yields, one for each bond
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPriceFromYield(FixedCouponBondUniverse universe, DoubleArray yields) {
+    checkSize(universe, yields, "yields");
+    return computeInParallel(universe, i -> dirtyPriceFromYield(universe, i, yields.get(i)));
+  }
+
+  /**
+   * Calculates the yield of each bond from its dirty price.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice}.
+   *
+   * @param universe  the bond universe
+   * @param dirtyPrices  the dirty prices, one for each bond
+   * @return the yields
+   */
+  public DoubleArray yieldFromDirtyPrice(FixedCouponBondUniverse universe, DoubleArray dirtyPrices) {
+    checkSize(universe, dirtyPrices, "dirtyPrices");
+    return computeInParallel(universe, i -> yieldFromDirtyPrice(universe, i, dirtyPrices.get(i)));
+  }
+
+  /**
+   * Calculates the modified duration of each bond from its yield.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#modifiedDurationFromYield}.
+   *
+   * @param universe  the bond universe
+   * @param yields  the yields, one for each bond
+   * @return the modified durations
+   */
+  public DoubleArray modifiedDurationFromYield(FixedCouponBondUniverse universe, DoubleArray yields) {
+    checkSize(universe, yields, "yields");
+    return computeInParallel(universe, i -> modifiedDurationFromYield(universe, i, yields.get(i)));
+  }
+
+  /**
+   * Calculates the Macaulay duration of each bond from its yield.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#macaulayDurationFromYield}.
+   *
+   * @param universe  the bond universe
+   * @param yields  the yields, one for each bond
+   * @return the Macaulay durations
+   */
+  public DoubleArray macaulayDurationFromYield(FixedCouponBondUniverse universe, DoubleArray yields) {
+    checkSize(universe, yields, "yields");
+    return computeInParallel(universe, i -> macaulayDurationFromYield(universe, i, yields.get(i)));
+  }
+
+  /**
+   * Calculates the convexity of each bond from its yield.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#convexityFromYield}.
+   *
+   * @param universe  the bond universe
+   * @param yields  the yields, one for each bond
+   * @return the convexities
+   */
+  public DoubleArray convexityFromYield(FixedCouponBondUniverse universe, DoubleArray yields) {
+    checkSize(universe, yields, "yields");
+    return computeInParallel(universe, i -> convexityFromYield(universe, i, yields.get(i)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price of each bond from the curves with z-spread.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromCurvesWithZSpread}.
+   *
+   * @param universe  the bond universe
+   * @param provider  the discounting provider
+   * @param zSpreads  the z-spreads, one for each bond
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPriceFromCurvesWithZSpread(
+      FixedCouponBondUniverse universe,
+      LegalEntityDiscountingProvider provider,
+      DoubleArray zSpreads,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    checkSize(universe, zSpreads, "zSpreads");
+    boolean periodic = checkCompounding(compoundedRateType, periodsPerYear);
+    DiscountFactors[] issuerDiscountFactors = issuerDiscountFactors(universe, provider);
+    return computeInParallel(universe, i -> {
+      BondDiscounting discounting = discounting(universe, i, provider, issuerDiscountFactors, periodic, periodsPerYear);
+      return discounting.dirtyPrice(zSpreads.get(i));
+    });
+  }
+
+  /**
+   * Calculates the z-spread of each bond from the curves and its dirty price.
+   * <p>
+   * See {@link DiscountingFixedCouponBondProductPricer#zSpreadFromCurvesAndDirtyPrice}.
+   * The discount factors of the cash flows are computed once for each bond, before solving for the z-spread.
+   *
+   * @param universe  the bond universe
+   * @param provider  the discounting provider
+   * @param dirtyPrices  the dirty prices, one for each bond
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spreads
+   */
+  public DoubleArray zSpreadFromCurvesAndDirtyPrice(
+      FixedCouponBondUniverse universe,
+      LegalEntityDiscountingProvider provider,
+      DoubleArray dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    checkSize(universe, dirtyPrices, "dirtyPrices");
+    boolean periodic = checkCompounding(compoundedRateType, periodsPerYear);
+    DiscountFactors[] issuerDiscountFactors = issuerDiscountFactors(universe, provider);
+    return computeInParallel(universe, i -> {
+      BondDiscounting discounting = discounting(universe, i, provider, issuerDiscountFactors, periodic, periodsPerYear);
+      double dirtyPrice = dirtyPrices.get(i);
+      DoubleUnaryOperator residual = z -> discounting.dirtyPrice(z) - dirtyPrice;
+      double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
+      return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // computes a value for each bond in parallel
+  private static DoubleArray computeInParallel(FixedCouponBondUniverse universe, IntToDoubleFunction function) {
+    return DoubleArray.ofUnsafe(IntStream.range(0, universe.getBondCount())
+        .parallel()
+        .mapToDouble(function)
+        .toArray());
+  }
+
+  // checks the size of the inputs
+  private static void checkSize(FixedCouponBondUniverse universe, DoubleArray values, String name) {
+    ArgChecker.notNull(universe, "universe");
+    ArgChecker.notNull(values, name);
+    ArgChecker.isTrue(values.size() == universe.getBondCount(), "{} must have one value for each bond", name);
+  }
+
+  // checks the compounding, returning true if periodic
+  private static boolean checkCompounding(CompoundedRateType compoundedRateType, int periodsPerYear) {
+    ArgChecker.notNull(compoundedRateType, "compoundedRateType");
+    if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+      ArgChecker.notNegativeOrZero(periodsPerYear, "periodPerYear");
+      return true;
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  // the dirty price from yield of a bond
+  private double dirtyPriceFromYield(FixedCouponBondUniverse universe, int index, double yield) {
+    FixedCouponBondYieldConvention yieldConv = universe.getYieldConvention(index);
+    if (universe.getRemainingCouponCount(index) == 1) {
+      if (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS)) {
+        return universe.getLastCouponFactor(index) /
+            (1d + universe.getFactorToNextCoupon(index) * yield / universe.getCouponsPerYear(index));
+      }
+    }
+    if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      return dirtyPriceFromYieldStandard(universe, index, yield);
+    }
+    if (yieldConv.equals(JP_SIMPLE)) {
+      double maturity = universe.getMaturity(index);
+      double cleanPrice = (1d + universe.getFixedRate(index) * maturity) / (1d + yield * maturity);
+      return cleanPrice + universe.getAccruedInterestPerNotional(index);
+    }
+    throw new UnsupportedOperationException("The convention " + yieldConv.name() + " is not supported.");
+  }
+
+  private double dirtyPriceFromYieldStandard(FixedCouponBondUniverse universe, int index, double yield) {
+    double factorOnPeriod = 1 + yield / universe.getCouponsPerYear(index);
+    double fixedRate = universe.getFixedRate(index);
+    int start = universe.getYieldCouponOffset(index);
+    int end = universe.getYieldCouponOffset(index + 1);
+    double pvAtFirstCoupon = 0;
+    for (int loopcpn = start; loopcpn < end; loopcpn++) {
+      pvAtFirstCoupon += fixedRate * universe.getYieldCouponYearFraction(loopcpn) /
+          Math.pow(factorOnPeriod, loopcpn - start);
+    }
+    pvAtFirstCoupon += 1d / Math.pow(factorOnPeriod, end - start - 1);
+    return pvAtFirstCoupon * Math.pow(factorOnPeriod, -universe.getFactorToNextCoupon(index));
+  }
+
+  // the yield from dirty price of a bond
+  private double yieldFromDirtyPrice(FixedCouponBondUniverse universe, int index, double dirtyPrice) {
+    if (universe.getYieldConvention(index).equals(JP_SIMPLE)) {
+      double cleanPrice = dirtyPrice - universe.getAccruedInterestPerNotional(index);
+      double maturity = universe.getMaturity(index);
+      return (universe.getFixedRate(index) + (1d - cleanPrice) / maturity) / cleanPrice;
+    }
+    DoubleUnaryOperator priceResidual = y -> dirtyPriceFromYield(universe, index, y) - dirtyPrice;
+    ValueDerivativesFunction priceResidualDerivatives = (y, values) -> {
+      dirtyPriceAndDerivativesFromYield(universe, index, y, values);
+      values[0] -= dirtyPrice;
+    };
+    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
+    return NEWTON_ROOT_FINDER.getRoot(priceResidualDerivatives, range[0], range[1]);
+  }
+
+  // the dirty price and its first and second derivatives with respect to the yield
+  private void dirtyPriceAndDerivativesFromYield(
+      FixedCouponBondUniverse universe,
+      int index,
+      double yield,
+      double[] values) {
+
+    FixedCouponBondYieldConvention yieldConv = universe.getYieldConvention(index);
+    boolean singleCoupon = universe.getRemainingCouponCount(index) == 1 &&
+        (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS));
+    if (!singleCoupon && (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS))) {
+      dirtyPriceAndDerivativesFromYieldStandard(universe, index, yield, values);
+      return;
+    }
+    double dirtyPrice = dirtyPriceFromYield(universe, index, yield);
+    values[0] = dirtyPrice;
+    values[1] = -modifiedDurationFromYield(universe, index, yield) * dirtyPrice;
+    values[2] = convexityFromYield(universe, index, yield) * dirtyPrice;
+  }
+
+  private void dirtyPriceAndDerivativesFromYieldStandard(
+      FixedCouponBondUniverse universe,
+      int index,
+      double yield,
+      double[] values) {
+
+    double couponPerYear = universe.getCouponsPerYear(index);
+    double factorToNextCoupon = universe.getFactorToNextCoupon(index);
+    double factorOnPeriod = 1 + yield / couponPerYear;
+    double fixedRate = universe.getFixedRate(index);
+    int start = universe.getYieldCouponOffset(index);
+    int end = universe.getYieldCouponOffset(index + 1);
+    double pv = 0d;
+    double pvFirstDerivative = 0d;
+    double pvSecondDerivative = 0d;
+    for (int loopcpn = start; loopcpn < end; loopcpn++) {
+      double exponent = loopcpn - start + factorToNextCoupon;
+      double pvCoupon = fixedRate * universe.getYieldCouponYearFraction(loopcpn) * Math.pow(factorOnPeriod, -exponent);
+      pv += pvCoupon;
+      pvFirstDerivative += exponent * pvCoupon;
+      pvSecondDerivative += exponent * (exponent + 1d) * pvCoupon;
+    }
+    double exponent = end - start - 1 + factorToNextCoupon;
+    double pvNominal = Math.pow(factorOnPeriod, -exponent);
+    pv += pvNominal;
+    pvFirstDerivative += exponent * pvNominal;
+    pvSecondDerivative += exponent * (exponent + 1d) * pvNominal;
+    double factor = couponPerYear * factorOnPeriod;
+    values[0] = pv;
+    values[1] = -pvFirstDerivative / factor;
+    values[2] = pvSecondDerivative / (factor * factor);
+  }
+
+  //-------------------------------------------------------------------------
+  // the modified duration from yield of a bond
+  private double modifiedDurationFromYield(FixedCouponBondUniverse universe, int index, double yield) {
+    FixedCouponBondYieldConvention yieldConv = universe.getYieldConvention(index);
+    if (universe.getRemainingCouponCount(index) == 1) {
+      if (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS)) {
+        double couponPerYear = universe.getCouponsPerYear(index);
+        double factor = universe.getFactorToNextCoupon(index);
+        return factor / couponPerYear / (1d + factor * yield / couponPerYear);
+      }
+    }
+    if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      return modifiedDurationFromYieldStandard(universe, index, yield);
+    }
+    if (yieldConv.equals(JP_SIMPLE)) {
+      double maturity = universe.getMaturity(index);
+      double num = 1d + universe.getFixedRate(index) * maturity;
+      double den = 1d + yield * maturity;
+      double dirtyPrice = num / den + universe.getAccruedInterestPerNotional(index);
+      return num * maturity / den / den / dirtyPrice;
+    }
+    throw new UnsupportedOperationException("The convention " + yieldConv.name() + " is not supported.");
+  }
+
+  private double modifiedDurationFromYieldStandard(FixedCouponBondUniverse universe, int index, double yield) {
+    double couponPerYear = universe.getCouponsPerYear(index);
+    double factorToNextCoupon = universe.getFactorToNextCoupon(index);
+    double factorOnPeriod = 1 + yield / couponPerYear;
+    double nominal = universe.getNotional(index);
+    double fixedRate = universe.getFixedRate(index);
+    int start = universe.getYieldCouponOffset(index);
+    int end = universe.getYieldCouponOffset(index + 1);
+    double mdAtFirstCoupon = 0d;
+    double pvAtFirstCoupon = 0d;
+    for (int loopcpn = start; loopcpn < end; loopcpn++) {
+      int pow = loopcpn - start;
+      double yearFraction = universe.getYieldCouponYearFraction(loopcpn);
+      mdAtFirstCoupon += yearFraction / Math.pow(factorOnPeriod, pow + 1) * (pow + factorToNextCoupon) / couponPerYear;
+      pvAtFirstCoupon += yearFraction / Math.pow(factorOnPeriod, pow);
+    }
+    int pow = end - start;
+    mdAtFirstCoupon *= fixedRate * nominal;
+    pvAtFirstCoupon *= fixedRate * nominal;
+    mdAtFirstCoupon += nominal / Math.pow(factorOnPeriod, pow) * (pow - 1 + factorToNextCoupon) /
+        couponPerYear;
+    pvAtFirstCoupon += nominal / Math.pow(factorOnPeriod, pow - 1);
+    return mdAtFirstCoupon / pvAtFirstCoupon;
+  }
+
+  // the Macaulay duration from yield of a bond
+  private double macaulayDurationFromYield(FixedCouponBondUniverse universe, int index, double yield) {
+    FixedCouponBondYieldConvention yieldConv = universe.getYieldConvention(index);
+    if (yieldConv.equals(US_STREET) && universe.getRemainingCouponCount(index) == 1) {
+      return universe.getFactorToNextCoupon(index) / universe.getCouponsPerYear(index);
+    }
+    if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      return modifiedDurationFromYield(universe, index, yield) * (1d + yield / universe.getCouponsPerYear(index));
+    }
+    throw new UnsupportedOperationException("The convention " + yieldConv.name() + " is not supported.");
+  }
+
+  // the convexity from yield of a bond
+  private double convexityFromYield(FixedCouponBondUniverse universe, int index, double yield) {
+    FixedCouponBondYieldConvention yieldConv = universe.getYieldConvention(index);
+    if (universe.getRemainingCouponCount(index) == 1) {
+      if (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS)) {
+        double couponPerYear = universe.getCouponsPerYear(index);
+        double factorToNextCoupon = universe.getFactorToNextCoupon(index);
+        double timeToPay = factorToNextCoupon / couponPerYear;
+        double disc = (1d + factorToNextCoupon * yield / couponPerYear);
+        return 2d * timeToPay * timeToPay / (disc * disc);
+      }
+    }
+    if (yieldConv.equals(US_STREET) || yieldConv.equals(GB_BUMP_DMO) || yieldConv.equals(DE_BONDS)) {
+      return convexityFromYieldStandard(universe, index, yield);
+    }
+    if (yieldConv.equals(JP_SIMPLE)) {
+      double maturity = universe.getMaturity(index);
+      double num = 1d + universe.getFixedRate(index) * maturity;
+      double den = 1d + yield * maturity;
+      double dirtyPrice = num / den + universe.getAccruedInterestPerNotional(index);
+      return 2d * num * Math.pow(maturity, 2) * Math.pow(den, -3) / dirtyPrice;
+    }
+    throw new UnsupportedOperationException("The convention " + yieldConv.name() + " is not supported.");
+  }
+
+  private double convexityFromYieldStandard(FixedCouponBondUniverse universe, int index, double yield) {
+    double couponPerYear = universe.getCouponsPerYear(index);
+    double factorToNextCoupon = universe.getFactorToNextCoupon(index);
+    double factorOnPeriod = 1 + yield / couponPerYear;
+    double nominal = universe.getNotional(index);
+    double fixedRate = universe.getFixedRate(index);
+    int start = universe.getYieldCouponOffset(index);
+    int end = universe.getYieldCouponOffset(index + 1);
+    double cvAtFirstCoupon = 0;
+    double pvAtFirstCoupon = 0;
+    for (int loopcpn = start; loopcpn < end; loopcpn++) {
+      int pow = loopcpn - start;
+      double yearFraction = universe.getYieldCouponYearFraction(loopcpn);
+      cvAtFirstCoupon += yearFraction / Math.pow(factorOnPeriod, pow + 2) *
+          (pow + factorToNextCoupon) * (pow + factorToNextCoupon + 1);
+      pvAtFirstCoupon += yearFraction / Math.pow(factorOnPeriod, pow);
+    }
+    int pow = end - start;
+    cvAtFirstCoupon *= fixedRate * nominal / (couponPerYear * couponPerYear);
+    pvAtFirstCoupon *= fixedRate * nominal;
+    cvAtFirstCoupon += nominal / Math.pow(factorOnPeriod, pow + 1) * (pow - 1 + factorToNextCoupon) *
+        (pow + factorToNextCoupon) / (couponPerYear * couponPerYear);
+    pvAtFirstCoupon += nominal / Math.pow(factorOnPeriod, pow - 1);
+    double pv = pvAtFirstCoupon * Math.pow(factorOnPeriod, -factorToNextCoupon);
+    return cvAtFirstCoupon * Math.pow(factorOnPeriod, -factorToNextCoupon) / pv;
+  }
+
+  //-------------------------------------------------------------------------
+  // obtains the issuer discount factors of each group
+  private static DiscountFactors[] issuerDiscountFactors(
+      FixedCouponBondUniverse universe,
+      LegalEntityDiscountingProvider provider) {
+
+    ArgChecker.notNull(provider, "provider");
+    return universe.getIssuerGroups().stream()
+        .map(group -> issuerDiscountFactors(provider, group))
+        .toArray(DiscountFactors[]::new);
+  }
+
+  // obtains the issuer discount factors of a group
+  private static DiscountFactors issuerDiscountFactors(
+      LegalEntityDiscountingProvider provider,
+      Pair<StandardId, Currency> group) {
+
+    return provider.issuerCurveDiscountFactors(group.getFirst(), group.getSecond()).getDiscountFactors();
+  }
+
+  // obtains the discounting data of a bond, independent of the z-spread
+  private static BondDiscounting discounting(
+      FixedCouponBondUniverse universe,
+      int index,
+      LegalEntityDiscountingProvider provider,
+      DiscountFactors[] issuerDiscountFactors,
+      boolean periodic,
+      int periodsPerYear) {
+
+    DiscountFactors discountFactors = issuerDiscountFactors[universe.getIssuerGroupIndex(index)];
+    LocalDate valuationDate = discountFactors.getValuationDate();
+    int start = universe.getCashFlowOffset(index);
+    int end = universe.getCashFlowOffset(index + 1);
+    // coupons paid before the valuation date have no value
+    double[] amounts = new double[end - start];
+    double[] yearFractions = new double[end - start];
+    double[] factors = new double[end - start];
+    int count = 0;
+    for (int offset = start; offset < end; offset++) {
+      LocalDate paymentDate = universe.getCashFlowPaymentDate(offset);
+      if (!paymentDate.isBefore(valuationDate)) {
+        amounts[count] = universe.getCashFlowAmount(offset);
+        yearFractions[count] = discountFactors.relativeYearFraction(paymentDate);
+        factors[count] = spreadFactor(discountFactors, yearFractions[count], periodic, periodsPerYear);
+        count++;
+      }
+    }
+    LocalDate nominalDate = universe.getNominalPaymentDate(index);
+    double nominalAmount = 0d;
+    double nominalYearFraction = 0d;
+    double nominalFactor = 1d;
+    if (!valuationDate.isAfter(nominalDate)) {
+      nominalAmount = universe.getNominalAmount(index);
+      nominalYearFraction = discountFactors.relativeYearFraction(nominalDate);
+      nominalFactor = spreadFactor(discountFactors, nominalYearFraction, periodic, periodsPerYear);
+    }
+    ResolvedFixedCouponBond bond = universe.getBond(index);
+    double repoDiscountFactor = provider.repoCurveDiscountFactors(
+        bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency())
+        .discountFactor(universe.getSettlementDate(index));
+    return new BondDiscounting(
+        count,
+        amounts,
+        yearFractions,
+        factors,
+        nominalAmount,
+        nominalYearFraction,
+        nominalFactor,
+        repoDiscountFactor,
+        universe.getNotional(index),
+        periodic,
+        periodsPerYear);
+  }
+
+  // the part of the discount factor with spread independent of the spread, see DiscountFactors
+  private static double spreadFactor(
+      DiscountFactors discountFactors,
+      double yearFraction,
+      boolean periodic,
+      int periodsPerYear) {
+
+    if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+      return 1d;
+    }
+    double df = discountFactors.discountFactor(yearFraction);
+    return periodic ? Math.pow(df, -1.0 / periodsPerYear / yearFraction) : df;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The discounting data of a bond.
+   * <p>
+   * The year fractions and discount factors of the cash flows are computed once,
+   * so that the dirty price can be computed for many z-spreads in a tight loop.
+   */
+  private static final class BondDiscounting {
+
+    private final int count;
+    private final double[] amounts;
+    private final double[] yearFractions;
+    private final double[] factors;
+    private final double nominalAmount;
+    private final double nominalYearFraction;
+    private final double nominalFactor;
+    private final double repoDiscountFactor;
+    private final double notional;
+    private final boolean periodic;
+    private final int periodsPerYear;
+
+    private BondDiscounting(
+        int count,
+        double[] amounts,
+        double[] yearFractions,
+        double[] factors,
+        double nominalAmount,
+        double nominalYearFraction,
+        double nominalFactor,
+        double repoDiscountFactor,
+        double notional,
+        boolean periodic,
+        int periodsPerYear) {
+
+      this.count = count;
+      this.amounts = amounts;
+      this.yearFractions = yearFractions;
+      this.factors = factors;
+      this.nominalAmount = nominalAmount;
+      this.nominalYearFraction = nominalYearFraction;
+      this.nominalFactor = nominalFactor;
+      this.repoDiscountFactor = repoDiscountFactor;
+      this.notional = notional;
+      this.periodic = periodic;
+      this.periodsPerYear = periodsPerYear;
+    }
+
+    // the dirty price with z-spread
+    private double dirtyPrice(double zSpread) {
+      double total = 0d;
+      for (int i = 0; i < count; i++) {
+        total += amounts[i] * discountFactor(yearFractions[i], factors[i], zSpread);
+      }
+      double pvNominal = nominalAmount * discountFactor(nominalYearFraction, nominalFactor, zSpread);
+      double pv = pvNominal + total;
+      return pv / repoDiscountFactor / notional;
+    }
+
+    // the discount factor with spread, see DiscountFactors
+    private double discountFactor(double yearFraction, double factor, double zSpread) {
+      if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+        return 1d;
+      }
+      if (periodic) {
+        return Math.pow(factor + zSpread / periodsPerYear, -periodsPerYear * yearFraction);
+      }
+      return factor * Math.exp(-zSpread * yearFraction);
+    }
+  }
+
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.JP_SIMPLE;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * A universe of fixed coupon bonds in columnar form, ready for bulk analytics.
+ * <p>
+ * The standard form of a bond, {@link ResolvedFixedCouponBond}, is a list of payment period beans,
+ * from which the year fractions and the coupons after the settlement date are derived on each call.
+ * This class derives this information once for each bond of the universe, at its settlement date,
+ * and holds it in primitive arrays. The coupons of all the bonds are held in flat arrays,
+ * the coupons of bond {@code i} being between the offsets {@code i} and {@code i + 1}.
+ * <p>
+ * Two sets of coupons are held for each bond.
+ * The yield coupons are the coupons used by the yield conventions, taking the ex-coupon period into account.
+ * The cash flows are the coupons discounted on the issuer curve, whose detachment date is after the settlement date,
+ * the nominal payment being held separately.
+ * The payment dates of the cash flows are held as {@code LocalDate}, as the times depend on the curves.
+ * <p>
+ * The bonds are grouped by issuer and currency, which identify the issuer curve, so that
+ * the curves are queried once per group rather than once per bond.
+ * <p>
+ * The settlement date of each bond must not be after its maturity.
+ * <p>
+ * This class is immutable and thread-safe, however the accessors do not validate the bond index.
+ * See {@link DiscountingFixedCouponBondUniversePricer} for the pricer.
+ */
+public final class FixedCouponBondUniverse {
+
+  /**
+   * The bonds.
+   */
+  private final ImmutableList<ResolvedFixedCouponBond> bonds;
+  /**
+   * The settlement dates of the bonds.
+   */
+  private final LocalDate[] settlementDates;
+  /**
+   * The yield conventions of the bonds.
+   */
+  private final FixedCouponBondYieldConvention[] yieldConventions;
+  /**
+   * The fixed rates of the bonds.
+   */
+  private final double[] fixedRates;
+  /**
+   * The notionals of the bonds.
+   */
+  private final double[] notionals;
+  /**
+   * The number of coupons per year of the bonds.
+   */
+  private final double[] couponsPerYear;
+  /**
+   * The fraction of the current coupon period remaining after the settlement date.
+   */
+  private final double[] factorsToNextCoupon;
+  /**
+   * The accrued interest at the settlement date divided by the notional.
+   */
+  private final double[] accruedInterestsPerNotional;
+  /**
+   * The number of coupons ending after the settlement date.
+   */
+  private final int[] remainingCouponCounts;
+  /**
+   * One plus the fixed rate times the year fraction of the last coupon.
+   */
+  private final double[] lastCouponFactors;
+  /**
+   * The year fraction between the settlement date and the maturity, only set for the JP simple convention.
+   */
+  private final double[] maturities;
+  /**
+   * The payment dates of the nominal.
+   */
+  private final LocalDate[] nominalPaymentDates;
+  /**
+   * The amounts of the nominal.
+   */
+  private final double[] nominalAmounts;
+  /**
+   * The offsets of the yield coupons of each bond, of size the number of bonds plus one.
+   */
+  private final int[] yieldCouponOffsets;
+  /**
+   * The year fractions of the yield coupons.
+   */
+  private final double[] yieldCouponYearFractions;
+  /**
+   * The offsets of the cash flows of each bond, of size the number of bonds plus one.
+   */
+  private final int[] cashFlowOffsets;
+  /**
+   * The payment dates of the cash flows.
+   */
+  private final LocalDate[] cashFlowPaymentDates;
+  /**
+   * The amounts of the cash flows.
+   */
+  private final double[] cashFlowAmounts;
+  /**
+   * The issuer and currency of each group.
+   */
+  private final ImmutableList<Pair<StandardId, Currency>> issuerGroups;
+  /**
+   * The group of each bond.
+   */
+  private final int[] issuerGroupIndices;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the bonds and their settlement dates.
+   *
+   * @param bonds  the bonds
+   * @param settlementDates  the settlement dates, one for each bond
+   * @return the universe
+   * @throws IllegalArgumentException if a settlement date is after the maturity of its bond
+   */
+  public static FixedCouponBondUniverse of(List<ResolvedFixedCouponBond> bonds, List<LocalDate> settlementDates) {
+    ArgChecker.noNulls(bonds, "bonds");
+    ArgChecker.noNulls(settlementDates, "settlementDates");
+    ArgChecker.isTrue(bonds.size() == settlementDates.size(), "bonds and settlementDates must have the same size");
+    return new FixedCouponBondUniverse(ImmutableList.copyOf(bonds), settlementDates.toArray(new LocalDate[0]));
+  }
+
+  /**
+   * Obtains an instance from the bonds, settled at their standard settlement date.
+   * <p>
+   * The settlement date of each bond is computed from the valuation date using the settlement date offset of the bond.
+   *
+   * @param bonds  the bonds
+   * @param valuationDate  the valuation date
+   * @param refData  the reference data used to calculate the settlement dates
+   * @return the universe
+   * @throws IllegalArgumentException if a settlement date is after the maturity of its bond
+   */
+  public static FixedCouponBondUniverse of(
+      List<ResolvedFixedCouponBond> bonds,
+      LocalDate valuationDate,
+      ReferenceData refData) {
+
+    ArgChecker.noNulls(bonds, "bonds");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNull(refData, "refData");
+    LocalDate[] settlementDates = bonds.stream()
+        .map(bond -> bond.getSettlementDateOffset().adjust(valuationDate, refData))
+        .toArray(LocalDate[]::new);
+    return new FixedCouponBondUniverse(ImmutableList.copyOf(bonds), settlementDates);
+  }
+
+  // creates an instance, deriving the columns from the bonds
+  private FixedCouponBondUniverse(ImmutableList<ResolvedFixedCouponBond> bonds, LocalDate[] settlementDates) {
+    DiscountingFixedCouponBondProductPricer pricer = DiscountingFixedCouponBondProductPricer.DEFAULT;
+    int bondCount = bonds.size();
+    this.bonds = bonds;
+    this.settlementDates = settlementDates;
+    this.yieldConventions = new FixedCouponBondYieldConvention[bondCount];
+    this.fixedRates = new double[bondCount];
+    this.notionals = new double[bondCount];
+    this.couponsPerYear = new double[bondCount];
+    this.factorsToNextCoupon = new double[bondCount];
+    this.accruedInterestsPerNotional = new double[bondCount];
+    this.remainingCouponCounts = new int[bondCount];
+    this.lastCouponFactors = new double[bondCount];
+    this.maturities = new double[bondCount];
+    this.nominalPaymentDates = new LocalDate[bondCount];
+    this.nominalAmounts = new double[bondCount];
+    this.yieldCouponOffsets = new int[bondCount + 1];
+    this.cashFlowOffsets = new int[bondCount + 1];
+    this.issuerGroupIndices = new int[bondCount];
+    // first pass, the per bond columns and the offsets
+    Map<Pair<StandardId, Currency>, Integer> groupIndex = new HashMap<>();
+    ImmutableList.Builder<Pair<StandardId, Currency>> groups = ImmutableList.builder();
+    for (int i = 0; i < bondCount; i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = settlementDates[i];
+      ArgChecker.isFalse(
+          settlementDate.isAfter(bond.getUnadjustedEndDate()),
+          "Settlement date {} must not be after the maturity of bond {}", settlementDate, bond.getSecurityId());
+      ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+      FixedCouponBondPaymentPeriod lastPayment = payments.get(payments.size() - 1);
+      yieldConventions[i] = bond.getYieldConvention();
+      fixedRates[i] = bond.getFixedRate();
+      notionals[i] = bond.getNotional();
+      couponsPerYear[i] = bond.getFrequency().eventsPerYear();
+      factorsToNextCoupon[i] = pricer.factorToNextCoupon(bond, settlementDate);
+      accruedInterestsPerNotional[i] = pricer.accruedInterest(bond, settlementDate) / bond.getNotional();
+      remainingCouponCounts[i] = payments.size() - pricer.couponIndex(payments, settlementDate);
+      lastCouponFactors[i] = 1d + lastPayment.getFixedRate() * lastPayment.getYearFraction();
+      if (bond.getYieldConvention().equals(JP_SIMPLE)) {
+        maturities[i] = bond.getDayCount().relativeYearFraction(settlementDate, bond.getUnadjustedEndDate());
+      }
+      nominalPaymentDates[i] = bond.getNominalPayment().getDate();
+      nominalAmounts[i] = bond.getNominalPayment().getAmount();
+      int yieldCouponCount = 0;
+      int cashFlowCount = 0;
+      for (FixedCouponBondPaymentPeriod period : payments) {
+        if (isYieldCoupon(period, settlementDate)) {
+          yieldCouponCount++;
+        }
+        if (period.getDetachmentDate().isAfter(settlementDate)) {
+          cashFlowCount++;
+        }
+      }
+      yieldCouponOffsets[i + 1] = yieldCouponOffsets[i] + yieldCouponCount;
+      cashFlowOffsets[i + 1] = cashFlowOffsets[i] + cashFlowCount;
+      Pair<StandardId, Currency> group = Pair.of(bond.getLegalEntityId(), bond.getCurrency());
+      Integer index = groupIndex.get(group);
+      if (index == null) {
+        index = groupIndex.size();
+        groupIndex.put(group, index);
+        groups.add(group);
+      }
+      issuerGroupIndices[i] = index;
+    }
+    this.issuerGroups = groups.build();
+    // second pass, the flat coupon columns
+    this.yieldCouponYearFractions = new double[yieldCouponOffsets[bondCount]];
+    this.cashFlowPaymentDates = new LocalDate[cashFlowOffsets[bondCount]];
+    this.cashFlowAmounts = new double[cashFlowOffsets[bondCount]];
+    for (int i = 0; i < bondCount; i++) {
+      LocalDate settlementDate = settlementDates[i];
+      int yieldCoupon = yieldCouponOffsets[i];
+      int cashFlow = cashFlowOffsets[i];
+      for (FixedCouponBondPaymentPeriod period : bonds.get(i).getPeriodicPayments()) {
+        if (isYieldCoupon(period, settlementDate)) {
+          yieldCouponYearFractions[yieldCoupon++] = period.getYearFraction();
+        }
+        if (period.getDetachmentDate().isAfter(settlementDate)) {
+          cashFlowPaymentDates[cashFlow] = period.getPaymentDate();
+          cashFlowAmounts[cashFlow++] = period.getFixedRate() * period.getNotional() * period.getYearFraction();
+        }
+      }
+    }
+  }
+
+  // checks if the coupon is used by the yield conventions
+  private static boolean isYieldCoupon(FixedCouponBondPaymentPeriod period, LocalDate settlementDate) {
+    return (period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+        (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of bonds.
+   *
+   * @return the number of bonds
+   */
+  public int getBondCount() {
+    return bonds.size();
+  }
+
+  /**
+   * Gets the bonds.
+   *
+   * @return the bonds
+   */
+  public ImmutableList<ResolvedFixedCouponBond> getBonds() {
+    return bonds;
+  }
+
+  /**
+   * Gets a bond.
+   *
+   * @param index  the index of the bond
+   * @return the bond
+   */
+  public ResolvedFixedCouponBond getBond(int index) {
+    return bonds.get(index);
+  }
+
+  /**
+   * Gets the settlement date of a bond.
+   *
+   * @param index  the index of the bond
+   * @return the settlement date
+   */
+  public LocalDate getSettlementDate(int index) {
+    return settlementDates[index];
+  }
+
+  /**
+   * Gets the groups of bonds sharing the same issuer curve.
+   * <p>
+   * Each group is identified by the legal entity ID of the issuer and the currency.
+   *
+   * @return the issuer and currency of each group
+   */
+  public ImmutableList<Pair<StandardId, Currency>> getIssuerGroups() {
+    return issuerGroups;
+  }
+
+  /**
+   * Gets the index of the issuer group of a bond.
+   *
+   * @param index  the index of the bond
+   * @return the index of the group in {@link #getIssuerGroups()}
+   */
+  public int getIssuerGroupIndex(int index) {
+    return issuerGroupIndices[index];
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the yield convention
+  FixedCouponBondYieldConvention getYieldConvention(int index) {
+    return yieldConventions[index];
+  }
+
+  // gets the fixed rate
+  double getFixedRate(int index) {
+    return fixedRates[index];
+  }
+
+  // gets the notional
+  double getNotional(int index) {
+    return notionals[index];
+  }
+
+  // gets the number of coupons per year
+  double getCouponsPerYear(int index) {
+    return couponsPerYear[index];
+  }
+
+  // gets the fraction of the current coupon period remaining after the settlement date
+  double getFactorToNextCoupon(int index) {
+    return factorsToNextCoupon[index];
+  }
+
+  // gets the accrued interest at the settlement date divided by the notional
+  double getAccruedInterestPerNotional(int index) {
+    return accruedInterestsPerNotional[index];
+  }
+
+  // gets the number of coupons ending after the settlement date
+  int getRemainingCouponCount(int index) {
+    return remainingCouponCounts[index];
+  }
+
+  // gets one plus the fixed rate times the year fraction of the last coupon
+  double getLastCouponFactor(int index) {
+    return lastCouponFactors[index];
+  }
+
+  // gets the year fraction to maturity for the JP simple convention
+  double getMaturity(int index) {
+    return maturities[index];
+  }
+
+  // gets the payment date of the nominal
+  LocalDate getNominalPaymentDate(int index) {
+    return nominalPaymentDates[index];
+  }
+
+  // gets the amount of the nominal
+  double getNominalAmount(int index) {
+    return nominalAmounts[index];
+  }
+
+  // gets the start offset of the yield coupons, the end being the start of the next bond
+  int getYieldCouponOffset(int index) {
+    return yieldCouponOffsets[index];
+  }
+
+  // gets the year fraction of a yield coupon, by offset
+  double getYieldCouponYearFraction(int offset) {
+    return yieldCouponYearFractions[offset];
+  }
+
+  // gets the start offset of the cash flows, the end being the start of the next bond
+  int getCashFlowOffset(int index) {
+    return cashFlowOffsets[index];
+  }
+
+  // gets the payment date of a cash flow, by offset
+  LocalDate getCashFlowPaymentDate(int offset) {
+    return cashFlowPaymentDates[offset];
+  }
+
+  // gets the amount of a cash flow, by offset
+  double getCashFlowAmount(int offset) {
+    return cashFlowAmounts[offset];
+  }
+
+}
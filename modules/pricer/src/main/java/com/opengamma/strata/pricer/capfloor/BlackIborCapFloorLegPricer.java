@@ -5,10 +5,17 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
 /**
  * Pricer for cap/floor legs in log-normal or Black model.
+ * <p>
+ * The present value and its greeks are computed by applying the option formula to all the
+ * caplet/floorlets of the leg in one batch. If the period pricer is a subclass, each period
+ * is instead priced by the period pricer.
  */
 public class BlackIborCapFloorLegPricer
     extends VolatilityIborCapFloorLegPricer {
@@ -19,6 +26,11 @@ public class BlackIborCapFloorLegPricer
   public static final BlackIborCapFloorLegPricer DEFAULT =
       new BlackIborCapFloorLegPricer(BlackIborCapletFloorletPeriodPricer.DEFAULT);
 
+  /**
+   * Whether the caplet/floorlets are priced in one batch.
+   */
+  private final boolean batch;
+
   /**
    * Creates an instance.
    * 
@@ -26,6 +38,57 @@ public class BlackIborCapFloorLegPricer
    */
   public BlackIborCapFloorLegPricer(BlackIborCapletFloorletPeriodPricer periodPricer) {
     super(periodPricer);
+    this.batch = periodPricer.getClass() == BlackIborCapletFloorletPeriodPricer.class;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  boolean isBatch() {
+    return batch;
+  }
+
+  @Override
+  public CurrencyAmount presentValue(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return batch ?
+        presentValueBatch(capFloorLeg, ratesProvider, volatilities) :
+        super.presentValue(capFloorLeg, ratesProvider, volatilities);
+  }
+
+  @Override
+  public CurrencyAmount presentValueDelta(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return batch ?
+        presentValueDeltaBatch(capFloorLeg, ratesProvider, volatilities) :
+        super.presentValueDelta(capFloorLeg, ratesProvider, volatilities);
+  }
+
+  @Override
+  public CurrencyAmount presentValueGamma(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return batch ?
+        presentValueGammaBatch(capFloorLeg, ratesProvider, volatilities) :
+        super.presentValueGamma(capFloorLeg, ratesProvider, volatilities);
+  }
+
+  @Override
+  public CurrencyAmount presentValueTheta(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return batch ?
+        presentValueThetaBatch(capFloorLeg, ratesProvider, volatilities) :
+        super.presentValueTheta(capFloorLeg, ratesProvider, volatilities);
   }
 
 }
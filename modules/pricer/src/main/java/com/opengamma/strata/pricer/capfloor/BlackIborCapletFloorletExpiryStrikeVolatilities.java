@@ -233,6 +233,59 @@ public final class BlackIborCapletFloorletExpiryStrikeVolatilities
     return BlackFormulaRepository.vega(forward, strike, expiry, volatility);
   }
 
+  @Override
+  public double[] price(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return BlackFormulaRepository.price(forwards, strikes, expiries, volatilities, isCall(putCalls));
+  }
+
+  @Override
+  public double[] priceDelta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return BlackFormulaRepository.delta(forwards, strikes, expiries, volatilities, isCall(putCalls));
+  }
+
+  @Override
+  public double[] priceGamma(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return BlackFormulaRepository.gamma(forwards, strikes, expiries, volatilities);
+  }
+
+  @Override
+  public double[] priceTheta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return BlackFormulaRepository.driftlessTheta(forwards, strikes, expiries, volatilities);
+  }
+
+  // converts the put/call flags for the Black formula
+  private static boolean[] isCall(PutCall[] putCalls) {
+    boolean[] isCall = new boolean[putCalls.length];
+    for (int i = 0; i < putCalls.length; i++) {
+      isCall[i] = putCalls[i].isCall();
+    }
+    return isCall;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double relativeTime(ZonedDateTime dateTime) {
@@ -187,12 +187,13 @@ public class DirectIborCapletFloorletVolatilityCalibrator
     InterpolatedNodalSurface baseSurface = InterpolatedNodalSurface.of(
         metadata, capletNodes.getFirst(), capletNodes.getSecond(), capletNodes.getThird(), INTERPOLATOR);
     DoubleMatrix penaltyMatrix = directDefinition.computePenaltyMatrix(strikes, capletExpiries);
-    // solve least square
+    // solve least square, the caplets shared by the caps being priced once per iteration
+    IborCapletFloorletBasket basket = IborCapletFloorletBasket.of(capList);
     LeastSquareResults res = solver.solve(
         DoubleArray.copyOf(priceList),
         DoubleArray.copyOf(errorList),
-        getPriceFunction(capList, ratesProvider, volatilitiesFunction, baseSurface),
-        getJacobianFunction(capList, ratesProvider, volatilitiesFunction, baseSurface),
+        getPriceFunction(basket, ratesProvider, volatilitiesFunction, baseSurface),
+        getJacobianFunction(basket, ratesProvider, volatilitiesFunction, baseSurface),
         capletNodes.getThird(),
         penaltyMatrix,
         POSITIVE);
@@ -257,42 +258,46 @@ public class DirectIborCapletFloorletVolatilityCalibrator
   }
 
   private Function<DoubleArray, DoubleArray> getPriceFunction(
-      List<ResolvedIborCapFloorLeg> capList,
+      IborCapletFloorletBasket basket,
       RatesProvider ratesProvider,
       Function<Surface, IborCapletFloorletVolatilities> volatilitiesFunction,
       InterpolatedNodalSurface baseSurface) {
 
-    int nCaps = capList.size();
+    VolatilityIborCapFloorLegPricer legPricer = getLegPricer();
     Function<DoubleArray, DoubleArray> priceFunction = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray capletVols) {
         IborCapletFloorletVolatilities newVols = volatilitiesFunction.apply(baseSurface.withZValues(capletVols));
-        return DoubleArray.of(nCaps, n -> getLegPricer().presentValue(capList.get(n), ratesProvider, newVols).getAmount());
+        legPricer.validate(ratesProvider, newVols);
+        // the distinct caplets are priced in one batch when the leg pricer supports it
+        return basket.valuesBatch(periods -> legPricer.presentValues(periods, ratesProvider, newVols));
       }
     };
     return priceFunction;
   }
 
   private Function<DoubleArray, DoubleMatrix> getJacobianFunction(
-      List<ResolvedIborCapFloorLeg> capList,
+      IborCapletFloorletBasket basket,
       RatesProvider ratesProvider,
       Function<Surface, IborCapletFloorletVolatilities> volatilitiesFunction,
       InterpolatedNodalSurface baseSurface) {
 
-    int nCaps = capList.size();
+    VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
     int nNodes = baseSurface.getParameterCount();
     Function<DoubleArray, DoubleMatrix> jacobianFunction = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray capletVols) {
         IborCapletFloorletVolatilities newVols = volatilitiesFunction.apply(baseSurface.withZValues(capletVols));
-        return DoubleMatrix.ofArrayObjects(
-            nCaps,
-            nNodes,
-            n -> newVols.parameterSensitivity(
-                getLegPricer().presentValueSensitivityModelParamsVolatility(capList.get(n), ratesProvider, newVols).build())
+        getLegPricer().validate(ratesProvider, newVols);
+        return basket.sensitivities(
+            period -> newVols.parameterSensitivity(
+                periodPricer.presentValueSensitivityModelParamsVolatility(period, ratesProvider, newVols).build())
                 .getSensitivities()
-                .get(0)
-                .getSensitivity());
+                .stream()
+                .findFirst()
+                .map(sensitivity -> sensitivity.getSensitivity())
+                .orElse(DoubleArray.filled(nNodes)),
+            nNodes);
       }
     };
     return jacobianFunction;
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.capfloor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+
+/**
+ * The distinct caplets/floorlets of a basket of caps/floors.
+ * <p>
+ * The caps/floors of a calibration basket share most of their caplets/floorlets, as the caps of the same strike
+ * and increasing maturity start on the same date. The distinct periods are stored once, together with the indices
+ * of the periods of each cap/floor, so that a value or a sensitivity is computed once per distinct period,
+ * then summed for each cap/floor.
+ * <p>
+ * The periods are computed in parallel. The functions must therefore be thread-safe,
+ * which is the case of the pricers and volatilities, as they are immutable.
+ */
+final class IborCapletFloorletBasket {
+
+  /**
+   * The distinct caplet/floorlet periods.
+   */
+  private final ImmutableList<IborCapletFloorletPeriod> periods;
+  /**
+   * The indices of the periods of each cap/floor, in the order of the periods of the cap/floor.
+   */
+  private final int[][] indices;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the caps/floors.
+   *
+   * @param capFloors  the caps/floors
+   * @return the instance
+   */
+  static IborCapletFloorletBasket of(List<ResolvedIborCapFloorLeg> capFloors) {
+    ArgChecker.notEmpty(capFloors, "capFloors");
+    Map<IborCapletFloorletPeriod, Integer> periodIndex = new HashMap<>();
+    ImmutableList.Builder<IborCapletFloorletPeriod> periods = ImmutableList.builder();
+    int nCapFloors = capFloors.size();
+    int[][] indices = new int[nCapFloors][];
+    for (int i = 0; i < nCapFloors; ++i) {
+      List<IborCapletFloorletPeriod> capFloorPeriods = capFloors.get(i).getCapletFloorletPeriods();
+      indices[i] = new int[capFloorPeriods.size()];
+      for (int j = 0; j < indices[i].length; ++j) {
+        IborCapletFloorletPeriod period = capFloorPeriods.get(j);
+        Integer index = periodIndex.get(period);
+        if (index == null) {
+          index = periodIndex.size();
+          periodIndex.put(period, index);
+          periods.add(period);
+        }
+        indices[i][j] = index;
+      }
+    }
+    return new IborCapletFloorletBasket(periods.build(), indices);
+  }
+
+  // private constructor
+  private IborCapletFloorletBasket(ImmutableList<IborCapletFloorletPeriod> periods, int[][] indices) {
+    this.periods = periods;
+    this.indices = indices;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the distinct caplet/floorlet periods.
+   *
+   * @return the periods
+   */
+  ImmutableList<IborCapletFloorletPeriod> getPeriods() {
+    return periods;
+  }
+
+  /**
+   * Gets the number of caps/floors.
+   *
+   * @return the number of caps/floors
+   */
+  int getCapFloorCount() {
+    return indices.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes a value for each cap/floor.
+   * <p>
+   * The value function is applied once to each distinct period and the values are summed for each cap/floor.
+   *
+   * @param valueFunction  the value of a period
+   * @return the values of the caps/floors
+   */
+  DoubleArray values(ToDoubleFunction<IborCapletFloorletPeriod> valueFunction) {
+    double[] periodValues = IntStream.range(0, periods.size())
+        .parallel()
+        .mapToDouble(i -> valueFunction.applyAsDouble(periods.get(i)))
+        .toArray();
+    return sum(periodValues);
+  }
+
+  /**
+   * Computes a value for each cap/floor, the distinct periods being valued in one batch.
+   * <p>
+   * The value function is applied once to the list of distinct periods, allowing the option formula
+   * to be applied to all of them at once. The values are then summed for each cap/floor.
+   *
+   * @param batchValueFunction  the values of the periods, in the order of the periods
+   * @return the values of the caps/floors
+   */
+  DoubleArray valuesBatch(Function<List<IborCapletFloorletPeriod>, double[]> batchValueFunction) {
+    double[] periodValues = batchValueFunction.apply(periods);
+    ArgChecker.isTrue(periodValues.length == periods.size(), "values should be of size {}", periods.size());
+    return sum(periodValues);
+  }
+
+  // sums the values of the periods of each cap/floor
+  private DoubleArray sum(double[] periodValues) {
+    return DoubleArray.of(indices.length, i -> {
+      double value = 0d;
+      for (int index : indices[i]) {
+        value += periodValues[index];
+      }
+      return value;
+    });
+  }
+
+  /**
+   * Computes a row of sensitivities for each cap/floor.
+   * <p>
+   * The sensitivity function is applied once to each distinct period and the rows are summed for each cap/floor.
+   * The rows must all have the same size.
+   *
+   * @param sensitivityFunction  the sensitivities of a period
+   * @param nParameters  the size of the rows
+   * @return the matrix of sensitivities, with one row per cap/floor
+   */
+  DoubleMatrix sensitivities(Function<IborCapletFloorletPeriod, DoubleArray> sensitivityFunction, int nParameters) {
+    DoubleArray[] periodRows = periods.parallelStream()
+        .map(sensitivityFunction)
+        .toArray(DoubleArray[]::new);
+    double[][] rows = new double[indices.length][nParameters];
+    for (int i = 0; i < indices.length; ++i) {
+      for (int index : indices[i]) {
+        DoubleArray periodRow = periodRows[index];
+        ArgChecker.isTrue(periodRow.size() == nParameters, "sensitivities should be of size {}", nParameters);
+        for (int k = 0; k < nParameters; ++k) {
+          rows[i][k] += periodRow.get(k);
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(rows);
+  }
+
+}
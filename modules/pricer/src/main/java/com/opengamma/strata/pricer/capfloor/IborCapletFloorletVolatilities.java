@@ -240,6 +240,123 @@ public interface IborCapletFloorletVolatilities
       double forward,
       double volatility);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the prices of a batch of caplet/floorlets.
+   * <p>
+   * The arrays are indexed by caplet/floorlet and must all have the same length.
+   * The result is the same as calling {@link #price(double, PutCall, double, double, double)} for each.
+   * Implementations may override this to evaluate the whole batch more efficiently.
+   * 
+   * @param expiries  the times to expiry as year fractions
+   * @param putCalls  whether each option is put or call
+   * @param strikes  the option strike rates
+   * @param forwards  the forward rates
+   * @param volatilities  the volatilities
+   * @return the prices
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default double[] price(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] result = new double[expiries.length];
+    for (int i = 0; i < expiries.length; i++) {
+      result[i] = price(expiries[i], putCalls[i], strikes[i], forwards[i], volatilities[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the price deltas of a batch of caplet/floorlets.
+   * <p>
+   * The arrays are indexed by caplet/floorlet and must all have the same length.
+   * The result is the same as calling {@link #priceDelta(double, PutCall, double, double, double)} for each.
+   * Implementations may override this to evaluate the whole batch more efficiently.
+   * 
+   * @param expiries  the times to expiry as year fractions
+   * @param putCalls  whether each option is put or call
+   * @param strikes  the option strike rates
+   * @param forwards  the forward rates
+   * @param volatilities  the volatilities
+   * @return the deltas
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default double[] priceDelta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] result = new double[expiries.length];
+    for (int i = 0; i < expiries.length; i++) {
+      result[i] = priceDelta(expiries[i], putCalls[i], strikes[i], forwards[i], volatilities[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the price gammas of a batch of caplet/floorlets.
+   * <p>
+   * The arrays are indexed by caplet/floorlet and must all have the same length.
+   * The result is the same as calling {@link #priceGamma(double, PutCall, double, double, double)} for each.
+   * Implementations may override this to evaluate the whole batch more efficiently.
+   * 
+   * @param expiries  the times to expiry as year fractions
+   * @param putCalls  whether each option is put or call
+   * @param strikes  the option strike rates
+   * @param forwards  the forward rates
+   * @param volatilities  the volatilities
+   * @return the gammas
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default double[] priceGamma(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] result = new double[expiries.length];
+    for (int i = 0; i < expiries.length; i++) {
+      result[i] = priceGamma(expiries[i], putCalls[i], strikes[i], forwards[i], volatilities[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the price thetas of a batch of caplet/floorlets.
+   * <p>
+   * The arrays are indexed by caplet/floorlet and must all have the same length.
+   * The result is the same as calling {@link #priceTheta(double, PutCall, double, double, double)} for each.
+   * Implementations may override this to evaluate the whole batch more efficiently.
+   * 
+   * @param expiries  the times to expiry as year fractions
+   * @param putCalls  whether each option is put or call
+   * @param strikes  the option strike rates
+   * @param forwards  the forward rates
+   * @param volatilities  the volatilities
+   * @return the thetas
+   * @throws RuntimeException if the value cannot be obtained
+   */
+  public default double[] priceTheta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] result = new double[expiries.length];
+    for (int i = 0; i < expiries.length; i++) {
+      result[i] = priceTheta(expiries[i], putCalls[i], strikes[i], forwards[i], volatilities[i]);
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Converts a time and date to a relative year fraction.
@@ -233,6 +233,50 @@ public final class NormalIborCapletFloorletExpiryStrikeVolatilities
     return NormalFormulaRepository.vega(forward, strike, expiry, volatility, putCall);
   }
 
+  @Override
+  public double[] price(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return NormalFormulaRepository.price(forwards, strikes, expiries, volatilities, putCalls);
+  }
+
+  @Override
+  public double[] priceDelta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return NormalFormulaRepository.delta(forwards, strikes, expiries, volatilities, putCalls);
+  }
+
+  @Override
+  public double[] priceGamma(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return NormalFormulaRepository.gamma(forwards, strikes, expiries, volatilities, putCalls);
+  }
+
+  @Override
+  public double[] priceTheta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    return NormalFormulaRepository.theta(forwards, strikes, expiries, volatilities, putCalls);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double relativeTime(ZonedDateTime dateTime) {
@@ -37,6 +37,17 @@ public class SabrIborCapFloorLegPricer
     this.periodPricer = periodPricer;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the SABR period pricer.
+   * 
+   * @return the period pricer
+   */
+  @Override
+  public SabrIborCapletFloorletPeriodPricer getPeriodPricer() {
+    return periodPricer;
+  }
+
   /**
    * Calculates the present value sensitivity of the Ibor cap/floor leg to the rate curves.
    * <p>
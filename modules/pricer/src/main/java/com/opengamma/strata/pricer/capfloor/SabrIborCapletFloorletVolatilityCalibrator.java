@@ -25,7 +25,6 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveMetadata;
-import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.surface.Surface;
@@ -183,10 +182,12 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     // solve least square
     UncoupledParameterTransforms transform = new UncoupledParameterTransforms(
         initialValues, sabrDefinition.createFullTransform(TRANSFORMS), new BitSet());
+    // the caplets shared by the caps are priced once per iteration
+    IborCapletFloorletBasket basket = IborCapletFloorletBasket.of(capList);
     Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
-        sabrDefinition, ratesProvider, vols, capList, priceList);
+        sabrDefinition, ratesProvider, vols, basket, priceList);
     Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-        sabrDefinition, ratesProvider, vols, capList, priceList, index.getCurrency());
+        sabrDefinition, ratesProvider, vols, basket, priceList, index.getCurrency());
     NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
     LeastSquareResults res = solver.solve(
         DoubleArray.filled(priceList.size(), 1d),
@@ -205,15 +206,18 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
       RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      List<ResolvedIborCapFloorLeg> capList,
+      IborCapletFloorletBasket basket,
       List<Double> priceList) {
 
+    SabrIborCapletFloorletPeriodPricer periodPricer = sabrPricer.getPeriodPricer();
     Function<DoubleArray, DoubleArray> priceFunction = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        return DoubleArray.of(capList.size(),
-            n -> sabrPricer.presentValue(capList.get(n), ratesProvider, volsNew).getAmount() / priceList.get(n));
+        sabrPricer.validate(ratesProvider, volsNew);
+        DoubleArray prices = basket.values(
+            period -> periodPricer.presentValue(period, ratesProvider, volsNew).getAmount());
+        return DoubleArray.of(prices.size(), n -> prices.get(n) / priceList.get(n));
       }
     };
     return priceFunction;
@@ -224,42 +228,46 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
       RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      List<ResolvedIborCapFloorLeg> capList,
+      IborCapletFloorletBasket basket,
       List<Double> priceList,
       Currency currency) {
 
-    int nCaps = capList.size();
+    SabrIborCapletFloorletPeriodPricer periodPricer = sabrPricer.getPeriodPricer();
     SabrParameters sabrParams = volatilities.getParameters();
-    CurveName alphaName = sabrParams.getAlphaCurve().getName();
-    CurveName betaName = sabrParams.getBetaCurve().getName();
-    CurveName rhoName = sabrParams.getRhoCurve().getName();
-    CurveName nuName = sabrParams.getNuCurve().getName();
+    Curve alphaCurve = sabrParams.getAlphaCurve();
+    Curve secondCurve = sabrDefinition.getBetaCurve().isPresent() ? // beta fixed
+        sabrParams.getRhoCurve() :
+        sabrParams.getBetaCurve(); // rho fixed
+    Curve nuCurve = sabrParams.getNuCurve();
+    int nParams = alphaCurve.getParameterCount() + secondCurve.getParameterCount() + nuCurve.getParameterCount();
     Function<DoubleArray, DoubleMatrix> jacobianFunction = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        double[][] jacobian = new double[nCaps][];
-        for (int i = 0; i < nCaps; ++i) {
-          PointSensitivities point =
-              sabrPricer.presentValueSensitivityModelParamsSabr(capList.get(i), ratesProvider, volsNew).build();
-          CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
-          double targetPriceInv = 1d / priceList.get(i);
-          DoubleArray sensitivities = sensi.getSensitivity(alphaName, currency).getSensitivity();
-          if (sabrDefinition.getBetaCurve().isPresent()) { // beta fixed
-            sensitivities = sensitivities.concat(sensi.getSensitivity(rhoName, currency).getSensitivity());
-          } else { // rho fixed
-            sensitivities = sensitivities.concat(sensi.getSensitivity(betaName, currency).getSensitivity());
-          }
-          jacobian[i] = sensitivities.concat(sensi.getSensitivity(nuName, currency).getSensitivity())
-              .multipliedBy(targetPriceInv)
-              .toArray();
-        }
-        return DoubleMatrix.ofUnsafe(jacobian);
+        sabrPricer.validate(ratesProvider, volsNew);
+        DoubleMatrix jacobian = basket.sensitivities(
+            period -> {
+              PointSensitivities point =
+                  periodPricer.presentValueSensitivityModelParamsSabr(period, ratesProvider, volsNew).build();
+              CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
+              return sensitivity(sensi, alphaCurve, currency)
+                  .concat(sensitivity(sensi, secondCurve, currency))
+                  .concat(sensitivity(sensi, nuCurve, currency));
+            },
+            nParams);
+        return DoubleMatrix.of(jacobian.rowCount(), nParams, (i, j) -> jacobian.get(i, j) / priceList.get(i));
       }
     };
     return jacobianFunction;
   }
 
+  // sensitivity to the parameters of a curve, zero if the curve is not in the sensitivities
+  private static DoubleArray sensitivity(CurrencyParameterSensitivities sensi, Curve curve, Currency currency) {
+    return sensi.findSensitivity(curve.getName(), currency)
+        .map(s -> s.getSensitivity())
+        .orElse(DoubleArray.filled(curve.getParameterCount()));
+  }
+
   // update vols
   private SabrParametersIborCapletFloorletVolatilities updateParameters(
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
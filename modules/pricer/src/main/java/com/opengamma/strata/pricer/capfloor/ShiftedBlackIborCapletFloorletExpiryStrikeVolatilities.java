@@ -269,6 +269,84 @@ public final class ShiftedBlackIborCapletFloorletExpiryStrikeVolatilities
     return BlackFormulaRepository.vega(forward + shift, strike + shift, expiry, volatility);
   }
 
+  @Override
+  public double[] price(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] shifts = shifts(expiries);
+    return BlackFormulaRepository.price(
+        shifted(forwards, shifts), shifted(strikes, shifts), expiries, volatilities, isCall(putCalls));
+  }
+
+  @Override
+  public double[] priceDelta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] shifts = shifts(expiries);
+    return BlackFormulaRepository.delta(
+        shifted(forwards, shifts), shifted(strikes, shifts), expiries, volatilities, isCall(putCalls));
+  }
+
+  @Override
+  public double[] priceGamma(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] shifts = shifts(expiries);
+    return BlackFormulaRepository.gamma(shifted(forwards, shifts), shifted(strikes, shifts), expiries, volatilities);
+  }
+
+  @Override
+  public double[] priceTheta(
+      double[] expiries,
+      PutCall[] putCalls,
+      double[] strikes,
+      double[] forwards,
+      double[] volatilities) {
+
+    double[] shifts = shifts(expiries);
+    return BlackFormulaRepository.driftlessTheta(
+        shifted(forwards, shifts), shifted(strikes, shifts), expiries, volatilities);
+  }
+
+  // the shift at each expiry
+  private double[] shifts(double[] expiries) {
+    double[] shifts = new double[expiries.length];
+    for (int i = 0; i < expiries.length; i++) {
+      shifts[i] = shiftCurve.yValue(expiries[i]);
+    }
+    return shifts;
+  }
+
+  // adds the shifts to the values
+  private static double[] shifted(double[] values, double[] shifts) {
+    double[] shifted = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      shifted[i] = values[i] + shifts[i];
+    }
+    return shifted;
+  }
+
+  // converts the put/call flags for the Black formula
+  private static boolean[] isCall(PutCall[] putCalls) {
+    boolean[] isCall = new boolean[putCalls.length];
+    for (int i = 0; i < putCalls.length; i++) {
+      isCall[i] = putCalls[i].isCall();
+    }
+    return isCall;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double relativeTime(ZonedDateTime dateTime) {
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.capfloor;
 
+import java.util.Arrays;
+import java.util.List;
+
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -12,6 +15,7 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.capfloor.IborCapFloorLeg;
 import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+import com.opengamma.strata.product.common.PutCall;
 
 /**
  * Pricer for cap/floor legs based on volatilities.
@@ -227,6 +231,261 @@ public class VolatilityIborCapFloorLegPricer {
         .orElse(CurrencyAmount.zero(capFloorLeg.getCurrency()));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the Ibor cap/floor leg, pricing all the caplet/floorlets in one batch.
+   * <p>
+   * The result is identical to {@link #presentValue(ResolvedIborCapFloorLeg, RatesProvider,
+   * IborCapletFloorletVolatilities)}, however the option formula is applied to all the unexpired
+   * caplet/floorlets at once using the batch methods of {@link IborCapletFloorletVolatilities}.
+   * This is only valid if the period pricer applies the standard volatility based formula.
+   * 
+   * @param capFloorLeg  the Ibor cap/floor leg
+   * @param ratesProvider  the rates provider 
+   * @param volatilities  the volatilities
+   * @return the present value
+   */
+  protected CurrencyAmount presentValueBatch(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    validate(ratesProvider, volatilities);
+    double[] amounts = presentValuesBatch(capFloorLeg.getCapletFloorletPeriods(), ratesProvider, volatilities);
+    return CurrencyAmount.of(capFloorLeg.getCurrency(), sum(amounts));
+  }
+
+  /**
+   * Calculates the present value of each caplet/floorlet period.
+   * <p>
+   * This is used by the calibrators, which value the distinct periods of a basket of caps/floors.
+   * If the period pricer applies the standard volatility based formula, the periods are priced in one batch,
+   * see {@link #presentValueBatch}, otherwise each period is priced by the period pricer.
+   * The valuation dates of the rates provider and volatilities are not validated.
+   * 
+   * @param periods  the caplet/floorlet periods
+   * @param ratesProvider  the rates provider 
+   * @param volatilities  the volatilities
+   * @return the present values, in the order of the periods
+   */
+  double[] presentValues(
+      List<IborCapletFloorletPeriod> periods,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    if (isBatch()) {
+      return presentValuesBatch(periods, ratesProvider, volatilities);
+    }
+    return periods.stream()
+        .mapToDouble(period -> periodPricer.presentValue(period, ratesProvider, volatilities).getAmount())
+        .toArray();
+  }
+
+  /**
+   * Checks whether the caplet/floorlets can be priced in one batch.
+   * <p>
+   * This is the case if the period pricer is not subclassed, as it then applies the standard volatility based formula.
+   * 
+   * @return true if the caplet/floorlets can be priced in one batch
+   */
+  boolean isBatch() {
+    return periodPricer.getClass() == VolatilityIborCapletFloorletPeriodPricer.class;
+  }
+
+  // the present value of each period, expired caplet/floorlets being valued at their payoff
+  private double[] presentValuesBatch(
+      List<IborCapletFloorletPeriod> periods,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    periodPricer.validate(volatilities);
+    int size = periods.size();
+    double[] amounts = new double[size];
+    CapletFloorletBatch batch = new CapletFloorletBatch(size);
+    for (int i = 0; i < size; i++) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      if (ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
+        continue;
+      }
+      double expiry = volatilities.relativeTime(period.getFixingDateTime());
+      double df = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+      double strike = period.getStrike();
+      double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+      if (expiry < 0d) { // Option has expired already
+        double sign = period.getPutCall().isCall() ? 1d : -1d;
+        double payoff = Math.max(sign * (indexRate - strike), 0d);
+        amounts[i] = df * payoff * period.getYearFraction() * period.getNotional();
+      } else {
+        batch.add(i, period, expiry, indexRate, df, volatilities);
+      }
+    }
+    batch.apply(volatilities::price, amounts);
+    return amounts;
+  }
+
+  /**
+   * Calculates the present value delta of the Ibor cap/floor leg, pricing all the caplet/floorlets in one batch.
+   * <p>
+   * The result is identical to {@link #presentValueDelta(ResolvedIborCapFloorLeg, RatesProvider,
+   * IborCapletFloorletVolatilities)}, see {@link #presentValueBatch}.
+   * 
+   * @param capFloorLeg  the Ibor cap/floor leg
+   * @param ratesProvider  the rates provider 
+   * @param volatilities  the volatilities
+   * @return the present value delta
+   */
+  protected CurrencyAmount presentValueDeltaBatch(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return presentValueGreekBatch(capFloorLeg, ratesProvider, volatilities, volatilities::priceDelta);
+  }
+
+  /**
+   * Calculates the present value gamma of the Ibor cap/floor leg, pricing all the caplet/floorlets in one batch.
+   * <p>
+   * The result is identical to {@link #presentValueGamma(ResolvedIborCapFloorLeg, RatesProvider,
+   * IborCapletFloorletVolatilities)}, see {@link #presentValueBatch}.
+   * 
+   * @param capFloorLeg  the Ibor cap/floor leg
+   * @param ratesProvider  the rates provider 
+   * @param volatilities  the volatilities
+   * @return the present value gamma
+   */
+  protected CurrencyAmount presentValueGammaBatch(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return presentValueGreekBatch(capFloorLeg, ratesProvider, volatilities, volatilities::priceGamma);
+  }
+
+  /**
+   * Calculates the present value theta of the Ibor cap/floor leg, pricing all the caplet/floorlets in one batch.
+   * <p>
+   * The result is identical to {@link #presentValueTheta(ResolvedIborCapFloorLeg, RatesProvider,
+   * IborCapletFloorletVolatilities)}, see {@link #presentValueBatch}.
+   * 
+   * @param capFloorLeg  the Ibor cap/floor leg
+   * @param ratesProvider  the rates provider 
+   * @param volatilities  the volatilities
+   * @return the present value theta
+   */
+  protected CurrencyAmount presentValueThetaBatch(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return presentValueGreekBatch(capFloorLeg, ratesProvider, volatilities, volatilities::priceTheta);
+  }
+
+  // the present value of a greek, expired caplet/floorlets having a value of zero
+  private CurrencyAmount presentValueGreekBatch(
+      ResolvedIborCapFloorLeg capFloorLeg,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities volatilities,
+      BatchFormula formula) {
+
+    validate(ratesProvider, volatilities);
+    periodPricer.validate(volatilities);
+    List<IborCapletFloorletPeriod> periods = capFloorLeg.getCapletFloorletPeriods();
+    int size = periods.size();
+    double[] amounts = new double[size];
+    CapletFloorletBatch batch = new CapletFloorletBatch(size);
+    for (int i = 0; i < size; i++) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      double expiry = volatilities.relativeTime(period.getFixingDateTime());
+      if (expiry >= 0d) {
+        double forward = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+        double df = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+        batch.add(i, period, expiry, forward, df, volatilities);
+      }
+    }
+    batch.apply(formula, amounts);
+    return CurrencyAmount.of(capFloorLeg.getCurrency(), sum(amounts));
+  }
+
+  // sums the amounts in period order, matching the reduction of the per-period methods
+  private static double sum(double[] amounts) {
+    double total = 0d;
+    for (double amount : amounts) {
+      total += amount;
+    }
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A formula applied to a batch of caplet/floorlets.
+   */
+  private interface BatchFormula {
+    double[] apply(double[] expiries, PutCall[] putCalls, double[] strikes, double[] forwards, double[] volatilities);
+  }
+
+  /**
+   * The inputs of the option formula for the unexpired caplet/floorlets of a leg.
+   */
+  private static final class CapletFloorletBatch {
+    private final int[] indices;
+    private final double[] expiries;
+    private final PutCall[] putCalls;
+    private final double[] strikes;
+    private final double[] forwards;
+    private final double[] volatilities;
+    private final double[] factors;
+    private final double[] notionals;
+    private int count;
+
+    private CapletFloorletBatch(int size) {
+      indices = new int[size];
+      expiries = new double[size];
+      putCalls = new PutCall[size];
+      strikes = new double[size];
+      forwards = new double[size];
+      volatilities = new double[size];
+      factors = new double[size];
+      notionals = new double[size];
+    }
+
+    // adds a caplet/floorlet, looking up the volatility
+    private void add(
+        int index,
+        IborCapletFloorletPeriod period,
+        double expiry,
+        double forward,
+        double df,
+        IborCapletFloorletVolatilities vols) {
+
+      double strike = period.getStrike();
+      indices[count] = index;
+      expiries[count] = expiry;
+      putCalls[count] = period.getPutCall();
+      strikes[count] = strike;
+      forwards[count] = forward;
+      volatilities[count] = vols.volatility(expiry, strike, forward);
+      factors[count] = df * period.getYearFraction();
+      notionals[count] = period.getNotional();
+      count++;
+    }
+
+    // applies the formula, storing the amount of each caplet/floorlet by index
+    private void apply(BatchFormula formula, double[] amounts) {
+      if (count == 0) {
+        return;
+      }
+      double[] values = formula.apply(
+          Arrays.copyOf(expiries, count),
+          Arrays.copyOf(putCalls, count),
+          Arrays.copyOf(strikes, count),
+          Arrays.copyOf(forwards, count),
+          Arrays.copyOf(volatilities, count));
+      for (int j = 0; j < count; j++) {
+        amounts[indices[j]] = factors[j] * values[j] * notionals[j];
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   protected void validate(RatesProvider ratesProvider, IborCapletFloorletVolatilities volatilities) {
     ArgChecker.isTrue(volatilities.getValuationDate().equals(ratesProvider.getValuationDate()),
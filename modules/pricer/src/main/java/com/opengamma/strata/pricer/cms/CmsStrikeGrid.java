@@ -0,0 +1,313 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.cms;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
+import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Strike grid used for the replication of CMS periods.
+ * <p>
+ * The grid covers the shifted SABR smile with extrapolation of one swaption expiry and tenor, from a lower strike
+ * up to a strike beyond which the call prices are negligible. The grid is split into panels, each of them
+ * being integrated by Gauss-Legendre quadrature.
+ * <p>
+ * The call prices and their derivatives with respect to the forward and to the SABR parameters are computed once
+ * for all the nodes of the grid. They are then shared by the present value and the sensitivities of all the periods
+ * fixing on the same smile. Only the panels cut by the strike of a period are evaluated again.
+ * <p>
+ * The strikes of the grid are not shifted, the shift being applied when the smile is evaluated.
+ */
+final class CmsStrikeGrid {
+
+  /**
+   * The panel boundaries around the forward, as a multiple of the standard deviation.
+   */
+  private static final double[] FORWARD_BOUNDS = new double[] {-4d, -2d, -1d, -0.5, 0d, 0.5, 1d, 2d, 4d};
+  /**
+   * The relative size of the call price at the top of the grid.
+   * <p>
+   * The grid is extended until the call price multiplied by the strike is below that level, relative
+   * to the at-the-money call price.
+   */
+  private static final double TAIL_TOL = 1.0e-10;
+  /**
+   * The maximum number of extensions of the grid.
+   */
+  private static final int MAX_COUNT = 40;
+  /**
+   * The number of panels of geometrically decreasing size towards the lowest strike.
+   * <p>
+   * The smile is not smooth close to the zero shifted strike, the panels are refined towards that strike.
+   */
+  private static final int NB_GRADED = 8;
+  /**
+   * The ratio between the sizes of consecutive panels towards the lowest strike.
+   */
+  private static final double GRADING_RATIO = 0.25;
+
+  /**
+   * The smile, including extrapolation, in shifted strikes.
+   */
+  private final SabrExtrapolationRightFunction smile;
+  /**
+   * The forward rate.
+   */
+  private final double forward;
+  /**
+   * The shift.
+   */
+  private final double shift;
+  /**
+   * The Gauss-Legendre quadrature on [-1, 1].
+   */
+  private final GaussianQuadratureData quadrature;
+  /**
+   * The boundaries of the panels, in increasing order.
+   */
+  private final double[] bounds;
+  /**
+   * The nodes of the grid, by panel.
+   */
+  private final double[] nodes;
+  /**
+   * The quadrature weights of the nodes.
+   */
+  private final double[] weights;
+  /**
+   * The call prices at the nodes.
+   */
+  private final double[] prices;
+  /**
+   * The call price derivatives with respect to the forward at the nodes.
+   */
+  private final double[] derivativesForward;
+  /**
+   * The call price derivatives with respect to the SABR parameters, stored by parameter, then by node.
+   */
+  private final double[] derivativesSabr;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the grid of a smile.
+   * <p>
+   * The grid has panel boundaries around the forward and on the cut-off strike, the panels being refined
+   * towards the lowest strike. The grid is then extended by panels of doubling size until the call prices
+   * become negligible, the call prices decreasing as a power of the strike in the extrapolated part of the smile.
+   *
+   * @param smile  the smile, with extrapolation, in shifted strikes
+   * @param forward  the forward rate
+   * @param shift  the shift
+   * @param volatility  the at-the-money volatility, used to scale the panels around the forward
+   * @param lowerStrike  the lowest strike of the grid
+   * @param cutOffStrike  the cut-off strike of the extrapolation, not shifted
+   * @param quadrature  the Gauss-Legendre quadrature on [-1, 1] used in each panel
+   * @return the grid
+   */
+  static CmsStrikeGrid of(
+      SabrExtrapolationRightFunction smile,
+      double forward,
+      double shift,
+      double volatility,
+      double lowerStrike,
+      double cutOffStrike,
+      GaussianQuadratureData quadrature) {
+
+    double timeToExpiry = smile.getTimeToExpiry();
+    double stdDev = volatility * Math.sqrt(timeToExpiry);
+    double width = (forward + shift) * stdDev;
+    double[] candidates = new double[FORWARD_BOUNDS.length + 2];
+    for (int i = 0; i < FORWARD_BOUNDS.length; i++) {
+      candidates[i] = forward + FORWARD_BOUNDS[i] * width;
+    }
+    candidates[FORWARD_BOUNDS.length] = lowerStrike;
+    candidates[FORWARD_BOUNDS.length + 1] = cutOffStrike;
+    Arrays.sort(candidates);
+    double[] bounds = new double[candidates.length + NB_GRADED + MAX_COUNT];
+    int nbBounds = 0;
+    for (double candidate : candidates) {
+      if (candidate >= lowerStrike && (nbBounds == 0 || candidate > bounds[nbBounds - 1])) {
+        if (nbBounds == 1) { // refines the first panel
+          double size = candidate - lowerStrike;
+          for (int i = NB_GRADED; i > 0; i--) {
+            bounds[nbBounds++] = lowerStrike + size * Math.pow(GRADING_RATIO, i);
+          }
+        }
+        bounds[nbBounds++] = candidate;
+      }
+    }
+    // extends the grid until the call prices are negligible
+    double atm = smile.price(forward + shift, PutCall.CALL);
+    double top = bounds[nbBounds - 1];
+    int count = 0;
+    while (count < MAX_COUNT && (nbBounds == 1 ||
+        Math.abs(smile.price(top + shift, PutCall.CALL) * (top + shift)) > TAIL_TOL * atm)) {
+      top += Math.max(top + shift, width);
+      bounds[nbBounds++] = top;
+      ++count;
+    }
+    return new CmsStrikeGrid(smile, forward, shift, quadrature, Arrays.copyOf(bounds, nbBounds));
+  }
+
+  // private constructor
+  private CmsStrikeGrid(
+      SabrExtrapolationRightFunction smile,
+      double forward,
+      double shift,
+      GaussianQuadratureData quadrature,
+      double[] bounds) {
+
+    ArgChecker.isTrue(bounds.length > 1, "The strike grid must have at least one panel");
+    this.smile = smile;
+    this.forward = forward;
+    this.shift = shift;
+    this.quadrature = quadrature;
+    this.bounds = bounds;
+    int nbNodes = quadrature.getAbscissas().length;
+    int size = (bounds.length - 1) * nbNodes;
+    this.nodes = new double[size];
+    this.weights = new double[size];
+    for (int p = 0; p < bounds.length - 1; p++) {
+      panel(bounds[p], bounds[p + 1], nodes, weights, p * nbNodes);
+    }
+    this.prices = new double[size];
+    this.derivativesForward = new double[size];
+    this.derivativesSabr = new double[4 * size];
+    evaluate(nodes, prices, derivativesForward, derivativesSabr);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the lowest strike of the grid.
+   *
+   * @return the lowest strike
+   */
+  double getLowerStrike() {
+    return bounds[0];
+  }
+
+  /**
+   * Gets the highest strike of the grid.
+   * <p>
+   * The call prices are regarded as negligible above that strike.
+   *
+   * @return the highest strike
+   */
+  double getUpperStrike() {
+    return bounds[bounds.length - 1];
+  }
+
+  /**
+   * Integrates the replication integrands over an interval of the grid.
+   * <p>
+   * The weight of the replication is {@code k''(x) * (x - strike) + 2 * k'(x)}, where {@code k} is the factor of the
+   * replication. The result contains the integral of the weight multiplied by the option price, by its derivative
+   * with respect to the forward and by its derivatives with respect to the four SABR parameters, followed by
+   * the integral of {@code -k''(x)} multiplied by the option price.
+   * <p>
+   * The interval is restricted to the grid. The put prices are obtained from the call prices by put/call parity.
+   *
+   * @param lower  the lower bound of the interval
+   * @param upper  the upper bound of the interval
+   * @param strike  the strike of the period
+   * @param putCall  whether the option prices are put or call
+   * @param kpkpp  the first and second derivatives of the factor of the replication
+   * @return the integrals
+   */
+  double[] integrate(double lower, double upper, double strike, PutCall putCall, DoubleFunction<double[]> kpkpp) {
+    double[] integrals = new double[7];
+    int nbNodes = quadrature.getAbscissas().length;
+    double[] partialNodes = null;
+    double[] partialWeights = null;
+    double[] partialPrices = null;
+    double[] partialDerivativesForward = null;
+    double[] partialDerivativesSabr = null;
+    for (int p = 0; p < bounds.length - 1; p++) {
+      double start = Math.max(bounds[p], lower);
+      double end = Math.min(bounds[p + 1], upper);
+      if (start >= end) {
+        continue;
+      }
+      if (start == bounds[p] && end == bounds[p + 1]) {
+        accumulate(nodes, weights, prices, derivativesForward, derivativesSabr, p * nbNodes, nodes.length,
+            strike, putCall, kpkpp, integrals);
+      } else { // panel cut by the interval
+        if (partialNodes == null) {
+          partialNodes = new double[nbNodes];
+          partialWeights = new double[nbNodes];
+          partialPrices = new double[nbNodes];
+          partialDerivativesForward = new double[nbNodes];
+          partialDerivativesSabr = new double[4 * nbNodes];
+        }
+        panel(start, end, partialNodes, partialWeights, 0);
+        evaluate(partialNodes, partialPrices, partialDerivativesForward, partialDerivativesSabr);
+        accumulate(partialNodes, partialWeights, partialPrices, partialDerivativesForward, partialDerivativesSabr,
+            0, nbNodes, strike, putCall, kpkpp, integrals);
+      }
+    }
+    return integrals;
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the nodes and weights of a panel
+  private void panel(double start, double end, double[] panelNodes, double[] panelWeights, int offset) {
+    double[] abscissas = quadrature.getAbscissas();
+    double[] quadratureWeights = quadrature.getWeights();
+    double mid = 0.5 * (end + start);
+    double halfWidth = 0.5 * (end - start);
+    for (int i = 0; i < abscissas.length; i++) {
+      panelNodes[offset + i] = mid + halfWidth * abscissas[i];
+      panelWeights[offset + i] = halfWidth * quadratureWeights[i];
+    }
+  }
+
+  // evaluates the call prices and derivatives at the nodes
+  private void evaluate(double[] strikes, double[] callPrices, double[] callDerivativesForward,
+      double[] callDerivativesSabr) {
+    double[] strikesShifted = new double[strikes.length];
+    for (int i = 0; i < strikes.length; i++) {
+      strikesShifted[i] = Math.max(strikes[i] + shift, 0d); // handle tiny but negative number
+    }
+    smile.priceAdjoint(strikesShifted, PutCall.CALL, callPrices, callDerivativesForward, callDerivativesSabr);
+  }
+
+  // accumulates the integrals over the nodes of a panel
+  private void accumulate(
+      double[] strikes,
+      double[] nodeWeights,
+      double[] callPrices,
+      double[] callDerivativesForward,
+      double[] callDerivativesSabr,
+      int offset,
+      int stride,
+      double strike,
+      PutCall putCall,
+      DoubleFunction<double[]> kpkpp,
+      double[] integrals) {
+
+    boolean isCall = putCall.isCall();
+    int nbNodes = quadrature.getAbscissas().length;
+    for (int i = offset; i < offset + nbNodes; i++) {
+      double x = strikes[i];
+      double[] kD = kpkpp.apply(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      double weight = nodeWeights[i] * (kD[1] * (x - strike) + 2d * kD[0]);
+      double price = isCall ? callPrices[i] : callPrices[i] - forward + x; // Put by call/put parity
+      integrals[0] += weight * price;
+      integrals[1] += weight * (isCall ? callDerivativesForward[i] : callDerivativesForward[i] - 1d);
+      for (int j = 0; j < 4; j++) {
+        integrals[2 + j] += weight * callDerivativesSabr[j * stride + i];
+      }
+      integrals[6] -= nodeWeights[i] * kD[1] * price;
+    }
+  }
+
+}
@@ -13,20 +13,27 @@ import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.OptionalDouble;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -52,6 +59,11 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  <p>
  *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
  *  <p>
+ *  Alternatively, the pricer obtained by {@link #ofStrikeGrid(DiscountingSwapProductPricer, double, double, int)}
+ *  integrates by Gauss-Legendre quadrature on a strike grid. The smile is evaluated once on the grid
+ *  of each expiry and tenor, the grid being cached and shared by the present value and the sensitivities
+ *  of all the periods with the same fixing.
+ *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
  *  <p>
@@ -99,6 +111,14 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The default number of Gauss-Legendre nodes in each panel of the strike grid.
+   */
+  public static final int DEFAULT_GRID_NODES = 10;
+  /**
+   * The maximal number of cached strike grids.
+   */
+  private static final int GRID_CACHE_SIZE = 1_000;
 
   /**
    * Pricer for the underlying swap.
@@ -116,6 +136,17 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre quadrature used in each panel of the strike grid.
+   * <p>
+   * This is null if the integration is done by {@link RungeKuttaIntegrator1D}.
+   */
+  private final GaussianQuadratureData quadrature;
+  /**
+   * The cache of the strike grids, keyed by the expiry, tenor, forward, shift and SABR parameters.
+   */
+  private final Cache<DoubleArray, CmsStrikeGrid> gridCache =
+      CacheBuilder.newBuilder().maximumSize(GRID_CACHE_SIZE).build();
 
   //-------------------------------------------------------------------------
   /**
@@ -131,7 +162,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, null);
   }
 
   /**
@@ -145,14 +176,57 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return of(DiscountingSwapProductPricer.DEFAULT, cutOffStrike, mu);
   }
 
+  /**
+   * Obtains the pricer integrating on a strike grid.
+   * <p>
+   * The replication integrals are computed by Gauss-Legendre quadrature on the panels of a strike grid.
+   * The prices and their derivatives on the grid are computed once for each expiry and tenor, and are cached
+   * in the pricer. The present value and all the sensitivities of the periods with the same fixing
+   * are then computed from the same grid.
+   * <p>
+   * The accuracy is obtained by the refinement of the grid rather than by the number of nodes in each panel,
+   * {@link GaussLegendreWeightAndAbscissaFunction} being reliable only for small numbers of nodes.
+   * 
+   * @param swapPricer  the pricer for underlying swap
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @param nbNodes  the number of Gauss-Legendre nodes in each panel of the grid
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer ofStrikeGrid(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      int nbNodes) {
+
+    ArgChecker.notNegativeOrZero(nbNodes, "nbNodes");
+    GaussianQuadratureData quadrature = new GaussLegendreWeightAndAbscissaFunction().generate(nbNodes);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, quadrature);
+  }
+
+  /**
+   * Obtains the pricer integrating on a strike grid with default swap pricer and number of nodes.
+   * <p>
+   * See {@link #ofStrikeGrid(DiscountingSwapProductPricer, double, double, int)}.
+   * 
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer ofStrikeGrid(double cutOffStrike, double mu) {
+    return ofStrikeGrid(DiscountingSwapProductPricer.DEFAULT, cutOffStrike, mu, DEFAULT_GRID_NODES);
+  }
+
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      GaussianQuadratureData quadrature) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
   }
 
   //-------------------------------------------------------------------------
@@ -204,18 +278,22 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPart = dfPayment *
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    if (quadrature != null) {
+      integralPart = factor * integrateGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor)[0];
+    } else {
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+      Function<Double, Double> integrant = intProv.integrant();
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPart = dfPayment *
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double priceCMS = (strikePart + integralPart);
     if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -324,26 +402,32 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
     CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double[] bs = intProv.bsbsp(strikeCpn);
     double[] n = intProv.getNnp();
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
-    try {
-      if (intProv.getPutCall().isCall()) {
-        integralPartPrice =
-            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        integralPart = dfPayment *
-            integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-      } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+    if (quadrature != null) {
+      double[] integrals = integrateGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      integralPartPrice = n[0] * integrals[0];
+      integralPart = dfPayment * (n[1] * integrals[0] + n[0] * integrals[1]);
+    } else {
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+      Function<Double, Double> integrant = intProv.integrant();
+      Function<Double, Double> integrantDelta = intProv.integrantDelta();
+      try {
+        if (intProv.getPutCall().isCall()) {
+          integralPartPrice =
+              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+          integralPart = dfPayment *
+              integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        } else {
+          integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        }
+      } catch (Exception e) {
+        throw new MathException(e);
       }
-    } catch (Exception e) {
-      throw new MathException(e);
     }
     double deltaPD = strikePartPrice + integralPartPrice;
     if (cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
@@ -404,8 +488,16 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
     double[] totalSensi = new double[4];
+    if (quadrature != null) {
+      double[] integrals = integrateGrid(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+        totalSensi[loopparameter] = (strikePartPrice[loopparameter] + factor * integrals[2 + loopparameter]) *
+            cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+      }
+      return sabrSensitivity(swaptionVolatilities.getName(), expiryTime, tenor, ccy, totalSensi);
+    }
+    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
     for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
       double integralPart = 0d;
       Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
@@ -422,7 +514,17 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       totalSensi[loopparameter] =
           (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
     }
-    SwaptionVolatilitiesName name = swaptionVolatilities.getName();
+    return sabrSensitivity(swaptionVolatilities.getName(), expiryTime, tenor, ccy, totalSensi);
+  }
+
+  // the point sensitivities to the four SABR parameters
+  private PointSensitivityBuilder sabrSensitivity(
+      SwaptionVolatilitiesName name,
+      double expiryTime,
+      double tenor,
+      Currency ccy,
+      double[] totalSensi) {
+
     return PointSensitivityBuilder.of(
         SwaptionSabrSensitivity.of(name, expiryTime, tenor, ALPHA, ccy, totalSensi[0]),
         SwaptionSabrSensitivity.of(name, expiryTime, tenor, BETA, ccy, totalSensi[1]),
@@ -486,17 +588,19 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsIntegrantProvider intProv = new CmsIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strike, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment * intProv.g(forward) / intProv.h(forward);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
     double[] kpkpp = intProv.kpkpp(strike);
-    double firstPart;
+    double firstPart = -kpkpp[0] * intProv.bs(strike);
     double thirdPart;
-    Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+    if (quadrature != null) {
+      thirdPart = integrateGrid(intProv, swaptionVolatilities, forward, strike, expiryTime, tenor)[6];
     } else {
-      firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
+      Function<Double, Double> integrant = intProv.integrantDualDelta();
+      if (intProv.getPutCall().isCall()) {
+        thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
+      } else {
+        thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      }
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -554,6 +658,50 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // integrates on the strike grid, the call integrals are from the strike to the top of the grid,
+  // the put integrals are from the bottom of the grid to the strike with the opposite sign
+  private double[] integrateGrid(
+      CmsIntegrantProvider intProv,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    CmsStrikeGrid grid = strikeGrid(intProv, swaptionVolatilities, forward, expiryTime, tenor);
+    if (intProv.getPutCall().isCall()) {
+      return grid.integrate(strike, grid.getUpperStrike(), strike, PutCall.CALL, intProv::kpkpp);
+    }
+    double[] integrals = grid.integrate(grid.getLowerStrike(), strike, strike, PutCall.PUT, intProv::kpkpp);
+    for (int i = 0; i < integrals.length; i++) {
+      integrals[i] = -integrals[i];
+    }
+    return integrals;
+  }
+
+  // obtains the strike grid of the smile, the grids are cached as they do not depend on the period
+  private CmsStrikeGrid strikeGrid(
+      CmsIntegrantProvider intProv,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double expiryTime,
+      double tenor) {
+
+    SabrFormulaData sabrPoint = intProv.getSabrExtrapolation().getSabrData();
+    double shift = intProv.getShift();
+    DoubleArray key = DoubleArray.of(expiryTime, tenor, forward, shift,
+        sabrPoint.getAlpha(), sabrPoint.getBeta(), sabrPoint.getRho(), sabrPoint.getNu());
+    try {
+      return gridCache.get(key, () -> {
+        double volatility = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+        return CmsStrikeGrid.of(
+            intProv.getSabrExtrapolation(), forward, shift, volatility, -shift + ZERO_SHIFT, cutOffStrike, quadrature);
+      });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
   /**
    * Explains the present value of the CMS period.
    * <p>
@@ -717,14 +865,19 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * @return the vega integrant
      */
     Function<Double, Double> integrantVega(int i) {
+      // buffers reused across the evaluations of the integrant
+      double[] strikeShifted = new double[1];
+      double[] price = new double[1];
+      double[] priceDerivativeSabr = new double[4];
+      double[] volatilityD = new double[getSabrExtrapolation().volatilityDerivativeCount()];
       return new Function<Double, Double>() {
         @Override
         public Double apply(Double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
-          DoubleArray priceDerivativeSabr = getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives();
-          return priceDerivativeSabr.get(i) * (factor * (kD[1] * (x - strike) + 2d * kD[0]));
+          strikeShifted[0] = Math.max(x + shift, 0d); // handle tiny but negative number
+          getSabrExtrapolation().priceAdjointSabr(strikeShifted, putCall, price, priceDerivativeSabr, volatilityD);
+          return priceDerivativeSabr[i] * (factor * (kD[1] * (x - strike) + 2d * kD[0]));
         }
       };
     }
@@ -877,13 +1030,21 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * @return the delta integrant
      */
     Function<Double, Double> integrantDelta() {
+      // buffers reused across the evaluations of the integrant
+      double[] strikeShifted = new double[1];
+      double[] price = new double[1];
+      double[] priceDerivativeForward = new double[1];
+      double[] volatilityD = new double[getSabrExtrapolation().volatilityDerivativeCount()];
       return new Function<Double, Double>() {
         @Override
         public Double apply(Double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          double[] bs = bsbsp(x);
-          return (kD[1] * (x - getStrike()) + 2d * kD[0]) * (nnp[1] * bs[0] + nnp[0] * bs[1]);
+          // The Black price and its derivative with respect to the forward.
+          strikeShifted[0] = Math.max(x + getShift(), 0d); // handle tiny but negative number
+          getSabrExtrapolation().priceDerivativeForward(
+              strikeShifted, getPutCall(), price, priceDerivativeForward, volatilityD);
+          return (kD[1] * (x - getStrike()) + 2d * kD[0]) * (nnp[1] * price[0] + nnp[0] * priceDerivativeForward[0]);
         }
       };
     }
@@ -7,12 +7,18 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -30,6 +36,11 @@ import com.opengamma.strata.product.credit.ResolvedCdsTrade;
  * Analytic spread sensitivity calculator.
  * <p>
  * This analytically computes the present value sensitivity to par spreads of bucketed CDSs. 
+ * <p>
+ * The credit curve implied by the bucket CDSs and the decomposed Jacobian of the bucket par spreads
+ * with respect to the curve parameters depend on the bucket and the curves, but not on the trade.
+ * They are thus computed once and shared by all the trades on the same legal entity,
+ * so that each further trade only costs a point sensitivity and a single linear solve.
  */
 public class AnalyticSpreadSensitivityCalculator
     extends SpreadSensitivityCalculator {
@@ -48,6 +59,19 @@ public class AnalyticSpreadSensitivityCalculator
    * LU decomposition.
    */
   private static final LUDecompositionCommons DECOMPOSITION = new LUDecompositionCommons();
+  /**
+   * The maximal number of cached bucket Jacobians.
+   */
+  private static final int JACOBIAN_CACHE_SIZE = 1_000;
+
+  /**
+   * The cache of the bucket Jacobians.
+   * <p>
+   * The key is made of the valuation date, the content of the curves of the legal entity and the bucket CDSs.
+   * The least recently used Jacobians are evicted once the cache is full.
+   */
+  private final Cache<List<Object>, BucketJacobian> jacobianCache =
+      CacheBuilder.newBuilder().maximumSize(JACOBIAN_CACHE_SIZE).build();
 
   /**
    * Constructor with the accrual-on-default formula specified.
@@ -81,8 +105,101 @@ public class AnalyticSpreadSensitivityCalculator
     ResolvedCds product = trade.getProduct();
     Currency currency = product.getCurrency();
     StandardId legalEntityId = product.getLegalEntityId();
-    LocalDate valuationDate = ratesProvider.getValuationDate();
+    BucketJacobian jacobian = bucketJacobian(bucketCds, ratesProvider, legalEntityId, currency, refData);
+    CreditRatesProvider ratesProviderBase =
+        impliedRatesProvider(ratesProvider, jacobian.creditCurve, legalEntityId, currency);
+    PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProviderBase, refData);
+    DoubleArray vLambda =
+        ratesProviderBase.singleCreditCurveParameterSensitivity(pointPv, legalEntityId, currency).getSensitivity();
+    return jacobian.decomposition.solve(vLambda);
+  }
+
+  // the number of cached bucket Jacobians, for testing
+  long jacobianCacheSize() {
+    return jacobianCache.size();
+  }
 
+  //-------------------------------------------------------------------------
+  // obtains the bucket Jacobian, from the cache if available
+  private BucketJacobian bucketJacobian(
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      StandardId legalEntityId,
+      Currency currency,
+      ReferenceData refData) {
+
+    List<Object> key = bucketKey(bucketCds, ratesProvider, legalEntityId, currency);
+    if (key == null) {
+      return computeBucketJacobian(bucketCds, ratesProvider, legalEntityId, currency, refData);
+    }
+    try {
+      return jacobianCache.get(key, () ->
+          computeBucketJacobian(bucketCds, ratesProvider, legalEntityId, currency, refData));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
+  // computes the key of the bucket Jacobian, null if the Jacobian should not be cached
+  // the key is made of the content of the curves and the bucket CDSs, as the rates provider
+  // may create new instances of the curves on each query, and the CDS index trades are converted on each query
+  private static List<Object> bucketKey(
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      StandardId legalEntityId,
+      Currency currency) {
+
+    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    CreditDiscountFactors survivalProbabilities =
+        ratesProvider.survivalProbabilities(legalEntityId, currency).getSurvivalProbabilities();
+    RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
+    if (!(discountFactors instanceof IsdaCreditDiscountFactors) ||
+        !(survivalProbabilities instanceof IsdaCreditDiscountFactors) ||
+        !(recoveryRates instanceof ConstantRecoveryRates)) {
+      return null;
+    }
+    IsdaCreditDiscountFactors isdaDiscountFactors = (IsdaCreditDiscountFactors) discountFactors;
+    IsdaCreditDiscountFactors isdaSurvivalProbabilities = (IsdaCreditDiscountFactors) survivalProbabilities;
+    NodalCurve discountCurve = isdaDiscountFactors.getCurve();
+    NodalCurve creditCurve = isdaSurvivalProbabilities.getCurve();
+    int nBucket = bucketCds.size();
+    double[] values =
+        new double[6 + 2 * (discountCurve.getParameterCount() + creditCurve.getParameterCount()) + 4 * nBucket];
+    values[0] = ratesProvider.getValuationDate().toEpochDay();
+    values[1] = ((ConstantRecoveryRates) recoveryRates).getRecoveryRate();
+    int pos = IsdaCdsIntegrationGrid.appendCurve(values, 2, discountCurve);
+    pos = IsdaCdsIntegrationGrid.appendCurve(values, pos, creditCurve);
+    ImmutableList.Builder<Object> conventions = ImmutableList.builder();
+    for (ResolvedCdsTrade trade : bucketCds) {
+      ResolvedCds cds = trade.getProduct();
+      values[pos++] = cds.getAccrualStartDate().toEpochDay();
+      values[pos++] = cds.getProtectionEndDate().toEpochDay();
+      values[pos++] = cds.getFixedRate();
+      values[pos++] = trade.getInfo().getSettlementDate().map(date -> (double) date.toEpochDay()).orElse(Double.NaN);
+      conventions.add(
+          cds.getDayCount(),
+          cds.getPaymentOnDefault(),
+          cds.getProtectionStart(),
+          cds.getStepinDateOffset(),
+          cds.getSettlementDateOffset());
+    }
+    return ImmutableList.of(
+        currency,
+        isdaDiscountFactors.getDayCount(),
+        isdaSurvivalProbabilities.getDayCount(),
+        DoubleArray.ofUnsafe(values),
+        conventions.build());
+  }
+
+  // calibrates the credit curve to the bucket CDSs and decomposes the transposed Jacobian
+  private BucketJacobian computeBucketJacobian(
+      List<ResolvedCdsTrade> bucketCds,
+      CreditRatesProvider ratesProvider,
+      StandardId legalEntityId,
+      Currency currency,
+      ReferenceData refData) {
+
+    LocalDate valuationDate = ratesProvider.getValuationDate();
     int nBucket = bucketCds.size();
     DoubleArray impSp = impliedSpread(bucketCds, ratesProvider, refData);
     NodalCurve creditCurveBase = getCalibrator().calibrate(
@@ -94,15 +211,10 @@ public class AnalyticSpreadSensitivityCalculator
         ratesProvider.discountFactors(currency),
         ratesProvider.recoveryRates(legalEntityId),
         refData);
-    IsdaCreditDiscountFactors df = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
-    CreditRatesProvider ratesProviderBase = ratesProvider.toImmutableCreditRatesProvider().toBuilder()
-        .creditCurves(ImmutableMap.of(Pair.of(legalEntityId, currency), LegalEntitySurvivalProbabilities.of(legalEntityId, df)))
-        .build();
+    IsdaCreditDiscountFactors creditCurve = IsdaCreditDiscountFactors.of(currency, valuationDate, creditCurveBase);
+    CreditRatesProvider ratesProviderBase = impliedRatesProvider(ratesProvider, creditCurve, legalEntityId, currency);
 
     double[][] res = new double[nBucket][];
-    PointSensitivities pointPv = getPricer().presentValueOnSettleSensitivity(trade, ratesProviderBase, refData);
-    DoubleArray vLambda =
-        ratesProviderBase.singleCreditCurveParameterSensitivity(pointPv, legalEntityId, currency).getSensitivity();
     for (int i = 0; i < nBucket; i++) {
       PointSensitivities pointSp = getPricer().parSpreadSensitivity(bucketCds.get(i), ratesProviderBase, refData);
       res[i] = ratesProviderBase.singleCreditCurveParameterSensitivity(pointSp, legalEntityId, currency)
@@ -110,8 +222,43 @@ public class AnalyticSpreadSensitivityCalculator
     }
     DoubleMatrix jacT = MATRIX_ALGEBRA.getTranspose(DoubleMatrix.ofUnsafe(res));
     LUDecompositionResult luRes = DECOMPOSITION.apply(jacT);
-    DoubleArray vS = luRes.solve(vLambda);
-    return vS;
+    return new BucketJacobian(creditCurve, luRes);
+  }
+
+  // creates the rates provider with the implied credit curve for the legal entity
+  private static CreditRatesProvider impliedRatesProvider(
+      CreditRatesProvider ratesProvider,
+      IsdaCreditDiscountFactors creditCurve,
+      StandardId legalEntityId,
+      Currency currency) {
+
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(ratesProvider.getValuationDate())
+        .discountCurves(ImmutableMap.of(currency, ratesProvider.discountFactors(currency)))
+        .recoveryRateCurves(ImmutableMap.of(legalEntityId, ratesProvider.recoveryRates(legalEntityId)))
+        .creditCurves(ImmutableMap.of(
+            Pair.of(legalEntityId, currency), LegalEntitySurvivalProbabilities.of(legalEntityId, creditCurve)))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The credit curve implied by the bucket CDSs, with the decomposed Jacobian.
+   */
+  private static final class BucketJacobian {
+    /**
+     * The implied credit curve, which is not specific to a legal entity.
+     */
+    private final IsdaCreditDiscountFactors creditCurve;
+    /**
+     * The LU decomposition of the transposed Jacobian of the bucket par spreads to the curve parameters.
+     */
+    private final LUDecompositionResult decomposition;
+
+    private BucketJacobian(IsdaCreditDiscountFactors creditCurve, LUDecompositionResult decomposition) {
+      this.creditCurve = creditCurve;
+      this.decomposition = decomposition;
+    }
   }
 
 }
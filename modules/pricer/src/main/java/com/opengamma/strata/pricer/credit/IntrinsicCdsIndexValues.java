@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The constituent values of a CDS index priced bottom-up.
+ * <p>
+ * The values are computed by {@link IsdaIntrinsicCdsIndexProductPricer}.
+ * The protection legs and the risky annuities are expressed per unit notional of the single name CDS
+ * on each constituent, whereas the present values are the contributions of the constituents to the
+ * present value of the CDS index.
+ * <p>
+ * The arrays are in the order of the legal entities of the CDS index.
+ */
+public final class IntrinsicCdsIndexValues {
+
+  /**
+   * The currency.
+   */
+  private final Currency currency;
+  /**
+   * The legal entities of the constituents.
+   */
+  private final ImmutableList<StandardId> legalEntityIds;
+  /**
+   * The protection legs per unit notional, including the loss-given-default.
+   */
+  private final DoubleArray protectionLegs;
+  /**
+   * The risky annuities per unit notional.
+   */
+  private final DoubleArray riskyAnnuities;
+  /**
+   * The contributions of the constituents to the present value of the index.
+   */
+  private final DoubleArray presentValues;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param currency  the currency
+   * @param legalEntityIds  the legal entities of the constituents
+   * @param protectionLegs  the protection legs per unit notional
+   * @param riskyAnnuities  the risky annuities per unit notional
+   * @param presentValues  the contributions of the constituents to the present value
+   * @return the instance
+   */
+  public static IntrinsicCdsIndexValues of(
+      Currency currency,
+      List<StandardId> legalEntityIds,
+      DoubleArray protectionLegs,
+      DoubleArray riskyAnnuities,
+      DoubleArray presentValues) {
+
+    return new IntrinsicCdsIndexValues(currency, legalEntityIds, protectionLegs, riskyAnnuities, presentValues);
+  }
+
+  // creates an instance
+  private IntrinsicCdsIndexValues(
+      Currency currency,
+      List<StandardId> legalEntityIds,
+      DoubleArray protectionLegs,
+      DoubleArray riskyAnnuities,
+      DoubleArray presentValues) {
+
+    this.currency = ArgChecker.notNull(currency, "currency");
+    this.legalEntityIds = ImmutableList.copyOf(ArgChecker.notNull(legalEntityIds, "legalEntityIds"));
+    this.protectionLegs = ArgChecker.notNull(protectionLegs, "protectionLegs");
+    this.riskyAnnuities = ArgChecker.notNull(riskyAnnuities, "riskyAnnuities");
+    this.presentValues = ArgChecker.notNull(presentValues, "presentValues");
+    int size = this.legalEntityIds.size();
+    ArgChecker.isTrue(protectionLegs.size() == size, "protectionLegs must have the same size as legalEntityIds");
+    ArgChecker.isTrue(riskyAnnuities.size() == size, "riskyAnnuities must have the same size as legalEntityIds");
+    ArgChecker.isTrue(presentValues.size() == size, "presentValues must have the same size as legalEntityIds");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the legal entities of the constituents.
+   *
+   * @return the legal entities
+   */
+  public ImmutableList<StandardId> getLegalEntityIds() {
+    return legalEntityIds;
+  }
+
+  /**
+   * Gets the protection legs per unit notional, including the loss-given-default.
+   *
+   * @return the protection legs
+   */
+  public DoubleArray getProtectionLegs() {
+    return protectionLegs;
+  }
+
+  /**
+   * Gets the risky annuities per unit notional.
+   *
+   * @return the risky annuities
+   */
+  public DoubleArray getRiskyAnnuities() {
+    return riskyAnnuities;
+  }
+
+  /**
+   * Gets the contributions of the constituents to the present value of the index.
+   *
+   * @return the present values
+   */
+  public DoubleArray getPresentValues() {
+    return presentValues;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the contribution of a constituent to the present value of the index.
+   *
+   * @param legalEntityId  the legal entity of the constituent
+   * @return the present value
+   * @throws IllegalArgumentException if the legal entity is not a constituent
+   */
+  public CurrencyAmount getPresentValue(StandardId legalEntityId) {
+    int index = legalEntityIds.indexOf(legalEntityId);
+    ArgChecker.isTrue(index >= 0, "Legal entity {} is not a constituent", legalEntityId);
+    return CurrencyAmount.of(currency, presentValues.get(index));
+  }
+
+  /**
+   * Gets the present value of the index.
+   * <p>
+   * This is the sum of the contributions of the constituents.
+   *
+   * @return the present value
+   */
+  public CurrencyAmount getPresentValue() {
+    return CurrencyAmount.of(currency, presentValues.sum());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "IntrinsicCdsIndexValues[currency=" + currency + ", legalEntityIds=" + legalEntityIds +
+        ", presentValues=" + presentValues + "]";
+  }
+
+}
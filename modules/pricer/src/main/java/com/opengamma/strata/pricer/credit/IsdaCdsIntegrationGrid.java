@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.ConstantNodalCurve;
+import com.opengamma.strata.market.curve.NodalCurve;
+
+/**
+ * Integration grid used for the protection leg and the accrual-on-default of CDS products.
+ * <p>
+ * The grid is the merged set of the discount curve nodes and the credit curve nodes between a start time
+ * and an end time, as produced by {@link DoublesScheduleGenerator#getIntegrationsPoints}.
+ * The values {@code zeroRate(t) * t} of both curves, together with the discount factors and survival probabilities,
+ * are computed once for all the nodes of the grid.
+ * <p>
+ * For the accrual-on-default, the grid also contains the sub-grid of each payment period, that is,
+ * the grid truncated to the period with the period start and end times as first and last nodes.
+ * <p>
+ * The grid does not depend on the CDS, but only on the curves, the integration bounds and the period times.
+ * Hence all the CDS on the same legal entity sharing the same (typically IMM) dates share the same grid,
+ * across trades and measures.
+ * The nodes and values are computed exactly as in a computation without grid.
+ */
+final class IsdaCdsIntegrationGrid {
+
+  /**
+   * The integration schedule.
+   */
+  private final DoubleArray schedule;
+  /**
+   * The times of the integration schedule.
+   */
+  private final double[] times;
+  /**
+   * The survival curve zero rates multiplied by time, at the grid nodes.
+   */
+  private final double[] ht;
+  /**
+   * The discount curve zero rates multiplied by time, at the grid nodes.
+   */
+  private final double[] rt;
+  /**
+   * The discount factors, at the grid nodes.
+   */
+  private final double[] p;
+  /**
+   * The survival probabilities, at the grid nodes.
+   */
+  private final double[] q;
+  /**
+   * The survival probabilities multiplied by the discount factors, at the grid nodes.
+   */
+  private final double[] b;
+  /**
+   * The sub-grids of the payment periods, null for an expired period.
+   * <p>
+   * This is empty if the grid is not used for the accrual-on-default.
+   */
+  private final IsdaCdsIntegrationGrid[] periods;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the curves and the integration bounds.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @param start  the start time
+   * @param end  the end time
+   * @return the grid
+   */
+  static IsdaCdsIntegrationGrid of(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double start,
+      double end) {
+
+    DoubleArray schedule = DoublesScheduleGenerator.getIntegrationsPoints(
+        start, end, discountFactors.getParameterKeys(), survivalProbabilities.getParameterKeys());
+    return new IsdaCdsIntegrationGrid(discountFactors, survivalProbabilities, schedule, new IsdaCdsIntegrationGrid[0]);
+  }
+
+  /**
+   * Obtains an instance from the curves, the integration bounds and the payment periods.
+   * <p>
+   * The period start and end times are NaN for an expired period.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @param start  the start time
+   * @param end  the end time
+   * @param periodStarts  the start times of the periods
+   * @param periodEnds  the end times of the periods
+   * @return the grid
+   */
+  static IsdaCdsIntegrationGrid of(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double start,
+      double end,
+      double[] periodStarts,
+      double[] periodEnds) {
+
+    DoubleArray schedule = DoublesScheduleGenerator.getIntegrationsPoints(
+        start, end, discountFactors.getParameterKeys(), survivalProbabilities.getParameterKeys());
+    int nPeriods = periodStarts.length;
+    IsdaCdsIntegrationGrid[] periods = new IsdaCdsIntegrationGrid[nPeriods];
+    for (int i = 0; i < nPeriods; ++i) {
+      if (!Double.isNaN(periodStarts[i])) {
+        DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(periodStarts[i], periodEnds[i], schedule);
+        periods[i] = new IsdaCdsIntegrationGrid(
+            discountFactors, survivalProbabilities, knots, new IsdaCdsIntegrationGrid[0]);
+      }
+    }
+    return new IsdaCdsIntegrationGrid(discountFactors, survivalProbabilities, schedule, periods);
+  }
+
+  /**
+   * Computes the key of the grid.
+   * <p>
+   * Two grids with the same key have the same nodes and the same values at the nodes.
+   * The key is only available for the ISDA compliant discount factors whose values are fully
+   * described by the nodes of the underlying curve, null is returned otherwise.
+   *
+   * @param discountFactors  the discount factors
+   * @param survivalProbabilities  the survival probabilities
+   * @param start  the start time
+   * @param end  the end time
+   * @param periodStarts  the start times of the periods
+   * @param periodEnds  the end times of the periods
+   * @return the key, null if the grid should not be cached
+   */
+  static DoubleArray key(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      double start,
+      double end,
+      double[] periodStarts,
+      double[] periodEnds) {
+
+    if (!(discountFactors instanceof IsdaCreditDiscountFactors) ||
+        !(survivalProbabilities.getSurvivalProbabilities() instanceof IsdaCreditDiscountFactors)) {
+      return null;
+    }
+    NodalCurve discountCurve = ((IsdaCreditDiscountFactors) discountFactors).getCurve();
+    NodalCurve creditCurve = ((IsdaCreditDiscountFactors) survivalProbabilities.getSurvivalProbabilities()).getCurve();
+    int nDiscount = discountCurve.getParameterCount();
+    int nCredit = creditCurve.getParameterCount();
+    int nPeriods = periodStarts.length;
+    double[] key = new double[6 + 2 * (nDiscount + nCredit + nPeriods)];
+    key[0] = start;
+    key[1] = end;
+    int pos = appendCurve(key, 2, discountCurve);
+    pos = appendCurve(key, pos, creditCurve);
+    System.arraycopy(periodStarts, 0, key, pos, nPeriods);
+    System.arraycopy(periodEnds, 0, key, pos + nPeriods, nPeriods);
+    return DoubleArray.ofUnsafe(key);
+  }
+
+  // appends the curve type, size and nodes to the key, returning the next position
+  static int appendCurve(double[] key, int start, NodalCurve curve) {
+    int n = curve.getParameterCount();
+    key[start] = curve instanceof ConstantNodalCurve ? 0d : 1d;
+    key[start + 1] = n;
+    System.arraycopy(curve.getXValues().toArrayUnsafe(), 0, key, start + 2, n);
+    System.arraycopy(curve.getYValues().toArrayUnsafe(), 0, key, start + 2 + n, n);
+    return start + 2 + 2 * n;
+  }
+
+  // creates an instance
+  private IsdaCdsIntegrationGrid(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      DoubleArray schedule,
+      IsdaCdsIntegrationGrid[] periods) {
+
+    this.schedule = schedule;
+    this.times = schedule.toArrayUnsafe();
+    int n = times.length;
+    this.ht = new double[n];
+    this.rt = new double[n];
+    this.p = new double[n];
+    this.q = new double[n];
+    this.b = new double[n];
+    for (int i = 0; i < n; ++i) {
+      double t = times[i];
+      ht[i] = survivalProbabilities.zeroRate(t) * t;
+      rt[i] = discountFactors.zeroRate(t) * t;
+      p[i] = Math.exp(-rt[i]);
+      q[i] = Math.exp(-ht[i]);
+      b[i] = Math.exp(-ht[i] - rt[i]);
+    }
+    this.periods = periods;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the integration schedule.
+   *
+   * @return the schedule
+   */
+  DoubleArray getSchedule() {
+    return schedule;
+  }
+
+  /**
+   * Gets the number of nodes.
+   *
+   * @return the number of nodes
+   */
+  int size() {
+    return times.length;
+  }
+
+  /**
+   * Gets the time of a node.
+   *
+   * @param index  the node index
+   * @return the time
+   */
+  double time(int index) {
+    return times[index];
+  }
+
+  /**
+   * Gets the sub-grid of a payment period.
+   * <p>
+   * The nodes of the sub-grid are the nodes of this grid strictly within the period,
+   * together with the period start and end times.
+   *
+   * @param index  the period index
+   * @return the sub-grid, null if the period is expired
+   */
+  IsdaCdsIntegrationGrid period(int index) {
+    return periods[index];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the survival curve zero rate multiplied by time at a node.
+   *
+   * @param index  the node index
+   * @return the value
+   */
+  double htAt(int index) {
+    return ht[index];
+  }
+
+  /**
+   * Gets the discount curve zero rate multiplied by time at a node.
+   *
+   * @param index  the node index
+   * @return the value
+   */
+  double rtAt(int index) {
+    return rt[index];
+  }
+
+  /**
+   * Gets the discount factor at a node.
+   *
+   * @param index  the node index
+   * @return the discount factor
+   */
+  double discountFactorAt(int index) {
+    return p[index];
+  }
+
+  /**
+   * Gets the survival probability at a node.
+   *
+   * @param index  the node index
+   * @return the survival probability
+   */
+  double survivalProbabilityAt(int index) {
+    return q[index];
+  }
+
+  /**
+   * Gets the survival probability multiplied by the discount factor at a node.
+   *
+   * @param index  the node index
+   * @return the value
+   */
+  double riskyDiscountFactorAt(int index) {
+    return b[index];
+  }
+
+}
@@ -10,13 +10,18 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilonPP;
 
 import java.time.LocalDate;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -45,6 +50,10 @@ public class IsdaCdsProductPricer {
    * An approximation formula is used if a certain variable is smaller than this parameter.
    */
   private static final double SMALL = 1.0e-5;
+  /**
+   * The maximal number of cached integration grids.
+   */
+  private static final int GRID_CACHE_SIZE = 1_000;
 
   /**
    * The formula
@@ -54,6 +63,14 @@ public class IsdaCdsProductPricer {
    * The omega parameter.
    */
   private final double omega;
+  /**
+   * The cache of the integration grids, keyed by the integration bounds and the nodes of the curves.
+   * <p>
+   * The grids are shared by all the CDS on the same legal entity with the same dates,
+   * across trades and measures. The least recently used grids are evicted once the cache is full.
+   */
+  private final Cache<DoubleArray, IsdaCdsIntegrationGrid> gridCache =
+      CacheBuilder.newBuilder().maximumSize(GRID_CACHE_SIZE).build();
 
   /**
    * Constructor specifying the formula to use for the accrued on default calculation.  
@@ -484,21 +501,18 @@ public class IsdaCdsProductPricer {
       LocalDate referenceDate,
       LocalDate effectiveStartDate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
+    IsdaCdsIntegrationGrid grid = integrationGrid(
+        discountFactors, survivalProbabilities, effectiveStartDate, cds.getProtectionEndDate());
 
     double pv = 0d;
-    double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double rt0 = discountFactors.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double b0 = Math.exp(-ht0 - rt0);
-    int n = integrationSchedule.size();
+    double ht0 = grid.htAt(0);
+    double rt0 = grid.rtAt(0);
+    double b0 = grid.riskyDiscountFactorAt(0);
+    int n = grid.size();
     for (int i = 1; i < n; ++i) {
-      double ht1 = survivalProbabilities.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double rt1 = discountFactors.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double b1 = Math.exp(-ht1 - rt1);
+      double ht1 = grid.htAt(i);
+      double rt1 = grid.rtAt(i);
+      double b1 = grid.riskyDiscountFactorAt(i);
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
       double dhrt = dht + drt;
@@ -539,18 +553,29 @@ public class IsdaCdsProductPricer {
         pv += coupon.getYearFraction() * p * q;
       }
     }
+    return riskyAnnuity(
+        pv, cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate, priceType);
+  }
 
+  // computes risky annuity from the pv of the coupons, adding the accrual-on-default
+  double riskyAnnuity(
+      double couponPv,
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      LocalDate referenceDate,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      PriceType priceType) {
+
+    double pv = couponPv;
     if (cds.getPaymentOnDefault().isAccruedInterest()) {
       // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
       LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
-      for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
-        pv += singlePeriodAccrualOnDefault(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+      IsdaCdsIntegrationGrid grid =
+          accrualOnDefaultGrid(cds, discountFactors, survivalProbabilities, start, effectiveStartDate);
+      for (int i = 0; i < cds.getPaymentPeriods().size(); ++i) {
+        pv += singlePeriodAccrualOnDefault(cds.getPaymentPeriods().get(i), grid.period(i), discountFactors);
       }
     }
     // roll to the cash settle date
@@ -567,36 +592,29 @@ public class IsdaCdsProductPricer {
   // computes accrual-on-default pv per unit notional for a single payment period
   private double singlePeriodAccrualOnDefault(
       CreditCouponPaymentPeriod coupon,
-      LocalDate effectiveStartDate,
-      DoubleArray integrationSchedule,
-      CreditDiscountFactors discountFactors,
-      LegalEntitySurvivalProbabilities survivalProbabilities) {
+      IsdaCdsIntegrationGrid knots,
+      CreditDiscountFactors discountFactors) {
 
-    LocalDate start =
-        coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
-    if (!start.isBefore(coupon.getEffectiveEndDate())) {
+    if (knots == null) {
       return 0d; // this coupon has already expired 
     }
 
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
-
-    double t0Knot = knots.get(0);
-    double ht0 = survivalProbabilities.zeroRate(t0Knot) * t0Knot;
-    double rt0 = discountFactors.zeroRate(t0Knot) * t0Knot;
-    double b0 = Math.exp(-rt0 - ht0);
+    double t0Knot = knots.time(0);
+    double ht0 = knots.htAt(0);
+    double rt0 = knots.rtAt(0);
+    double b0 = knots.riskyDiscountFactorAt(0);
 
     double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
     double t0 = t0Knot - effStart + omega;
     double pv = 0d;
     final int nItems = knots.size();
     for (int j = 1; j < nItems; ++j) {
-      double t = knots.get(j);
-      double ht1 = survivalProbabilities.zeroRate(t) * t;
-      double rt1 = discountFactors.zeroRate(t) * t;
-      double b1 = Math.exp(-rt1 - ht1);
+      double t = knots.time(j);
+      double ht1 = knots.htAt(j);
+      double rt1 = knots.rtAt(j);
+      double b1 = knots.riskyDiscountFactorAt(j);
 
-      double dt = knots.get(j) - knots.get(j - 1);
+      double dt = knots.time(j) - knots.time(j - 1);
 
       double dht = ht1 - ht0;
       double drt = rt1 - rt0;
@@ -639,12 +657,10 @@ public class IsdaCdsProductPricer {
       LocalDate effectiveStartDate,
       double recoveryRate) {
 
-    DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-        discountFactors.relativeYearFraction(effectiveStartDate),
-        discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-        discountFactors.getParameterKeys(),
-        survivalProbabilities.getParameterKeys());
-    int n = integrationSchedule.size();
+    IsdaCdsIntegrationGrid grid = integrationGrid(
+        discountFactors, survivalProbabilities, effectiveStartDate, cds.getProtectionEndDate());
+    DoubleArray integrationSchedule = grid.getSchedule();
+    int n = grid.size();
     double[] dht = new double[n - 1];
     double[] drt = new double[n - 1];
     double[] dhrt = new double[n - 1];
@@ -652,16 +668,16 @@ public class IsdaCdsProductPricer {
     double[] q = new double[n];
     // pv
     double pv = 0d;
-    double ht0 = survivalProbabilities.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    double rt0 = discountFactors.zeroRate(integrationSchedule.get(0)) * integrationSchedule.get(0);
-    p[0] = Math.exp(-rt0);
-    q[0] = Math.exp(-ht0);
+    double ht0 = grid.htAt(0);
+    double rt0 = grid.rtAt(0);
+    p[0] = grid.discountFactorAt(0);
+    q[0] = grid.survivalProbabilityAt(0);
     double b0 = p[0] * q[0];
     for (int i = 1; i < n; ++i) {
-      double ht1 = survivalProbabilities.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      double rt1 = discountFactors.zeroRate(integrationSchedule.get(i)) * integrationSchedule.get(i);
-      p[i] = Math.exp(-rt1);
-      q[i] = Math.exp(-ht1);
+      double ht1 = grid.htAt(i);
+      double rt1 = grid.rtAt(i);
+      p[i] = grid.discountFactorAt(i);
+      q[i] = grid.survivalProbabilityAt(i);
       double b1 = p[i] * q[i];
       dht[i - 1] = ht1 - ht0;
       drt[i - 1] = rt1 - rt0;
@@ -740,14 +756,11 @@ public class IsdaCdsProductPricer {
     if (cds.getPaymentOnDefault().isAccruedInterest()) {
       // This is needed so that the code is consistent with ISDA C when the Markit `fix' is used. 
       LocalDate start = cds.getPaymentPeriods().size() == 1 ? effectiveStartDate : cds.getAccrualStartDate();
-      DoubleArray integrationSchedule = DoublesScheduleGenerator.getIntegrationsPoints(
-          discountFactors.relativeYearFraction(start),
-          discountFactors.relativeYearFraction(cds.getProtectionEndDate()),
-          discountFactors.getParameterKeys(),
-          survivalProbabilities.getParameterKeys());
-      for (CreditCouponPaymentPeriod coupon : cds.getPaymentPeriods()) {
+      IsdaCdsIntegrationGrid grid =
+          accrualOnDefaultGrid(cds, discountFactors, survivalProbabilities, start, effectiveStartDate);
+      for (int i = 0; i < cds.getPaymentPeriods().size(); ++i) {
         Pair<Double, PointSensitivityBuilder> pvAndSensi = singlePeriodAccrualOnDefaultSensitivity(
-            coupon, effectiveStartDate, integrationSchedule, discountFactors, survivalProbabilities);
+            cds.getPaymentPeriods().get(i), grid.period(i), discountFactors, survivalProbabilities);
         pv += pvAndSensi.getFirst();
         pvSensi = pvSensi.combinedWith(pvAndSensi.getSecond());
       }
@@ -763,18 +776,14 @@ public class IsdaCdsProductPricer {
 
   private Pair<Double, PointSensitivityBuilder> singlePeriodAccrualOnDefaultSensitivity(
       CreditCouponPaymentPeriod coupon,
-      LocalDate effectiveStartDate,
-      DoubleArray integrationSchedule,
+      IsdaCdsIntegrationGrid grid,
       CreditDiscountFactors discountFactors,
       LegalEntitySurvivalProbabilities survivalProbabilities) {
 
-    LocalDate start =
-        coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ? effectiveStartDate : coupon.getEffectiveStartDate();
-    if (!start.isBefore(coupon.getEffectiveEndDate())) {
+    if (grid == null) {
       return Pair.of(0d, PointSensitivityBuilder.none()); //this coupon has already expired 
     }
-    DoubleArray knots = DoublesScheduleGenerator.truncateSetInclusive(discountFactors.relativeYearFraction(start),
-        discountFactors.relativeYearFraction(coupon.getEffectiveEndDate()), integrationSchedule);
+    DoubleArray knots = grid.getSchedule();
     // pv
     double pv = 0d;
     final int nItems = knots.size();
@@ -784,19 +793,19 @@ public class IsdaCdsProductPricer {
     double[] p = new double[nItems];
     double[] q = new double[nItems];
     double t = knots.get(0);
-    double ht0 = survivalProbabilities.zeroRate(t) * t;
-    double rt0 = discountFactors.zeroRate(t) * t;
-    q[0] = Math.exp(-ht0);
-    p[0] = Math.exp(-rt0);
+    double ht0 = grid.htAt(0);
+    double rt0 = grid.rtAt(0);
+    q[0] = grid.survivalProbabilityAt(0);
+    p[0] = grid.discountFactorAt(0);
     double b0 = q[0] * p[0];
     double effStart = discountFactors.relativeYearFraction(coupon.getEffectiveStartDate());
     double t0 = t - effStart + omega;
     for (int i = 1; i < nItems; ++i) {
       t = knots.get(i);
-      double ht1 = survivalProbabilities.zeroRate(t) * t;
-      double rt1 = discountFactors.zeroRate(t) * t;
-      q[i] = Math.exp(-ht1);
-      p[i] = Math.exp(-rt1);
+      double ht1 = grid.htAt(i);
+      double rt1 = grid.rtAt(i);
+      q[i] = grid.survivalProbabilityAt(i);
+      p[i] = grid.discountFactorAt(i);
       double b1 = q[i] * p[i];
       double dt = knots.get(i) - knots.get(i - 1);
       double dht = ht1 - ht0;
@@ -867,6 +876,68 @@ public class IsdaCdsProductPricer {
   }
 
   //-------------------------------------------------------------------------
+  // obtains the integration grid between the dates, the grids are cached as they do not depend on the CDS
+  private IsdaCdsIntegrationGrid integrationGrid(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      LocalDate startDate,
+      LocalDate endDate) {
+
+    return cachedGrid(discountFactors, survivalProbabilities, startDate, endDate, new double[0], new double[0]);
+  }
+
+  // obtains the integration grid of the accrual-on-default, including the sub-grids of the payment periods
+  private IsdaCdsIntegrationGrid accrualOnDefaultGrid(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      LocalDate startDate,
+      LocalDate effectiveStartDate) {
+
+    int nPeriods = cds.getPaymentPeriods().size();
+    double[] periodStarts = new double[nPeriods];
+    double[] periodEnds = new double[nPeriods];
+    for (int i = 0; i < nPeriods; ++i) {
+      CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
+      LocalDate start = coupon.getEffectiveStartDate().isBefore(effectiveStartDate) ?
+          effectiveStartDate :
+          coupon.getEffectiveStartDate();
+      if (start.isBefore(coupon.getEffectiveEndDate())) {
+        periodStarts[i] = discountFactors.relativeYearFraction(start);
+        periodEnds[i] = discountFactors.relativeYearFraction(coupon.getEffectiveEndDate());
+      } else {
+        // this coupon has already expired
+        periodStarts[i] = Double.NaN;
+        periodEnds[i] = Double.NaN;
+      }
+    }
+    return cachedGrid(
+        discountFactors, survivalProbabilities, startDate, cds.getProtectionEndDate(), periodStarts, periodEnds);
+  }
+
+  private IsdaCdsIntegrationGrid cachedGrid(
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      LocalDate startDate,
+      LocalDate endDate,
+      double[] periodStarts,
+      double[] periodEnds) {
+
+    double start = discountFactors.relativeYearFraction(startDate);
+    double end = discountFactors.relativeYearFraction(endDate);
+    DoubleArray key =
+        IsdaCdsIntegrationGrid.key(discountFactors, survivalProbabilities, start, end, periodStarts, periodEnds);
+    if (key == null) {
+      return IsdaCdsIntegrationGrid.of(discountFactors, survivalProbabilities, start, end, periodStarts, periodEnds);
+    }
+    try {
+      return gridCache.get(key, () ->
+          IsdaCdsIntegrationGrid.of(discountFactors, survivalProbabilities, start, end, periodStarts, periodEnds));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
   private boolean isExpired(ResolvedCds cds, CreditRatesProvider ratesProvider) {
     return !cds.getProtectionEndDate().isAfter(ratesProvider.getValuationDate());
   }
@@ -54,7 +54,10 @@ public class IsdaCdsTradePricer {
    * @param formula  the accrual-on-default formula
    */
   public IsdaCdsTradePricer(AccrualOnDefaultFormula formula) {
-    this.productPricer = new IsdaCdsProductPricer(formula);
+    // the default product pricer is shared so that its cached integration grids are reused
+    this.productPricer = IsdaCdsProductPricer.DEFAULT.getAccrualOnDefaultFormula().equals(formula) ?
+        IsdaCdsProductPricer.DEFAULT :
+        new IsdaCdsProductPricer(formula);
     this.upfrontPricer = DiscountingPaymentPricer.DEFAULT;
   }
 
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.IsdaCreditCurveNode;
+import com.opengamma.strata.market.curve.node.CdsIndexIsdaCreditCurveNode;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.CdsTrade;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+
+/**
+ * ISDA compliant credit curve calibrator for a set of legal entities.
+ * <p>
+ * The credit curves of many legal entities are calibrated in parallel, each of them as
+ * in {@link IsdaCompliantCreditCurveCalibrator} or {@link IsdaCompliantIndexCurveCalibrator}.
+ * All of the calibrations are based on the discount curves and recovery rate curves of a common rates provider.
+ * <p>
+ * The calibrations are independent, thus the failure of one calibration does not affect the others.
+ * The failures are returned together with the calibrated curves.
+ * <p>
+ * Standard CDS on different legal entities share the same dates.
+ * The node trades are thus resolved once for each distinct template and valuation date,
+ * then assigned to the legal entities with their coupons.
+ */
+public final class IsdaCompliantCreditCurveBatchCalibrator {
+
+  /**
+   * Default implementation.
+   */
+  private static final IsdaCompliantCreditCurveBatchCalibrator STANDARD =
+      new IsdaCompliantCreditCurveBatchCalibrator(FastCreditCurveCalibrator.standard());
+  /**
+   * The legal entity used in the resolved node trades shared by the legal entities.
+   */
+  private static final StandardId NODE_LEGAL_ENTITY = StandardId.of("OG-Credit", "Node");
+
+  /**
+   * The underlying credit curve calibrator.
+   */
+  private final IsdaCompliantCreditCurveCalibrator creditCurveCalibrator;
+  /**
+   * The index curve calibrator.
+   */
+  private final IsdaCompliantIndexCurveCalibrator indexCurveCalibrator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the standard batch calibrator.
+   * <p>
+   * The curves are calibrated by {@link FastCreditCurveCalibrator#standard()}.
+   *
+   * @return the standard batch calibrator
+   */
+  public static IsdaCompliantCreditCurveBatchCalibrator standard() {
+    return IsdaCompliantCreditCurveBatchCalibrator.STANDARD;
+  }
+
+  /**
+   * Constructor with the underlying credit curve calibrator specified.
+   *
+   * @param creditCurveCalibrator  the credit curve calibrator
+   */
+  public IsdaCompliantCreditCurveBatchCalibrator(IsdaCompliantCreditCurveCalibrator creditCurveCalibrator) {
+    this.creditCurveCalibrator = ArgChecker.notNull(creditCurveCalibrator, "creditCurveCalibrator");
+    this.indexCurveCalibrator = new IsdaCompliantIndexCurveCalibrator(creditCurveCalibrator);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the credit curves to the market data.
+   * <p>
+   * Each curve definition creates the credit curve of a single legal entity.
+   * The curve nodes of a definition must be either single-name CDS on the legal entity, or CDS index.
+   * <p>
+   * The relevant discount curves and recovery rate curves must be stored in {@code ratesProvider}.
+   * The calibrated curves are added to the credit curves of {@code ratesProvider} in the resulting rates provider,
+   * replacing any existing curve for the same legal entity and currency.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the calibration result
+   */
+  public IsdaCompliantCreditCurveBatchResult calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(curveDefinitions, "curveDefinitions");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(refData, "refData");
+    ConcurrentHashMap<CdsTrade, ResolvedCdsTrade> resolvedTrades = new ConcurrentHashMap<>();
+    List<Result<LegalEntitySurvivalProbabilities>> calibrated = IntStream.range(0, curveDefinitions.size())
+        .parallel()
+        .mapToObj(i -> calibrate(curveDefinitions.get(i), marketData, ratesProvider, resolvedTrades, refData))
+        .collect(Guavate.toImmutableList());
+
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        new HashMap<>(ImmutableCreditRatesProvider.meta().creditCurves().get(ratesProvider));
+    Map<Pair<StandardId, Currency>, Failure> failures = new LinkedHashMap<>();
+    for (int i = 0; i < curveDefinitions.size(); ++i) {
+      Result<LegalEntitySurvivalProbabilities> result = calibrated.get(i);
+      if (result.isSuccess()) {
+        LegalEntitySurvivalProbabilities curve = result.getValue();
+        creditCurves.put(Pair.of(curve.getLegalEntityId(), curve.getCurrency()), curve);
+      } else {
+        IsdaCreditCurveDefinition curveDefinition = curveDefinitions.get(i);
+        failures.put(Pair.of(legalEntityId(curveDefinition), curveDefinition.getCurrency()), result.getFailure());
+      }
+    }
+    ImmutableCreditRatesProvider calibratedProvider = ratesProvider.toBuilder().creditCurves(creditCurves).build();
+    return IsdaCompliantCreditCurveBatchResult.of(calibratedProvider, failures);
+  }
+
+  // calibrates a single curve, returning the curve or the failure
+  private Result<LegalEntitySurvivalProbabilities> calibrate(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ConcurrentHashMap<CdsTrade, ResolvedCdsTrade> resolvedTrades,
+      ReferenceData refData) {
+
+    try {
+      ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
+          "ratesProvider and curveDefinition must be based on the same valuation date");
+      if (curveDefinition.getCurveNodes().stream().allMatch(n -> n instanceof CdsIndexIsdaCreditCurveNode)) {
+        return Result.success(indexCurveCalibrator.calibrate(curveDefinition, marketData, ratesProvider, refData));
+      }
+      ImmutableList<CdsIsdaCreditCurveNode> curveNodes = curveDefinition.getCurveNodes().stream()
+          .filter(n -> n instanceof CdsIsdaCreditCurveNode)
+          .map(n -> (CdsIsdaCreditCurveNode) n)
+          .collect(Guavate.toImmutableList());
+      return Result.success(creditCurveCalibrator.calibrate(
+          curveNodes,
+          curveDefinition.getName(),
+          marketData,
+          ratesProvider,
+          curveDefinition.getDayCount(),
+          curveDefinition.getCurrency(),
+          curveDefinition.isComputeJacobian(),
+          curveDefinition.isStoreNodeTrade(),
+          trade -> resolve(trade, resolvedTrades, refData),
+          refData));
+    } catch (RuntimeException ex) {
+      return Result.failure(FailureReason.CALCULATION_FAILED, ex,
+          "Unable to calibrate credit curve '{}': {}", curveDefinition.getName(), ex.getMessage());
+    }
+  }
+
+  // resolves the node trade, sharing the resolved dates among the legal entities and coupons
+  private static ResolvedCdsTrade resolve(
+      CdsTrade trade,
+      ConcurrentHashMap<CdsTrade, ResolvedCdsTrade> resolvedTrades,
+      ReferenceData refData) {
+
+    Cds product = trade.getProduct();
+    CdsTrade key = trade.toBuilder()
+        .product(product.toBuilder().legalEntityId(NODE_LEGAL_ENTITY).fixedRate(0d).build())
+        .build();
+    ResolvedCdsTrade resolved = resolvedTrades.computeIfAbsent(key, k -> k.resolve(refData));
+    double fixedRate = product.getFixedRate();
+    ResolvedCds resolvedProduct = resolved.getProduct().toBuilder()
+        .legalEntityId(product.getLegalEntityId())
+        .paymentPeriods(resolved.getProduct().getPaymentPeriods().stream()
+            .map(p -> p.toBuilder().fixedRate(fixedRate).build())
+            .collect(Guavate.toImmutableList()))
+        .build();
+    return resolved.toBuilder().product(resolvedProduct).build();
+  }
+
+  // the legal entity of the curve definition
+  private static StandardId legalEntityId(IsdaCreditCurveDefinition curveDefinition) {
+    IsdaCreditCurveNode node = curveDefinition.getCurveNodes().get(0);
+    if (node instanceof CdsIndexIsdaCreditCurveNode) {
+      return ((CdsIndexIsdaCreditCurveNode) node).getCdsIndexId();
+    }
+    return ((CdsIsdaCreditCurveNode) node).getLegalEntityId();
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * The result of the calibration of the credit curves of a set of legal entities.
+ * <p>
+ * This contains the rates provider with the calibrated credit curves,
+ * together with the failures of the legal entities whose credit curve could not be calibrated.
+ * <p>
+ * See {@link IsdaCompliantCreditCurveBatchCalibrator}.
+ */
+public final class IsdaCompliantCreditCurveBatchResult {
+
+  /**
+   * The rates provider containing the calibrated credit curves.
+   */
+  private final ImmutableCreditRatesProvider ratesProvider;
+  /**
+   * The failures, keyed by legal entity and currency.
+   */
+  private final ImmutableMap<Pair<StandardId, Currency>, Failure> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the rates provider and the failures.
+   *
+   * @param ratesProvider  the rates provider containing the calibrated credit curves
+   * @param failures  the failures, keyed by legal entity and currency
+   * @return the result
+   */
+  public static IsdaCompliantCreditCurveBatchResult of(
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, Failure> failures) {
+
+    return new IsdaCompliantCreditCurveBatchResult(ratesProvider, failures);
+  }
+
+  // creates an instance
+  private IsdaCompliantCreditCurveBatchResult(
+      ImmutableCreditRatesProvider ratesProvider,
+      Map<Pair<StandardId, Currency>, Failure> failures) {
+
+    this.ratesProvider = ArgChecker.notNull(ratesProvider, "ratesProvider");
+    this.failures = ImmutableMap.copyOf(ArgChecker.notNull(failures, "failures"));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the rates provider.
+   * <p>
+   * The credit curves of the rates provider include all the successfully calibrated curves.
+   *
+   * @return the rates provider
+   */
+  public ImmutableCreditRatesProvider getRatesProvider() {
+    return ratesProvider;
+  }
+
+  /**
+   * Gets the failures, keyed by legal entity and currency.
+   * <p>
+   * The key matches the key of the credit curves in {@link ImmutableCreditRatesProvider}.
+   * This is empty if all the curves have been calibrated.
+   *
+   * @return the failures
+   */
+  public ImmutableMap<Pair<StandardId, Currency>, Failure> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Checks if any calibration failed.
+   *
+   * @return true if there is at least one failure
+   */
+  public boolean hasFailures() {
+    return !failures.isEmpty();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "IsdaCompliantCreditCurveBatchResult[failures=" + failures.keySet() + "]";
+  }
+
+}
@@ -42,6 +42,7 @@ import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.pricer.common.PriceType;
 import com.opengamma.strata.product.credit.CdsCalibrationTrade;
 import com.opengamma.strata.product.credit.CdsQuote;
+import com.opengamma.strata.product.credit.CdsTrade;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 import com.opengamma.strata.product.credit.type.CdsQuoteConvention;
 
@@ -183,6 +184,32 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       boolean storeTrade,
       ReferenceData refData) {
 
+    return calibrate(
+        curveNodes,
+        name,
+        marketData,
+        ratesProvider,
+        definitionDayCount,
+        definitionCurrency,
+        computeJacobian,
+        storeTrade,
+        trade -> trade.resolve(refData),
+        refData);
+  }
+
+  // calibrates the curve, the node trades are resolved by the specified function
+  LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      CurveName name,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      DayCount definitionDayCount,
+      Currency definitionCurrency,
+      boolean computeJacobian,
+      boolean storeTrade,
+      Function<CdsTrade, ResolvedCdsTrade> resolver,
+      ReferenceData refData) {
+
     Iterator<StandardId> legalEntities =
         curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
     StandardId legalEntityId = legalEntities.next();
@@ -212,7 +239,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     Builder<ResolvedCdsTrade> tradesBuilder = ImmutableList.builder();
     for (int i = 0; i < nNodes; i++) {
       CdsCalibrationTrade tradeCalibration = curveNodes.get(i).trade(1d, marketData, refData);
-      ResolvedCdsTrade trade = tradeCalibration.getUnderlyingTrade().resolve(refData);
+      ResolvedCdsTrade trade = resolver.apply(tradeCalibration.getUnderlyingTrade());
       tradesBuilder.add(trade);
       double[] temp = getStandardQuoteForm(
           trade,
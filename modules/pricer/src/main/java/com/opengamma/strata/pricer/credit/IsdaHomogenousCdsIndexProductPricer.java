@@ -50,7 +50,10 @@ public class IsdaHomogenousCdsIndexProductPricer {
    * @param formula  the formula
    */
   public IsdaHomogenousCdsIndexProductPricer(AccrualOnDefaultFormula formula) {
-    this.underlyingPricer = new IsdaCdsProductPricer(formula);
+    // the default single name pricer is shared so that its cached integration grids are reused
+    this.underlyingPricer = IsdaCdsProductPricer.DEFAULT.getAccrualOnDefaultFormula().equals(formula) ?
+        IsdaCdsProductPricer.DEFAULT :
+        new IsdaCdsProductPricer(formula);
   }
 
   //-------------------------------------------------------------------------
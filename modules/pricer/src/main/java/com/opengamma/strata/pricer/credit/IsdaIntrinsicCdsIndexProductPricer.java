@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsIndex;
+
+/**
+ * Pricer for CDS portfolio index based on ISDA standard model, using the credit curves of the constituents.
+ * <p>
+ * The CDS index is priced bottom-up, as the portfolio of the single name CDSs on its constituents.
+ * Each constituent is a single name CDS with the coupons and dates of the index,
+ * with the notional of the index divided by the number of constituents.
+ * This is also called the intrinsic value of the CDS index.
+ * <p>
+ * {@code CreditRatesProvider} must contain the credit curve and the recovery rate of each legal entity
+ * of the CDS index, as well as the discount curve.
+ * All the legal entities of the CDS index are assumed to be non-defaulted.
+ * <p>
+ * The constituents share the coupon schedule of the index. The year fractions and the discount factors
+ * of the coupons are thus computed once for all the constituents, and only the survival probabilities
+ * are computed for each constituent.
+ * The protection leg and the accrual-on-default are computed by {@link IsdaCdsProductPricer}.
+ * <p>
+ * The point sensitivities to the credit curves are expressed for each legal entity,
+ * thus the sensitivities of the index and of each constituent are obtained in one pass.
+ */
+public class IsdaIntrinsicCdsIndexProductPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaIntrinsicCdsIndexProductPricer DEFAULT =
+      new IsdaIntrinsicCdsIndexProductPricer(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+
+  /**
+   * The pricer for single name CDS.
+   */
+  private final IsdaCdsProductPricer underlyingPricer;
+
+  /**
+   * Constructor specifying the formula to use for the accrued on default calculation.
+   *
+   * @param formula  the formula
+   */
+  public IsdaIntrinsicCdsIndexProductPricer(AccrualOnDefaultFormula formula) {
+    // the default single name pricer is shared so that its cached integration grids are reused
+    this.underlyingPricer = IsdaCdsProductPricer.DEFAULT.getAccrualOnDefaultFormula().equals(formula) ?
+        IsdaCdsProductPricer.DEFAULT :
+        new IsdaCdsProductPricer(formula);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the accrual-on-default formula used in this pricer.
+   *
+   * @return the formula
+   */
+  public AccrualOnDefaultFormula getAccrualOnDefaultFormula() {
+    return underlyingPricer.getAccrualOnDefaultFormula();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the values of the constituents of the CDS index product.
+   * <p>
+   * The protection legs, the risky annuities and the present value contributions of all the constituents
+   * are computed in one pass.
+   * <p>
+   * This method can calculate the clean or dirty values, see {@link PriceType}.
+   * If calculating the clean values, the accrued interest is calculated based on the step-in date.
+   *
+   * @param cdsIndex  the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the constituent values
+   */
+  public IntrinsicCdsIndexValues constituentValues(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ImmutableList<StandardId> legalEntityIds = cdsIndex.getLegalEntityIds();
+    int nConstituents = legalEntityIds.size();
+    if (isExpired(cdsIndex, ratesProvider)) {
+      DoubleArray zeros = DoubleArray.filled(nConstituents);
+      return IntrinsicCdsIndexValues.of(cdsIndex.getCurrency(), legalEntityIds, zeros, zeros, zeros);
+    }
+    ResolvedCds cds = cdsIndex.toSingleNameCds();
+    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
+    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+    CreditDiscountFactors discountFactors = discountFactors(cds, ratesProvider);
+    CouponSchedule coupons = new CouponSchedule(cds, discountFactors, stepinDate);
+    double weight = cds.getBuySell().normalize(cds.getNotional()) / nConstituents;
+    double fixedRate = cds.getFixedRate();
+
+    double[] protectionLegs = new double[nConstituents];
+    double[] riskyAnnuities = new double[nConstituents];
+    double[] presentValues = new double[nConstituents];
+    for (int i = 0; i < nConstituents; ++i) {
+      StandardId legalEntityId = legalEntityIds.get(i);
+      LegalEntitySurvivalProbabilities survivalProbabilities =
+          survivalProbabilities(legalEntityId, discountFactors, ratesProvider);
+      double recoveryRate = recoveryRate(legalEntityId, cds, ratesProvider);
+      double protectionFull = underlyingPricer.protectionFull(
+          cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate);
+      protectionLegs[i] = (1d - recoveryRate) * protectionFull;
+      riskyAnnuities[i] = underlyingPricer.riskyAnnuity(
+          coupons.presentValue(survivalProbabilities),
+          cds,
+          discountFactors,
+          survivalProbabilities,
+          referenceDate,
+          stepinDate,
+          effectiveStartDate,
+          priceType);
+      presentValues[i] = weight * (protectionLegs[i] - riskyAnnuities[i] * fixedRate);
+    }
+    return IntrinsicCdsIndexValues.of(
+        cds.getCurrency(),
+        legalEntityIds,
+        DoubleArray.ofUnsafe(protectionLegs),
+        DoubleArray.ofUnsafe(riskyAnnuities),
+        DoubleArray.ofUnsafe(presentValues));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the CDS index product.
+   * <p>
+   * The present value is the sum of the present values of the single name CDSs on the constituents.
+   * <p>
+   * The present value of the product is based on {@code referenceDate}.
+   * This is typically the valuation date, or cash settlement date if the product is associated with a {@code Trade}.
+   * <p>
+   * This method can calculate the clean or dirty present value, see {@link PriceType}.
+   * If calculating the clean value, the accrued interest is calculated based on the step-in date.
+   *
+   * @param cdsIndex  the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    return constituentValues(cdsIndex, ratesProvider, referenceDate, priceType, refData).getPresentValue();
+  }
+
+  /**
+   * Calculates the present value sensitivity of the CDS index product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of present value to the underlying curves.
+   * The sensitivities to the credit curves are expressed for each constituent.
+   *
+   * @param cdsIndex  the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the present value sensitivity
+   */
+  public PointSensitivityBuilder presentValueSensitivity(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    if (isExpired(cdsIndex, ratesProvider)) {
+      return PointSensitivityBuilder.none();
+    }
+    ResolvedCds cds = cdsIndex.toSingleNameCds();
+    LocalDate stepinDate = cds.getStepinDateOffset().adjust(ratesProvider.getValuationDate(), refData);
+    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+    CreditDiscountFactors discountFactors = discountFactors(cds, ratesProvider);
+    List<StandardId> legalEntityIds = cdsIndex.getLegalEntityIds();
+    double weight = cds.getBuySell().normalize(cds.getNotional()) / legalEntityIds.size();
+
+    PointSensitivityBuilder sensi = PointSensitivityBuilder.none();
+    for (StandardId legalEntityId : legalEntityIds) {
+      LegalEntitySurvivalProbabilities survivalProbabilities =
+          survivalProbabilities(legalEntityId, discountFactors, ratesProvider);
+      double recoveryRate = recoveryRate(legalEntityId, cds, ratesProvider);
+      PointSensitivityBuilder protectionLegSensi = underlyingPricer.protectionLegSensitivity(
+          cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate, recoveryRate);
+      PointSensitivityBuilder riskyAnnuitySensi = underlyingPricer.riskyAnnuitySensitivity(
+          cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate);
+      sensi = sensi
+          .combinedWith(protectionLegSensi.multipliedBy(weight))
+          .combinedWith(riskyAnnuitySensi.multipliedBy(-cds.getFixedRate() * weight));
+    }
+    return sensi;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the par spread of the CDS index product.
+   * <p>
+   * The par spread is a coupon rate such that the clean PV of the portfolio of the constituents is 0.
+   * The result is represented in decimal form.
+   * <p>
+   * The difference between this intrinsic par spread and the quoted spread of the index is the index basis.
+   *
+   * @param cdsIndex  the product
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the par spread
+   */
+  public double parSpread(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    ArgChecker.isTrue(cdsIndex.getProtectionEndDate().isAfter(ratesProvider.getValuationDate()), "CDS already expired");
+    IntrinsicCdsIndexValues values =
+        constituentValues(cdsIndex, ratesProvider, referenceDate, PriceType.CLEAN, refData);
+    return values.getProtectionLegs().sum() / values.getRiskyAnnuities().sum();
+  }
+
+  //-------------------------------------------------------------------------
+  private boolean isExpired(ResolvedCdsIndex index, CreditRatesProvider ratesProvider) {
+    return !index.getProtectionEndDate().isAfter(ratesProvider.getValuationDate());
+  }
+
+  private CreditDiscountFactors discountFactors(ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(cds.getCurrency());
+    ArgChecker.isTrue(discountFactors.isIsdaCompliant(),
+        "discount factors must be IsdaCompliantZeroRateDiscountFactors");
+    return discountFactors;
+  }
+
+  private LegalEntitySurvivalProbabilities survivalProbabilities(
+      StandardId legalEntityId,
+      CreditDiscountFactors discountFactors,
+      CreditRatesProvider ratesProvider) {
+
+    LegalEntitySurvivalProbabilities survivalProbabilities =
+        ratesProvider.survivalProbabilities(legalEntityId, discountFactors.getCurrency());
+    CreditDiscountFactors creditCurve = survivalProbabilities.getSurvivalProbabilities();
+    ArgChecker.isTrue(creditCurve.isIsdaCompliant(),
+        "survival probabilities must be IsdaCompliantZeroRateDiscountFactors");
+    ArgChecker.isTrue(discountFactors.getDayCount().equals(creditCurve.getDayCount()),
+        "day count conventions of discounting curve and credit curve must be the same");
+    ArgChecker.isTrue(discountFactors.getValuationDate().equals(creditCurve.getValuationDate()),
+        "valuation dates of discounting curve and credit curve must be the same");
+    return survivalProbabilities;
+  }
+
+  private double recoveryRate(StandardId legalEntityId, ResolvedCds cds, CreditRatesProvider ratesProvider) {
+    RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
+    ArgChecker.isTrue(recoveryRates instanceof ConstantRecoveryRates, "recoveryRates must be ConstantRecoveryRates");
+    return recoveryRates.recoveryRate(cds.getProtectionEndDate());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The coupon schedule shared by the constituents.
+   * <p>
+   * This contains the discounted year fractions of the coupons which are not paid before the step-in date,
+   * and the times at which the survival probabilities are evaluated.
+   */
+  private static final class CouponSchedule {
+    /**
+     * The year fractions multiplied by the discount factors at the payment dates.
+     */
+    private final double[] discountedYearFractions;
+    /**
+     * The times of the effective end dates, relative to the valuation date.
+     */
+    private final double[] effectiveEndTimes;
+
+    private CouponSchedule(ResolvedCds cds, CreditDiscountFactors discountFactors, LocalDate stepinDate) {
+      List<CreditCouponPaymentPeriod> periods = cds.getPaymentPeriods();
+      double[] weights = new double[periods.size()];
+      double[] times = new double[periods.size()];
+      int n = 0;
+      for (CreditCouponPaymentPeriod coupon : periods) {
+        if (stepinDate.isBefore(coupon.getEndDate())) {
+          double p = discountFactors.discountFactor(coupon.getPaymentDate());
+          weights[n] = coupon.getYearFraction() * p;
+          times[n] = discountFactors.relativeYearFraction(coupon.getEffectiveEndDate());
+          ++n;
+        }
+      }
+      this.discountedYearFractions = Arrays.copyOf(weights, n);
+      this.effectiveEndTimes = Arrays.copyOf(times, n);
+    }
+
+    // computes the pv of the coupons per unit notional, without the accrual-on-default
+    private double presentValue(LegalEntitySurvivalProbabilities survivalProbabilities) {
+      CreditDiscountFactors creditCurve = survivalProbabilities.getSurvivalProbabilities();
+      double pv = 0d;
+      for (int i = 0; i < discountedYearFractions.length; ++i) {
+        pv += discountedYearFractions[i] * creditCurve.discountFactor(effectiveEndTimes[i]);
+      }
+      return pv;
+    }
+  }
+
+}
@@ -7,7 +7,7 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
@@ -26,7 +26,6 @@ import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.common.PriceType;
 import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
@@ -53,7 +52,7 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
   /**
    * The root finder.
    */
-  private static final RealSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
+  private static final BrentSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
 
   //-------------------------------------------------------------------------
   /**
@@ -124,7 +123,7 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
         CurveExtrapolators.PRODUCT_LINEAR);
 
     for (int i = 0; i < n; i++) {
-      Function<Double, Double> func = getPriceFunction(
+      DoubleUnaryOperator func = getPriceFunction(
           i,
           calibrationCDSs.get(i),
           premiums.get(i),
@@ -144,7 +143,7 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
     return creditCurve;
   }
 
-  private Function<Double, Double> getPriceFunction(
+  private DoubleUnaryOperator getPriceFunction(
       int index,
       ResolvedCdsTrade cds,
       double flactionalSpread,
@@ -164,9 +163,9 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
         .discountCurves(ImmutableMap.of(currency, discountFactors))
         .recoveryRateCurves(ImmutableMap.of(legalEntityId, recoveryRates))
         .build();
-    Function<Double, Double> func = new Function<Double, Double>() {
+    DoubleUnaryOperator func = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double x) {
+      public double applyAsDouble(double x) {
         NodalCurve tempCreditCurve = creditCurve.withParameter(index, x);
         ImmutableCreditRatesProvider rates = ratesbase.toBuilder()
             .creditCurves(ImmutableMap.of(pair, LegalEntitySurvivalProbabilities.of(
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Pricer for universes of FX forwards and FX swaps in columnar form.
+ * <p>
+ * This function provides the ability to compute the present value, the currency exposure and the PV01
+ * of all the products of an {@link FxUniverse}, and the curve sensitivity of each currency pair.
+ * The discount factors and their zero rate sensitivities are computed once for each currency and
+ * distinct payment date of the universe, then the products are processed in parallel,
+ * each one in a loop over the primitive arrays of the universe.
+ * <p>
+ * The results are the same as those of {@link DiscountingFxSingleProductPricer} and
+ * {@link DiscountingFxSwapProductPricer}, applied to each product of the universe.
+ * A payment before the valuation date has no value, as in {@link DiscountingFxSingleProductPricer}.
+ */
+public class DiscountingFxUniversePricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingFxUniversePricer DEFAULT = new DiscountingFxUniversePricer();
+
+  /**
+   * One basis point, expressed as a {@code double}.
+   */
+  private static final double ONE_BASIS_POINT = 1.0e-4;
+
+  /**
+   * Creates an instance.
+   */
+  public DiscountingFxUniversePricer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value, the currency exposure and the PV01 of each product.
+   * <p>
+   * The PV01 is the sensitivity of the present value to a one basis point shift of the zero rates
+   * of the discount curve, in each currency of the currency pair.
+   * It is the sum of the zero rate point sensitivities of the payments multiplied by one basis point.
+   *
+   * @param universe  the FX universe
+   * @param provider  the rates provider
+   * @return the values
+   */
+  public FxUniverseValues values(FxUniverse universe, RatesProvider provider) {
+    ArgChecker.notNull(universe, "universe");
+    ArgChecker.notNull(provider, "provider");
+    CurrencyDiscounting[] discounting = discounting(universe, provider);
+    int productCount = universe.getProductCount();
+    double[] basePresentValues = new double[productCount];
+    double[] counterPresentValues = new double[productCount];
+    double[] basePv01s = new double[productCount];
+    double[] counterPv01s = new double[productCount];
+    IntStream.range(0, productCount).parallel().forEach(i -> {
+      int pair = universe.getCurrencyPairIndex(i);
+      CurrencyDiscounting base = discounting[universe.getBaseCurrencyIndex(pair)];
+      CurrencyDiscounting counter = discounting[universe.getCounterCurrencyIndex(pair)];
+      double basePv = 0d;
+      double counterPv = 0d;
+      double baseSensitivity = 0d;
+      double counterSensitivity = 0d;
+      for (int leg = universe.getLegOffset(i); leg < universe.getLegOffset(i + 1); leg++) {
+        int baseDate = universe.getBasePaymentDateIndex(leg);
+        int counterDate = universe.getCounterPaymentDateIndex(leg);
+        double baseAmount = universe.getBaseAmount(leg);
+        double counterAmount = universe.getCounterAmount(leg);
+        basePv += baseAmount * base.discountFactors[baseDate];
+        counterPv += counterAmount * counter.discountFactors[counterDate];
+        baseSensitivity += baseAmount * base.zeroRateSensitivities[baseDate];
+        counterSensitivity += counterAmount * counter.zeroRateSensitivities[counterDate];
+      }
+      basePresentValues[i] = basePv;
+      counterPresentValues[i] = counterPv;
+      basePv01s[i] = baseSensitivity * ONE_BASIS_POINT;
+      counterPv01s[i] = counterSensitivity * ONE_BASIS_POINT;
+    });
+    return FxUniverseValues.of(
+        universe,
+        DoubleArray.ofUnsafe(basePresentValues),
+        DoubleArray.ofUnsafe(counterPresentValues),
+        DoubleArray.ofUnsafe(basePv01s),
+        DoubleArray.ofUnsafe(counterPv01s));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value curve sensitivity of the products of each currency pair.
+   * <p>
+   * The amounts paid by the products of a currency pair are first summed by currency and payment date,
+   * so that the sensitivity of each currency pair has one point for each currency and distinct payment date.
+   * The result is in the order of the currency pairs of the universe.
+   *
+   * @param universe  the FX universe
+   * @param provider  the rates provider
+   * @return the point sensitivity of the present value of each currency pair
+   */
+  public ImmutableList<PointSensitivities> presentValueSensitivity(FxUniverse universe, RatesProvider provider) {
+    ArgChecker.notNull(universe, "universe");
+    ArgChecker.notNull(provider, "provider");
+    CurrencyDiscounting[] discounting = discounting(universe, provider);
+    int pairCount = universe.getCurrencyPairs().size();
+    double[][] baseAmounts = new double[pairCount][];
+    double[][] counterAmounts = new double[pairCount][];
+    for (int pair = 0; pair < pairCount; pair++) {
+      baseAmounts[pair] = new double[discounting[universe.getBaseCurrencyIndex(pair)].sensitivities.length];
+      counterAmounts[pair] = new double[discounting[universe.getCounterCurrencyIndex(pair)].sensitivities.length];
+    }
+    for (int i = 0; i < universe.getProductCount(); i++) {
+      int pair = universe.getCurrencyPairIndex(i);
+      for (int leg = universe.getLegOffset(i); leg < universe.getLegOffset(i + 1); leg++) {
+        baseAmounts[pair][universe.getBasePaymentDateIndex(leg)] += universe.getBaseAmount(leg);
+        counterAmounts[pair][universe.getCounterPaymentDateIndex(leg)] += universe.getCounterAmount(leg);
+      }
+    }
+    ImmutableList.Builder<PointSensitivities> result = ImmutableList.builder();
+    for (int pair = 0; pair < pairCount; pair++) {
+      List<PointSensitivity> points = new ArrayList<>();
+      addPoints(points, discounting[universe.getBaseCurrencyIndex(pair)], baseAmounts[pair]);
+      addPoints(points, discounting[universe.getCounterCurrencyIndex(pair)], counterAmounts[pair]);
+      result.add(PointSensitivities.of(points));
+    }
+    return result.build();
+  }
+
+  // adds the sensitivities of the amounts paid at the distinct payment dates of a currency
+  private static void addPoints(List<PointSensitivity> points, CurrencyDiscounting discounting, double[] amounts) {
+    for (int date = 0; date < amounts.length; date++) {
+      ZeroRateSensitivity sensitivity = discounting.sensitivities[date];
+      if (sensitivity != null && amounts[date] != 0d) {
+        points.add(sensitivity.multipliedBy(amounts[date]));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the discount factors and the sensitivities of each currency at its distinct payment dates
+  private static CurrencyDiscounting[] discounting(FxUniverse universe, RatesProvider provider) {
+    LocalDate valuationDate = provider.getValuationDate();
+    return IntStream.range(0, universe.getCurrencies().size())
+        .mapToObj(currency -> new CurrencyDiscounting(
+            provider.discountFactors(universe.getCurrencies().get(currency)),
+            universe.getPaymentDates(currency),
+            valuationDate))
+        .toArray(CurrencyDiscounting[]::new);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The discount factors and the zero rate sensitivities of a currency at its distinct payment dates.
+   * <p>
+   * The values are zero for the payment dates before the valuation date.
+   */
+  private static final class CurrencyDiscounting {
+    /**
+     * The discount factors.
+     */
+    private final double[] discountFactors;
+    /**
+     * The zero rate sensitivities of the discount factors.
+     */
+    private final double[] zeroRateSensitivities;
+    /**
+     * The zero rate point sensitivities of the discount factors, null before the valuation date.
+     */
+    private final ZeroRateSensitivity[] sensitivities;
+
+    // creates an instance
+    private CurrencyDiscounting(DiscountFactors discountFactors, LocalDate[] paymentDates, LocalDate valuationDate) {
+      int dateCount = paymentDates.length;
+      this.discountFactors = new double[dateCount];
+      this.zeroRateSensitivities = new double[dateCount];
+      this.sensitivities = new ZeroRateSensitivity[dateCount];
+      for (int date = 0; date < dateCount; date++) {
+        if (!valuationDate.isAfter(paymentDates[date])) {
+          this.discountFactors[date] = discountFactors.discountFactor(paymentDates[date]);
+          this.sensitivities[date] = discountFactors.zeroRatePointSensitivity(paymentDates[date]);
+          this.zeroRateSensitivities[date] = sensitivities[date].getSensitivity();
+        }
+      }
+    }
+  }
+
+}
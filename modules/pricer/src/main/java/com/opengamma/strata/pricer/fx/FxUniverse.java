@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.ResolvedProduct;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fx.ResolvedFxSwap;
+
+/**
+ * A universe of FX forwards and FX swaps in columnar form, ready for bulk pricing.
+ * <p>
+ * The products of the universe are instances of {@link ResolvedFxSingle} or {@link ResolvedFxSwap}.
+ * Each product is split in legs, one for an FX single and two for an FX swap, each leg exchanging
+ * an amount in the base currency against an amount in the counter currency at its payment date.
+ * The legs of all the products are held in flat arrays, the legs of product {@code i} being between
+ * the offsets {@code i} and {@code i + 1}.
+ * <p>
+ * The products are grouped by currency pair.
+ * The distinct payment dates are collected for each currency, across all the currency pairs,
+ * and the payment dates of the legs are held as indices in the dates of their currency,
+ * so that the discount factors are computed once for each currency and date rather than once for each payment.
+ * <p>
+ * This class is immutable and thread-safe, however the accessors do not validate the product index.
+ * See {@link DiscountingFxUniversePricer} for the pricer.
+ */
+public final class FxUniverse {
+
+  /**
+   * The products.
+   */
+  private final ImmutableList<ResolvedProduct> products;
+  /**
+   * The currency pair of each group.
+   */
+  private final ImmutableList<CurrencyPair> currencyPairs;
+  /**
+   * The group of each product.
+   */
+  private final int[] currencyPairIndices;
+  /**
+   * The currencies.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The index of the base currency of each group in the currencies.
+   */
+  private final int[] baseCurrencyIndices;
+  /**
+   * The index of the counter currency of each group in the currencies.
+   */
+  private final int[] counterCurrencyIndices;
+  /**
+   * The distinct payment dates of each currency, in ascending order.
+   */
+  private final LocalDate[][] paymentDates;
+  /**
+   * The offsets of the legs of each product, of size the number of products plus one.
+   */
+  private final int[] legOffsets;
+  /**
+   * The index of the payment date of the leg in the dates of the base currency.
+   */
+  private final int[] basePaymentDateIndices;
+  /**
+   * The index of the payment date of the leg in the dates of the counter currency.
+   */
+  private final int[] counterPaymentDateIndices;
+  /**
+   * The signed amounts of the leg in the base currency.
+   */
+  private final double[] baseAmounts;
+  /**
+   * The signed amounts of the leg in the counter currency.
+   */
+  private final double[] counterAmounts;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the products.
+   * <p>
+   * Each product must be an instance of {@link ResolvedFxSingle} or {@link ResolvedFxSwap}.
+   *
+   * @param products  the products
+   * @return the universe
+   * @throws IllegalArgumentException if a product is neither an FX single nor an FX swap
+   */
+  public static FxUniverse of(List<? extends ResolvedProduct> products) {
+    ArgChecker.noNulls(products, "products");
+    return new FxUniverse(ImmutableList.copyOf(products));
+  }
+
+  // creates an instance, deriving the columns from the products
+  private FxUniverse(ImmutableList<ResolvedProduct> products) {
+    int productCount = products.size();
+    this.products = products;
+    this.currencyPairIndices = new int[productCount];
+    this.legOffsets = new int[productCount + 1];
+    // first pass, the groups, the offsets and the distinct payment dates of each currency
+    Map<CurrencyPair, Integer> pairIndex = new HashMap<>();
+    ImmutableList.Builder<CurrencyPair> pairs = ImmutableList.builder();
+    Map<Currency, TreeSet<LocalDate>> dates = new HashMap<>();
+    for (int i = 0; i < productCount; i++) {
+      List<ResolvedFxSingle> legs = legs(products.get(i));
+      CurrencyPair pair = legs.get(0).getCurrencyPair();
+      Integer index = pairIndex.get(pair);
+      if (index == null) {
+        index = pairIndex.size();
+        pairIndex.put(pair, index);
+        pairs.add(pair);
+      }
+      currencyPairIndices[i] = index;
+      legOffsets[i + 1] = legOffsets[i] + legs.size();
+      for (ResolvedFxSingle leg : legs) {
+        dates.computeIfAbsent(pair.getBase(), ccy -> new TreeSet<>()).add(leg.getBaseCurrencyPayment().getDate());
+        dates.computeIfAbsent(pair.getCounter(), ccy -> new TreeSet<>()).add(leg.getCounterCurrencyPayment().getDate());
+      }
+    }
+    this.currencyPairs = pairs.build();
+    this.currencies = ImmutableList.copyOf(dates.keySet());
+    Map<Currency, Integer> currencyIndex = new HashMap<>();
+    List<Map<LocalDate, Integer>> dateIndex = new ArrayList<>();
+    this.paymentDates = new LocalDate[currencies.size()][];
+    for (int j = 0; j < currencies.size(); j++) {
+      Currency currency = currencies.get(j);
+      currencyIndex.put(currency, j);
+      paymentDates[j] = dates.get(currency).toArray(new LocalDate[0]);
+      Map<LocalDate, Integer> indices = new HashMap<>();
+      for (int k = 0; k < paymentDates[j].length; k++) {
+        indices.put(paymentDates[j][k], k);
+      }
+      dateIndex.add(indices);
+    }
+    this.baseCurrencyIndices = new int[currencyPairs.size()];
+    this.counterCurrencyIndices = new int[currencyPairs.size()];
+    for (int g = 0; g < currencyPairs.size(); g++) {
+      baseCurrencyIndices[g] = currencyIndex.get(currencyPairs.get(g).getBase());
+      counterCurrencyIndices[g] = currencyIndex.get(currencyPairs.get(g).getCounter());
+    }
+    // second pass, the flat leg columns
+    int legCount = legOffsets[productCount];
+    this.basePaymentDateIndices = new int[legCount];
+    this.counterPaymentDateIndices = new int[legCount];
+    this.baseAmounts = new double[legCount];
+    this.counterAmounts = new double[legCount];
+    for (int i = 0; i < productCount; i++) {
+      Map<LocalDate, Integer> baseDates = dateIndex.get(baseCurrencyIndices[currencyPairIndices[i]]);
+      Map<LocalDate, Integer> counterDates = dateIndex.get(counterCurrencyIndices[currencyPairIndices[i]]);
+      int l = legOffsets[i];
+      for (ResolvedFxSingle leg : legs(products.get(i))) {
+        basePaymentDateIndices[l] = baseDates.get(leg.getBaseCurrencyPayment().getDate());
+        counterPaymentDateIndices[l] = counterDates.get(leg.getCounterCurrencyPayment().getDate());
+        baseAmounts[l] = leg.getBaseCurrencyPayment().getAmount();
+        counterAmounts[l++] = leg.getCounterCurrencyPayment().getAmount();
+      }
+    }
+  }
+
+  // splits the product in legs
+  private static List<ResolvedFxSingle> legs(ResolvedProduct product) {
+    if (product instanceof ResolvedFxSingle) {
+      return ImmutableList.of((ResolvedFxSingle) product);
+    }
+    if (product instanceof ResolvedFxSwap) {
+      ResolvedFxSwap swap = (ResolvedFxSwap) product;
+      return ImmutableList.of(swap.getNearLeg(), swap.getFarLeg());
+    }
+    throw new IllegalArgumentException(
+        "Product must be a ResolvedFxSingle or a ResolvedFxSwap, but was " + product.getClass().getSimpleName());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of products.
+   *
+   * @return the number of products
+   */
+  public int getProductCount() {
+    return products.size();
+  }
+
+  /**
+   * Gets the products.
+   *
+   * @return the products
+   */
+  public ImmutableList<ResolvedProduct> getProducts() {
+    return products;
+  }
+
+  /**
+   * Gets a product.
+   *
+   * @param index  the index of the product
+   * @return the product
+   */
+  public ResolvedProduct getProduct(int index) {
+    return products.get(index);
+  }
+
+  /**
+   * Gets the groups of products sharing the same currency pair.
+   * <p>
+   * Each group is identified by its currency pair.
+   *
+   * @return the currency pair of each group
+   */
+  public ImmutableList<CurrencyPair> getCurrencyPairs() {
+    return currencyPairs;
+  }
+
+  /**
+   * Gets the index of the currency pair group of a product.
+   *
+   * @param index  the index of the product
+   * @return the index of the group in {@link #getCurrencyPairs()}
+   */
+  public int getCurrencyPairIndex(int index) {
+    return currencyPairIndices[index];
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the currencies
+  ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  // gets the index of the base currency of the group
+  int getBaseCurrencyIndex(int group) {
+    return baseCurrencyIndices[group];
+  }
+
+  // gets the index of the counter currency of the group
+  int getCounterCurrencyIndex(int group) {
+    return counterCurrencyIndices[group];
+  }
+
+  // gets the distinct payment dates of the currency
+  LocalDate[] getPaymentDates(int currency) {
+    return paymentDates[currency];
+  }
+
+  // gets the offset of the first leg of the product
+  int getLegOffset(int index) {
+    return legOffsets[index];
+  }
+
+  // gets the index of the payment date of the leg in the dates of the base currency
+  int getBasePaymentDateIndex(int leg) {
+    return basePaymentDateIndices[leg];
+  }
+
+  // gets the index of the payment date of the leg in the dates of the counter currency
+  int getCounterPaymentDateIndex(int leg) {
+    return counterPaymentDateIndices[leg];
+  }
+
+  // gets the signed amount of the leg in the base currency
+  double getBaseAmount(int leg) {
+    return baseAmounts[leg];
+  }
+
+  // gets the signed amount of the leg in the counter currency
+  double getCounterAmount(int leg) {
+    return counterAmounts[leg];
+  }
+
+}
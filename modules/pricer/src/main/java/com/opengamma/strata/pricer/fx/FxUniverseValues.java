@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The values of the products of an FX universe.
+ * <p>
+ * The values are computed by {@link DiscountingFxUniversePricer}.
+ * The present values and the PV01s are held in the base and in the counter currency of the currency pair
+ * of each product, in the order of the products of the universe.
+ * The sums over the products of each currency pair are held in the order of the currency pairs of the universe.
+ * <p>
+ * The currency exposure of an FX forward or an FX swap is its present value in the two currencies,
+ * as in {@link DiscountingFxSingleProductPricer#currencyExposure} and
+ * {@link DiscountingFxSwapProductPricer#currencyExposure}.
+ */
+public final class FxUniverseValues {
+
+  /**
+   * The currency pairs.
+   */
+  private final ImmutableList<CurrencyPair> currencyPairs;
+  /**
+   * The present values of the products in the base currency.
+   */
+  private final DoubleArray basePresentValues;
+  /**
+   * The present values of the products in the counter currency.
+   */
+  private final DoubleArray counterPresentValues;
+  /**
+   * The PV01s of the products in the base currency.
+   */
+  private final DoubleArray basePv01s;
+  /**
+   * The PV01s of the products in the counter currency.
+   */
+  private final DoubleArray counterPv01s;
+  /**
+   * The present values of the currency pairs in the base currency.
+   */
+  private final DoubleArray currencyPairBasePresentValues;
+  /**
+   * The present values of the currency pairs in the counter currency.
+   */
+  private final DoubleArray currencyPairCounterPresentValues;
+  /**
+   * The PV01s of the currency pairs in the base currency.
+   */
+  private final DoubleArray currencyPairBasePv01s;
+  /**
+   * The PV01s of the currency pairs in the counter currency.
+   */
+  private final DoubleArray currencyPairCounterPv01s;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the values of the products.
+   * <p>
+   * The sums over the products of each currency pair are computed from the values of the products.
+   *
+   * @param universe  the universe
+   * @param basePresentValues  the present values in the base currency, one for each product
+   * @param counterPresentValues  the present values in the counter currency, one for each product
+   * @param basePv01s  the PV01s in the base currency, one for each product
+   * @param counterPv01s  the PV01s in the counter currency, one for each product
+   * @return the instance
+   */
+  public static FxUniverseValues of(
+      FxUniverse universe,
+      DoubleArray basePresentValues,
+      DoubleArray counterPresentValues,
+      DoubleArray basePv01s,
+      DoubleArray counterPv01s) {
+
+    ArgChecker.notNull(universe, "universe");
+    checkSize(universe, basePresentValues, "basePresentValues");
+    checkSize(universe, counterPresentValues, "counterPresentValues");
+    checkSize(universe, basePv01s, "basePv01s");
+    checkSize(universe, counterPv01s, "counterPv01s");
+    return new FxUniverseValues(universe, basePresentValues, counterPresentValues, basePv01s, counterPv01s);
+  }
+
+  // checks the size of the values
+  private static void checkSize(FxUniverse universe, DoubleArray values, String name) {
+    ArgChecker.notNull(values, name);
+    ArgChecker.isTrue(values.size() == universe.getProductCount(), "{} must have one value for each product", name);
+  }
+
+  // creates an instance, summing the values of each currency pair
+  private FxUniverseValues(
+      FxUniverse universe,
+      DoubleArray basePresentValues,
+      DoubleArray counterPresentValues,
+      DoubleArray basePv01s,
+      DoubleArray counterPv01s) {
+
+    this.currencyPairs = universe.getCurrencyPairs();
+    this.basePresentValues = basePresentValues;
+    this.counterPresentValues = counterPresentValues;
+    this.basePv01s = basePv01s;
+    this.counterPv01s = counterPv01s;
+    int pairCount = currencyPairs.size();
+    double[] pairBasePresentValues = new double[pairCount];
+    double[] pairCounterPresentValues = new double[pairCount];
+    double[] pairBasePv01s = new double[pairCount];
+    double[] pairCounterPv01s = new double[pairCount];
+    for (int i = 0; i < universe.getProductCount(); i++) {
+      int pair = universe.getCurrencyPairIndex(i);
+      pairBasePresentValues[pair] += basePresentValues.get(i);
+      pairCounterPresentValues[pair] += counterPresentValues.get(i);
+      pairBasePv01s[pair] += basePv01s.get(i);
+      pairCounterPv01s[pair] += counterPv01s.get(i);
+    }
+    this.currencyPairBasePresentValues = DoubleArray.ofUnsafe(pairBasePresentValues);
+    this.currencyPairCounterPresentValues = DoubleArray.ofUnsafe(pairCounterPresentValues);
+    this.currencyPairBasePv01s = DoubleArray.ofUnsafe(pairBasePv01s);
+    this.currencyPairCounterPv01s = DoubleArray.ofUnsafe(pairCounterPv01s);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency pairs.
+   *
+   * @return the currency pairs
+   */
+  public ImmutableList<CurrencyPair> getCurrencyPairs() {
+    return currencyPairs;
+  }
+
+  /**
+   * Gets the present values of the products in the base currency.
+   *
+   * @return the present values
+   */
+  public DoubleArray getBasePresentValues() {
+    return basePresentValues;
+  }
+
+  /**
+   * Gets the present values of the products in the counter currency.
+   *
+   * @return the present values
+   */
+  public DoubleArray getCounterPresentValues() {
+    return counterPresentValues;
+  }
+
+  /**
+   * Gets the PV01s of the products in the base currency.
+   * <p>
+   * This is the sensitivity of the present value to a one basis point shift of the zero rates
+   * of the discount curve of the base currency.
+   *
+   * @return the PV01s
+   */
+  public DoubleArray getBasePv01s() {
+    return basePv01s;
+  }
+
+  /**
+   * Gets the PV01s of the products in the counter currency.
+   * <p>
+   * This is the sensitivity of the present value to a one basis point shift of the zero rates
+   * of the discount curve of the counter currency.
+   *
+   * @return the PV01s
+   */
+  public DoubleArray getCounterPv01s() {
+    return counterPv01s;
+  }
+
+  /**
+   * Gets the present values of the currency pairs in the base currency.
+   *
+   * @return the present values
+   */
+  public DoubleArray getCurrencyPairBasePresentValues() {
+    return currencyPairBasePresentValues;
+  }
+
+  /**
+   * Gets the present values of the currency pairs in the counter currency.
+   *
+   * @return the present values
+   */
+  public DoubleArray getCurrencyPairCounterPresentValues() {
+    return currencyPairCounterPresentValues;
+  }
+
+  /**
+   * Gets the PV01s of the currency pairs in the base currency.
+   *
+   * @return the PV01s
+   */
+  public DoubleArray getCurrencyPairBasePv01s() {
+    return currencyPairBasePv01s;
+  }
+
+  /**
+   * Gets the PV01s of the currency pairs in the counter currency.
+   *
+   * @return the PV01s
+   */
+  public DoubleArray getCurrencyPairCounterPv01s() {
+    return currencyPairCounterPv01s;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the present value of the products of a currency pair.
+   *
+   * @param currencyPair  the currency pair
+   * @return the present value in the two currencies of the pair
+   * @throws IllegalArgumentException if the currency pair is not in the universe
+   */
+  public MultiCurrencyAmount getPresentValue(CurrencyPair currencyPair) {
+    int pair = pairIndex(currencyPair);
+    return amount(currencyPair, currencyPairBasePresentValues.get(pair), currencyPairCounterPresentValues.get(pair));
+  }
+
+  /**
+   * Gets the currency exposure of the products of a currency pair.
+   * <p>
+   * This is equal to the present value.
+   *
+   * @param currencyPair  the currency pair
+   * @return the currency exposure
+   * @throws IllegalArgumentException if the currency pair is not in the universe
+   */
+  public MultiCurrencyAmount getCurrencyExposure(CurrencyPair currencyPair) {
+    return getPresentValue(currencyPair);
+  }
+
+  /**
+   * Gets the PV01 of the products of a currency pair.
+   *
+   * @param currencyPair  the currency pair
+   * @return the PV01 in the two currencies of the pair
+   * @throws IllegalArgumentException if the currency pair is not in the universe
+   */
+  public MultiCurrencyAmount getPv01(CurrencyPair currencyPair) {
+    int pair = pairIndex(currencyPair);
+    return amount(currencyPair, currencyPairBasePv01s.get(pair), currencyPairCounterPv01s.get(pair));
+  }
+
+  /**
+   * Gets the present value of all the products.
+   *
+   * @return the present value
+   */
+  public MultiCurrencyAmount getPresentValue() {
+    return total(currencyPairBasePresentValues, currencyPairCounterPresentValues);
+  }
+
+  /**
+   * Gets the currency exposure of all the products.
+   * <p>
+   * This is equal to the present value.
+   *
+   * @return the currency exposure
+   */
+  public MultiCurrencyAmount getCurrencyExposure() {
+    return getPresentValue();
+  }
+
+  /**
+   * Gets the PV01 of all the products.
+   *
+   * @return the PV01
+   */
+  public MultiCurrencyAmount getPv01() {
+    return total(currencyPairBasePv01s, currencyPairCounterPv01s);
+  }
+
+  // finds the index of the currency pair
+  private int pairIndex(CurrencyPair currencyPair) {
+    int index = currencyPairs.indexOf(currencyPair);
+    ArgChecker.isTrue(index >= 0, "Currency pair {} is not in the universe", currencyPair);
+    return index;
+  }
+
+  // creates an amount in the two currencies of the pair
+  private static MultiCurrencyAmount amount(CurrencyPair currencyPair, double baseAmount, double counterAmount) {
+    return MultiCurrencyAmount.of(
+        CurrencyAmount.of(currencyPair.getBase(), baseAmount),
+        CurrencyAmount.of(currencyPair.getCounter(), counterAmount));
+  }
+
+  // sums the amounts of all the currency pairs
+  private MultiCurrencyAmount total(DoubleArray baseAmounts, DoubleArray counterAmounts) {
+    MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+    for (int pair = 0; pair < currencyPairs.size(); pair++) {
+      total = total.plus(amount(currencyPairs.get(pair), baseAmounts.get(pair), counterAmounts.get(pair)));
+    }
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "FxUniverseValues[currencyPairs=" + currencyPairs + ", presentValue=" + getPresentValue() + "]";
+  }
+
+}
@@ -48,6 +48,9 @@ import com.opengamma.strata.product.common.PutCall;
  * The volatility is represented by a term structure of interpolated smile, 
  * {@link SmileDeltaTermStructure}, which represents expiry dependent smile formed of
  * ATM, risk reversal and strangle as used in FX market.
+ * <p>
+ * With {@link InterpolatedStrikeSmileDeltaTermStructure}, the smiles at expiry are cached by the term structure,
+ * thus shared by all the options on the currency pair priced with the same instance.
  */
 @BeanDefinition
 public final class BlackFxOptionSmileVolatilities
@@ -142,6 +145,14 @@ public final class BlackFxOptionSmileVolatilities
     return smile.volatility(expiryTime, strike, forward);
   }
 
+  @Override
+  public DoubleArray volatility(CurrencyPair currencyPair, double expiryTime, DoubleArray strikes, double forward) {
+    if (currencyPair.isInverse(this.currencyPair)) {
+      return smile.volatility(expiryTime, strikes.map(strike -> 1d / strike), 1d / forward);
+    }
+    return smile.volatility(expiryTime, strikes, forward);
+  }
+
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
     CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
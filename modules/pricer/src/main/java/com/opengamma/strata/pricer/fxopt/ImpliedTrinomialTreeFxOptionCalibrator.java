@@ -5,11 +5,17 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
-import com.opengamma.strata.basics.currency.Currency;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.tuple.DoublesPair;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.volatility.local.ImpliedTrinomialTreeLocalVolatilityCalculator;
@@ -18,6 +24,11 @@ import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
 
 /**
  * Utilities to calibrate implied trinomial tree to Black volatilities of FX options.
+ * <p>
+ * The calibrated trees can be cached, see {@link #ImpliedTrinomialTreeFxOptionCalibrator(int, int)}.
+ * The tree only depends on the time to expiry, the currency pair, today's FX rate, the discount factors
+ * of the two currencies and the Black volatilities. Thus options on the same currency pair with the same expiry
+ * share the same tree as long as these market data are unchanged.
  */
 public class ImpliedTrinomialTreeFxOptionCalibrator {
 
@@ -25,15 +36,47 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
    * Number of time steps.
    */
   private final int nSteps;
+  /**
+   * The maximum number of calibrated trees in the cache, zero if the trees are not cached.
+   * <p>
+   * The least recently used trees are evicted once this size is reached.
+   */
+  private final int cacheSize;
+  /**
+   * The calibrated trees, keyed by the data the trees are calibrated to.
+   */
+  private final Cache<List<Object>, RecombiningTrinomialTreeData> treeCache;
 
   /**
    * Calibrator with the specified number of time steps.
+   * <p>
+   * The calibrated trees are not cached.
    * 
    * @param nSteps  number of time steps
    */
   public ImpliedTrinomialTreeFxOptionCalibrator(int nSteps) {
+    this(nSteps, 0);
+  }
+
+  /**
+   * Calibrator with the specified number of time steps, caching the calibrated trees.
+   * <p>
+   * The calibrated trees are cached by time to expiry, currency pair and market data, up to the specified
+   * number of trees. The market data are compared by value, thus a tree is calibrated only once for
+   * the same market data even if the rates provider or the volatilities are rebuilt.
+   * <p>
+   * The cache holds references to the market data. It is intended for the pricing of many options,
+   * typically a portfolio, with the same market data.
+   * 
+   * @param nSteps  number of time steps
+   * @param cacheSize  the maximum number of trees in the cache, zero if the trees are not cached
+   */
+  public ImpliedTrinomialTreeFxOptionCalibrator(int nSteps, int cacheSize) {
     ArgChecker.isTrue(nSteps > 1, "the number of steps should be greater than 1");
+    ArgChecker.notNegative(cacheSize, "cacheSize");
     this.nSteps = nSteps;
+    this.cacheSize = cacheSize;
+    this.treeCache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
   }
 
   //-------------------------------------------------------------------------
@@ -90,11 +133,31 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     if (timeToExpiry <= 0d) {
       throw new IllegalArgumentException("option expired");
     }
-    Currency ccyBase = currencyPair.getBase();
-    Currency ccyCounter = currencyPair.getCounter();
     double todayFx = ratesProvider.fxRate(currencyPair);
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(currencyPair.getBase());
+    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(currencyPair.getCounter());
+    if (cacheSize == 0) {
+      return calibrate(timeToExpiry, currencyPair, todayFx, baseDiscountFactors, counterDiscountFactors, volatilities);
+    }
+    List<Object> key = ImmutableList.of(
+        timeToExpiry, currencyPair, todayFx, baseDiscountFactors, counterDiscountFactors, volatilities);
+    try {
+      return treeCache.get(key, () ->
+          calibrate(timeToExpiry, currencyPair, todayFx, baseDiscountFactors, counterDiscountFactors, volatilities));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
+  // calibrates the tree to the market data
+  private RecombiningTrinomialTreeData calibrate(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      double todayFx,
+      DiscountFactors baseDiscountFactors,
+      DiscountFactors counterDiscountFactors,
+      BlackFxOptionVolatilities volatilities) {
+
     Function<Double, Double> interestRate = new Function<Double, Double>() {
       @Override
       public Double apply(Double t) {
@@ -5,11 +5,14 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -24,6 +27,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
 import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -62,7 +66,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(NUM_STEPS_DEFAULT);
 
   /**
-   * Number of time steps.
+   * The calibrator of the trinomial tree, defining the number of time steps.
    */
   private final ImpliedTrinomialTreeFxOptionCalibrator calibrator;
 
@@ -79,7 +83,19 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
    * @param nSteps  number of time steps
    */
   public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(int nSteps) {
-    this.calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(nSteps);
+    this(new ImpliedTrinomialTreeFxOptionCalibrator(nSteps));
+  }
+
+  /**
+   * Pricer with the specified calibrator.
+   * <p>
+   * The calibrator may cache the calibrated trees, see
+   * {@link ImpliedTrinomialTreeFxOptionCalibrator#ImpliedTrinomialTreeFxOptionCalibrator(int, int)}.
+   * 
+   * @param calibrator  the calibrator
+   */
+  public ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(ImpliedTrinomialTreeFxOptionCalibrator calibrator) {
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
   }
 
   //-------------------------------------------------------------------------
@@ -196,6 +212,116 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the prices of several FX barrier option products.
+   * <p>
+   * The options must have the same underlying currency pair and expiry, so that they can be priced on the same tree.
+   * They typically differ by strike, barrier or rebate.
+   * See {@linkplain #price(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities) price}
+   * for the definition of the price.
+   * <p>
+   * The trinomial tree is first calibrated to Black volatilities once for all the options,
+   * then the prices are computed together based on the calibrated tree.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the prices of the products, in the order of the options
+   */
+  public DoubleArray price(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ArgChecker.notEmpty(options, "options");
+    RecombiningTrinomialTreeData treeData =
+        calibrator.calibrateTrinomialTree(options.get(0).getUnderlyingOption(), ratesProvider, volatilities);
+    return price(options, ratesProvider, volatilities, treeData);
+  }
+
+  /**
+   * Calculates the prices of several FX barrier option products.
+   * <p>
+   * The options must have the same underlying currency pair and expiry, so that they can be priced on the same tree.
+   * See {@linkplain #price(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities) price}
+   * for the definition of the price.
+   * <p>
+   * This assumes the tree is already calibrated and the tree data is stored as {@code RecombiningTrinomialTreeData}.
+   * The tree data should be consistent with the pricer and other inputs, see {@link #validateData}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param treeData  the trinomial tree data
+   * @return the prices of the products, in the order of the options
+   */
+  public DoubleArray price(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData treeData) {
+
+    List<ValueDerivatives> priceDerivatives = priceDerivatives(options, ratesProvider, volatilities, treeData);
+    return DoubleArray.of(priceDerivatives.size(), i -> priceDerivatives.get(i).getValue());
+  }
+
+  /**
+   * Calculates the present values of several FX barrier option products.
+   * <p>
+   * The options must have the same underlying currency pair and expiry, so that they can be priced on the same tree.
+   * The present values are expressed in the counter currency.
+   * <p>
+   * The trinomial tree is first calibrated to Black volatilities once for all the options,
+   * then the present values are computed together based on the calibrated tree.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ArgChecker.notEmpty(options, "options");
+    RecombiningTrinomialTreeData treeData =
+        calibrator.calibrateTrinomialTree(options.get(0).getUnderlyingOption(), ratesProvider, volatilities);
+    return presentValue(options, ratesProvider, volatilities, treeData);
+  }
+
+  /**
+   * Calculates the present values of several FX barrier option products.
+   * <p>
+   * The options must have the same underlying currency pair and expiry, so that they can be priced on the same tree.
+   * The present values are expressed in the counter currency.
+   * <p>
+   * This assumes the tree is already calibrated and the tree data is stored as {@code RecombiningTrinomialTreeData}.
+   * The tree data should be consistent with the pricer and other inputs, see {@link #validateData}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param treeData  the trinomial tree data
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData treeData) {
+
+    DoubleArray prices = price(options, ratesProvider, volatilities, treeData);
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < options.size(); ++i) {
+      ResolvedFxVanillaOption underlyingOption = options.get(i).getUnderlyingOption();
+      builder.add(CurrencyAmount.of(
+          underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * prices.get(i)));
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the FX barrier option product.
@@ -299,6 +425,9 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     ImmutableRatesProvider immRatesProvider = ratesProvider.toImmutableRatesProvider();
     ImmutableMap<Currency, Curve> baseCurves = immRatesProvider.getDiscountCurves();
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    // the bumped trees are not cached
+    ImpliedTrinomialTreeFxOptionCalibrator bumpCalibrator =
+        new ImpliedTrinomialTreeFxOptionCalibrator(calibrator.getNumberOfSteps());
 
     for (Entry<Currency, Curve> entry : baseCurves.entrySet()) {
       if (currencyPair.contains(entry.getKey())) {
@@ -309,7 +438,9 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
           Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
           mapBumped.put(entry.getKey(), dscBumped);
           ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
-          double pvBumped = presentValue(option, providerDscBumped, volatilities).getAmount();
+          RecombiningTrinomialTreeData treeDataBumped =
+              bumpCalibrator.calibrateTrinomialTree(underlyingOption, providerDscBumped, volatilities);
+          double pvBumped = presentValue(option, providerDscBumped, volatilities, treeDataBumped).getAmount();
           return (pvBumped - pvBase.getAmount()) / shift;
         });
         result = result.combinedWith(curve.createParameterSensitivity(pvBase.getCurrency(), sensitivity));
@@ -377,61 +508,89 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData data) {
 
-    validate(option, ratesProvider, volatilities);
-    validateData(option, ratesProvider, volatilities, data);
+    return priceDerivatives(ImmutableList.of(option), ratesProvider, volatilities, data).get(0);
+  }
+
+  // the options are priced in a single pass over the tree, the knock-in options using in-out parity
+  private List<ValueDerivatives> priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data) {
+
     int nSteps = data.getNumberOfSteps();
-    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     double timeToExpiry = data.getTime(nSteps);
-    ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
-    Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    double rebateAtExpiry = 0d; // used to price knock-in option
-    double rebateAtExpiryDerivative = 0d; // used to price knock-in option
-    double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
-    double[] rebateArray = new double[nSteps + 1];
-    SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
-    if (option.getRebate().isPresent()) {
-      CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
-      double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
-      boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
-      double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
-      if (barrier.getKnockType().isKnockIn()) { // use in-out parity
-        double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
-        double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
-        for (int i = 0; i < nSteps + 1; ++i) {
-          rebateArray[i] = isCounter ?
-              rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
-              rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
-        }
-        if (isCounter) {
-          rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
+    int nOptions = options.size();
+    List<OptionFunction> functions = new ArrayList<>();
+    int[] vanillaIndex = new int[nOptions];
+    double[] rebateAtExpiry = new double[nOptions]; // used to price knock-in option
+    double[] rebateAtExpiryDerivative = new double[nOptions]; // used to price knock-in option
+    for (int k = 0; k < nOptions; ++k) {
+      ResolvedFxSingleBarrierOption option = options.get(k);
+      validate(option, ratesProvider, volatilities);
+      validateData(option, ratesProvider, volatilities, data);
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
+      Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
+      DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+      double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
+      double[] rebateArray = new double[nSteps + 1];
+      SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
+      if (option.getRebate().isPresent()) {
+        CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
+        double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
+        boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
+        double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
+        if (barrier.getKnockType().isKnockIn()) { // use in-out parity
+          double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
+          double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
+          for (int i = 0; i < nSteps + 1; ++i) {
+            rebateArray[i] = isCounter ?
+                rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
+                rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
+          }
+          if (isCounter) {
+            rebateAtExpiry[k] = rebatePerUnit * dfCounterAtExpiry;
+          } else {
+            rebateAtExpiry[k] = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
+            rebateAtExpiryDerivative[k] = rebatePerUnit * dfBaseAtExpiry;
+          }
         } else {
-          rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
-          rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
+          Arrays.fill(rebateArray, rebate);
         }
-      } else {
-        Arrays.fill(rebateArray, rebate);
+      }
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          underlyingOption.getStrike(),
+          timeToExpiry,
+          underlyingOption.getPutCall(),
+          nSteps,
+          barrier.getBarrierType(),
+          barrier.getBarrierLevel(),
+          DoubleArray.ofUnsafe(rebateArray)));
+      vanillaIndex[k] = -1;
+      if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
+        vanillaIndex[k] = functions.size();
+        functions.add(EuropeanVanillaOptionFunction.of(
+            underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps));
       }
     }
-    ConstantContinuousSingleBarrierKnockoutFunction barrierFunction = ConstantContinuousSingleBarrierKnockoutFunction.of(
-        underlyingOption.getStrike(),
-        timeToExpiry,
-        underlyingOption.getPutCall(),
-        nSteps,
-        barrier.getBarrierType(),
-        barrier.getBarrierLevel(),
-        DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
-    if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
-      EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
-          underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    List<ValueDerivatives> treePrices = TREE.optionPriceAdjoint(functions, data);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    int index = 0;
+    for (int k = 0; k < nOptions; ++k) {
+      ValueDerivatives barrierPrice = treePrices.get(index++);
+      if (vanillaIndex[k] < 0) {
+        builder.add(barrierPrice);
+      } else {
+        ValueDerivatives vanillaPrice = treePrices.get(index++);
+        double price = vanillaPrice.getValue() + rebateAtExpiry[k] - barrierPrice.getValue();
+        double delta = vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative[k] - barrierPrice.getDerivative(0);
+        builder.add(ValueDerivatives.of(price, DoubleArray.of(delta)));
+      }
     }
-    return barrierPrice;
+    return builder.build();
   }
 
   //-------------------------------------------------------------------------
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -30,9 +31,13 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
@@ -56,11 +61,20 @@ import com.opengamma.strata.market.param.ParameterizedDataCombiner;
  * <p>
  * The default for the time direction is time squire interpolation with flat extrapolation.
  * The default for the strike direction is linear interpolation with flat extrapolation.
+ * <p>
+ * The smiles at expiry and the strike interpolators bound to the smiles are cached, keyed by expiry
+ * and forward, so that the options of the same expiry share the construction of the smile.
+ * The caches are bounded, the least recently used entries being evicted once the maximum size is reached.
  */
 @BeanDefinition(builderScope = "private")
 public final class InterpolatedStrikeSmileDeltaTermStructure
     implements SmileDeltaTermStructure, ParameterizedData, ImmutableBean, Serializable {
 
+  /**
+   * The maximum number of entries in each cache of smiles.
+   */
+  private static final int SMILE_CACHE_SIZE = 1_000;
+
   /**
    * The smile description at the different time to expiry. All item should have the same deltas.
    */
@@ -112,6 +126,14 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
    * The parameter combiner.
    */
   private final transient ParameterizedDataCombiner paramCombiner;  // not a property
+  /**
+   * The cache of the smiles, keyed by expiry.
+   */
+  private final transient Cache<Double, SmileDeltaParameters> smileCache;  // not a property
+  /**
+   * The cache of the strike smiles, keyed by expiry and forward.
+   */
+  private final transient Cache<DoubleArray, StrikeSmile> strikeSmileCache;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -542,6 +564,8 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
     this.strikeExtrapolatorRight = strikeExtrapolatorRight;
     this.expiries = expiries;
     this.paramCombiner = ParameterizedDataCombiner.of(volatilityTerm);
+    this.smileCache = CacheBuilder.newBuilder().maximumSize(SMILE_CACHE_SIZE).build();
+    this.strikeSmileCache = CacheBuilder.newBuilder().maximumSize(SMILE_CACHE_SIZE).build();
   }
 
   private Object readResolve() {
@@ -610,20 +634,30 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
   @Override
   public double volatility(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
-    return bound.interpolate(strike);
+    return strikeSmile(time, forward).interpolator.interpolate(strike);
+  }
+
+  /**
+   * Calculates the volatilities at a given time/forward for several strikes from the term structure.
+   * <p>
+   * The smile at the time is constructed once for all the strikes.
+   * 
+   * @param time  the time to expiry
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @return the volatilities, in the order of the strikes
+   */
+  @Override
+  public DoubleArray volatility(double time, DoubleArray strikes, double forward) {
+    ArgChecker.isTrue(time >= 0, "Positive time");
+    BoundCurveInterpolator bound = strikeSmile(time, forward).interpolator;
+    return strikes.map(bound::interpolate);
   }
 
   @Override
   public VolatilityAndBucketedSensitivities volatilityAndSensitivities(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+    BoundCurveInterpolator bound = strikeSmile(time, forward).interpolator;
     double volatility = bound.interpolate(strike);
     DoubleArray smileVolatilityBar = bound.parameterSensitivity(strike);
     SmileAndBucketedSensitivities smileAndSensitivities = smileAndSensitivitiesForExpiry(time, smileVolatilityBar);
@@ -633,6 +667,36 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
   //-------------------------------------------------------------------------
   @Override
   public SmileDeltaParameters smileForExpiry(double expiry) {
+    try {
+      return smileCache.get(expiry, () -> computeSmileForExpiry(expiry));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
+  @Override
+  public DoubleArray smileStrikesForExpiry(double expiry, double forward) {
+    return strikeSmile(expiry, forward).strikes;
+  }
+
+  // obtains the strikes of the smile and the strike interpolator bound to the smile, cached
+  private StrikeSmile strikeSmile(double expiry, double forward) {
+    DoubleArray key = DoubleArray.of(expiry, forward);
+    try {
+      return strikeSmileCache.get(key, () -> {
+        SmileDeltaParameters smile = smileForExpiry(expiry);
+        DoubleArray strikes = smile.strike(forward);
+        BoundCurveInterpolator bound = strikeInterpolator.bind(
+            strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+        return new StrikeSmile(strikes, bound);
+      });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw Unchecked.propagate(e.getCause());
+    }
+  }
+
+  // computes the smile at the expiry by interpolation in the time dimension
+  private SmileDeltaParameters computeSmileForExpiry(double expiry) {
     int nbVol = getStrikeCount();
     int nbTime = getSmileCount();
     ArgChecker.isTrue(nbTime > 1, "Need more than one time value to perform interpolation");
@@ -679,6 +743,27 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
     return SmileAndBucketedSensitivities.of(smile, DoubleMatrix.ofUnsafe(volatilitySensitivity));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The strikes of a smile and the strike interpolator bound to the smile.
+   */
+  private static final class StrikeSmile {
+
+    /**
+     * The strikes of the smile.
+     */
+    private final DoubleArray strikes;
+    /**
+     * The strike interpolator bound to the smile.
+     */
+    private final BoundCurveInterpolator interpolator;
+
+    StrikeSmile(DoubleArray strikes, BoundCurveInterpolator interpolator) {
+      this.strikes = strikes;
+      this.interpolator = interpolator;
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -100,6 +100,21 @@ public interface SmileDeltaTermStructure
    */
   public abstract double volatility(double expiry, double strike, double forward);
 
+  /**
+   * Calculates the volatilities at a given time/forward for several strikes from the term structure.
+   * <p>
+   * By default, this calls {@link #volatility(double, double, double)} for each strike.
+   * Implementations may override this to construct the smile at the time once for all the strikes.
+   * 
+   * @param expiry  the time to expiry
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @return the volatilities, in the order of the strikes
+   */
+  public default DoubleArray volatility(double expiry, DoubleArray strikes, double forward) {
+    return strikes.map(strike -> volatility(expiry, strike, forward));
+  }
+
   /**
    * Calculates the volatility and the volatility sensitivity with respect to the volatility data points.
    * 
@@ -121,6 +136,19 @@ public interface SmileDeltaTermStructure
    */
   public abstract SmileDeltaParameters smileForExpiry(double expiry);
 
+  /**
+   * Calculates the strikes of the smile at a given time.
+   * <p>
+   * The delta values of the smile at the time are converted to strikes using the Black formula.
+   * 
+   * @param expiry  the time to expiry
+   * @param forward  the forward
+   * @return the strikes, in the order of the smile volatilities
+   */
+  public default DoubleArray smileStrikesForExpiry(double expiry, double forward) {
+    return smileForExpiry(expiry).strike(forward);
+  }
+
   /**
    * Calculates the smile at a given time and the sensitivities with respect to the volatility data points.
    * 
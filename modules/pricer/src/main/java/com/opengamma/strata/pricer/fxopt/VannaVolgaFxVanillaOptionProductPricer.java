@@ -5,12 +5,16 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.fx.DiscountingFxSingleProductPricer;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
@@ -80,18 +84,10 @@ public class VannaVolgaFxVanillaOptionProductPricer {
     double forwardRate = forward.fxRate(currencyPair);
     double strikeRate = option.getStrike();
     boolean isCall = option.getPutCall().isCall();
-    SmileDeltaParameters smileAtTime = volatilities.getSmile().smileForExpiry(timeToExpiry);
-    double[] strikes = smileAtTime.strike(forwardRate).toArray();
-    double[] vols = smileAtTime.getVolatility().toArray();
-    double volAtm = vols[1];
-    double[] x = vannaVolgaWeights(forwardRate, strikeRate, timeToExpiry, volAtm, strikes);
-    double priceFwd = BlackFormulaRepository.price(forwardRate, strikeRate, timeToExpiry, volAtm, isCall);
-    for (int i = 0; i < 3; i += 2) {
-      double priceFwdAtm = BlackFormulaRepository.price(forwardRate, strikes[i], timeToExpiry, volAtm, isCall);
-      double priceFwdSmile = BlackFormulaRepository.price(forwardRate, strikes[i], timeToExpiry, vols[i], isCall);
-      priceFwd += x[i] * (priceFwdSmile - priceFwdAtm);
-    }
-    return df * priceFwd;
+    SmileDeltaTermStructure smile = volatilities.getSmile();
+    double[] strikes = smile.smileStrikesForExpiry(timeToExpiry, forwardRate).toArray();
+    double[] vols = smile.smileForExpiry(timeToExpiry).getVolatility().toArray();
+    return df * forwardPrice(forwardRate, strikeRate, timeToExpiry, isCall, strikes, vols);
   }
 
   /**
@@ -114,6 +110,79 @@ public class VannaVolgaFxVanillaOptionProductPricer {
     return CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * price);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the prices of several foreign exchange vanilla option products.
+   * <p>
+   * The options must have the same expiry and the same underlying currency pair and payment date,
+   * so that the smile at expiry, the forward rate and the discount factor are computed once for all the options.
+   * This is typically used to price many strikes for one expiry.
+   * See {@linkplain #price(ResolvedFxVanillaOption, RatesProvider, BlackFxOptionSmileVolatilities) price}
+   * for the definition of the price.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the prices of the products, in the order of the options
+   */
+  public DoubleArray price(
+      List<ResolvedFxVanillaOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionSmileVolatilities volatilities) {
+
+    ArgChecker.notEmpty(options, "options");
+    validate(ratesProvider, volatilities);
+    ResolvedFxVanillaOption first = options.get(0);
+    ResolvedFxSingle underlyingFx = first.getUnderlying();
+    CurrencyPair currencyPair = underlyingFx.getCurrencyPair();
+    for (ResolvedFxVanillaOption option : options) {
+      ArgChecker.isTrue(option.getExpiry().equals(first.getExpiry()), "options must have the same expiry");
+      ArgChecker.isTrue(option.getUnderlying().getCurrencyPair().equals(currencyPair) &&
+          option.getUnderlying().getPaymentDate().equals(underlyingFx.getPaymentDate()),
+          "options must have the same underlying currency pair and payment date");
+    }
+    double timeToExpiry = volatilities.relativeTime(first.getExpiry());
+    if (timeToExpiry <= 0d) {
+      return DoubleArray.filled(options.size());
+    }
+    double df = ratesProvider.discountFactor(first.getCounterCurrency(), underlyingFx.getPaymentDate());
+    double forwardRate = fxPricer.forwardFxRate(underlyingFx, ratesProvider).fxRate(currencyPair);
+    SmileDeltaTermStructure smile = volatilities.getSmile();
+    double[] strikes = smile.smileStrikesForExpiry(timeToExpiry, forwardRate).toArray();
+    double[] vols = smile.smileForExpiry(timeToExpiry).getVolatility().toArray();
+    return DoubleArray.of(options.size(), i -> {
+      ResolvedFxVanillaOption option = options.get(i);
+      boolean isCall = option.getPutCall().isCall();
+      return df * forwardPrice(forwardRate, option.getStrike(), timeToExpiry, isCall, strikes, vols);
+    });
+  }
+
+  /**
+   * Calculates the present values of several foreign exchange vanilla option products.
+   * <p>
+   * The options must have the same expiry and the same underlying currency pair and payment date.
+   * The present values are expressed in the counter currency.
+   * See {@link #price(List, RatesProvider, BlackFxOptionSmileVolatilities)}.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxVanillaOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionSmileVolatilities volatilities) {
+
+    DoubleArray prices = price(options, ratesProvider, volatilities);
+    ImmutableList.Builder<CurrencyAmount> builder = ImmutableList.builder();
+    for (int i = 0; i < options.size(); i++) {
+      ResolvedFxVanillaOption option = options.get(i);
+      builder.add(CurrencyAmount.of(option.getCounterCurrency(), signedNotional(option) * prices.get(i)));
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the present value sensitivity of the foreign exchange vanilla option product.
@@ -146,9 +215,9 @@ public class VannaVolgaFxVanillaOptionProductPricer {
     double forwardRate = forward.fxRate(currencyPair);
     double strikeRate = option.getStrike();
     boolean isCall = option.getPutCall().isCall();
-    SmileDeltaParameters smileAtTime = volatilities.getSmile().smileForExpiry(timeToExpiry);
-    double[] strikes = smileAtTime.strike(forwardRate).toArray();
-    double[] vols = smileAtTime.getVolatility().toArray();
+    SmileDeltaTermStructure smile = volatilities.getSmile();
+    double[] strikes = smile.smileStrikesForExpiry(timeToExpiry, forwardRate).toArray();
+    double[] vols = smile.smileForExpiry(timeToExpiry).getVolatility().toArray();
     double volAtm = vols[1];
     double[] x = vannaVolgaWeights(forwardRate, strikeRate, timeToExpiry, volAtm, strikes);
     double priceFwd = BlackFormulaRepository.price(forwardRate, strikeRate, timeToExpiry, volAtm, isCall);
@@ -197,9 +266,9 @@ public class VannaVolgaFxVanillaOptionProductPricer {
     CurrencyPair currencyPair = underlyingFx.getCurrencyPair();
     double forwardRate = forward.fxRate(currencyPair);
     double strikeRate = option.getStrike();
-    SmileDeltaParameters smileAtTime = volatilities.getSmile().smileForExpiry(timeToExpiry);
-    double[] strikes = smileAtTime.strike(forwardRate).toArray();
-    double[] vols = smileAtTime.getVolatility().toArray();
+    SmileDeltaTermStructure smile = volatilities.getSmile();
+    double[] strikes = smile.smileStrikesForExpiry(timeToExpiry, forwardRate).toArray();
+    double[] vols = smile.smileForExpiry(timeToExpiry).getVolatility().toArray();
     double volAtm = vols[1];
     double[] x = vannaVolgaWeights(forwardRate, strikeRate, timeToExpiry, volAtm, strikes);
     double vegaAtm = BlackFormulaRepository.vega(forwardRate, strikeRate, timeToExpiry, volAtm);
@@ -259,9 +328,9 @@ public class VannaVolgaFxVanillaOptionProductPricer {
         option.getPutCall().isCall() ? underlyingFx : underlyingFx.inverse(), ratesProvider);
     double strikeRate = option.getStrike();
     boolean isCall = option.getPutCall().isCall();
-    SmileDeltaParameters smileAtTime = volatilities.getSmile().smileForExpiry(timeToExpiry);
-    double[] strikes = smileAtTime.strike(forwardRate).toArray();
-    double[] vols = smileAtTime.getVolatility().toArray();
+    SmileDeltaTermStructure smile = volatilities.getSmile();
+    double[] strikes = smile.smileStrikesForExpiry(timeToExpiry, forwardRate).toArray();
+    double[] vols = smile.smileForExpiry(timeToExpiry).getVolatility().toArray();
     double volAtm = vols[1];
     double[] x = vannaVolgaWeights(forwardRate, strikeRate, timeToExpiry, volAtm, strikes);
     double priceFwd = BlackFormulaRepository.price(forwardRate, strikeRate, timeToExpiry, volAtm, isCall);
@@ -289,6 +358,26 @@ public class VannaVolgaFxVanillaOptionProductPricer {
         Math.abs(option.getUnderlying().getBaseCurrencyPayment().getAmount());
   }
 
+  // forward price of the option, adjusted by the vanna-volga weights of the smile
+  private double forwardPrice(
+      double forwardRate,
+      double strikeRate,
+      double timeToExpiry,
+      boolean isCall,
+      double[] strikes,
+      double[] vols) {
+
+    double volAtm = vols[1];
+    double[] x = vannaVolgaWeights(forwardRate, strikeRate, timeToExpiry, volAtm, strikes);
+    double priceFwd = BlackFormulaRepository.price(forwardRate, strikeRate, timeToExpiry, volAtm, isCall);
+    for (int i = 0; i < 3; i += 2) {
+      double priceFwdAtm = BlackFormulaRepository.price(forwardRate, strikes[i], timeToExpiry, volAtm, isCall);
+      double priceFwdSmile = BlackFormulaRepository.price(forwardRate, strikes[i], timeToExpiry, vols[i], isCall);
+      priceFwd += x[i] * (priceFwdSmile - priceFwdAtm);
+    }
+    return priceFwd;
+  }
+
   private double[] vannaVolgaWeights(
       double forward,
       double strike,
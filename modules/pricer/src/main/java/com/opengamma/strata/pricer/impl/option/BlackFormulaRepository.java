@@ -15,8 +15,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
-import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.DoubleProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
 
 /**
  * The primary repository for Black formulas, including the price, common greeks and implied volatility.
@@ -30,7 +30,7 @@ public final class BlackFormulaRepository {
 
   private static final Logger log = LoggerFactory.getLogger(BlackFormulaRepository.class);
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final DoubleProbabilityDistribution NORMAL = StandardNormalDistribution.INSTANCE;
   private static final double LARGE = 1e13;
   private static final double SMALL = 1e-13;
   /** The comparison value used to determine near-zero. */
@@ -39,6 +39,10 @@ public final class BlackFormulaRepository {
   private static final double ATM_LIMIT = 1.0E-3;
   private static final double ROOT_ACCURACY = 1.0E-7;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(ROOT_ACCURACY);
+  /** The initial guess, tolerance and iteration limit of the batch implied volatility. */
+  private static final double BATCH_VOL_GUESS = 0.3;
+  private static final double BATCH_VOL_TOL = 1e-9;
+  private static final int BATCH_MAX_ITERATIONS = 50;
 
   // restricted constructor
   private BlackFormulaRepository() {
@@ -94,8 +98,8 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nF = NORMAL.getCDF(sign * d1);
-    double nS = NORMAL.getCDF(sign * d2);
+    double nF = NORMAL.cdf(sign * d1);
+    double nS = NORMAL.cdf(sign * d2);
     double first = nF == 0d ? 0d : forward * nF;
     double second = nS == 0d ? 0d : strike * nS;
 
@@ -164,8 +168,8 @@ public final class BlackFormulaRepository {
       d1 = d2 + sigmaRootT;
     }
 
-    double nF = NORMAL.getCDF(sign * d1);
-    double nS = NORMAL.getCDF(sign * d2);
+    double nF = NORMAL.cdf(sign * d1);
+    double nS = NORMAL.cdf(sign * d2);
     double first = nF == 0d ? 0d : forward * nF;
     double second = nS == 0d ? 0d : strike * nS;
     double res = sign * (first - second);
@@ -178,7 +182,7 @@ public final class BlackFormulaRepository {
     double forwardBar = nF * firstBar;
     double strikeBar = nS * secondBar;
     double nFBar = forward * firstBar;
-    double d1Bar = sign * NORMAL.getPDF(sign * d1) * nFBar;
+    double d1Bar = sign * NORMAL.pdf(sign * d1) * nFBar;
     // Implementation Note: d2Bar = 0; no need to implement it.
     // Methodology Note: d2Bar is optimal exercise boundary. The derivative at the optimal point is 0.
     double sigmaRootTBar = d1Bar;
@@ -235,8 +239,8 @@ public final class BlackFormulaRepository {
     } else {
       volPeriod = lognormalVol * sqrttheta;
       kappa = Math.log(forward / strike) / volPeriod - 0.5 * volPeriod;
-      d1 = NORMAL.getCDF(omega * (kappa + volPeriod));
-      d2 = NORMAL.getCDF(omega * kappa);
+      d1 = NORMAL.cdf(omega * (kappa + volPeriod));
+      d2 = NORMAL.cdf(omega * kappa);
       p = discountFactor * omega * (forward * d1 - strike * d2);
     }
     // Implementation Note: Backward sweep.
@@ -250,7 +254,7 @@ public final class BlackFormulaRepository {
       strikeBar = (x > 0 ? -discountFactor * omega : 0.0);
     } else {
       d1Bar = discountFactor * omega * forward * pBar;
-      density1 = NORMAL.getPDF(omega * (kappa + volPeriod));
+      density1 = NORMAL.pdf(omega * (kappa + volPeriod));
       // Implementation Note: kappa_bar = 0; no need to implement it.
       // Methodology Note: kappa_bar is optimal exercise boundary. The
       // derivative at the optimal point is 0.
@@ -267,7 +271,7 @@ public final class BlackFormulaRepository {
     }
     // Backward sweep: second derivative
     double d2Bar = -discountFactor * omega * strike;
-    double density2 = NORMAL.getPDF(omega * kappa);
+    double density2 = NORMAL.pdf(omega * kappa);
     double d1Kappa = omega * density1;
     double d1KappaKappa = -(kappa + volPeriod) * d1Kappa;
     double d2Kappa = omega * density2;
@@ -356,7 +360,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    return sign * NORMAL.getCDF(sign * d1);
+    return sign * NORMAL.cdf(sign * d1);
   }
 
   //-------------------------------------------------------------------------
@@ -384,7 +388,7 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
     int sign = isCall ? 1 : -1;
-    double d1 = sign * NORMAL.getInverseCDF(sign * forwardDelta);
+    double d1 = sign * NORMAL.inverseCdf(sign * forwardDelta);
 
     double sigmaSqT = lognormalVol * lognormalVol * timeToExpiry;
     if (Double.isNaN(sigmaSqT)) {
@@ -448,7 +452,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    return -sign * NORMAL.getCDF(sign * d2);
+    return -sign * NORMAL.cdf(sign * d2);
   }
 
   //-------------------------------------------------------------------------
@@ -505,7 +509,7 @@ public final class BlackFormulaRepository {
       d = Math.log(forward / strike) / sigmaRootT;
     }
 
-    return sign * NORMAL.getCDF(sign * d);
+    return sign * NORMAL.cdf(sign * d);
   }
 
   //-------------------------------------------------------------------------
@@ -546,7 +550,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bFwd ? NORMAL.getPDF(0d) : NORMAL.getPDF(0d) / forward / sigmaRootT;
+      return bFwd ? NORMAL.pdf(0d) : NORMAL.pdf(0d) / forward / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -554,7 +558,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NORMAL.pdf(d1);
     return nVal == 0d ? 0d : nVal / forward / sigmaRootT;
   }
 
@@ -592,7 +596,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bStr ? NORMAL.getPDF(0d) : NORMAL.getPDF(0d) / strike / sigmaRootT;
+      return bStr ? NORMAL.pdf(0d) : NORMAL.pdf(0d) / strike / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d2 = -0.5 * sigmaRootT;
@@ -600,7 +604,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NORMAL.pdf(d2);
     return nVal == 0d ? 0d : nVal / strike / sigmaRootT;
   }
 
@@ -642,7 +646,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bFwd ? -NORMAL.getPDF(0d) : -NORMAL.getPDF(0d) / forward / sigmaRootT;
+      return bFwd ? -NORMAL.pdf(0d) : -NORMAL.pdf(0d) / forward / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d2 = -0.5 * sigmaRootT;
@@ -650,7 +654,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NORMAL.pdf(d2);
     return nVal == 0d ? 0d : -nVal / forward / sigmaRootT;
   }
 
@@ -729,8 +733,8 @@ public final class BlackFormulaRepository {
           d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
           d2 = d1 - sigmaRootT;
         }
-        double nF = NORMAL.getCDF(sign * d1);
-        double nS = NORMAL.getCDF(sign * d2);
+        double nF = NORMAL.cdf(sign * d1);
+        double nS = NORMAL.cdf(sign * d2);
         double first = nF == 0d ? 0d : forward * nF;
         double second = ((nS == 0d) | (Math.exp(-interestRate * timeToExpiry) == 0d)) ? 0d : strike *
             Math.exp(-interestRate * timeToExpiry) * nS;
@@ -814,7 +818,7 @@ public final class BlackFormulaRepository {
         } else {
           d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
         }
-        double nS = NORMAL.getCDF(sign * d2);
+        double nS = NORMAL.cdf(sign * d2);
         priceLike = (nS == 0d) ? 0d : -sign * strike * nS;
       }
     }
@@ -860,11 +864,11 @@ public final class BlackFormulaRepository {
       }
       log.info("log(1)/0 ambiguous");
       if (rootT < SMALL) {
-        return forward < SMALL ? -NORMAL.getPDF(0d) * lognormalVol / 2. : (lognormalVol < SMALL ? -forward *
-            NORMAL.getPDF(0d) / 2. : -forward * NORMAL.getPDF(0d) * lognormalVol / 2. / rootT);
+        return forward < SMALL ? -NORMAL.pdf(0d) * lognormalVol / 2. : (lognormalVol < SMALL ? -forward *
+            NORMAL.pdf(0d) / 2. : -forward * NORMAL.pdf(0d) * lognormalVol / 2. / rootT);
       }
       if (lognormalVol < SMALL) {
-        return bFwd ? -NORMAL.getPDF(0d) / 2. / rootT : -forward * NORMAL.getPDF(0d) * lognormalVol / 2. / rootT;
+        return bFwd ? -NORMAL.pdf(0d) / 2. / rootT : -forward * NORMAL.pdf(0d) * lognormalVol / 2. / rootT;
       }
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
@@ -873,7 +877,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NORMAL.pdf(d1);
     return nVal == 0d ? 0d : -forward * nVal * lognormalVol / 2. / rootT;
   }
 
@@ -915,7 +919,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return (rootT < SMALL && forward > LARGE) ? NORMAL.getPDF(0d) : forward * rootT * NORMAL.getPDF(0d);
+      return (rootT < SMALL && forward > LARGE) ? NORMAL.pdf(0d) : forward * rootT * NORMAL.pdf(0d);
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -923,7 +927,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NORMAL.pdf(d1);
     return nVal == 0d ? 0d : forward * rootT * nVal;
   }
 
@@ -969,7 +973,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return lognormalVol < SMALL ? -NORMAL.getPDF(0d) / lognormalVol : NORMAL.getPDF(0d) * rootT;
+      return lognormalVol < SMALL ? -NORMAL.pdf(0d) / lognormalVol : NORMAL.pdf(0d) * rootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -979,7 +983,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NORMAL.pdf(d1);
     return nVal == 0d ? 0d : -nVal * d2 / lognormalVol;
   }
 
@@ -1023,7 +1027,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return lognormalVol < SMALL ? -NORMAL.getPDF(0d) / lognormalVol : -NORMAL.getPDF(0d) * rootT;
+      return lognormalVol < SMALL ? -NORMAL.pdf(0d) / lognormalVol : -NORMAL.pdf(0d) * rootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -1033,7 +1037,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NORMAL.pdf(d2);
     return nVal == 0d ? 0d : nVal * d1 / lognormalVol;
   }
 
@@ -1078,9 +1082,9 @@ public final class BlackFormulaRepository {
       }
       log.info("log(1)/0 ambiguous");
       if (bFwd) {
-        return rootT < SMALL ? NORMAL.getPDF(0d) / lognormalVol : forward * NORMAL.getPDF(0d) * rootT / lognormalVol;
+        return rootT < SMALL ? NORMAL.pdf(0d) / lognormalVol : forward * NORMAL.pdf(0d) * rootT / lognormalVol;
       }
-      return lognormalVol < SMALL ? forward * NORMAL.getPDF(0d) * rootT / lognormalVol : -forward * NORMAL.getPDF(0d) *
+      return lognormalVol < SMALL ? forward * NORMAL.pdf(0d) * rootT / lognormalVol : -forward * NORMAL.pdf(0d) *
           timeToExpiry * lognormalVol / 4.;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
@@ -1091,7 +1095,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NORMAL.pdf(d1);
     double res = nVal == 0d ? 0d : forward * nVal * rootT * d1 * d2 / lognormalVol;
     return res;
   }
@@ -1225,7 +1229,7 @@ public final class BlackFormulaRepository {
         Math.min(forward, strike));
 
     if (forward == strike) {
-      return NORMAL.getInverseCDF(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
+      return NORMAL.inverseCdf(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
     }
 
     boolean isCall = strike >= forward;
@@ -1293,7 +1297,7 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(forward > 0, "Forward negative");
     double omega = (isCall ? 1d : -1d);
     double strike = forward *
-        Math.exp(-volatility * Math.sqrt(time) * omega * NORMAL.getInverseCDF(omega * delta) + volatility * volatility *
+        Math.exp(-volatility * Math.sqrt(time) * omega * NORMAL.inverseCdf(omega * delta) + volatility * volatility *
             time / 2);
     return strike;
   }
@@ -1324,14 +1328,14 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(forward > 0, "Forward negative");
     double omega = (isCall ? 1d : -1d);
     double sqrtt = Math.sqrt(time);
-    double n = NORMAL.getInverseCDF(omega * delta);
+    double n = NORMAL.inverseCdf(omega * delta);
     double part1 = Math.exp(-volatility * sqrtt * omega * n + volatility * volatility * time / 2);
     double strike = forward * part1;
     // Backward sweep
     double strikeBar = 1d;
     double part1Bar = forward * strikeBar;
     double nBar = part1 * -volatility * Math.sqrt(time) * omega * part1Bar;
-    derivatives[0] = omega / NORMAL.getPDF(n) * nBar;
+    derivatives[0] = omega / NORMAL.pdf(n) * nBar;
     derivatives[1] = part1 * strikeBar;
     derivatives[2] = part1 * (-volatility * omega * n * 0.5 / sqrtt + volatility * volatility / 2) * part1Bar;
     derivatives[3] = part1 * (-sqrtt * omega * n + volatility * time) * part1Bar;
@@ -1445,4 +1449,315 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #price(double, double, double, double, boolean)} for each option.
+   * Options in the usual range are evaluated in a single tight loop, with the edge cases handled
+   * by the single option formula.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward prices
+   */
+  public static double[] price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, lognormalVols, isCall.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (isRegular(forward, strike, sigmaRootT)) {
+        int sign = isCall[i] ? 1 : -1;
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        double nF = NORMAL.cdf(sign * d1);
+        double nS = NORMAL.cdf(sign * d2);
+        double first = nF == 0d ? 0d : forward * nF;
+        double second = nS == 0d ? 0d : strike * nS;
+        result[i] = Math.max(0., sign * (first - second));
+      } else {
+        result[i] = price(forward, strike, timesToExpiry[i], lognormalVols[i], isCall[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward driftless deltas of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #delta(double, double, double, double, boolean)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward driftless deltas
+   */
+  public static double[] delta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, lognormalVols, isCall.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (isRegular(forward, strike, sigmaRootT)) {
+        int sign = isCall[i] ? 1 : -1;
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = sign * NORMAL.cdf(sign * d1);
+      } else {
+        result[i] = delta(forward, strike, timesToExpiry[i], lognormalVols[i], isCall[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward driftless gammas of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #gamma(double, double, double, double)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward driftless gammas
+   */
+  public static double[] gamma(double[] forwards, double[] strikes, double[] timesToExpiry, double[] lognormalVols) {
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, lognormalVols, forwards.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double nVal = NORMAL.pdf(d1);
+        result[i] = nVal == 0d ? 0d : nVal / forward / sigmaRootT;
+      } else {
+        result[i] = gamma(forward, strike, timesToExpiry[i], lognormalVols[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward driftless thetas of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #driftlessTheta(double, double, double, double)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the driftless thetas
+   */
+  public static double[] driftlessTheta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, lognormalVols, forwards.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double lognormalVol = lognormalVols[i];
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = lognormalVol * rootT;
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double nVal = NORMAL.pdf(d1);
+        result[i] = nVal == 0d ? 0d : -forward * nVal * lognormalVol / 2. / rootT;
+      } else {
+        result[i] = driftlessTheta(forward, strike, timesToExpiry[i], lognormalVol);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward vegas of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #vega(double, double, double, double)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward vegas
+   */
+  public static double[] vega(double[] forwards, double[] strikes, double[] timesToExpiry, double[] lognormalVols) {
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, lognormalVols, forwards.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = lognormalVols[i] * rootT;
+      if (isRegular(forward, strike, sigmaRootT)) {
+        double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+        double nVal = NORMAL.pdf(d1);
+        result[i] = nVal == 0d ? 0d : forward * rootT * nVal;
+      } else {
+        result[i] = vega(forward, strike, timesToExpiry[i], lognormalVols[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the log-normal implied volatilities of a batch of options.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The options are solved together by a safeguarded Newton-Raphson iteration, sharing the evaluation
+   * of the price and vega, and without boxing. Any option that fails to converge is solved by
+   * {@link #impliedVolatility(double, double, double, double, double)}.
+   * The result agrees with {@link #impliedVolatility(double, double, double, double, boolean)}
+   * to the accuracy of the root finder.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatilities
+   */
+  public static double[] impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall) {
+
+    int size = checkBatchSize(prices, forwards, strikes, timesToExpiry, isCall.length);
+    double[] otmPrices = new double[size];
+    for (int i = 0; i < size; i++) {
+      double price = prices[i];
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      ArgChecker.isTrue(price >= 0d, "negative/NaN price; have {}", price);
+      ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+      ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+      ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+      ArgChecker.isFalse(Double.isInfinite(price), "price is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+      double intrinsicPrice = Math.max(0., (isCall[i] ? 1 : -1) * (forward - strike));
+      double otmPrice = price - intrinsicPrice;
+      ArgChecker.isTrue(otmPrice >= 0d, "negative/NaN otmPrice; have {}", otmPrice);
+      ArgChecker.isTrue(otmPrice == 0d || otmPrice < Math.min(forward, strike),
+          "otmPrice of {} exceeded upper bound of {}", otmPrice, Math.min(forward, strike));
+      otmPrices[i] = otmPrice;
+    }
+
+    double[] vols = new double[size];
+    double[] lower = new double[size];
+    double[] upper = new double[size];
+    int[] active = new int[size];
+    int activeCount = 0;
+    for (int i = 0; i < size; i++) {
+      if (otmPrices[i] == 0d) {
+        vols[i] = 0d;
+      } else if (forwards[i] == strikes[i]) {
+        vols[i] = NORMAL.inverseCdf(0.5 * (otmPrices[i] / forwards[i] + 1)) * 2 / Math.sqrt(timesToExpiry[i]);
+      } else {
+        vols[i] = BATCH_VOL_GUESS;
+        upper[i] = Double.POSITIVE_INFINITY;
+        active[activeCount++] = i;
+      }
+    }
+    // iterate all the unsolved options together, keeping a bracket of the root for each
+    for (int iteration = 0; iteration < BATCH_MAX_ITERATIONS && activeCount > 0; iteration++) {
+      int remaining = 0;
+      for (int j = 0; j < activeCount; j++) {
+        int i = active[j];
+        double forward = forwards[i];
+        double strike = strikes[i];
+        double timeToExpiry = timesToExpiry[i];
+        double sigma = vols[i];
+        double rootT = Math.sqrt(timeToExpiry);
+        double sigmaRootT = sigma * rootT;
+        double otmPrice;
+        double vega;
+        if (isRegular(forward, strike, sigmaRootT)) {
+          // out-the-money option is a call if strike above forward
+          int sign = strike >= forward ? 1 : -1;
+          double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+          double d2 = d1 - sigmaRootT;
+          double nF = NORMAL.cdf(sign * d1);
+          double nS = NORMAL.cdf(sign * d2);
+          double first = nF == 0d ? 0d : forward * nF;
+          double second = nS == 0d ? 0d : strike * nS;
+          double nVal = NORMAL.pdf(d1);
+          otmPrice = Math.max(0., sign * (first - second));
+          vega = nVal == 0d ? 0d : forward * rootT * nVal;
+        } else {
+          otmPrice = price(forward, strike, timeToExpiry, sigma, strike >= forward);
+          vega = vega(forward, strike, timeToExpiry, sigma);
+        }
+        double diff = otmPrice - otmPrices[i];
+        if (diff > 0d) {
+          upper[i] = sigma;
+        } else {
+          lower[i] = sigma;
+        }
+        double next = sigma - diff / vega;
+        if (!(next > lower[i] && next < upper[i])) {
+          next = upper[i] == Double.POSITIVE_INFINITY ? 2d * sigma : 0.5 * (lower[i] + upper[i]);
+        }
+        vols[i] = next;
+        if (Math.abs(next - sigma) > BATCH_VOL_TOL) {
+          active[remaining++] = i;
+        }
+      }
+      activeCount = remaining;
+    }
+    for (int j = 0; j < activeCount; j++) {
+      int i = active[j];
+      vols[i] = impliedVolatility(otmPrices[i], forwards[i], strikes[i], timesToExpiry[i], vols[i]);
+    }
+    return vols;
+  }
+
+  // checks that the batch arrays have the same length
+  private static int checkBatchSize(double[] first, double[] second, double[] third, double[] fourth, int fifthSize) {
+    int size = first.length;
+    ArgChecker.isTrue(
+        second.length == size && third.length == size && fourth.length == size && fifthSize == size,
+        "Batch arrays must have the same length");
+    return size;
+  }
+
+  // checks whether the standard formula applies, true only if the inputs are valid and the option is not an edge case
+  private static boolean isRegular(double forward, double strike, double sigmaRootT) {
+    return forward >= 0d && strike >= 0d && sigmaRootT >= SMALL && sigmaRootT <= LARGE &&
+        Math.abs(forward - strike) >= SMALL && !(forward > LARGE && strike > LARGE);
+  }
+
 }
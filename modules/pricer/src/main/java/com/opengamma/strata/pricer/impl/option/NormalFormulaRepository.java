@@ -13,8 +13,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.rootfinding.BisectionSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
-import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.DoubleProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -25,7 +25,7 @@ public final class NormalFormulaRepository {
   /**
    * The normal distribution implementation.
    */
-  private static final ProbabilityDistribution<Double> DISTRIBUTION = new NormalDistribution(0, 1);
+  private static final DoubleProbabilityDistribution DISTRIBUTION = StandardNormalDistribution.INSTANCE;
   /**
    * The comparison value used to determine near-zero.
    */
@@ -67,8 +67,8 @@ public final class NormalFormulaRepository {
       return (x > 0 ? x : 0d);
     }
     double arg = sign * (forward - strike) / sigmaRootT;
-    double cdf = DISTRIBUTION.getCDF(arg);
-    double pdf = DISTRIBUTION.getPDF(arg);
+    double cdf = DISTRIBUTION.cdf(arg);
+    double pdf = DISTRIBUTION.pdf(arg);
     return sign * (forward - strike) * cdf + sigmaRootT * pdf;
   }
 
@@ -112,8 +112,8 @@ public final class NormalFormulaRepository {
       price = (x > 0 ? numeraire * x : 0d);
     } else {
       arg = sign * (forward - strike) / sigmaRootT;
-      cdf = NormalFormulaRepository.DISTRIBUTION.getCDF(arg);
-      pdf = NormalFormulaRepository.DISTRIBUTION.getPDF(arg);
+      cdf = NormalFormulaRepository.DISTRIBUTION.cdf(arg);
+      pdf = NormalFormulaRepository.DISTRIBUTION.pdf(arg);
       price = numeraire * (sign * (forward - strike) * cdf + sigmaRootT * pdf);
     }
     // Implementation Note: Backward sweep.
@@ -163,7 +163,7 @@ public final class NormalFormulaRepository {
       return x > 0 ? sign : 0d;
     }
     double arg = sign * (forward - strike) / sigmaRootT;
-    double cdf = DISTRIBUTION.getCDF(arg);
+    double cdf = DISTRIBUTION.cdf(arg);
     return sign * cdf;
   }
 
@@ -189,7 +189,7 @@ public final class NormalFormulaRepository {
       return Math.abs(x) > NEAR_ZERO ? 0d : 1d / Math.sqrt(2d * Math.PI) / sigmaRootT;
     }
     double arg = (forward - strike) / sigmaRootT;
-    double pdf = DISTRIBUTION.getPDF(arg);
+    double pdf = DISTRIBUTION.pdf(arg);
     return pdf / sigmaRootT;
   }
 
@@ -216,7 +216,7 @@ public final class NormalFormulaRepository {
       return Math.abs(x) > NEAR_ZERO ? 0d : -0.5 * normalVol / rootT / Math.sqrt(2d * Math.PI);
     }
     double arg = (forward - strike) / sigmaRootT;
-    double pdf = DISTRIBUTION.getPDF(arg);
+    double pdf = DISTRIBUTION.pdf(arg);
     return -0.5 * pdf * normalVol / rootT;
   }
 
@@ -243,7 +243,7 @@ public final class NormalFormulaRepository {
       return Math.abs(x) > NEAR_ZERO ? 0d : rootT / Math.sqrt(2d * Math.PI);
     }
     double arg = (forward - strike) / sigmaRootT;
-    double pdf = DISTRIBUTION.getPDF(arg);
+    double pdf = DISTRIBUTION.pdf(arg);
     return pdf * rootT;
   }
 
@@ -391,4 +391,273 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(normalVol, DoubleArray.of(blackVolatilityBar));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a batch of options in the normally distributed assets hypothesis (Bachelier model).
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #price(double, double, double, double, PutCall)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @return the forward prices
+   */
+  public static double[] price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, normalVols, putCalls.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        int sign = putCalls[i].isCall() ? 1 : -1;
+        double x = sign * (forwards[i] - strikes[i]);
+        double arg = x / sigmaRootT;
+        result[i] = x * DISTRIBUTION.cdf(arg) + sigmaRootT * DISTRIBUTION.pdf(arg);
+      } else {
+        result[i] = price(forwards[i], strikes[i], timesToExpiry[i], normalVols[i], putCalls[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward deltas of a batch of options in the normally distributed assets hypothesis (Bachelier model).
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #delta(double, double, double, double, PutCall)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @return the forward deltas
+   */
+  public static double[] delta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, normalVols, putCalls.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        int sign = putCalls[i].isCall() ? 1 : -1;
+        result[i] = sign * DISTRIBUTION.cdf(sign * (forwards[i] - strikes[i]) / sigmaRootT);
+      } else {
+        result[i] = delta(forwards[i], strikes[i], timesToExpiry[i], normalVols[i], putCalls[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward gammas of a batch of options in the normally distributed assets hypothesis (Bachelier model).
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #gamma(double, double, double, double, PutCall)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @return the forward gammas
+   */
+  public static double[] gamma(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, normalVols, putCalls.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = DISTRIBUTION.pdf((forwards[i] - strikes[i]) / sigmaRootT) / sigmaRootT;
+      } else {
+        result[i] = gamma(forwards[i], strikes[i], timesToExpiry[i], normalVols[i], putCalls[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward thetas of a batch of options in the normally distributed assets hypothesis (Bachelier model).
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #theta(double, double, double, double, PutCall)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @return the forward thetas
+   */
+  public static double[] theta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, normalVols, putCalls.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double normalVol = normalVols[i];
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = normalVol * rootT;
+      if (sigmaRootT >= NEAR_ZERO) {
+        double pdf = DISTRIBUTION.pdf((forwards[i] - strikes[i]) / sigmaRootT);
+        result[i] = -0.5 * pdf * normalVol / rootT;
+      } else {
+        result[i] = theta(forwards[i], strikes[i], timesToExpiry[i], normalVol, putCalls[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the forward vegas of a batch of options in the normally distributed assets hypothesis (Bachelier model).
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The result is identical to calling {@link #vega(double, double, double, double, PutCall)} for each option.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @return the forward vegas
+   */
+  public static double[] vega(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(forwards, strikes, timesToExpiry, normalVols, putCalls.length);
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = normalVols[i] * rootT;
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = DISTRIBUTION.pdf((forwards[i] - strikes[i]) / sigmaRootT) * rootT;
+      } else {
+        result[i] = vega(forwards[i], strikes[i], timesToExpiry[i], normalVols[i], putCalls[i]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the implied volatilities of a batch of options in the normally distributed assets hypothesis.
+   * <p>
+   * The arrays are indexed by option and must all have the same length.
+   * The prices are forward prices, with a numeraire of one.
+   * The options are solved together by a safeguarded Newton-Raphson iteration, starting from the
+   * at-the-money approximation of the time value. Any option that fails to converge is solved by
+   * {@link #impliedVolatility(double, double, double, double, double, double, PutCall)}.
+   * A price equal to the intrinsic value, within the tolerance of the single option method, has zero volatility.
+   * 
+   * @param prices  the forward prices
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param putCalls  whether each option is put or call
+   * @return the implied volatilities
+   */
+  public static double[] impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      PutCall[] putCalls) {
+
+    int size = checkBatchSize(prices, forwards, strikes, timesToExpiry, putCalls.length);
+    double[] vols = new double[size];
+    double[] lower = new double[size];
+    double[] upper = new double[size];
+    int[] active = new int[size];
+    int activeCount = 0;
+    for (int i = 0; i < size; i++) {
+      double price = prices[i];
+      double intrinsicPrice = Math.max(0, (putCalls[i].isCall() ? 1 : -1) * (forwards[i] - strikes[i]));
+      ArgChecker.isTrue(price > intrinsicPrice || DoubleMath.fuzzyEquals(price, intrinsicPrice, 1e-6),
+          "Option price (" + price + ") less than intrinsic value (" + intrinsicPrice + ")");
+      if (price > intrinsicPrice) {
+        vols[i] = (price - intrinsicPrice) * Math.sqrt(2d * Math.PI / timesToExpiry[i]);
+        upper[i] = Double.POSITIVE_INFINITY;
+        active[activeCount++] = i;
+      }
+    }
+    // iterate all the unsolved options together, keeping a bracket of the root for each
+    for (int iteration = 0; iteration < MAX_ITERATIONS && activeCount > 0; iteration++) {
+      int remaining = 0;
+      for (int j = 0; j < activeCount; j++) {
+        int i = active[j];
+        double sigma = vols[i];
+        double rootT = Math.sqrt(timesToExpiry[i]);
+        double sigmaRootT = sigma * rootT;
+        double price;
+        double vega;
+        if (sigmaRootT >= NEAR_ZERO) {
+          int sign = putCalls[i].isCall() ? 1 : -1;
+          double x = sign * (forwards[i] - strikes[i]);
+          double arg = x / sigmaRootT;
+          double pdf = DISTRIBUTION.pdf(arg);
+          price = x * DISTRIBUTION.cdf(arg) + sigmaRootT * pdf;
+          vega = pdf * rootT;
+        } else {
+          price = price(forwards[i], strikes[i], timesToExpiry[i], sigma, putCalls[i]);
+          vega = vega(forwards[i], strikes[i], timesToExpiry[i], sigma, putCalls[i]);
+        }
+        double diff = price - prices[i];
+        if (diff > 0d) {
+          upper[i] = sigma;
+        } else {
+          lower[i] = sigma;
+        }
+        double next = sigma - diff / vega;
+        if (!(next > lower[i] && next < upper[i])) {
+          next = upper[i] == Double.POSITIVE_INFINITY ? 2d * sigma : 0.5 * (lower[i] + upper[i]);
+        }
+        vols[i] = next;
+        if (Math.abs(next - sigma) > EPS * Math.max(1d, sigma)) {
+          active[remaining++] = i;
+        }
+      }
+      activeCount = remaining;
+    }
+    for (int j = 0; j < activeCount; j++) {
+      int i = active[j];
+      vols[i] = impliedVolatility(prices[i], forwards[i], strikes[i], timesToExpiry[i], vols[i], 1d, putCalls[i]);
+    }
+    return vols;
+  }
+
+  // checks that the batch arrays have the same length
+  private static int checkBatchSize(double[] first, double[] second, double[] third, double[] fourth, int fifthSize) {
+    int size = first.length;
+    ArgChecker.isTrue(
+        second.length == size && third.length == size && fourth.length == size && fifthSize == size,
+        "Batch arrays must have the same length");
+    return size;
+  }
+
 }
@@ -290,6 +290,219 @@ public final class SabrExtrapolationRightFunction {
     return ValueDerivatives.of(price, DoubleArray.ofUnsafe(priceDerivativeSabr));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the option prices with numeraire=1 for an array of strikes.
+   * <p>
+   * The prices are stored in the specified array, which must be at least as long as the strikes.
+   * This is equivalent to calling {@link #price(double, PutCall)} for each strike, without allocation.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   */
+  public void price(double[] strikes, PutCall putCall, double[] prices) {
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(prices.length >= nbStrikes, "prices must have a length of at least {}", nbStrikes);
+    for (int i = 0; i < nbStrikes; i++) {
+      prices[i] = price(strikes[i], putCall);
+    }
+  }
+
+  /**
+   * Computes the option prices and their derivatives with respect to the forward for an array of strikes.
+   * <p>
+   * The prices and derivatives are stored in the specified arrays, which must be at least as long as the strikes.
+   * The volatilities and their derivatives are computed once for each strike, in a buffer allocated once per call.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   * @param derivatives  the array used to return the option price derivatives with respect to the forward
+   */
+  public void priceDerivativeForward(double[] strikes, PutCall putCall, double[] prices, double[] derivatives) {
+    priceDerivativeForward(strikes, putCall, prices, derivatives, new double[volatilityDerivativeCount()]);
+  }
+
+  /**
+   * Computes the option prices and their derivatives with respect to the forward for an array of strikes,
+   * using a caller-supplied buffer for the volatility derivatives.
+   * <p>
+   * This is equivalent to {@link #priceDerivativeForward(double[], PutCall, double[], double[])}, without allocation.
+   * The buffer must have a length of at least {@link #volatilityDerivativeCount()}.
+   * Its content on return is unspecified.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   * @param derivatives  the array used to return the option price derivatives with respect to the forward
+   * @param volatilityD  the buffer used for the volatility derivatives
+   */
+  public void priceDerivativeForward(
+      double[] strikes,
+      PutCall putCall,
+      double[] prices,
+      double[] derivatives,
+      double[] volatilityD) {
+
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(prices.length >= nbStrikes, "prices must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(derivatives.length >= nbStrikes, "derivatives must have a length of at least {}", nbStrikes);
+    checkVolatilityBuffer(volatilityD);
+    priceKernel(strikes, putCall, prices, derivatives, null, volatilityD);
+  }
+
+  /**
+   * Computes the option prices and their derivatives with respect to the SABR parameters for an array of strikes.
+   * <p>
+   * The prices are stored in the specified array, which must be at least as long as the strikes.
+   * The derivatives are stored in the specified array by parameter, then by strike.
+   * The derivative with respect to the SABR parameter of index {@code j} (alpha, beta, rho, nu) for the strike
+   * of index {@code i} is stored at index {@code j * strikes.length + i}.
+   * Thus the length of the array should be at least 4 * strikes.length.
+   * <p>
+   * The volatilities and their derivatives are computed once for each strike, in a buffer allocated once per call.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   * @param derivatives  the array used to return the option price derivatives with respect to the SABR parameters
+   */
+  public void priceAdjointSabr(double[] strikes, PutCall putCall, double[] prices, double[] derivatives) {
+    priceAdjointSabr(strikes, putCall, prices, derivatives, new double[volatilityDerivativeCount()]);
+  }
+
+  /**
+   * Computes the option prices and their derivatives with respect to the SABR parameters for an array of strikes,
+   * using a caller-supplied buffer for the volatility derivatives.
+   * <p>
+   * This is equivalent to {@link #priceAdjointSabr(double[], PutCall, double[], double[])}, without allocation.
+   * The buffer must have a length of at least {@link #volatilityDerivativeCount()}.
+   * Its content on return is unspecified.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   * @param derivatives  the array used to return the option price derivatives with respect to the SABR parameters
+   * @param volatilityD  the buffer used for the volatility derivatives
+   */
+  public void priceAdjointSabr(
+      double[] strikes,
+      PutCall putCall,
+      double[] prices,
+      double[] derivatives,
+      double[] volatilityD) {
+
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(prices.length >= nbStrikes, "prices must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(
+        derivatives.length >= 4 * nbStrikes, "derivatives must have a length of at least {}", 4 * nbStrikes);
+    checkVolatilityBuffer(volatilityD);
+    priceKernel(strikes, putCall, prices, null, derivatives, volatilityD);
+  }
+
+  /**
+   * Computes the option prices and their derivatives with respect to the forward and to the SABR parameters
+   * for an array of strikes.
+   * <p>
+   * This combines {@link #priceDerivativeForward(double[], PutCall, double[], double[])} and
+   * {@link #priceAdjointSabr(double[], PutCall, double[], double[])}, the volatility and its derivatives
+   * being computed only once for each strike.
+   * The derivatives with respect to the SABR parameters are stored by parameter, then by strike,
+   * thus the length of that array should be at least 4 * strikes.length.
+   *
+   * @param strikes  the strikes of the options
+   * @param putCall  whether the options are put or call
+   * @param prices  the array used to return the option prices
+   * @param derivativesForward  the array used to return the option price derivatives with respect to the forward
+   * @param derivativesSabr  the array used to return the option price derivatives with respect to the SABR parameters
+   */
+  public void priceAdjoint(
+      double[] strikes,
+      PutCall putCall,
+      double[] prices,
+      double[] derivativesForward,
+      double[] derivativesSabr) {
+
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(prices.length >= nbStrikes, "prices must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(
+        derivativesForward.length >= nbStrikes, "derivativesForward must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(derivativesSabr.length >= 4 * nbStrikes,
+        "derivativesSabr must have a length of at least {}", 4 * nbStrikes);
+    priceKernel(strikes, putCall, prices, derivativesForward, derivativesSabr, new double[volatilityDerivativeCount()]);
+  }
+
+  // computes the prices for an array of strikes, and the derivatives with respect to the forward
+  // and to the SABR parameters when the corresponding array is not null
+  private void priceKernel(
+      double[] strikes,
+      PutCall putCall,
+      double[] prices,
+      double[] derivativesForward,
+      double[] derivativesSabr,
+      double[] volatilityD) {
+
+    int nbStrikes = strikes.length;
+    boolean isCall = putCall.isCall();
+    for (int i = 0; i < nbStrikes; i++) {
+      double strike = strikes[i];
+      if (strike <= cutOffStrike) { // Uses Hagan et al SABR function.
+        double volatility = sabrFunction.volatilityAdjoint(forward, strike, timeToExpiry, sabrData, volatilityD);
+        prices[i] = BlackFormulaRepository.price(forward, strike, timeToExpiry, volatility, isCall);
+        double vega = BlackFormulaRepository.vega(forward, strike, timeToExpiry, volatility);
+        if (derivativesForward != null) {
+          derivativesForward[i] =
+              BlackFormulaRepository.delta(forward, strike, timeToExpiry, volatility, isCall) + vega * volatilityD[0];
+        }
+        if (derivativesSabr != null) {
+          for (int loopparam = 0; loopparam < 4; loopparam++) {
+            derivativesSabr[loopparam * nbStrikes + i] = vega * volatilityD[loopparam + 2];
+          }
+        }
+      } else { // Uses extrapolation for call.
+        double f = extrapolation(strike);
+        double fDb = f / strike;
+        double fDc = fDb / strike;
+        prices[i] = isCall ? f : f - forward + strike; // Put by call/put parity
+        if (derivativesForward != null) {
+          if (parameterDerivativeForward == null) {
+            parameterDerivativeForward = computesParametersDerivativeForward();
+          }
+          derivativesForward[i] = f * parameterDerivativeForward[0] + fDb * parameterDerivativeForward[1] +
+              fDc * parameterDerivativeForward[2] - (isCall ? 0d : 1d);
+        }
+        if (derivativesSabr != null) {
+          if (parameterDerivativeSabr == null) {
+            parameterDerivativeSabr = computesParametersDerivativeSabr();
+          }
+          for (int loopparam = 0; loopparam < 4; loopparam++) {
+            derivativesSabr[loopparam * nbStrikes + i] = f * parameterDerivativeSabr[loopparam][0] +
+                fDb * parameterDerivativeSabr[loopparam][1] + fDc * parameterDerivativeSabr[loopparam][2];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of volatility derivatives, which is the minimal length of the buffers
+   * of the batch methods.
+   * <p>
+   * The derivatives are with respect to the forward, the strike and the SABR parameters.
+   *
+   * @return the number of volatility derivatives
+   */
+  public int volatilityDerivativeCount() {
+    return 2 + sabrData.getNumberOfParameters();
+  }
+
+  // checks the length of the volatility derivative buffer
+  private void checkVolatilityBuffer(double[] volatilityD) {
+    ArgChecker.isTrue(volatilityD.length >= volatilityDerivativeCount(),
+        "volatilityD must have a length of at least {}", volatilityDerivativeCount());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the underlying SABR data.
@@ -7,8 +7,12 @@ package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
 import java.util.OptionalDouble;
+import java.util.function.BiFunction;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -28,6 +32,10 @@ import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
 * Rates that are already fixed are retrieved from the time series of the {@link RatesProvider}.
 * Rates that are in the future and not in the cut-off period are computed as unique forward rate in the full future period.
 * Rates that are in the cut-off period (already fixed or forward) are compounded.
+* <p>
+* The compounded factor of the fixed rates is obtained from cumulative products of the fixings.
+* These are calculated once for each time-series of fixings and cached, weakly referencing the time-series.
+* As such, the cost of the fixed part of a period does not depend on the number of fixings.
 */
 public class ForwardOvernightCompoundedRateComputationFn
     implements RateComputationFn<OvernightCompoundedRateComputation> {
@@ -38,6 +46,12 @@ public class ForwardOvernightCompoundedRateComputationFn
   public static final ForwardOvernightCompoundedRateComputationFn DEFAULT =
       new ForwardOvernightCompoundedRateComputationFn();
 
+  /**
+   * The cumulative products of the fixings, keyed by time-series identity.
+   */
+  private final Cache<LocalDateDoubleTimeSeries, OvernightFixingProducts> fixingProducts =
+      CacheBuilder.newBuilder().weakKeys().build();
+
   /**
    * Creates an instance.
    */
@@ -53,7 +67,7 @@ public class ForwardOvernightCompoundedRateComputationFn
       RatesProvider provider) {
 
     OvernightIndexRates rates = provider.overnightIndexRates(computation.getIndex());
-    ObservationDetails details = new ObservationDetails(computation, rates);
+    ObservationDetails details = new ObservationDetails(computation, rates, this::fixingProducts);
     return details.calculateRate();
   }
 
@@ -65,7 +79,7 @@ public class ForwardOvernightCompoundedRateComputationFn
       RatesProvider provider) {
 
     OvernightIndexRates rates = provider.overnightIndexRates(computation.getIndex());
-    ObservationDetails details = new ObservationDetails(computation, rates);
+    ObservationDetails details = new ObservationDetails(computation, rates, this::fixingProducts);
     return details.calculateRateSensitivity();
   }
 
@@ -82,6 +96,19 @@ public class ForwardOvernightCompoundedRateComputationFn
     return rate;
   }
 
+  // obtains the cumulative products of the fixings, using the cache
+  private OvernightFixingProducts fixingProducts(
+      LocalDateDoubleTimeSeries fixings,
+      OvernightCompoundedRateComputation computation) {
+
+    OvernightFixingProducts products = fixingProducts.getIfPresent(fixings);
+    if (products == null || !products.isCompatible(computation)) {
+      products = OvernightFixingProducts.of(fixings, computation);
+      fixingProducts.put(fixings, products);
+    }
+    return products;
+  }
+
   //-------------------------------------------------------------------------
   // Internal class. Observation details stored in a separate class to clarify the construction.
   private static final class ObservationDetails {
@@ -89,6 +116,8 @@ public class ForwardOvernightCompoundedRateComputationFn
     private final OvernightCompoundedRateComputation computation;
     private final OvernightIndexRates rates;
     private final LocalDateDoubleTimeSeries indexFixingDateSeries;
+    private final BiFunction<LocalDateDoubleTimeSeries, OvernightCompoundedRateComputation,
+        OvernightFixingProducts> fixingProductsFn;
     private final DayCount dayCount;
     private final int cutoffOffset;
     private final LocalDate firstFixing; // The date of the first fixing
@@ -99,9 +128,15 @@ public class ForwardOvernightCompoundedRateComputationFn
     private final double[] accrualFactorCutoff; // Accrual factors for the sub-periods using the cutoff rate.
     private LocalDate nextFixing; // Running variable through the different methods: next fixing date to be analyzed
 
-    private ObservationDetails(OvernightCompoundedRateComputation computation, OvernightIndexRates rates) {
+    private ObservationDetails(
+        OvernightCompoundedRateComputation computation,
+        OvernightIndexRates rates,
+        BiFunction<LocalDateDoubleTimeSeries, OvernightCompoundedRateComputation,
+            OvernightFixingProducts> fixingProductsFn) {
+
       this.computation = computation;
       this.rates = rates;
+      this.fixingProductsFn = fixingProductsFn;
       this.indexFixingDateSeries = rates.getFixings();
       this.dayCount = computation.getIndex().getDayCount();
       // Details of the cutoff period
@@ -127,6 +162,16 @@ public class ForwardOvernightCompoundedRateComputationFn
     private double pastCompositionFactor() {
       double compositionFactor = 1.0d;
       LocalDate currentFixing = firstFixing;
+      // Fixings published before valuation and not in the cutoff period, from the cumulative products
+      LocalDate pastFixingEnd = pastFixingEnd();
+      if (pastFixingEnd.isAfter(firstFixing)) {
+        OptionalDouble pastFactor = fixingProductsFn.apply(indexFixingDateSeries, computation)
+            .compositionFactor(firstFixing, pastFixingEnd);
+        if (pastFactor.isPresent()) { // otherwise a fixing is missing, the loop below throws
+          compositionFactor = pastFactor.getAsDouble();
+          currentFixing = pastFixingEnd;
+        }
+      }
       LocalDate currentPublication = computation.calculatePublicationFromFixing(currentFixing);
       while ((currentFixing.isBefore(lastFixingNonCutoff)) && // fixing in the non-cutoff period
           rates.getValuationDate().isAfter(currentPublication)) { // publication before valuation
@@ -153,6 +198,22 @@ public class ForwardOvernightCompoundedRateComputationFn
       return compositionFactor;
     }
 
+    // The first fixing in the cutoff period or not published strictly before valuation date, or an earlier fixing
+    private LocalDate pastFixingEnd() {
+      HolidayCalendar fixingCalendar = computation.getFixingCalendar();
+      LocalDate valuationDate = rates.getValuationDate();
+      LocalDate end = fixingCalendar.nextOrSame(valuationDate);
+      if (end.isAfter(lastFixingNonCutoff)) {
+        end = lastFixingNonCutoff;
+      }
+      // publication is on or after fixing, walk back over the publication lag
+      while (end.isAfter(firstFixing) &&
+          !valuationDate.isAfter(computation.calculatePublicationFromFixing(fixingCalendar.previous(end)))) {
+        end = fixingCalendar.previous(end);
+      }
+      return end;
+    }
+
     // Composition - publication on valuation date: Check if a fixing is available on current date
     private double valuationCompositionFactor() {
       LocalDate currentFixing = nextFixing;
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
+
+/**
+ * Cumulative compounding products of the fixings of an overnight index.
+ * <p>
+ * Each fixing in the time-series that falls on a business day of the fixing calendar is compounded
+ * using the accrual factor of its underlying overnight deposit. The running product is stored,
+ * such that the compounded factor over any range of fixing dates is the ratio of two stored values.
+ * <p>
+ * The number of missing fixings is also accumulated, so that a range containing a missing
+ * fixing can be detected in constant time. Such ranges are not handled here.
+ */
+final class OvernightFixingProducts {
+
+  /**
+   * The overnight index.
+   */
+  private final OvernightIndex index;
+  /**
+   * The fixing calendar of the index.
+   */
+  private final HolidayCalendar fixingCalendar;
+  /**
+   * The fixing dates, as epoch days.
+   */
+  private final int[] fixingEpochDays;
+  /**
+   * The compounded products, the element at index {@code i} being the product of the fixings before {@code i}.
+   * This has one more element than the fixing dates.
+   */
+  private final double[] products;
+  /**
+   * The number of gaps, the element at index {@code i} being the number of missing fixings before {@code i}.
+   */
+  private final int[] gaps;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the time-series of fixings.
+   * <p>
+   * The index and fixing calendar are taken from the computation.
+   *
+   * @param fixings  the time-series of fixings
+   * @param computation  the computation defining the index and fixing calendar
+   * @return the products
+   */
+  static OvernightFixingProducts of(
+      LocalDateDoubleTimeSeries fixings,
+      OvernightCompoundedRateComputation computation) {
+
+    HolidayCalendar fixingCalendar = computation.getFixingCalendar();
+    DayCount dayCount = computation.getIndex().getDayCount();
+    LocalDate[] fixingDates = fixings.dates().toArray(LocalDate[]::new);
+    double[] rates = fixings.values().toArray();
+    int[] fixingEpochDays = new int[fixingDates.length];
+    double[] products = new double[fixingDates.length + 1];
+    int[] gaps = new int[fixingDates.length];
+    products[0] = 1d;
+    int size = 0;
+    LocalDate previousDate = null;
+    for (int j = 0; j < fixingDates.length; j++) {
+      LocalDate fixingDate = fixingDates[j];
+      if (!fixingCalendar.isBusinessDay(fixingDate)) {
+        continue;
+      }
+      LocalDate effectiveDate = computation.calculateEffectiveFromFixing(fixingDate);
+      LocalDate maturityDate = computation.calculateMaturityFromEffective(effectiveDate);
+      double accrualFactor = dayCount.yearFraction(effectiveDate, maturityDate);
+      fixingEpochDays[size] = Math.toIntExact(fixingDate.toEpochDay());
+      products[size + 1] = products[size] * (1d + accrualFactor * rates[j]);
+      if (size > 0) {
+        boolean contiguous = fixingCalendar.next(previousDate).equals(fixingDate);
+        gaps[size] = gaps[size - 1] + (contiguous ? 0 : 1);
+      }
+      previousDate = fixingDate;
+      size++;
+    }
+    return new OvernightFixingProducts(
+        computation.getIndex(),
+        fixingCalendar,
+        Arrays.copyOf(fixingEpochDays, size),
+        Arrays.copyOf(products, size + 1),
+        Arrays.copyOf(gaps, size));
+  }
+
+  // restricted constructor
+  private OvernightFixingProducts(
+      OvernightIndex index,
+      HolidayCalendar fixingCalendar,
+      int[] fixingEpochDays,
+      double[] products,
+      int[] gaps) {
+
+    this.index = index;
+    this.fixingCalendar = fixingCalendar;
+    this.fixingEpochDays = fixingEpochDays;
+    this.products = products;
+    this.gaps = gaps;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if these products can be used for the specified computation.
+   *
+   * @param computation  the computation
+   * @return true if the index and fixing calendar match
+   */
+  boolean isCompatible(OvernightCompoundedRateComputation computation) {
+    return index.equals(computation.getIndex()) && fixingCalendar.equals(computation.getFixingCalendar());
+  }
+
+  /**
+   * Calculates the compounded factor of the fixings in a range.
+   * <p>
+   * The range starts at the first fixing date and ends at the business day following the last fixing date.
+   * If a fixing is missing in the range, empty is returned.
+   *
+   * @param startInclusive  the first fixing date, a business day of the fixing calendar
+   * @param endExclusive  the date after the last fixing date, a business day of the fixing calendar
+   * @return the compounded factor, empty if a fixing is missing
+   */
+  OptionalDouble compositionFactor(LocalDate startInclusive, LocalDate endExclusive) {
+    if (!startInclusive.isBefore(endExclusive)) {
+      return OptionalDouble.of(1d);
+    }
+    int startIndex = Arrays.binarySearch(fixingEpochDays, Math.toIntExact(startInclusive.toEpochDay()));
+    if (startIndex < 0) {
+      return OptionalDouble.empty();
+    }
+    int endIndex = Arrays.binarySearch(fixingEpochDays, Math.toIntExact(endExclusive.toEpochDay()));
+    endIndex = endIndex < 0 ? -endIndex - 1 : endIndex;
+    int lastIndex = endIndex - 1;
+    if (gaps[lastIndex] != gaps[startIndex] ||
+        !fixingCalendar.next(LocalDate.ofEpochDay(fixingEpochDays[lastIndex])).equals(endExclusive)) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(products[endIndex] / products[startIndex]);
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Volatility integrals of the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The integrals {@code int_0^t sigma(s)^2 exp(2 a s) ds} and {@code int_0^t sigma(s)^2 exp(a s) ds} are
+ * computed once at the volatility times of the parameters. The model quantities at any time are then obtained
+ * from the cumulative values at the start of the volatility period containing the time, without looping over
+ * the periods.
+ * <p>
+ * The quantities are the same as those of {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel},
+ * up to rounding. The integrals are intended to be computed once by a pricer and used for all the times
+ * of the instrument.
+ */
+public final class HullWhiteOneFactorPiecewiseConstantIntegrals {
+
+  /**
+   * The model parameters.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParameters parameters;
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The times separating the constant volatility periods.
+   */
+  private final double[] times;
+  /**
+   * The squares of the volatilities.
+   */
+  private final double[] variances;
+  /**
+   * The integrals of {@code sigma(s)^2 exp(2 a s)} from 0 to the volatility times.
+   */
+  private final double[] integrals2;
+  /**
+   * The integrals of {@code sigma(s)^2 exp(a s)} from 0 to the volatility times.
+   */
+  private final double[] integrals1;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance, computing the integrals from the parameters.
+   *
+   * @param parameters  the model parameters
+   * @return the instance
+   */
+  public static HullWhiteOneFactorPiecewiseConstantIntegrals of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    return new HullWhiteOneFactorPiecewiseConstantIntegrals(parameters);
+  }
+
+  // private constructor
+  private HullWhiteOneFactorPiecewiseConstantIntegrals(HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+    this.parameters = parameters;
+    this.meanReversion = parameters.getMeanReversion();
+    this.times = parameters.getVolatilityTime().toArray();
+    int nPeriods = parameters.getVolatility().size();
+    this.variances = new double[nPeriods];
+    this.integrals2 = new double[nPeriods];
+    this.integrals1 = new double[nPeriods];
+    for (int i = 0; i < nPeriods; i++) {
+      double volatility = parameters.getVolatility().get(i);
+      variances[i] = volatility * volatility;
+      if (i > 0) {
+        integrals2[i] = integrals2[i - 1] + periodIntegral(i - 1, times[i], 2d * meanReversion);
+        integrals1[i] = integrals1[i - 1] + periodIntegral(i - 1, times[i], meanReversion);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the model parameters.
+   *
+   * @return the parameters
+   */
+  public HullWhiteOneFactorPiecewiseConstantParameters getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Calculates the variance of the factor at a time.
+   * <p>
+   * This is {@code int_0^t sigma(s)^2 exp(2 a s) ds}, the variance of the Gaussian factor of the model
+   * up to the time {@code t}.
+   *
+   * @param time  the time, not negative
+   * @return the variance
+   */
+  public double variance(double time) {
+    int index = period(time);
+    return integrals2[index] + periodIntegral(index, time, 2d * meanReversion);
+  }
+
+  /**
+   * Calculates the beta parameter.
+   * <p>
+   * This is the same as {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#beta}, the standard deviation
+   * of the increment of the factor between the two times.
+   *
+   * @param startExpiry  the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @return the re-based bond volatility
+   */
+  public double beta(double startExpiry, double endExpiry) {
+    return Math.sqrt(variance(endExpiry) - variance(startExpiry));
+  }
+
+  /**
+   * Calculates the (zero-coupon) bond volatility divided by a bond numeraire, i.e., alpha, for a given period.
+   * <p>
+   * This is the same as {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#alpha}.
+   *
+   * @param startExpiry  the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity the time to maturity for the bond
+   * @return the re-based bond volatility
+   */
+  public double alpha(double startExpiry, double endExpiry, double numeraireTime, double bondMaturity) {
+    return bondFactor(numeraireTime, bondMaturity) * beta(startExpiry, endExpiry);
+  }
+
+  /**
+   * Calculates the future convexity factor used in future pricing.
+   * <p>
+   * This is the same as {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#futuresConvexityFactor}.
+   *
+   * @param t0  the first expiry time
+   * @param t1  the first reference time
+   * @param t2  the second reference time
+   * @return the factor
+   */
+  public double futuresConvexityFactor(double t0, double t1, double t2) {
+    int index = period(t0);
+    double integral1 = integrals1[index] + periodIntegral(index, t0, meanReversion);
+    double integral2 = integrals2[index] + periodIntegral(index, t0, 2d * meanReversion);
+    double factor1 = Math.exp(-meanReversion * t1) - Math.exp(-meanReversion * t2);
+    return Math.exp(factor1 / (meanReversion * meanReversion) *
+        (integral1 - Math.exp(-meanReversion * t2) * integral2));
+  }
+
+  /**
+   * Calculates the factor of a zero-coupon bond with respect to a bond numeraire.
+   * <p>
+   * This is {@code H(u) = (exp(-a * theta) - exp(-a * u)) / a}, the ratio of zero-coupon bonds being
+   * {@code P(t,u) / P(t,theta) = P(0,u) / P(0,theta) * exp(-H(u) * X(t) - 0.5 * H(u)^2 * V(t))},
+   * with {@code X(t)} the Gaussian factor and {@code V(t)} its variance, see {@link #variance(double)}.
+   *
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity  the time to maturity for the bond
+   * @return the factor
+   */
+  public double bondFactor(double numeraireTime, double bondMaturity) {
+    return (Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity)) / meanReversion;
+  }
+
+  //-------------------------------------------------------------------------
+  // the period containing the time; times[i] <= time < times[i+1]
+  private int period(double time) {
+    int index = Arrays.binarySearch(times, time);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return Math.max(0, Math.min(index, variances.length - 1));
+  }
+
+  // the integral of sigma^2 exp(c s) from the start of the period to the time
+  private double periodIntegral(int period, double time, double c) {
+    return variances[period] * (Math.exp(c * time) - Math.exp(c * times[period])) / c;
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.montecarlo.PathGenerator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Path generator for the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The paths are simulated in the forward measure associated to the zero-coupon bond of maturity {@code theta},
+ * the numeraire time. In that measure, the ratio of zero-coupon bonds is
+ * <pre>
+ *   P(t,u) / P(t,theta) = P(0,u) / P(0,theta) * exp(-H(u) * X(t) - 0.5 * H(u)^2 * V(t))
+ * </pre>
+ * with {@code H(u) = (exp(-a * theta) - exp(-a * u)) / a}, {@code X(t)} a Gaussian martingale with independent
+ * increments and {@code V(t)} its variance. The variance of the increments is given by
+ * {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#beta}, thus the simulation is exact on the time grid.
+ * <p>
+ * A path stores the values of {@code X} at the simulation times. The payoffs are expressed in units of the numeraire,
+ * so that the price is {@code P(0,theta)} multiplied by the expectation of the payoff. A cash flow paid at a simulation
+ * time {@code t} is expressed in units of the numeraire by multiplying it by
+ * {@code P(0,t) / P(0,theta) * bondRatioFactor(paths, offset, timeIndex, t)}.
+ * <p>
+ * Reference: Henrard, M. "Explicit bond option and swaption formula in Heath-Jarrow-Morton one-factor model".
+ * International Journal of Theoretical and Applied Finance, 6(1):57--72, 2003.
+ */
+public final class HullWhiteOneFactorPiecewiseConstantPathGenerator implements PathGenerator {
+
+  /**
+   * The model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The model parameters.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParameters parameters;
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The numeraire time.
+   */
+  private final double numeraireTime;
+  /**
+   * The standard deviations of the increments of the factor over the time steps.
+   */
+  private final double[] stepStdDev;
+  /**
+   * The variances of the factor at the simulation times.
+   */
+  private final double[] variance;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param parameters  the model parameters
+   * @param times  the simulation times, positive, strictly increasing and not after the numeraire time
+   * @param numeraireTime  the maturity of the zero-coupon bond numeraire
+   * @return the instance
+   */
+  public static HullWhiteOneFactorPiecewiseConstantPathGenerator of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime) {
+
+    return new HullWhiteOneFactorPiecewiseConstantPathGenerator(parameters, times, numeraireTime);
+  }
+
+  // private constructor
+  private HullWhiteOneFactorPiecewiseConstantPathGenerator(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(times, "times");
+    ArgChecker.isTrue(times.size() > 0, "times must not be empty");
+    ArgChecker.isTrue(times.get(0) > 0d, "simulation times must be positive");
+    ArgChecker.isTrue(times.get(times.size() - 1) <= numeraireTime,
+        "simulation times must not be after the numeraire time");
+    this.parameters = parameters;
+    this.times = times;
+    this.numeraireTime = numeraireTime;
+    int nTimes = times.size();
+    this.stepStdDev = new double[nTimes];
+    this.variance = new double[nTimes];
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int i = 0; i < nTimes; i++) {
+      double time = times.get(i);
+      ArgChecker.isTrue(time > previousTime, "simulation times must be strictly increasing");
+      stepStdDev[i] = MODEL.beta(parameters, previousTime, time);
+      variance[i] = previousVariance + stepStdDev[i] * stepStdDev[i];
+      previousTime = time;
+      previousVariance = variance[i];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the model parameters.
+   *
+   * @return the parameters
+   */
+  public HullWhiteOneFactorPiecewiseConstantParameters getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Gets the simulation times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  /**
+   * Gets the numeraire time, the maturity of the zero-coupon bond numeraire.
+   *
+   * @return the numeraire time
+   */
+  public double getNumeraireTime() {
+    return numeraireTime;
+  }
+
+  @Override
+  public int getVariateDimension() {
+    return times.size();
+  }
+
+  @Override
+  public int getPathSize() {
+    return times.size();
+  }
+
+  @Override
+  public void generate(double[] variates, double[] paths, int offset) {
+    double factor = 0d;
+    for (int i = 0; i < stepStdDev.length; i++) {
+      factor += stepStdDev[i] * variates[i];
+      paths[offset + i] = factor;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the stochastic factor of the ratio of zero-coupon bonds at a simulation time.
+   * <p>
+   * This returns {@code exp(-H(u) * X(t) - 0.5 * H(u)^2 * V(t))}, the ratio {@code P(t,u) / P(t,theta)} being
+   * {@code P(0,u) / P(0,theta)} multiplied by this factor.
+   * <p>
+   * The maturity must not be before the simulation time. In particular, the numeraire value at the simulation time
+   * {@code 1 / P(t,theta)} is obtained with the maturity {@code t}.
+   *
+   * @param paths  the array containing the path
+   * @param offset  the index of the first value of the path
+   * @param timeIndex  the index of the simulation time
+   * @param maturity  the maturity of the zero-coupon bond
+   * @return the factor
+   */
+  public double bondRatioFactor(double[] paths, int offset, int timeIndex, double maturity) {
+    double a = parameters.getMeanReversion();
+    double h = (Math.exp(-a * numeraireTime) - Math.exp(-a * maturity)) / a;
+    return Math.exp(-h * paths[offset + timeIndex] - 0.5 * h * h * variance[timeIndex]);
+  }
+
+}
@@ -131,4 +131,51 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes payoff at expiry for trinomial tree, storing the payoff in the specified array.
+   * <p>
+   * The payoff values for individual nodes at expiry are computed from state values at the final layer.
+   * The array must be at least as long as the state values.
+   * <p>
+   * By default this delegates to {@link #getPayoffAtExpiryTrinomial(DoubleArray)}.
+   * Implementations may override this to avoid allocation.
+   * 
+   * @param stateValue  the state values
+   * @param values  the array used to return the payoff at expiry
+   */
+  public default void getPayoffAtExpiryTrinomial(DoubleArray stateValue, double[] values) {
+    getPayoffAtExpiryTrinomial(stateValue).copyInto(values, 0);
+  }
+
+  /**
+   * Computes the option values in the intermediate nodes, storing the values in the specified array.
+   * <p>
+   * Given a set of option values in the (i+1)-th layer, option values in the i-th layer are derived.
+   * Only the first (2*i+3) elements of {@code values} are read and only the first (2*i+1) elements of
+   * {@code result} are written, thus the same pair of arrays can be used for all the layers of a tree.
+   * The two arrays must be distinct.
+   * <p>
+   * By default this delegates to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}.
+   * Implementations may override this to avoid allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param values  the option values in the (i+1)-th layer
+   * @param result  the array used to return the option values in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      double[] result,
+      int i) {
+
+    DoubleArray value = DoubleArray.ofUnsafe(values).subArray(0, 2 * i + 3);
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, value, i).copyInto(result, 0);
+  }
+
 }
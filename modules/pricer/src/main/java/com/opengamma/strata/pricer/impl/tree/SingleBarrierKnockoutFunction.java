@@ -61,13 +61,19 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
 
   @Override
   public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+    double[] values = new double[stateValue.size()];
+    getPayoffAtExpiryTrinomial(stateValue, values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  @Override
+  public void getPayoffAtExpiryTrinomial(DoubleArray stateValue, double[] values) {
 
     int nNodes = stateValue.size();
-    double[] values = new double[nNodes];
     double rebate = getRebate(getNumberOfSteps());
     double barrierLevel = getBarrierLevel(getNumberOfSteps());
     boolean isDown = getBarrierType().isDown();
-    Arrays.fill(values, rebate);
+    Arrays.fill(values, 0, nNodes, rebate);
     int index = getLowerBoundIndex(stateValue, barrierLevel);
     ArgChecker.isTrue(index > -1 && index < nNodes - 1, "barrier is covered by tree");
     int iMin = isDown ? index + 1 : 0;
@@ -86,7 +92,6 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
           rebate :
           0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
     }
-    return DoubleArray.ofUnsafe(values);
   }
 
   @Override
@@ -97,8 +102,21 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       DoubleArray values,
       int i) {
 
+    double[] res = new double[2 * i + 1];
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, values.toArrayUnsafe(), res, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      double[] res,
+      int i) {
+
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
@@ -110,8 +128,7 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         double upProb = transitionProbability.get(j, 2);
         double middleProb = transitionProbability.get(j, 1);
         double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+        res[j] = discountFactor * (upProb * values[j + 2] + middleProb * values[j + 1] + downProb * values[j]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
@@ -126,7 +143,6 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
         res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,6 +21,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * The tree data is only read, thus the same tree can be used to price several options. The option values are
+ * rolled back through the tree in two arrays of the size of the final layer, which are swapped at each layer.
  */
 public class TrinomialTree {
 
@@ -76,14 +82,9 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    double[] prices = new double[1];
+    backwardInduction(ImmutableList.of(function), data, prices, null);
+    return prices[0];
   }
 
   /**
@@ -100,21 +101,97 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    double[] prices = new double[1];
+    double[] deltas = new double[1];
+    backwardInduction(ImmutableList.of(function), data, prices, deltas);
+    return ValueDerivatives.of(prices[0], DoubleArray.of(deltas[0]));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Price several options under the specified trinomial tree gird.
+   * <p>
+   * The options are priced together, layer by layer, so that the data of each layer of the tree
+   * is visited only once for all the options.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[] prices = new double[functions.size()];
+    backwardInduction(functions, data, prices, null);
+    return DoubleArray.ofUnsafe(prices);
+  }
+
+  /**
+   * Compute the price and delta of several options under the specified trinomial tree gird.
+   * <p>
+   * The options are priced together, layer by layer, so that the data of each layer of the tree
+   * is visited only once for all the options.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    int nFunctions = functions.size();
+    double[] prices = new double[nFunctions];
+    double[] deltas = new double[nFunctions];
+    backwardInduction(functions, data, prices, deltas);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (int k = 0; k < nFunctions; ++k) {
+      builder.add(ValueDerivatives.of(prices[k], DoubleArray.of(deltas[k])));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls the options back through the tree, the deltas are not computed if the array is null
+  // each option uses two arrays of the size of the final layer, swapped at each layer
+  private void backwardInduction(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      double[] prices,
+      double[] deltas) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    int nNodes = 2 * nSteps + 1;
+    double[][] values = new double[nFunctions][nNodes];
+    double[][] buffers = new double[nFunctions][nNodes];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      OptionFunction function = functions.get(k);
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+      function.getPayoffAtExpiryTrinomial(stateValueAtExpiry, values[k]);
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(discountFactor, probability, stateValue, values[k], buffers[k], i);
+        double[] swap = values[k];
+        values[k] = buffers[k];
+        buffers[k] = swap;
+        if (i == 1 && deltas != null) {
+          double[] value = values[k];
+          double d1 = (value[2] - value[1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (value[1] - value[0]) / (stateValue.get(1) - stateValue.get(0));
+          deltas[k] = 0.5 * (d1 + d2);
+        }
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k][0];
+    }
   }
 
 }
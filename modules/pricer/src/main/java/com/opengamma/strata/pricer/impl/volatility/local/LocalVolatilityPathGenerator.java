@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.volatility.local;
+
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.surface.Surface;
+import com.opengamma.strata.math.impl.montecarlo.PathGenerator;
+
+/**
+ * Path generator for a local volatility process with deterministic rates.
+ * <p>
+ * The underlying follows {@code dS = (r(t) - q(t)) S dt + sigma(t, S) S dW} in the risk neutral measure.
+ * The local volatility surface is spanned by time and spot, for example the surface computed by
+ * {@link LocalVolatilityCalculator}. A Black process is obtained with a surface depending only on time,
+ * or a constant surface.
+ * <p>
+ * The log of the underlying is simulated by the Euler scheme, the volatility being frozen over each time step
+ * at its value at the start of the step. The drift is computed from the integrated rates, thus the simulation
+ * is exact for a Black process with deterministic rates.
+ * <p>
+ * The interest rate and dividend rate are zero-coupon continuously compounded rates, functions from year fraction
+ * to zero rate. For an FX rate, the interest rate is that of the counter currency and the dividend rate
+ * that of the base currency.
+ * <p>
+ * A path stores the values of the underlying at the simulation times. The numeraire is the money market account
+ * of the interest rate, deterministic, thus a payoff paid at time {@code t} is expressed in units of the numeraire
+ * by multiplying it by the discount factor {@code exp(-r(t) * t)}, see {@link #discountFactor(int)}.
+ */
+public final class LocalVolatilityPathGenerator implements PathGenerator {
+
+  /**
+   * The spot.
+   */
+  private final double spot;
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The local volatility surface, spanned by time and spot.
+   */
+  private final Surface localVolatility;
+  /**
+   * The time steps.
+   */
+  private final double[] steps;
+  /**
+   * The square roots of the time steps.
+   */
+  private final double[] sqrtSteps;
+  /**
+   * The integrated difference between the interest rate and the dividend rate over the time steps.
+   */
+  private final double[] drifts;
+  /**
+   * The discount factors at the simulation times.
+   */
+  private final double[] discountFactors;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param spot  the spot
+   * @param times  the simulation times, positive and strictly increasing
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @param localVolatility  the local volatility surface, spanned by time and spot
+   * @return the instance
+   */
+  public static LocalVolatilityPathGenerator of(
+      double spot,
+      DoubleArray times,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      Surface localVolatility) {
+
+    return new LocalVolatilityPathGenerator(spot, times, interestRate, dividendRate, localVolatility);
+  }
+
+  // private constructor
+  private LocalVolatilityPathGenerator(
+      double spot,
+      DoubleArray times,
+      Function<Double, Double> interestRate,
+      Function<Double, Double> dividendRate,
+      Surface localVolatility) {
+
+    ArgChecker.notNegativeOrZero(spot, "spot");
+    ArgChecker.notNull(times, "times");
+    ArgChecker.isTrue(times.size() > 0, "times must not be empty");
+    ArgChecker.notNull(interestRate, "interestRate");
+    ArgChecker.notNull(dividendRate, "dividendRate");
+    this.spot = spot;
+    this.times = times;
+    this.localVolatility = ArgChecker.notNull(localVolatility, "localVolatility");
+    int nTimes = times.size();
+    this.steps = new double[nTimes];
+    this.sqrtSteps = new double[nTimes];
+    this.drifts = new double[nTimes];
+    this.discountFactors = new double[nTimes];
+    double previousTime = 0d;
+    double previousCarry = 0d;
+    for (int i = 0; i < nTimes; i++) {
+      double time = times.get(i);
+      ArgChecker.isTrue(time > previousTime, "simulation times must be positive and strictly increasing");
+      double integratedRate = interestRate.apply(time) * time;
+      double carry = integratedRate - dividendRate.apply(time) * time;
+      steps[i] = time - previousTime;
+      sqrtSteps[i] = Math.sqrt(steps[i]);
+      drifts[i] = carry - previousCarry;
+      discountFactors[i] = Math.exp(-integratedRate);
+      previousTime = time;
+      previousCarry = carry;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the spot.
+   *
+   * @return the spot
+   */
+  public double getSpot() {
+    return spot;
+  }
+
+  /**
+   * Gets the simulation times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  /**
+   * Gets the local volatility surface.
+   *
+   * @return the surface
+   */
+  public Surface getLocalVolatility() {
+    return localVolatility;
+  }
+
+  /**
+   * Gets the discount factor at a simulation time.
+   * <p>
+   * This is the inverse of the numeraire at that time.
+   *
+   * @param timeIndex  the index of the simulation time
+   * @return the discount factor
+   */
+  public double discountFactor(int timeIndex) {
+    return discountFactors[timeIndex];
+  }
+
+  @Override
+  public int getVariateDimension() {
+    return times.size();
+  }
+
+  @Override
+  public int getPathSize() {
+    return times.size();
+  }
+
+  @Override
+  public void generate(double[] variates, double[] paths, int offset) {
+    double logValue = Math.log(spot);
+    double value = spot;
+    double time = 0d;
+    for (int i = 0; i < steps.length; i++) {
+      double volatility = localVolatility.zValue(time, value);
+      logValue += drifts[i] - 0.5 * volatility * volatility * steps[i] + volatility * sqrtSteps[i] * variates[i];
+      value = Math.exp(logValue);
+      paths[offset + i] = value;
+      time += steps[i];
+    }
+  }
+
+}
@@ -194,6 +194,118 @@ public final class SabrHaganVolatilityFunctionProvider
       double rho,
       double nu) {
 
+    double[] derivatives = new double[6];
+    double volatility = volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu, derivatives, 0, 1);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives, without allocation.
+   * <p>
+   * The derivatives are stored in the specified array, which must have a length of at least 6, with:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the strike
+   * <li>[2] derivative with respect to the alpha
+   * <li>[3] derivative with respect to the beta
+   * <li>[4] derivative with respect to the rho
+   * <li>[5] derivative with respect to the nu
+   * </ul>
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike value of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param derivatives  the array used to return the derivatives
+   * @return the volatility
+   */
+  public double volatilityAdjoint(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] derivatives) {
+
+    ArgChecker.isTrue(derivatives.length >= 6, "derivatives must have a length of at least 6");
+    return volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu, derivatives, 0, 1);
+  }
+
+  @Override
+  public double volatilityAdjoint(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] derivatives) {
+
+    ArgChecker.notNull(data, "data");
+    return volatilityAdjoint(
+        forward, strike, timeToExpiry, data.getAlpha(), data.getBeta(), data.getRho(), data.getNu(), derivatives);
+  }
+
+  @Override
+  public void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities) {
+
+    ArgChecker.notNull(data, "data");
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(volatilities.length >= nbStrikes, "volatilities must have a length of at least {}", nbStrikes);
+    double alpha = data.getAlpha();
+    double beta = data.getBeta();
+    double rho = data.getRho();
+    double nu = data.getNu();
+    for (int i = 0; i < nbStrikes; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  @Override
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities,
+      double[] derivatives) {
+
+    ArgChecker.notNull(data, "data");
+    int nbStrikes = strikes.length;
+    ArgChecker.isTrue(volatilities.length >= nbStrikes, "volatilities must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(
+        derivatives.length >= 6 * nbStrikes, "derivatives must have a length of at least {}", 6 * nbStrikes);
+    double alpha = data.getAlpha();
+    double beta = data.getBeta();
+    double rho = data.getRho();
+    double nu = data.getNu();
+    for (int i = 0; i < nbStrikes; i++) {
+      volatilities[i] = volatilityAdjoint(
+          forward, strikes[i], timeToExpiry, alpha, beta, rho, nu, derivatives, i, nbStrikes);
+    }
+  }
+
+  // computes the volatility and writes the derivatives to the array at offset + j * stride, j from 0 to 5
+  private double volatilityAdjoint(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] derivatives,
+      int offset,
+      int stride) {
+
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
@@ -217,7 +329,13 @@ public final class SabrHaganVolatilityFunctionProvider
         // so we return an arbitrary large number
         alphaBar = 1e7;
       }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
+      derivatives[offset] = 0d;
+      derivatives[offset + stride] = 0d;
+      derivatives[offset + 2 * stride] = alphaBar;
+      derivatives[offset + 3 * stride] = 0d;
+      derivatives[offset + 4 * stride] = 0d;
+      derivatives[offset + 5 * stride] = 0d;
+      return 0d;
     }
 
     // Implementation note: Forward sweep.
@@ -327,7 +445,13 @@ public final class SabrHaganVolatilityFunctionProvider
         (betaStar / 12 * (lnrfK * lnrfK) + Math.pow(betaStar, 3) / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
         (-betaStar * alpha * alpha / sfK / sfK / 12 + rho * nu * alpha / 4 / sfK) * timeToExpiry * sf2Bar;
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    derivatives[offset] = forwardBar;
+    derivatives[offset + stride] = strikeBar;
+    derivatives[offset + 2 * stride] = alphaBar;
+    derivatives[offset + 3 * stride] = betaBar;
+    derivatives[offset + 4 * stride] = rhoBar;
+    derivatives[offset + 5 * stride] = nuBar;
+    return volatility;
   }
 
   /**
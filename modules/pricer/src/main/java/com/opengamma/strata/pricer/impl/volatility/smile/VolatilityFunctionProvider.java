@@ -56,6 +56,92 @@ public abstract class VolatilityFunctionProvider<T extends SmileModelData> {
     return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(res));
   }
 
+  /**
+   * Calculates volatility and the adjoint, storing the derivatives in the specified array.
+   * <p>
+   * The array contains, [0] Derivative w.r.t the forward, [1] the derivative w.r.t the strike, then followed by model
+   * parameters. Thus the length of the array should be at least 2 + (number of model parameters).
+   * <p>
+   * By default this delegates to {@link #volatilityAdjoint(double, double, double, SmileModelData)}.
+   * Subclasses may override this to avoid allocation.
+   *
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike value of the option
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the model data
+   * @param derivatives  the array used to return the derivatives
+   * @return the volatility
+   */
+  public double volatilityAdjoint(double forward, double strike, double timeToExpiry, T data, double[] derivatives) {
+    ValueDerivatives volatilityAdjoint = volatilityAdjoint(forward, strike, timeToExpiry, data);
+    DoubleArray volatilityD = volatilityAdjoint.getDerivatives();
+    ArgChecker.isTrue(derivatives.length >= volatilityD.size(),
+        "derivatives must have a length of at least {}", volatilityD.size());
+    for (int i = 0; i < volatilityD.size(); i++) {
+      derivatives[i] = volatilityD.get(i);
+    }
+    return volatilityAdjoint.getValue();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the volatility for an array of strikes.
+   * <p>
+   * The volatilities are stored in the specified array, which must be at least as long as the strikes.
+   *
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities
+   */
+  public void volatility(double forward, double[] strikes, double timeToExpiry, T data, double[] volatilities) {
+    ArgChecker.isTrue(volatilities.length >= strikes.length,
+        "volatilities must have a length of at least {}", strikes.length);
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, data);
+    }
+  }
+
+  /**
+   * Calculates the volatility and the adjoint for an array of strikes.
+   * <p>
+   * The volatilities are stored in the specified array, which must be at least as long as the strikes.
+   * The derivatives are stored in the specified array by derivative, then by strike.
+   * The derivative of index {@code j} for the strike of index {@code i} is stored at index
+   * {@code j * strikes.length + i}, the order of the derivatives being that of
+   * {@link #volatilityAdjoint(double, double, double, SmileModelData)}.
+   * Thus the length of the array should be at least (2 + number of model parameters) * strikes.length.
+   *
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities
+   * @param derivatives  the array used to return the derivatives
+   */
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      T data,
+      double[] volatilities,
+      double[] derivatives) {
+
+    int nbStrikes = strikes.length;
+    int nbDerivatives = 2 + data.getNumberOfParameters();
+    ArgChecker.isTrue(volatilities.length >= nbStrikes, "volatilities must have a length of at least {}", nbStrikes);
+    ArgChecker.isTrue(derivatives.length >= nbDerivatives * nbStrikes,
+        "derivatives must have a length of at least {}", nbDerivatives * nbStrikes);
+    for (int i = 0; i < nbStrikes; i++) {
+      ValueDerivatives volatilityAdjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, data);
+      volatilities[i] = volatilityAdjoint.getValue();
+      for (int j = 0; j < nbDerivatives; j++) {
+        derivatives[j * nbStrikes + i] = volatilityAdjoint.getDerivative(j);
+      }
+    }
+  }
+
   /**
    * Computes the first and second order derivatives of the volatility.
    * <p>
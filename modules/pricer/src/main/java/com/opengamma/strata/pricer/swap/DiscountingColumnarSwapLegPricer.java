@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.ColumnarSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+
+/**
+ * Pricer for vanilla swap legs in columnar form.
+ * <p>
+ * This function provides the ability to price a {@link ColumnarSwapLeg}, the columnar form
+ * of a vanilla fixed or Ibor {@link ResolvedSwapLeg}.
+ * The discount factors and Ibor rates are obtained once per leg, and the periods
+ * are then processed in a single loop over the primitive arrays of the leg.
+ * <p>
+ * The results are the same as those of {@link DiscountingSwapLegPricer} using the standard period and event pricers.
+ * As with that pricer, periods and events paid before the valuation date are ignored.
+ */
+public class DiscountingColumnarSwapLegPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingColumnarSwapLegPricer DEFAULT = new DiscountingColumnarSwapLegPricer();
+
+  /**
+   * Creates an instance.
+   */
+  public DiscountingColumnarSwapLegPricer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap leg.
+   * <p>
+   * The present value of the leg is the value on the valuation date.
+   * This is the discounted forecast value.
+   * The result is returned using the payment currency of the leg.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the present value of the swap leg
+   */
+  public CurrencyAmount presentValue(ColumnarSwapLeg leg, RatesProvider provider) {
+    return CurrencyAmount.of(leg.getCurrency(), presentValueInternal(leg, provider));
+  }
+
+  // calculates the present value in the currency of the swap leg
+  double presentValueInternal(ColumnarSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    return presentValuePeriodsInternal(leg, discountFactors, provider) +
+        presentValueEventsInternal(leg, discountFactors, provider);
+  }
+
+  /**
+   * Calculates the forecast value of the swap leg.
+   * <p>
+   * The forecast value of the leg is the value on the valuation date without present value discounting.
+   * The result is returned using the payment currency of the leg.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the forecast value of the swap leg
+   */
+  public CurrencyAmount forecastValue(ColumnarSwapLeg leg, RatesProvider provider) {
+    return CurrencyAmount.of(leg.getCurrency(), forecastValueInternal(leg, provider));
+  }
+
+  // calculates the forecast value in the currency of the swap leg
+  double forecastValueInternal(ColumnarSwapLeg leg, RatesProvider provider) {
+    IborIndexRates iborRates = iborRates(leg, provider);
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    double total = 0d;
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      if (leg.getPaymentEpochDay(i) >= valuationDay) {
+        total += forecastValue(leg, i, iborRates);
+      }
+    }
+    for (int i = 0; i < leg.getEventCount(); i++) {
+      if (leg.getEventPaymentEpochDay(i) >= valuationDay) {
+        total += leg.getEventAmount(i);
+      }
+    }
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the Present Value of a Basis Point for a swap leg.
+   * <p>
+   * The Present Value of a Basis Point is the value of the leg when the rate is equal to 1.
+   * A better name would be "Present Value of 1".
+   * The quantity is also known as "physical annuity" or "level".
+   *
+   * @param leg  the swap leg
+   * @param provider  the rates provider
+   * @return the Present Value of a Basis Point
+   */
+  public double pvbp(ColumnarSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    double pvbpLeg = 0d;
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      double df = discountFactors.discountFactor(leg.getPaymentDate(i));
+      pvbpLeg += df * leg.getYearFraction(i) * leg.getNotional(i);
+    }
+    return pvbpLeg;
+  }
+
+  /**
+   * Computes the par rate of a single currency swap formed of a fixed leg and another leg.
+   * <p>
+   * The par rate is the common rate on all the fixed leg periods for which the total present value is 0.
+   * The other leg is typically an Ibor leg, and must be in the same currency as the fixed leg.
+   *
+   * @param fixedLeg  the fixed leg
+   * @param otherLeg  the other leg
+   * @param provider  the rates provider
+   * @return the par rate
+   */
+  public double parRate(ColumnarSwapLeg fixedLeg, ColumnarSwapLeg otherLeg, RatesProvider provider) {
+    ArgChecker.isTrue(fixedLeg.getCurrency().equals(otherLeg.getCurrency()), "Legs must have the same currency");
+    DiscountFactors discountFactors = provider.discountFactors(fixedLeg.getCurrency());
+    double otherLegPv = presentValueInternal(otherLeg, provider);
+    double fixedLegEventsPv = presentValueEventsInternal(fixedLeg, discountFactors, provider);
+    double pvbpFixedLeg = pvbp(fixedLeg, provider);
+    return -(otherLegPv + fixedLegEventsPv) / pvbpFixedLeg;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the swap leg.
+   * <p>
+   * The present value sensitivity of the leg is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap leg
+   */
+  public PointSensitivityBuilder presentValueSensitivity(ColumnarSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    IborIndexRates iborRates = iborRates(leg, provider);
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      if (leg.getPaymentEpochDay(i) >= valuationDay) {
+        double yearFraction = discountFactors.relativeYearFraction(leg.getPaymentDate(i));
+        double df = discountFactors.discountFactor(yearFraction);
+        if (!leg.isFixed(i)) {
+          iborRates.ratePointSensitivity(leg.getIborObservation(i))
+              .multipliedBy(leg.getGearing(i) * leg.getYearFraction(i) * leg.getNotional(i) * df)
+              .buildInto(result);
+        }
+        discountFactors.zeroRatePointSensitivity(yearFraction)
+            .multipliedBy(forecastValue(leg, i, iborRates))
+            .buildInto(result);
+      }
+    }
+    for (int i = 0; i < leg.getEventCount(); i++) {
+      if (leg.getEventPaymentEpochDay(i) >= valuationDay) {
+        discountFactors.zeroRatePointSensitivity(leg.getEventPaymentDate(i))
+            .multipliedBy(leg.getEventAmount(i))
+            .buildInto(result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the forecast value sensitivity of the swap leg.
+   * <p>
+   * The forecast value sensitivity of the leg is the sensitivity of the forecast value to
+   * the underlying curves.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the forecast value curve sensitivity of the swap leg
+   */
+  public PointSensitivityBuilder forecastValueSensitivity(ColumnarSwapLeg leg, RatesProvider provider) {
+    IborIndexRates iborRates = iborRates(leg, provider);
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      if (!leg.isFixed(i) && leg.getPaymentEpochDay(i) >= valuationDay) {
+        iborRates.ratePointSensitivity(leg.getIborObservation(i))
+            .multipliedBy(leg.getGearing(i) * leg.getYearFraction(i) * leg.getNotional(i))
+            .buildInto(result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the Present Value of a Basis Point curve sensitivity for a swap leg.
+   *
+   * @param leg  the swap leg
+   * @param provider  the rates provider
+   * @return the Present Value of a Basis Point sensitivity to the curves
+   */
+  public PointSensitivityBuilder pvbpSensitivity(ColumnarSwapLeg leg, RatesProvider provider) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      discountFactors.zeroRatePointSensitivity(leg.getPaymentDate(i))
+          .multipliedBy(leg.getYearFraction(i) * leg.getNotional(i))
+          .buildInto(result);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the par rate curve sensitivity of a single currency swap formed of a fixed leg and another leg.
+   * <p>
+   * The par rate is the common rate on all the fixed leg periods for which the total present value is 0.
+   * The other leg is typically an Ibor leg, and must be in the same currency as the fixed leg.
+   *
+   * @param fixedLeg  the fixed leg
+   * @param otherLeg  the other leg
+   * @param provider  the rates provider
+   * @return the par rate curve sensitivity
+   */
+  public PointSensitivityBuilder parRateSensitivity(
+      ColumnarSwapLeg fixedLeg,
+      ColumnarSwapLeg otherLeg,
+      RatesProvider provider) {
+
+    ArgChecker.isTrue(fixedLeg.getCurrency().equals(otherLeg.getCurrency()), "Legs must have the same currency");
+    DiscountFactors discountFactors = provider.discountFactors(fixedLeg.getCurrency());
+    double otherLegPv = presentValueInternal(otherLeg, provider);
+    double fixedLegEventsPv = presentValueEventsInternal(fixedLeg, discountFactors, provider);
+    double pvbpFixedLeg = pvbp(fixedLeg, provider);
+    // sensitivity of -(otherLegPv + fixedLegEventsPv) / pvbpFixedLeg
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    presentValueSensitivity(otherLeg, provider).multipliedBy(-1d / pvbpFixedLeg).buildInto(result);
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    for (int i = 0; i < fixedLeg.getEventCount(); i++) {
+      if (fixedLeg.getEventPaymentEpochDay(i) >= valuationDay) {
+        discountFactors.zeroRatePointSensitivity(fixedLeg.getEventPaymentDate(i))
+            .multipliedBy(-fixedLeg.getEventAmount(i) / pvbpFixedLeg)
+            .buildInto(result);
+      }
+    }
+    double pvbpBar = (otherLegPv + fixedLegEventsPv) / (pvbpFixedLeg * pvbpFixedLeg);
+    pvbpSensitivity(fixedLeg, provider).multipliedBy(pvbpBar).buildInto(result);
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the present value of the periods composing the leg in the currency of the swap leg
+  double presentValuePeriodsInternal(ColumnarSwapLeg leg, DiscountFactors discountFactors, RatesProvider provider) {
+    IborIndexRates iborRates = iborRates(leg, provider);
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    double total = 0d;
+    for (int i = 0; i < leg.getPeriodCount(); i++) {
+      if (leg.getPaymentEpochDay(i) >= valuationDay) {
+        double df = discountFactors.discountFactor(leg.getPaymentDate(i));
+        total += forecastValue(leg, i, iborRates) * df;
+      }
+    }
+    return total;
+  }
+
+  // calculates the present value of the events composing the leg in the currency of the swap leg
+  double presentValueEventsInternal(ColumnarSwapLeg leg, DiscountFactors discountFactors, RatesProvider provider) {
+    int valuationDay = (int) provider.getValuationDate().toEpochDay();
+    double total = 0d;
+    for (int i = 0; i < leg.getEventCount(); i++) {
+      if (leg.getEventPaymentEpochDay(i) >= valuationDay) {
+        total += leg.getEventAmount(i) * discountFactors.discountFactor(leg.getEventPaymentDate(i));
+      }
+    }
+    return total;
+  }
+
+  // calculates the forecast value of a single period, matching the standard rate payment period pricer
+  private double forecastValue(ColumnarSwapLeg leg, int index, IborIndexRates iborRates) {
+    IborIndexObservation observation = leg.getIborObservation(index);
+    double rawRate = observation == null ? leg.getFixedRate(index) : iborRates.rate(observation);
+    double treatedRate = rawRate * leg.getGearing(index) + leg.getSpread(index);
+    double unitAccrual = leg.getNegativeRateMethod(index).adjust(treatedRate * leg.getYearFraction(index));
+    return unitAccrual * leg.getNotional(index);
+  }
+
+  // obtains the Ibor rates once for the whole leg, null if the leg is fixed
+  private IborIndexRates iborRates(ColumnarSwapLeg leg, RatesProvider provider) {
+    return leg.getIborIndex().isPresent() ? provider.iborIndexRates(leg.getIborIndex().get()) : null;
+  }
+
+}
@@ -23,6 +23,7 @@ import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.ColumnarSwapLeg;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
 import com.opengamma.strata.product.swap.RatePaymentPeriod;
 import com.opengamma.strata.product.swap.ResolvedSwapLeg;
@@ -34,6 +35,12 @@ import com.opengamma.strata.product.swap.SwapPaymentPeriod;
  * <p>
  * This function provides the ability to price a {@link ResolvedSwapLeg}.
  * The product is priced by pricing each period and event.
+ * <p>
+ * If a {@link DiscountingColumnarSwapLegPricer} is specified, vanilla legs that have a
+ * {@linkplain ResolvedSwapLeg#findColumnarForm() columnar form} are priced using it.
+ * This avoids the per-period dispatch for the common fixed and Ibor legs.
+ * The columnar pricer should only be specified if the period and event pricers are
+ * the standard ones, as it does not delegate to them.
  */
 public class DiscountingSwapLegPricer {
 
@@ -52,6 +59,10 @@ public class DiscountingSwapLegPricer {
    * Pricer for {@link SwapPaymentEvent}.
    */
   private final SwapPaymentEventPricer<SwapPaymentEvent> paymentEventPricer;
+  /**
+   * Pricer for {@link ColumnarSwapLeg}, null if not used.
+   */
+  private final DiscountingColumnarSwapLegPricer columnarPricer;
 
   /* Small parameter below which the cash annuity formula is modified. */
   private static final double MIN_YIELD = 1.0E-4;
@@ -67,6 +78,26 @@ public class DiscountingSwapLegPricer {
       SwapPaymentEventPricer<SwapPaymentEvent> paymentEventPricer) {
     this.paymentPeriodPricer = ArgChecker.notNull(paymentPeriodPricer, "paymentPeriodPricer");
     this.paymentEventPricer = ArgChecker.notNull(paymentEventPricer, "paymentEventPricer");
+    this.columnarPricer = null;
+  }
+
+  /**
+   * Creates an instance that prices vanilla legs in columnar form.
+   * <p>
+   * Legs that have a columnar form are priced using the columnar pricer.
+   * Other legs are priced using the period and event pricers.
+   * 
+   * @param paymentPeriodPricer  the pricer for {@link SwapPaymentPeriod}
+   * @param paymentEventPricer  the pricer for {@link SwapPaymentEvent}
+   * @param columnarPricer  the pricer for {@link ColumnarSwapLeg}
+   */
+  public DiscountingSwapLegPricer(
+      SwapPaymentPeriodPricer<SwapPaymentPeriod> paymentPeriodPricer,
+      SwapPaymentEventPricer<SwapPaymentEvent> paymentEventPricer,
+      DiscountingColumnarSwapLegPricer columnarPricer) {
+    this.paymentPeriodPricer = ArgChecker.notNull(paymentPeriodPricer, "paymentPeriodPricer");
+    this.paymentEventPricer = ArgChecker.notNull(paymentEventPricer, "paymentEventPricer");
+    this.columnarPricer = ArgChecker.notNull(columnarPricer, "columnarPricer");
   }
 
   //-------------------------------------------------------------------------
@@ -142,6 +173,10 @@ public class DiscountingSwapLegPricer {
 
   // calculates the present value in the currency of the swap leg
   double forecastValueInternal(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.forecastValueInternal(columnar, provider);
+    }
     return forecastValuePeriodsInternal(leg, provider) + forecastValueEventsInternal(leg, provider);
   }
 
@@ -182,6 +217,10 @@ public class DiscountingSwapLegPricer {
    * @return the Present Value of a Basis Point
    */
   public double pvbp(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.pvbp(columnar, provider);
+    }
     double pvbpLeg = 0d;
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       pvbpLeg += paymentPeriodPricer.pvbp(period, provider);
@@ -219,6 +258,10 @@ public class DiscountingSwapLegPricer {
    * @return the present value curve sensitivity of the swap leg
    */
   public PointSensitivityBuilder presentValueSensitivity(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.presentValueSensitivity(columnar, provider);
+    }
     return legValueSensitivity(
         leg,
         provider,
@@ -237,6 +280,10 @@ public class DiscountingSwapLegPricer {
    * @return the forecast value curve sensitivity of the swap leg
    */
   public PointSensitivityBuilder forecastValueSensitivity(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.forecastValueSensitivity(columnar, provider);
+    }
     return legValueSensitivity(
         leg,
         provider,
@@ -281,6 +328,10 @@ public class DiscountingSwapLegPricer {
    * @return the Present Value of a Basis Point sensitivity to the curves
    */
   public PointSensitivityBuilder pvbpSensitivity(ResolvedSwapLeg fixedLeg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(fixedLeg);
+    if (columnar != null) {
+      return columnarPricer.pvbpSensitivity(columnar, provider);
+    }
     PointSensitivityBuilder builder = PointSensitivityBuilder.none();
     for (SwapPaymentPeriod period : fixedLeg.getPaymentPeriods()) {
       builder = builder.combinedWith(paymentPeriodPricer.pvbpSensitivity(period, provider));
@@ -514,6 +565,11 @@ public class DiscountingSwapLegPricer {
 
   // calculates the present value of the events composing the leg in the currency of the swap leg
   double presentValueEventsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.presentValueEventsInternal(
+          columnar, provider.discountFactors(columnar.getCurrency()), provider);
+    }
     double total = 0d;
     for (SwapPaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
@@ -525,6 +581,11 @@ public class DiscountingSwapLegPricer {
 
   // calculates the present value of the periods composing the leg in the currency of the swap leg
   double presentValuePeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
+    ColumnarSwapLeg columnar = columnarForm(leg);
+    if (columnar != null) {
+      return columnarPricer.presentValuePeriodsInternal(
+          columnar, provider.discountFactors(columnar.getCurrency()), provider);
+    }
     double total = 0d;
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
@@ -642,6 +703,11 @@ public class DiscountingSwapLegPricer {
     return currencyExposurePeriodsInternal(leg, provider).plus(currencyExposureEventsInternal(leg, provider));
   }
 
+  // finds the columnar form of the leg, null if not available or not in use
+  private ColumnarSwapLeg columnarForm(ResolvedSwapLeg leg) {
+    return columnarPricer != null ? leg.findColumnarForm().orElse(null) : null;
+  }
+
   private MultiCurrencyAmount currencyExposurePeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
     MultiCurrencyAmount total = MultiCurrencyAmount.empty();
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.DoubleProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantIntegrals;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Pricer for Bermudan swaption with physical settlement in Hull-White one factor model with piecewise constant
+ * volatility.
+ * <p>
+ * The Bermudan swaption is described by the list of its co-terminal European swaptions, one per exercise date,
+ * sorted by increasing expiry. The underlying of each swaption is the swap entered into when exercising on its
+ * expiry date. The swaptions must share currency, end date and long/short, and be physically settled.
+ * The same list describes the co-terminal swaptions used to calibrate the model to the Bermudan swaption,
+ * see {@link HullWhiteSwaptionPhysicalCalibrator}.
+ * <p>
+ * The price is computed by backward induction on a uniform grid of the Gaussian factor of the model, in the forward
+ * measure of the zero-coupon bond paying at the last cash flow date. In that measure the factor has independent
+ * Gaussian increments, thus the continuation value at an exercise date is the exact expectation of the piecewise
+ * linear interpolation of the value at the next exercise date. The variances of the factor at the exercise dates
+ * are obtained from the volatility integrals {@link HullWhiteOneFactorPiecewiseConstantIntegrals}, computed once.
+ * <p>
+ * With a single exercise date, the price converges to that of {@link HullWhiteSwaptionPhysicalProductPricer}.
+ * <p>
+ * Reference: Henrard, M. "Bermudan Swaptions in Gaussian HJM One-Factor Model: Analytical and Numerical Approaches".
+ * SSRN, October 2008. Available at SSRN: http://ssrn.com/abstract=1287982
+ */
+public class HullWhiteBermudanSwaptionPhysicalProductPricer {
+
+  /**
+   * Normal distribution function.
+   */
+  private static final DoubleProbabilityDistribution NORMAL = StandardNormalDistribution.INSTANCE;
+  /**
+   * The small parameter.
+   */
+  private static final double SMALL = 1.0e-12;
+  /**
+   * The default number of points of the factor grid.
+   */
+  public static final int DEFAULT_NUMBER_OF_POINTS = 801;
+  /**
+   * The default half width of the factor grid, in standard deviations of the factor at the last exercise date.
+   */
+  public static final double DEFAULT_NUMBER_OF_STANDARD_DEVIATIONS = 8d;
+
+  /**
+   * Default implementation.
+   */
+  public static final HullWhiteBermudanSwaptionPhysicalProductPricer DEFAULT =
+      new HullWhiteBermudanSwaptionPhysicalProductPricer(
+          DiscountingPaymentPricer.DEFAULT, DEFAULT_NUMBER_OF_POINTS, DEFAULT_NUMBER_OF_STANDARD_DEVIATIONS);
+
+  /**
+   * Pricer for {@link Payment}.
+   */
+  private final DiscountingPaymentPricer paymentPricer;
+  /**
+   * The number of points of the factor grid.
+   */
+  private final int numberOfPoints;
+  /**
+   * The half width of the factor grid, in standard deviations of the factor at the last exercise date.
+   */
+  private final double numberOfStandardDeviations;
+
+  /**
+   * Creates an instance.
+   * <p>
+   * The number of points is odd, so that the factor grid contains zero, the value of the factor today.
+   *
+   * @param paymentPricer  the pricer for {@link Payment}
+   * @param numberOfPoints  the number of points of the factor grid, odd and at least 3
+   * @param numberOfStandardDeviations  the half width of the factor grid, in standard deviations
+   */
+  public HullWhiteBermudanSwaptionPhysicalProductPricer(
+      DiscountingPaymentPricer paymentPricer,
+      int numberOfPoints,
+      double numberOfStandardDeviations) {
+
+    ArgChecker.isTrue(numberOfPoints >= 3 && numberOfPoints % 2 == 1, "number of points must be odd and at least 3");
+    this.paymentPricer = ArgChecker.notNull(paymentPricer, "paymentPricer");
+    this.numberOfPoints = numberOfPoints;
+    this.numberOfStandardDeviations =
+        ArgChecker.notNegativeOrZero(numberOfStandardDeviations, "numberOfStandardDeviations");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the Bermudan swaption product.
+   * <p>
+   * The result is expressed using the currency of the swaptions.
+   * The exercise dates before the valuation date are ignored.
+   *
+   * @param swaptions  the co-terminal swaptions, one per exercise date, sorted by increasing expiry
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    BackwardInduction induction = backwardInduction(swaptions, ratesProvider, hwProvider);
+    return CurrencyAmount.of(induction.currency, induction.presentValue);
+  }
+
+  /**
+   * Calculates the currency exposure of the Bermudan swaption product.
+   *
+   * @param swaptions  the co-terminal swaptions, one per exercise date, sorted by increasing expiry
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the currency exposure
+   */
+  public MultiCurrencyAmount currencyExposure(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    return MultiCurrencyAmount.of(presentValue(swaptions, ratesProvider, hwProvider));
+  }
+
+  /**
+   * Calculates the exercise boundaries of the Bermudan swaption product.
+   * <p>
+   * The boundaries of all the exercise dates are computed in the same backward induction as the price.
+   * The boundary at an exercise date is the value of the Gaussian factor of the model at which exercising
+   * and holding the option have the same value, the factor being that of the forward measure of the zero-coupon bond
+   * paying at the last cash flow date. The boundary is NaN if the option is exercised either everywhere or
+   * nowhere on the factor grid.
+   * <p>
+   * The result contains one value per exercise date not before the valuation date.
+   *
+   * @param swaptions  the co-terminal swaptions, one per exercise date, sorted by increasing expiry
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the exercise boundaries
+   */
+  public DoubleArray exerciseBoundaries(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    return DoubleArray.ofUnsafe(backwardInduction(swaptions, ratesProvider, hwProvider).boundaries);
+  }
+
+  //-------------------------------------------------------------------------
+  // prices by backward induction on the factor grid
+  private BackwardInduction backwardInduction(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaptions, ratesProvider, hwProvider);
+    Currency currency = swaptions.get(0).getCurrency();
+    List<ResolvedSwaption> live = new ArrayList<>();
+    for (ResolvedSwaption swaption : swaptions) {
+      if (!swaption.getExpiryDate().isBefore(ratesProvider.getValuationDate())) {
+        live.add(swaption);
+      }
+    }
+    int nExercises = live.size();
+    if (nExercises == 0) { // Option has expired already
+      return new BackwardInduction(currency, 0d, new double[0]);
+    }
+    // cash flow equivalents, the numeraire is the bond paying at the last cash flow date
+    List<ResolvedSwapLeg> cashFlowEquivs = new ArrayList<>(nExercises);
+    LocalDate numeraireDate = ratesProvider.getValuationDate();
+    for (ResolvedSwaption swaption : live) {
+      ResolvedSwapLeg cashFlowEquiv =
+          CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swaption.getUnderlying(), ratesProvider);
+      cashFlowEquivs.add(cashFlowEquiv);
+      LocalDate endDate = cashFlowEquiv.getPaymentEvents().get(cashFlowEquiv.getPaymentEvents().size() - 1)
+          .getPaymentDate();
+      numeraireDate = endDate.isAfter(numeraireDate) ? endDate : numeraireDate;
+    }
+    HullWhiteOneFactorPiecewiseConstantIntegrals integrals =
+        HullWhiteOneFactorPiecewiseConstantIntegrals.of(hwProvider.getParameters());
+    double numeraireTime = hwProvider.relativeTime(numeraireDate);
+    double numeraireDiscountFactor = ratesProvider.discountFactor(currency, numeraireDate);
+    double[] variances = new double[nExercises];
+    for (int k = 0; k < nExercises; k++) {
+      variances[k] = integrals.variance(hwProvider.relativeTime(live.get(k).getExpiryDate()));
+    }
+    // factor grid
+    double stdDev = Math.sqrt(variances[nExercises - 1]);
+    double halfWidth = stdDev > SMALL ? numberOfStandardDeviations * stdDev : 1d;
+    double step = 2d * halfWidth / (numberOfPoints - 1);
+    double[] grid = new double[numberOfPoints];
+    for (int i = 0; i < numberOfPoints; i++) {
+      grid[i] = -halfWidth + i * step;
+    }
+    // backward induction, the values being in units of the numeraire
+    // the exercise boundary is a knot of the piecewise linear interpolation, as the values have a kink there
+    double[] values = new double[numberOfPoints];
+    double[] boundaries = new double[nExercises];
+    int kinkIndex = -1;
+    double kinkValue = 0d;
+    for (int k = nExercises - 1; k >= 0; k--) {
+      if (k < nExercises - 1) {
+        double increment = Math.sqrt(variances[k + 1] - variances[k]);
+        values = expectation(values, grid, increment, kinkIndex, boundaries[k + 1], kinkValue);
+      }
+      ResolvedSwapLeg cashFlowEquiv = cashFlowEquivs.get(k);
+      int nPayments = cashFlowEquiv.getPaymentEvents().size();
+      double[] cashFlows = new double[nPayments];
+      double[] bondFactors = new double[nPayments];
+      for (int j = 0; j < nPayments; j++) {
+        NotionalExchange payment = (NotionalExchange) cashFlowEquiv.getPaymentEvents().get(j);
+        cashFlows[j] = paymentPricer.presentValueAmount(payment.getPayment(), ratesProvider) / numeraireDiscountFactor;
+        bondFactors[j] = integrals.bondFactor(numeraireTime, hwProvider.relativeTime(payment.getPaymentDate()));
+      }
+      double previousDifference = 0d;
+      boundaries[k] = Double.NaN;
+      kinkIndex = -1;
+      for (int i = 0; i < numberOfPoints; i++) {
+        double exercise = exerciseValue(cashFlows, bondFactors, variances[k], grid[i]);
+        double difference = exercise - values[i];
+        if (i > 0 && kinkIndex < 0 && (difference >= 0d) != (previousDifference >= 0d)) {
+          kinkIndex = i - 1;
+          boundaries[k] = grid[i] - step * difference / (difference - previousDifference);
+          kinkValue = exerciseValue(cashFlows, bondFactors, variances[k], boundaries[k]);
+        }
+        previousDifference = difference;
+        values[i] = Math.max(exercise, values[i]);
+      }
+    }
+    // the factor is zero today, the middle of the grid
+    double expectation = expectation(values, grid, Math.sqrt(variances[0]), kinkIndex, boundaries[0], kinkValue,
+        (numberOfPoints - 1) / 2, 1)[0];
+    double sign = live.get(0).getLongShort().isLong() ? 1d : -1d;
+    return new BackwardInduction(currency, sign * numeraireDiscountFactor * expectation, boundaries);
+  }
+
+  // the value of the underlying swap in units of the numeraire
+  private static double exerciseValue(double[] cashFlows, double[] bondFactors, double variance, double factor) {
+    double value = 0d;
+    for (int j = 0; j < cashFlows.length; j++) {
+      value += cashFlows[j] * Math.exp(-bondFactors[j] * factor - 0.5 * bondFactors[j] * bondFactors[j] * variance);
+    }
+    return value;
+  }
+
+  // the expectations of the values after a Gaussian increment, for all the grid points
+  private double[] expectation(
+      double[] values,
+      double[] grid,
+      double stdDev,
+      int kinkIndex,
+      double kinkPosition,
+      double kinkValue) {
+
+    return expectation(values, grid, stdDev, kinkIndex, kinkPosition, kinkValue, 0, numberOfPoints);
+  }
+
+  // the expectations of the values after a Gaussian increment, for consecutive grid points
+  // the values are interpolated linearly between the grid points and the kink
+  private double[] expectation(
+      double[] values,
+      double[] grid,
+      double stdDev,
+      int kinkIndex,
+      double kinkPosition,
+      double kinkValue,
+      int firstIndex,
+      int count) {
+
+    double step = grid[1] - grid[0];
+    double[] result = new double[count];
+    if (stdDev <= SMALL * step) {
+      System.arraycopy(values, firstIndex, result, 0, count);
+      return result;
+    }
+    double[][] weights = weights(step, stdDev);
+    double[] cdfIncrement = weights[0];
+    double[] slopeWeight = weights[1];
+    double[] cdf = weights[2];
+    double stdDevRatio = stdDev / step;
+    for (int p = 0; p < count; p++) {
+      int index = firstIndex + p;
+      int offset = numberOfPoints - 1 - index;
+      double value = values[0] * cdf[offset] + values[numberOfPoints - 1] * cdf[index];
+      for (int j = 0; j < numberOfPoints - 1; j++) {
+        value += values[j] * cdfIncrement[offset + j] +
+            (values[j + 1] - values[j]) * stdDevRatio * slopeWeight[offset + j];
+      }
+      if (kinkIndex >= 0) {
+        // replace the segment containing the kink by two segments
+        int j = kinkIndex;
+        value -= values[j] * cdfIncrement[offset + j] +
+            (values[j + 1] - values[j]) * stdDevRatio * slopeWeight[offset + j];
+        value += segment(grid[j], kinkPosition, values[j], kinkValue, grid[index], stdDev) +
+            segment(kinkPosition, grid[j + 1], kinkValue, values[j + 1], grid[index], stdDev);
+      }
+      result[p] = value;
+    }
+    return result;
+  }
+
+  // the expectation of a linear function on a segment, restricted to the segment, after a Gaussian increment
+  private static double segment(double start, double end, double startValue, double endValue, double x, double stdDev) {
+    if (end - start <= 0d) {
+      return 0d;
+    }
+    double zStart = (start - x) / stdDev;
+    double zEnd = (end - x) / stdDev;
+    double cdfIncrement = NORMAL.cdf(zEnd) - NORMAL.cdf(zStart);
+    double slope = (endValue - startValue) / (end - start);
+    return startValue * cdfIncrement +
+        slope * stdDev * (NORMAL.pdf(zStart) - NORMAL.pdf(zEnd) - zStart * cdfIncrement);
+  }
+
+  // the integration weights, indexed by the difference between the grid indices shifted by numberOfPoints - 1
+  // for a segment [z_m, z_m+1] of the standard normal variable, the expectation of a linear function a + b z is
+  // a * (N(z_m+1) - N(z_m)) + b * (n(z_m) - n(z_m+1))
+  private double[][] weights(double step, double stdDev) {
+    int nOffsets = 2 * numberOfPoints - 1;
+    double[] cdf = new double[nOffsets];
+    double[] pdf = new double[nOffsets];
+    for (int m = 0; m < nOffsets; m++) {
+      double z = (m - numberOfPoints + 1) * step / stdDev;
+      cdf[m] = NORMAL.cdf(z);
+      pdf[m] = NORMAL.pdf(z);
+    }
+    double[] cdfIncrement = new double[nOffsets - 1];
+    double[] slopeWeight = new double[nOffsets - 1];
+    for (int m = 0; m < nOffsets - 1; m++) {
+      double z = (m - numberOfPoints + 1) * step / stdDev;
+      cdfIncrement[m] = cdf[m + 1] - cdf[m];
+      slopeWeight[m] = pdf[m] - pdf[m + 1] - z * cdfIncrement[m];
+    }
+    return new double[][] {cdfIncrement, slopeWeight, cdf};
+  }
+
+  //-------------------------------------------------------------------------
+  // validate that the swaptions describe a Bermudan swaption and that the providers are coherent
+  private void validate(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    ArgChecker.notEmpty(swaptions, "swaptions");
+    ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    ResolvedSwaption first = swaptions.get(0);
+    LongShort longShort = first.getLongShort();
+    LocalDate endDate = first.getUnderlying().getEndDate();
+    LocalDate previousExpiry = null;
+    for (ResolvedSwaption swaption : swaptions) {
+      ArgChecker.isFalse(swaption.getUnderlying().isCrossCurrency(), "underlying swap should be single currency");
+      ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+          "swaption should be physical settlement");
+      ArgChecker.isTrue(swaption.getCurrency().equals(first.getCurrency()), "swaptions should have the same currency");
+      ArgChecker.isTrue(swaption.getLongShort().equals(longShort), "swaptions should be all long or all short");
+      ArgChecker.isTrue(swaption.getUnderlying().getEndDate().equals(endDate), "swaptions should be co-terminal");
+      ArgChecker.isTrue(previousExpiry == null || swaption.getExpiryDate().isAfter(previousExpiry),
+          "swaptions should be sorted by strictly increasing expiry");
+      previousExpiry = swaption.getExpiryDate();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the result of the backward induction
+  private static final class BackwardInduction {
+    private final Currency currency;
+    private final double presentValue;
+    private final double[] boundaries;
+
+    private BackwardInduction(Currency currency, double presentValue, double[] boundaries) {
+      this.currency = currency;
+      this.presentValue = presentValue;
+      this.boundaries = boundaries;
+    }
+  }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.rootfinding.RidderSingleRootFinder;
+import com.opengamma.strata.math.impl.statistics.distribution.DoubleProbabilityDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.StandardNormalDistribution;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Calibrator of the Hull-White one factor model with piecewise constant volatility to physical swaptions.
+ * <p>
+ * The co-terminal calibration fits one volatility per swaption, the volatility times being the swaption expiries.
+ * The price of a European swaption depends on the volatilities only through the variance of the factor of the model
+ * at its expiry. The variance matching each price is found independently for each swaption, then the volatilities
+ * are bootstrapped from the variances, without pricing the swaptions again.
+ * <p>
+ * This is typically used before pricing a Bermudan swaption with
+ * {@link HullWhiteBermudanSwaptionPhysicalProductPricer}, the co-terminal swaptions being those describing
+ * the Bermudan swaption.
+ */
+public class HullWhiteSwaptionPhysicalCalibrator {
+
+  /**
+   * Normal distribution function.
+   */
+  private static final DoubleProbabilityDistribution NORMAL = StandardNormalDistribution.INSTANCE;
+  /**
+   * The model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  /**
+   * The initial upper bound of the standard deviation of the factor.
+   */
+  private static final double INITIAL_STD_DEV = 0.01;
+  /**
+   * The maximum number of times the upper bound is doubled.
+   */
+  private static final int MAX_BRACKET_ITERATIONS = 50;
+
+  /**
+   * Default implementation.
+   */
+  public static final HullWhiteSwaptionPhysicalCalibrator DEFAULT =
+      new HullWhiteSwaptionPhysicalCalibrator(DiscountingPaymentPricer.DEFAULT);
+
+  /**
+   * Pricer for {@link Payment}.
+   */
+  private final DiscountingPaymentPricer paymentPricer;
+  /**
+   * The root finder.
+   */
+  private final RidderSingleRootFinder rootFinder = new RidderSingleRootFinder(1.0e-12);
+
+  /**
+   * Creates an instance.
+   *
+   * @param paymentPricer  the pricer for {@link Payment}
+   */
+  public HullWhiteSwaptionPhysicalCalibrator(DiscountingPaymentPricer paymentPricer) {
+    this.paymentPricer = ArgChecker.notNull(paymentPricer, "paymentPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the volatilities of the model to co-terminal swaptions.
+   * <p>
+   * The volatility {@code i} applies between the expiries of the swaptions {@code i-1} and {@code i},
+   * the last volatility applying after the expiry of the last but one swaption.
+   * The prices are the present values of the swaptions, as computed by {@link HullWhiteSwaptionPhysicalProductPricer}.
+   * The prices must imply an increasing variance of the factor of the model.
+   *
+   * @param swaptions  the swaptions, sorted by strictly increasing expiry after the valuation date
+   * @param prices  the prices of the swaptions
+   * @param meanReversion  the mean reversion of the model
+   * @param ratesProvider  the rates provider
+   * @param dayCount  the day count applicable to the model
+   * @param valuationDateTime  the valuation date-time
+   * @return the calibrated model parameters provider
+   */
+  public HullWhiteOneFactorPiecewiseConstantParametersProvider calibrateCoTerminal(
+      List<ResolvedSwaption> swaptions,
+      DoubleArray prices,
+      double meanReversion,
+      RatesProvider ratesProvider,
+      DayCount dayCount,
+      ZonedDateTime valuationDateTime) {
+
+    ArgChecker.notEmpty(swaptions, "swaptions");
+    ArgChecker.notNull(prices, "prices");
+    ArgChecker.isTrue(prices.size() == swaptions.size(), "prices and swaptions should have the same size");
+    ArgChecker.notNull(dayCount, "dayCount");
+    ArgChecker.notNull(valuationDateTime, "valuationDateTime");
+    LocalDate valuationDate = valuationDateTime.toLocalDate();
+    ArgChecker.isTrue(valuationDate.equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    int nSwaptions = swaptions.size();
+    double[] expiries = new double[nSwaptions];
+    double[] variances = new double[nSwaptions];
+    for (int k = 0; k < nSwaptions; k++) {
+      ResolvedSwaption swaption = swaptions.get(k);
+      ArgChecker.isFalse(swaption.getUnderlying().isCrossCurrency(), "underlying swap should be single currency");
+      ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+          "swaption should be physical settlement");
+      ArgChecker.isTrue(swaption.getExpiryDate().isAfter(valuationDate), "swaption should expire after valuation date");
+      expiries[k] = dayCount.yearFraction(valuationDate, swaption.getExpiryDate());
+      ArgChecker.isTrue(k == 0 || expiries[k] > expiries[k - 1],
+          "swaptions should be sorted by strictly increasing expiry");
+      double stdDev = impliedStandardDeviation(
+          swaption, prices.get(k), meanReversion, expiries[k], ratesProvider, dayCount, valuationDate);
+      variances[k] = stdDev * stdDev;
+    }
+    // bootstrap of the volatilities from the variances of the factor at the expiries
+    double[] volatilities = new double[nSwaptions];
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int k = 0; k < nSwaptions; k++) {
+      ArgChecker.isTrue(variances[k] > previousVariance,
+          "prices should imply an increasing variance, but variance at expiry {} is {}", k, variances[k]);
+      double expFactor = Math.exp(2d * meanReversion * expiries[k]) - Math.exp(2d * meanReversion * previousTime);
+      volatilities[k] = Math.sqrt((variances[k] - previousVariance) * 2d * meanReversion / expFactor);
+      previousTime = expiries[k];
+      previousVariance = variances[k];
+    }
+    HullWhiteOneFactorPiecewiseConstantParameters parameters = HullWhiteOneFactorPiecewiseConstantParameters.of(
+        meanReversion, DoubleArray.ofUnsafe(volatilities), DoubleArray.copyOf(expiries, 0, nSwaptions - 1));
+    return HullWhiteOneFactorPiecewiseConstantParametersProvider.of(parameters, dayCount, valuationDateTime);
+  }
+
+  //-------------------------------------------------------------------------
+  // the standard deviation of the factor at expiry matching the price
+  private double impliedStandardDeviation(
+      ResolvedSwaption swaption,
+      double price,
+      double meanReversion,
+      double expiry,
+      RatesProvider ratesProvider,
+      DayCount dayCount,
+      LocalDate valuationDate) {
+
+    ResolvedSwapLeg cashFlowEquiv =
+        CashFlowEquivalentCalculator.cashFlowEquivalentSwap(swaption.getUnderlying(), ratesProvider);
+    int nPayments = cashFlowEquiv.getPaymentEvents().size();
+    double[] factors = new double[nPayments];
+    double[] discountedCashFlow = new double[nPayments];
+    for (int j = 0; j < nPayments; j++) {
+      NotionalExchange payment = (NotionalExchange) cashFlowEquiv.getPaymentEvents().get(j);
+      double maturity = dayCount.yearFraction(valuationDate, payment.getPaymentDate());
+      factors[j] = (Math.exp(-meanReversion * expiry) - Math.exp(-meanReversion * maturity)) / meanReversion;
+      discountedCashFlow[j] = paymentPricer.presentValueAmount(payment.getPayment(), ratesProvider);
+    }
+    double scale = Arrays.stream(discountedCashFlow).map(Math::abs).sum();
+    double omega = (swaption.getUnderlying().getLegs(SwapLegType.FIXED).get(0).getPayReceive().isPay() ? -1d : 1d);
+    double target = price * (swaption.getLongShort().isLong() ? 1d : -1d) / scale;
+    double intrinsic = Math.max(0d, DoubleArrayMath.sum(discountedCashFlow)) / scale;
+    ArgChecker.isTrue(target > intrinsic, "price of swaption {} should be above its intrinsic value", swaption);
+    Function<Double, Double> error = stdDev -> price(discountedCashFlow, factors, omega, stdDev) / scale - target;
+    double upper = INITIAL_STD_DEV;
+    int iteration = 0;
+    while (error.apply(upper) < 0d) {
+      ArgChecker.isTrue(iteration++ < MAX_BRACKET_ITERATIONS, "price of swaption {} is too high", swaption);
+      upper *= 2d;
+    }
+    return rootFinder.getRoot(error, 0d, upper);
+  }
+
+  // the price of the swaption for a standard deviation of the factor at expiry
+  private static double price(double[] discountedCashFlow, double[] factors, double omega, double stdDev) {
+    int nPayments = discountedCashFlow.length;
+    if (stdDev == 0d) {
+      return Math.max(0d, DoubleArrayMath.sum(discountedCashFlow));
+    }
+    double[] alpha = new double[nPayments];
+    for (int j = 0; j < nPayments; j++) {
+      alpha[j] = factors[j] * stdDev;
+    }
+    double kappa = MODEL.kappa(DoubleArray.ofUnsafe(discountedCashFlow), DoubleArray.ofUnsafe(alpha));
+    double pv = 0d;
+    for (int j = 0; j < nPayments; j++) {
+      pv += discountedCashFlow[j] * NORMAL.cdf(omega * (kappa + alpha[j]));
+    }
+    return pv;
+  }
+
+}
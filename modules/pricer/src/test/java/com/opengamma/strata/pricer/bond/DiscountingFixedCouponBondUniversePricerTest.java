@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.JPTO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
+import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link DiscountingFixedCouponBondUniversePricer}.
+ */
+@Test
+public class DiscountingFixedCouponBondUniversePricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingFixedCouponBondProductPricer PRICER = DiscountingFixedCouponBondProductPricer.DEFAULT;
+  private static final DiscountingFixedCouponBondUniversePricer UNIVERSE_PRICER =
+      DiscountingFixedCouponBondUniversePricer.DEFAULT;
+  private static final StandardId ISSUER_1 = StandardId.of("OG-Ticker", "GOVT1");
+  private static final StandardId ISSUER_2 = StandardId.of("OG-Ticker", "GOVT2");
+
+  // bonds of the yield conventions
+  private static final ResolvedFixedCouponBond BOND_US = bond(
+      "US", date(2006, 11, 15), 10, Frequency.P6M, DayCounts.ACT_ACT_ICMA, 0.04625, Currency.USD,
+      FixedCouponBondYieldConvention.US_STREET, DaysAdjustment.NONE);
+  private static final ResolvedFixedCouponBond BOND_UK = bond(
+      "UK", date(2002, 9, 7), 12, Frequency.P6M, DayCounts.ACT_ACT_ICMA, 0.05, Currency.GBP,
+      FixedCouponBondYieldConvention.GB_BUMP_DMO,
+      DaysAdjustment.ofCalendarDays(-7, BusinessDayAdjustment.of(BusinessDayConventions.PRECEDING, SAT_SUN)));
+  private static final ResolvedFixedCouponBond BOND_GER = bond(
+      "GER", date(2002, 9, 7), 12, Frequency.P12M, DayCounts.ACT_ACT_ICMA, 0.05, Currency.EUR,
+      FixedCouponBondYieldConvention.DE_BONDS, DaysAdjustment.NONE);
+  private static final ResolvedFixedCouponBond BOND_JP = bond(
+      "JP", date(2015, 9, 20), 10, Frequency.P6M, DayCounts.NL_365, 0.004, Currency.JPY,
+      FixedCouponBondYieldConvention.JP_SIMPLE, DaysAdjustment.NONE);
+  private static final List<ResolvedFixedCouponBond> YIELD_BONDS = ImmutableList.of(
+      BOND_US, BOND_US, BOND_UK, BOND_UK, BOND_GER, BOND_GER, BOND_JP, BOND_JP);
+  private static final List<LocalDate> SETTLEMENT_DATES = ImmutableList.of(
+      date(2011, 8, 23), date(2016, 6, 8), date(2011, 9, 5), date(2014, 6, 4),
+      date(2011, 9, 7), date(2014, 6, 6), date(2015, 9, 29), date(2025, 6, 6));
+  private static final FixedCouponBondUniverse YIELD_UNIVERSE =
+      FixedCouponBondUniverse.of(YIELD_BONDS, SETTLEMENT_DATES);
+  private static final DoubleArray YIELDS = DoubleArray.of(0.04, 0.035, 0.04, 0.03, 0.045, 0.02, 0.00321, 0.0015);
+
+  // bonds of two issuers for z-spread
+  private static final LocalDate VAL_DATE = date(2016, 4, 25);
+  private static final DaysAdjustment EX_COUPON =
+      DaysAdjustment.ofBusinessDays(-5, HolidayCalendarIds.EUTA, BusinessDayAdjustment.NONE);
+  private static final List<ResolvedFixedCouponBond> SPREAD_BONDS = ImmutableList.of(
+      spreadBond("GOVT1-BOND1", ISSUER_1, date(2015, 4, 12), 10, EX_COUPON),
+      spreadBond("GOVT1-BOND2", ISSUER_1, date(2015, 4, 12), 10, DaysAdjustment.NONE),
+      spreadBond("GOVT2-BOND1", ISSUER_2, date(2013, 10, 1), 5, EX_COUPON),
+      spreadBond("GOVT1-BOND3", ISSUER_1, date(2011, 5, 2), 5, DaysAdjustment.NONE),
+      spreadBond("GOVT2-BOND2", ISSUER_2, date(2016, 1, 15), 20, DaysAdjustment.NONE));
+  private static final FixedCouponBondUniverse SPREAD_UNIVERSE =
+      FixedCouponBondUniverse.of(SPREAD_BONDS, VAL_DATE, REF_DATA);
+  private static final LegalEntityGroup GROUP_1 = LegalEntityGroup.of("GOVT1");
+  private static final LegalEntityGroup GROUP_2 = LegalEntityGroup.of("GOVT2");
+  private static final RepoGroup GROUP_REPO = RepoGroup.of("GOVT REPO");
+  private static final LegalEntityDiscountingProvider PROVIDER = ImmutableLegalEntityDiscountingProvider.builder()
+      .issuerCurves(ImmutableMap.of(
+          Pair.of(GROUP_1, EUR), discountFactors("Issuer1", 0.03, 0.05, 0.06),
+          Pair.of(GROUP_2, EUR), discountFactors("Issuer2", 0.04, 0.055, 0.07)))
+      .issuerCurveGroups(ImmutableMap.of(ISSUER_1, GROUP_1, ISSUER_2, GROUP_2))
+      .repoCurves(ImmutableMap.of(Pair.of(GROUP_REPO, EUR), discountFactors("Repo", 0.01, 0.015, 0.02)))
+      .repoCurveGroups(ImmutableMap.of(ISSUER_1, GROUP_REPO, ISSUER_2, GROUP_REPO))
+      .valuationDate(VAL_DATE)
+      .build();
+  private static final DoubleArray DIRTY_PRICES = DoubleArray.of(0.98, 1.01, 1.02, 0.995, 0.91);
+
+  private static ResolvedFixedCouponBond bond(
+      String name,
+      LocalDate start,
+      int years,
+      Frequency frequency,
+      DayCount dayCount,
+      double rate,
+      Currency currency,
+      FixedCouponBondYieldConvention yieldConvention,
+      DaysAdjustment exCoupon) {
+
+    PeriodicSchedule schedule = PeriodicSchedule.of(start, start.plusYears(years), frequency,
+        BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, currency.equals(Currency.JPY) ? JPTO : SAT_SUN),
+        StubConvention.SHORT_INITIAL, false);
+    return FixedCouponBond.builder()
+        .securityId(SecurityId.of("OG-Ticker", name))
+        .dayCount(dayCount)
+        .fixedRate(rate)
+        .legalEntityId(ISSUER_1)
+        .currency(currency)
+        .notional(100)
+        .accrualSchedule(schedule)
+        .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, SAT_SUN))
+        .yieldConvention(yieldConvention)
+        .exCouponPeriod(exCoupon)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  private static ResolvedFixedCouponBond spreadBond(
+      String name,
+      StandardId issuer,
+      LocalDate start,
+      int years,
+      DaysAdjustment exCoupon) {
+
+    BusinessDayAdjustment adjustment =
+        BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.EUTA);
+    return FixedCouponBond.builder()
+        .securityId(SecurityId.of("OG-Ticker", name))
+        .dayCount(ACT_365F)
+        .fixedRate(0.015 + 0.001 * years)
+        .legalEntityId(issuer)
+        .currency(EUR)
+        .notional(1.0e7)
+        .accrualSchedule(PeriodicSchedule.of(
+            start, start.plusYears(years), Frequency.P6M, adjustment, StubConvention.SHORT_INITIAL, false))
+        .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, HolidayCalendarIds.EUTA))
+        .yieldConvention(FixedCouponBondYieldConvention.DE_BONDS)
+        .exCouponPeriod(exCoupon)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  private static DiscountFactors discountFactors(String name, double rate1, double rate2, double rate3) {
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(name, ACT_365F),
+        DoubleArray.of(0.1, 2.0, 25.0),
+        DoubleArray.of(rate1, rate2, rate3),
+        CurveInterpolators.LINEAR);
+    return ZeroRateDiscountFactors.of(EUR, VAL_DATE, curve);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_dirtyPriceFromYield() {
+    DoubleArray computed = UNIVERSE_PRICER.dirtyPriceFromYield(YIELD_UNIVERSE, YIELDS);
+    for (int i = 0; i < YIELD_BONDS.size(); i++) {
+      double expected = PRICER.dirtyPriceFromYield(YIELD_BONDS.get(i), SETTLEMENT_DATES.get(i), YIELDS.get(i));
+      assertEquals(computed.get(i), expected, 0d);
+    }
+  }
+
+  public void test_yieldFromDirtyPrice() {
+    DoubleArray dirtyPrices = UNIVERSE_PRICER.dirtyPriceFromYield(YIELD_UNIVERSE, YIELDS);
+    DoubleArray computed = UNIVERSE_PRICER.yieldFromDirtyPrice(YIELD_UNIVERSE, dirtyPrices);
+    for (int i = 0; i < YIELD_BONDS.size(); i++) {
+      double expected = PRICER.yieldFromDirtyPrice(YIELD_BONDS.get(i), SETTLEMENT_DATES.get(i), dirtyPrices.get(i));
+      assertEquals(computed.get(i), expected, 0d);
+      assertEquals(computed.get(i), YIELDS.get(i), 1e-10);
+    }
+  }
+
+  public void test_durationConvexity() {
+    DoubleArray modifiedDurations = UNIVERSE_PRICER.modifiedDurationFromYield(YIELD_UNIVERSE, YIELDS);
+    DoubleArray convexities = UNIVERSE_PRICER.convexityFromYield(YIELD_UNIVERSE, YIELDS);
+    for (int i = 0; i < YIELD_BONDS.size(); i++) {
+      ResolvedFixedCouponBond bond = YIELD_BONDS.get(i);
+      LocalDate settlementDate = SETTLEMENT_DATES.get(i);
+      assertEquals(modifiedDurations.get(i), PRICER.modifiedDurationFromYield(bond, settlementDate, YIELDS.get(i)), 0d);
+      assertEquals(convexities.get(i), PRICER.convexityFromYield(bond, settlementDate, YIELDS.get(i)), 0d);
+    }
+  }
+
+  public void test_macaulayDurationFromYield() {
+    // the JP simple convention is not supported
+    FixedCouponBondUniverse universe = FixedCouponBondUniverse.of(
+        YIELD_BONDS.subList(0, 6), SETTLEMENT_DATES.subList(0, 6));
+    DoubleArray yields = YIELDS.subArray(0, 6);
+    DoubleArray computed = UNIVERSE_PRICER.macaulayDurationFromYield(universe, yields);
+    for (int i = 0; i < 6; i++) {
+      double expected = PRICER.macaulayDurationFromYield(YIELD_BONDS.get(i), SETTLEMENT_DATES.get(i), yields.get(i));
+      assertEquals(computed.get(i), expected, 0d);
+    }
+    assertThrows(
+        () -> UNIVERSE_PRICER.macaulayDurationFromYield(YIELD_UNIVERSE, YIELDS),
+        UnsupportedOperationException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_dirtyPriceFromCurvesWithZSpread() {
+    DoubleArray zSpreads = DoubleArray.of(0.01, -0.005, 0.02, 0.0, 0.035);
+    assertZSpreadDirtyPrice(zSpreads, CONTINUOUS, 0);
+    assertZSpreadDirtyPrice(zSpreads, PERIODIC, 4);
+  }
+
+  private void assertZSpreadDirtyPrice(DoubleArray zSpreads, CompoundedRateType type, int periodsPerYear) {
+    DoubleArray computed =
+        UNIVERSE_PRICER.dirtyPriceFromCurvesWithZSpread(SPREAD_UNIVERSE, PROVIDER, zSpreads, type, periodsPerYear);
+    for (int i = 0; i < SPREAD_BONDS.size(); i++) {
+      double expected = PRICER.dirtyPriceFromCurvesWithZSpread(
+          SPREAD_BONDS.get(i), PROVIDER, REF_DATA, zSpreads.get(i), type, periodsPerYear);
+      assertEquals(computed.get(i), expected, 0d);
+    }
+  }
+
+  public void test_zSpreadFromCurvesAndDirtyPrice() {
+    assertZSpread(CONTINUOUS, 0);
+    assertZSpread(PERIODIC, 2);
+  }
+
+  private void assertZSpread(CompoundedRateType type, int periodsPerYear) {
+    DoubleArray computed =
+        UNIVERSE_PRICER.zSpreadFromCurvesAndDirtyPrice(SPREAD_UNIVERSE, PROVIDER, DIRTY_PRICES, type, periodsPerYear);
+    for (int i = 0; i < SPREAD_BONDS.size(); i++) {
+      double expected = PRICER.zSpreadFromCurvesAndDirtyPrice(
+          SPREAD_BONDS.get(i), PROVIDER, REF_DATA, DIRTY_PRICES.get(i), type, periodsPerYear);
+      assertEquals(computed.get(i), expected, 0d);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> UNIVERSE_PRICER.dirtyPriceFromYield(YIELD_UNIVERSE, DoubleArray.of(0.01)));
+    assertThrowsIllegalArg(() -> UNIVERSE_PRICER.zSpreadFromCurvesAndDirtyPrice(
+        SPREAD_UNIVERSE, PROVIDER, DIRTY_PRICES, PERIODIC, 0));
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link FixedCouponBondUniverse}.
+ */
+@Test
+public class FixedCouponBondUniverseTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final StandardId ISSUER_1 = StandardId.of("OG-Ticker", "GOVT1");
+  private static final StandardId ISSUER_2 = StandardId.of("OG-Ticker", "GOVT2");
+  private static final LocalDate VAL_DATE = date(2016, 4, 25);
+  private static final ResolvedFixedCouponBond BOND_1 = bond("BOND1", ISSUER_1, EUR, date(2015, 4, 12), 10);
+  private static final ResolvedFixedCouponBond BOND_2 = bond("BOND2", ISSUER_2, EUR, date(2014, 6, 20), 5);
+  private static final ResolvedFixedCouponBond BOND_3 = bond("BOND3", ISSUER_1, USD, date(2013, 2, 15), 7);
+  private static final ResolvedFixedCouponBond BOND_4 = bond("BOND4", ISSUER_1, EUR, date(2016, 3, 1), 3);
+
+  private static ResolvedFixedCouponBond bond(
+      String name,
+      StandardId issuer,
+      Currency currency,
+      LocalDate start,
+      int years) {
+
+    PeriodicSchedule schedule = PeriodicSchedule.of(start, start.plusYears(years), Frequency.P6M,
+        BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, SAT_SUN), StubConvention.SHORT_INITIAL, false);
+    return FixedCouponBond.builder()
+        .securityId(SecurityId.of("OG-Ticker", name))
+        .dayCount(DayCounts.ACT_ACT_ICMA)
+        .fixedRate(0.03)
+        .legalEntityId(issuer)
+        .currency(currency)
+        .notional(100)
+        .accrualSchedule(schedule)
+        .settlementDateOffset(DaysAdjustment.ofBusinessDays(2, SAT_SUN))
+        .yieldConvention(FixedCouponBondYieldConvention.DE_BONDS)
+        .exCouponPeriod(DaysAdjustment.ofCalendarDays(-7))
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ImmutableList<ResolvedFixedCouponBond> bonds = ImmutableList.of(BOND_1, BOND_2, BOND_3, BOND_4);
+    FixedCouponBondUniverse test = FixedCouponBondUniverse.of(bonds, VAL_DATE, REF_DATA);
+    assertEquals(test.getBondCount(), 4);
+    assertEquals(test.getBonds(), bonds);
+    assertEquals(test.getBond(1), BOND_2);
+    for (int i = 0; i < bonds.size(); i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = bond.getSettlementDateOffset().adjust(VAL_DATE, REF_DATA);
+      assertEquals(test.getSettlementDate(i), settlementDate);
+      assertEquals(test.getNotional(i), bond.getNotional());
+      assertEquals(test.getFixedRate(i), bond.getFixedRate());
+      assertEquals(test.getYieldConvention(i), bond.getYieldConvention());
+      assertEquals(
+          test.getAccruedInterestPerNotional(i),
+          DiscountingFixedCouponBondProductPricer.DEFAULT.accruedInterest(bond, settlementDate) / bond.getNotional());
+      assertEquals(test.getNominalPaymentDate(i), bond.getNominalPayment().getDate());
+      assertEquals(test.getNominalAmount(i), bond.getNominalPayment().getAmount());
+      int expectedCashFlows = (int) bond.getPeriodicPayments().stream()
+          .filter(p -> p.getDetachmentDate().isAfter(settlementDate))
+          .count();
+      assertEquals(test.getCashFlowOffset(i + 1) - test.getCashFlowOffset(i), expectedCashFlows);
+      int expectedYieldCoupons = (int) bond.getPeriodicPayments().stream()
+          .filter(p -> !settlementDate.isAfter(p.getDetachmentDate()))
+          .count();
+      assertEquals(test.getYieldCouponOffset(i + 1) - test.getYieldCouponOffset(i), expectedYieldCoupons);
+    }
+    // the bonds are grouped by issuer and currency
+    assertEquals(test.getIssuerGroups(), ImmutableList.of(
+        Pair.of(ISSUER_1, EUR), Pair.of(ISSUER_2, EUR), Pair.of(ISSUER_1, USD)));
+    assertEquals(test.getIssuerGroupIndex(0), 0);
+    assertEquals(test.getIssuerGroupIndex(1), 1);
+    assertEquals(test.getIssuerGroupIndex(2), 2);
+    assertEquals(test.getIssuerGroupIndex(3), 0);
+  }
+
+  public void test_of_settlementDates() {
+    ImmutableList<ResolvedFixedCouponBond> bonds = ImmutableList.of(BOND_1, BOND_2);
+    ImmutableList<LocalDate> dates = ImmutableList.of(date(2016, 4, 27), date(2017, 1, 10));
+    FixedCouponBondUniverse test = FixedCouponBondUniverse.of(bonds, dates);
+    assertEquals(test.getBondCount(), 2);
+    assertEquals(test.getSettlementDate(0), dates.get(0));
+    assertEquals(test.getSettlementDate(1), dates.get(1));
+    assertEquals(
+        test.getFactorToNextCoupon(1),
+        DiscountingFixedCouponBondProductPricer.DEFAULT.factorToNextCoupon(BOND_2, dates.get(1)));
+  }
+
+  public void test_of_empty() {
+    FixedCouponBondUniverse test = FixedCouponBondUniverse.of(ImmutableList.of(), VAL_DATE, REF_DATA);
+    assertEquals(test.getBondCount(), 0);
+    assertEquals(test.getIssuerGroups().size(), 0);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> FixedCouponBondUniverse.of(
+        ImmutableList.of(BOND_1, BOND_2), ImmutableList.of(VAL_DATE)));
+    // settlement after maturity
+    assertThrowsIllegalArg(() -> FixedCouponBondUniverse.of(
+        ImmutableList.of(BOND_1), ImmutableList.of(date(2026, 1, 5))));
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.capfloor;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
+import com.opengamma.strata.market.surface.Surfaces;
+import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+
+/**
+ * Test {@link IborCapletFloorletBasket}.
+ */
+@Test
+public class IborCapletFloorletBasketTest extends CapletStrippingSetup {
+
+  private static final List<ResolvedIborCapFloorLeg> CAPS = ImmutableList.<ResolvedIborCapFloorLeg>builder()
+      .addAll(getCapsBlackVols(1).getFirst())
+      .addAll(getCapsBlackVols(4).getFirst())
+      .build();
+  private static final InterpolatedNodalSurface SURFACE = InterpolatedNodalSurface.of(
+      Surfaces.blackVolatilityByExpiryStrike("volSurface", ACT_ACT_ISDA),
+      DoubleArray.of(0.5, 0.5, 0.5, 3d, 3d, 3d, 10d, 10d, 10d),
+      DoubleArray.of(0.005, 0.02, 0.04, 0.005, 0.02, 0.04, 0.005, 0.02, 0.04),
+      DoubleArray.of(0.45, 0.35, 0.3, 0.4, 0.32, 0.28, 0.35, 0.3, 0.27),
+      GridSurfaceInterpolator.of(LINEAR, LINEAR));
+  private static final BlackIborCapletFloorletExpiryStrikeVolatilities VOLS =
+      BlackIborCapletFloorletExpiryStrikeVolatilities.of(USD_LIBOR_3M, CALIBRATION_TIME, SURFACE);
+  private static final BlackIborCapletFloorletPeriodPricer PERIOD_PRICER = BlackIborCapletFloorletPeriodPricer.DEFAULT;
+  private static final double TOL = 1.0e-13;
+
+  public void test_of() {
+    IborCapletFloorletBasket test = IborCapletFloorletBasket.of(CAPS);
+    assertEquals(test.getCapFloorCount(), CAPS.size());
+    // the caps of the same strike share their caplets
+    List<ResolvedIborCapFloorLeg> caps1 = getCapsBlackVols(1).getFirst();
+    List<ResolvedIborCapFloorLeg> caps4 = getCapsBlackVols(4).getFirst();
+    int nPeriods = caps1.get(caps1.size() - 1).getCapletFloorletPeriods().size() +
+        caps4.get(caps4.size() - 1).getCapletFloorletPeriods().size();
+    assertEquals(test.getPeriods().size(), nPeriods);
+    assertThrowsIllegalArg(() -> IborCapletFloorletBasket.of(ImmutableList.of()));
+  }
+
+  public void test_values() {
+    IborCapletFloorletBasket test = IborCapletFloorletBasket.of(CAPS);
+    DoubleArray computed = test.values(period -> PERIOD_PRICER.presentValue(period, RATES_PROVIDER, VOLS).getAmount());
+    assertEquals(computed.size(), CAPS.size());
+    for (int i = 0; i < CAPS.size(); ++i) {
+      double expected = LEG_PRICER_BLACK.presentValue(CAPS.get(i), RATES_PROVIDER, VOLS).getAmount();
+      assertEquals(computed.get(i), expected, Math.abs(expected) * TOL);
+    }
+  }
+
+  public void test_valuesBatch() {
+    IborCapletFloorletBasket test = IborCapletFloorletBasket.of(CAPS);
+    DoubleArray computed = test.valuesBatch(periods -> LEG_PRICER_BLACK.presentValues(periods, RATES_PROVIDER, VOLS));
+    DoubleArray scalar = test.values(period -> PERIOD_PRICER.presentValue(period, RATES_PROVIDER, VOLS).getAmount());
+    assertEquals(computed.size(), CAPS.size());
+    for (int i = 0; i < CAPS.size(); ++i) {
+      assertEquals(computed.get(i), scalar.get(i), Math.abs(scalar.get(i)) * TOL);
+    }
+    assertThrowsIllegalArg(() -> test.valuesBatch(periods -> new double[1]));
+  }
+
+  public void test_sensitivities() {
+    IborCapletFloorletBasket test = IborCapletFloorletBasket.of(CAPS);
+    int nParams = SURFACE.getParameterCount();
+    DoubleMatrix computed = test.sensitivities(
+        period -> VOLS.parameterSensitivity(
+            PERIOD_PRICER.presentValueSensitivityModelParamsVolatility(period, RATES_PROVIDER, VOLS).build())
+            .getSensitivities().get(0).getSensitivity(),
+        nParams);
+    assertEquals(computed.rowCount(), CAPS.size());
+    assertEquals(computed.columnCount(), nParams);
+    for (int i = 0; i < CAPS.size(); ++i) {
+      DoubleArray expected = VOLS.parameterSensitivity(
+          LEG_PRICER_BLACK.presentValueSensitivityModelParamsVolatility(CAPS.get(i), RATES_PROVIDER, VOLS).build())
+          .getSensitivities().get(0).getSensitivity();
+      for (int j = 0; j < nParams; ++j) {
+        assertEquals(computed.get(i, j), expected.get(j), Math.max(1d, Math.abs(expected.get(j))) * TOL);
+      }
+    }
+    assertThrowsIllegalArg(() -> test.sensitivities(period -> DoubleArray.filled(2), nParams));
+  }
+
+}
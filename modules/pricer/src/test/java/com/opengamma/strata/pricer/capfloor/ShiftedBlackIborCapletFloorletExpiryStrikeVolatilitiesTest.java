@@ -134,6 +134,38 @@ public class ShiftedBlackIborCapletFloorletExpiryStrikeVolatilitiesTest {
       }
     }
   }
+  public void test_price_formula_batch() {
+    int size = NB_TEST * NB_TEST * 2;
+    double[] expiries = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    double[] strikes = new double[size];
+    double[] forwards = new double[size];
+    double[] vols = new double[size];
+    int index = 0;
+    for (int i = 0; i < NB_TEST; i++) {
+      for (int j = 0; j < NB_TEST; j++) {
+        for (PutCall putCall : new PutCall[] {PutCall.CALL, PutCall.PUT}) {
+          expiries[index] = VOLS.relativeTime(TEST_OPTION_EXPIRY[i]);
+          putCalls[index] = putCall;
+          strikes[index] = TEST_STRIKE[j];
+          forwards[index] = TEST_FORWARD;
+          vols[index] = 0.2 + 0.01 * i;
+          index++;
+        }
+      }
+    }
+    double[] price = VOLS.price(expiries, putCalls, strikes, forwards, vols);
+    double[] delta = VOLS.priceDelta(expiries, putCalls, strikes, forwards, vols);
+    double[] gamma = VOLS.priceGamma(expiries, putCalls, strikes, forwards, vols);
+    double[] theta = VOLS.priceTheta(expiries, putCalls, strikes, forwards, vols);
+    for (int i = 0; i < size; i++) {
+      assertEquals(price[i], VOLS.price(expiries[i], putCalls[i], strikes[i], forwards[i], vols[i]));
+      assertEquals(delta[i], VOLS.priceDelta(expiries[i], putCalls[i], strikes[i], forwards[i], vols[i]));
+      assertEquals(gamma[i], VOLS.priceGamma(expiries[i], putCalls[i], strikes[i], forwards[i], vols[i]));
+      assertEquals(theta[i], VOLS.priceTheta(expiries[i], putCalls[i], strikes[i], forwards[i], vols[i]));
+    }
+  }
+
 
   public void test_relativeTime() {
     double test1 = VOLS.relativeTime(VAL_DATE_TIME);
@@ -43,6 +43,7 @@ import com.opengamma.strata.pricer.swaption.SabrParametersSwaptionVolatilities;
 import com.opengamma.strata.pricer.swaption.SwaptionSabrRateVolatilityDataSet;
 import com.opengamma.strata.pricer.swaption.SwaptionVolatilitiesName;
 import com.opengamma.strata.product.cms.CmsPeriod;
+import com.opengamma.strata.product.cms.CmsPeriodType;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.common.PutCall;
 import com.opengamma.strata.product.swap.ResolvedSwap;
@@ -787,6 +788,68 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     assertEquals(pvComputed.getAmount(),  pvExpected, TOLERANCE_PV);    
   }
 
+  //---------------------------------------------------------------------
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GRID =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofStrikeGrid(CUT_OFF_STRIKE, MU);
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GRID_8 =
+      SabrExtrapolationReplicationCmsPeriodPricer.ofStrikeGrid(PRICER_SWAP, CUT_OFF_STRIKE, MU, 8);
+  private static final double TOL_GRID = 1.0e-6;
+  private static final double TOL_GRID_SENSI = 1.0e-4;
+  private static final double TOL_GRID_NODES = 1.0e-8;
+
+  public void test_strikeGrid() {
+    CmsPeriod[] periods = new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_SELL, FLOORLET_SELL, CAPLET_ZERO};
+    for (CmsPeriod period : periods) {
+      assertStrikeGrid(period, RATES_PROVIDER, VOLATILITIES);
+    }
+    CmsPeriod[] periodsShift = new CmsPeriod[] {COUPON, CAPLET_NEGATIVE, FLOORLET_NEGATIVE, CAPLET, FLOORLET};
+    for (CmsPeriod period : periodsShift) {
+      assertStrikeGrid(period, RATES_PROVIDER, VOLATILITIES_SHIFT);
+    }
+  }
+
+  public void test_strikeGrid_afterFix() {
+    assertEquals(PRICER_GRID.presentValue(CAPLET, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX),
+        PRICER.presentValue(CAPLET, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX));
+    assertEquals(PRICER_GRID.presentValueSensitivityStrike(FLOORLET, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX),
+        PRICER.presentValueSensitivityStrike(FLOORLET, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX));
+  }
+
+  public void test_strikeGrid_sameFixing() {
+    // the grid of the fixing is shared by the periods, the result does not depend on the order of computation
+    SabrExtrapolationReplicationCmsPeriodPricer pricer =
+        SabrExtrapolationReplicationCmsPeriodPricer.ofStrikeGrid(CUT_OFF_STRIKE, MU);
+    double pvFloorlet = pricer.presentValue(FLOORLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+    double pvCaplet = pricer.presentValue(CAPLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+    double pvCoupon = pricer.presentValue(COUPON, RATES_PROVIDER, VOLATILITIES).getAmount();
+    assertEquals(pvFloorlet, PRICER_GRID.presentValue(FLOORLET, RATES_PROVIDER, VOLATILITIES).getAmount());
+    assertEquals(pvCaplet, PRICER_GRID.presentValue(CAPLET, RATES_PROVIDER, VOLATILITIES).getAmount());
+    assertEquals(pvCoupon, PRICER_GRID.presentValue(COUPON, RATES_PROVIDER, VOLATILITIES).getAmount());
+  }
+
+  public void test_strikeGrid_invalid() {
+    assertThrowsIllegalArg(
+        () -> SabrExtrapolationReplicationCmsPeriodPricer.ofStrikeGrid(PRICER_SWAP, CUT_OFF_STRIKE, MU, 0));
+  }
+
+  private void assertStrikeGrid(CmsPeriod period, RatesProvider provider, SabrParametersSwaptionVolatilities vols) {
+    // the Runge-Kutta integration of the sensitivities is less accurate than the quadrature on the grid
+    double tolSensi = NOTIONAL * TOL_GRID_SENSI;
+    double pv = PRICER_GRID.presentValue(period, provider, vols).getAmount();
+    assertEquals(pv, PRICER.presentValue(period, provider, vols).getAmount(), NOTIONAL * TOL_GRID);
+    assertEquals(pv, PRICER_GRID_8.presentValue(period, provider, vols).getAmount(), NOTIONAL * TOL_GRID_NODES);
+    PointSensitivities rates = PRICER_GRID.presentValueSensitivityRates(period, provider, vols).build();
+    PointSensitivities ratesExpected = PRICER.presentValueSensitivityRates(period, provider, vols).build();
+    assertTrue(rates.equalWithTolerance(ratesExpected, tolSensi));
+    PointSensitivities sabr = PRICER_GRID.presentValueSensitivityModelParamsSabr(period, provider, vols).build();
+    PointSensitivities sabrExpected = PRICER.presentValueSensitivityModelParamsSabr(period, provider, vols).build();
+    assertTrue(sabr.equalWithTolerance(sabrExpected, tolSensi));
+    if (!period.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
+      assertEquals(PRICER_GRID.presentValueSensitivityStrike(period, provider, vols),
+          PRICER.presentValueSensitivityStrike(period, provider, vols), tolSensi);
+    }
+  }
+
   //---------------------------------------------------------------------
   public void test_explainPresentValue() {
     ExplainMapBuilder builder = ExplainMap.builder();
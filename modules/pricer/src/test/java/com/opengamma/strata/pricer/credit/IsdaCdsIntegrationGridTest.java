@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Test {@link IsdaCdsIntegrationGrid}.
+ */
+@Test
+public class IsdaCdsIntegrationGridTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final DoubleArray TIME_YC = DoubleArray.of(0.1, 0.5, 1d, 2d, 3d, 5d, 7d, 10d, 20d);
+  private static final DoubleArray RATE_YC =
+      DoubleArray.of(0.001, 0.002, 0.003, 0.005, 0.008, 0.012, 0.015, 0.018, 0.021);
+  private static final DoubleArray TIME_CC = DoubleArray.of(0.5, 1d, 2d, 3d, 5d, 7d, 10d);
+  private static final DoubleArray RATE_CC = DoubleArray.of(0.01, 0.012, 0.014, 0.017, 0.02, 0.023, 0.027);
+  private static final CreditDiscountFactors YIELD_CURVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, CurveName.of("yield"), TIME_YC, RATE_YC, ACT_365F);
+  private static final LegalEntitySurvivalProbabilities CREDIT_CURVE = LegalEntitySurvivalProbabilities.of(
+      LEGAL_ENTITY,
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, CurveName.of("credit"), TIME_CC, RATE_CC, ACT_365F));
+  private static final double[] NO_PERIODS = new double[0];
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    IsdaCdsIntegrationGrid test = IsdaCdsIntegrationGrid.of(YIELD_CURVE, CREDIT_CURVE, 0.05, 4.5);
+    DoubleArray expected = DoublesScheduleGenerator.getIntegrationsPoints(0.05, 4.5, TIME_YC, TIME_CC);
+    assertEquals(test.getSchedule(), expected);
+    assertEquals(test.size(), expected.size());
+    for (int i = 0; i < test.size(); ++i) {
+      double t = expected.get(i);
+      double ht = CREDIT_CURVE.zeroRate(t) * t;
+      double rt = YIELD_CURVE.zeroRate(t) * t;
+      assertEquals(test.time(i), t);
+      assertEquals(test.htAt(i), ht);
+      assertEquals(test.rtAt(i), rt);
+      assertEquals(test.discountFactorAt(i), Math.exp(-rt));
+      assertEquals(test.survivalProbabilityAt(i), Math.exp(-ht));
+      assertEquals(test.riskyDiscountFactorAt(i), Math.exp(-ht - rt));
+    }
+  }
+
+  public void test_of_periods() {
+    double[] periodStarts = new double[] {Double.NaN, 0.2, 1.2};
+    double[] periodEnds = new double[] {Double.NaN, 1.2, 2.7};
+    IsdaCdsIntegrationGrid test =
+        IsdaCdsIntegrationGrid.of(YIELD_CURVE, CREDIT_CURVE, 0.05, 2.7, periodStarts, periodEnds);
+    assertEquals(test.getSchedule(), DoublesScheduleGenerator.getIntegrationsPoints(0.05, 2.7, TIME_YC, TIME_CC));
+    assertNull(test.period(0));
+    for (int i = 1; i < periodStarts.length; ++i) {
+      IsdaCdsIntegrationGrid period = test.period(i);
+      DoubleArray expected =
+          DoublesScheduleGenerator.truncateSetInclusive(periodStarts[i], periodEnds[i], test.getSchedule());
+      assertEquals(period.getSchedule(), expected);
+      for (int j = 0; j < period.size(); ++j) {
+        double t = expected.get(j);
+        assertEquals(period.htAt(j), CREDIT_CURVE.zeroRate(t) * t);
+        assertEquals(period.rtAt(j), YIELD_CURVE.zeroRate(t) * t);
+      }
+    }
+  }
+
+  public void test_key() {
+    CreditDiscountFactors yieldCurve =
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, CurveName.of("other"), TIME_YC, RATE_YC, ACT_365F);
+    DoubleArray base = IsdaCdsIntegrationGrid.key(YIELD_CURVE, CREDIT_CURVE, 0.05, 4.5, NO_PERIODS, NO_PERIODS);
+    // the key only depends on the nodes of the curves
+    assertEquals(IsdaCdsIntegrationGrid.key(yieldCurve, CREDIT_CURVE, 0.05, 4.5, NO_PERIODS, NO_PERIODS), base);
+    CreditDiscountFactors bumped = YIELD_CURVE.withParameter(3, 0.006);
+    assertFalse(IsdaCdsIntegrationGrid.key(bumped, CREDIT_CURVE, 0.05, 4.5, NO_PERIODS, NO_PERIODS).equals(base));
+    assertFalse(IsdaCdsIntegrationGrid.key(YIELD_CURVE, CREDIT_CURVE, 0.05, 5d, NO_PERIODS, NO_PERIODS).equals(base));
+    assertFalse(IsdaCdsIntegrationGrid.key(
+        YIELD_CURVE, CREDIT_CURVE, 0.05, 4.5, new double[] {0.05}, new double[] {4.5}).equals(base));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_pricer_cached() {
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(ImmutableMap.of(Pair.of(LEGAL_ENTITY, USD), CREDIT_CURVE))
+        .discountCurves(ImmutableMap.of(USD, YIELD_CURVE))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VALUATION_DATE, 0.4)))
+        .build();
+    ResolvedCds cds = Cds.of(BUY, LEGAL_ENTITY, USD, 1d, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20),
+        Frequency.P3M, HolidayCalendarIds.SAT_SUN, 0.01).resolve(REF_DATA);
+    ResolvedCds otherCds = Cds.of(BUY, LEGAL_ENTITY, USD, 5d, LocalDate.of(2013, 12, 20), LocalDate.of(2018, 12, 20),
+        Frequency.P3M, HolidayCalendarIds.SAT_SUN, 0.05).resolve(REF_DATA);
+    for (AccrualOnDefaultFormula formula : AccrualOnDefaultFormula.values()) {
+      IsdaCdsProductPricer pricer = new IsdaCdsProductPricer(formula);
+      double price = pricer.price(cds, ratesProvider, VALUATION_DATE, PriceType.CLEAN, REF_DATA);
+      // the second CDS uses the grids of the first one
+      double otherPrice = pricer.price(otherCds, ratesProvider, VALUATION_DATE, PriceType.CLEAN, REF_DATA);
+      double expected = new IsdaCdsProductPricer(formula)
+          .price(otherCds, ratesProvider, VALUATION_DATE, PriceType.CLEAN, REF_DATA);
+      assertEquals(otherPrice, expected);
+      assertEquals(pricer.price(cds, ratesProvider, VALUATION_DATE, PriceType.CLEAN, REF_DATA), price);
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsTemplate;
+import com.opengamma.strata.product.credit.type.ImmutableCdsConvention;
+import com.opengamma.strata.product.credit.type.TenorCdsTemplate;
+
+/**
+ * Test {@link IsdaCompliantCreditCurveBatchCalibrator}.
+ */
+@Test
+public class IsdaCompliantCreditCurveBatchCalibratorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 2, 13);
+  private static final DoubleArray TIME_YC = DoubleArray.of(0.1, 0.5, 1d, 2d, 3d, 5d, 7d, 10d, 20d);
+  private static final DoubleArray RATE_YC =
+      DoubleArray.of(0.001, 0.002, 0.003, 0.005, 0.008, 0.012, 0.015, 0.018, 0.021);
+  private static final IsdaCreditDiscountFactors CURVE_YC =
+      IsdaCreditDiscountFactors.of(EUR, VALUATION_DATE, CurveName.of("yield"), TIME_YC, RATE_YC, ACT_365F);
+  private static final CdsConvention CONVENTION = ImmutableCdsConvention.of(
+      "conv", EUR, ACT_360, Frequency.P3M, BusinessDayAdjustment.of(FOLLOWING, SAT_SUN),
+      DaysAdjustment.ofBusinessDays(3, SAT_SUN));
+  private static final Tenor[] TENORS = new Tenor[] {Tenor.TENOR_1Y, Tenor.TENOR_3Y, Tenor.TENOR_5Y, Tenor.TENOR_10Y};
+  private static final double[][] SPREADS = new double[][] {
+      {0.0050, 0.0075, 0.0100, 0.0120}, {0.0120, 0.0150, 0.0170, 0.0180}, {0.0300, 0.0250, 0.0230, 0.0220}};
+  private static final int NUM_ENTITIES = SPREADS.length;
+  private static final ImmutableList<StandardId> LEGAL_ENTITIES;
+  private static final ImmutableList<IsdaCreditCurveDefinition> DEFINITIONS;
+  private static final ImmutableMarketData MARKET_DATA;
+  private static final ImmutableCreditRatesProvider RATES_PROVIDER;
+  static {
+    ImmutableList.Builder<StandardId> legalEntityBuilder = ImmutableList.builder();
+    ImmutableList.Builder<IsdaCreditCurveDefinition> definitionBuilder = ImmutableList.builder();
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRateBuilder = ImmutableMap.builder();
+    ImmutableMarketDataBuilder marketDataBuilder = ImmutableMarketData.builder(VALUATION_DATE);
+    for (int i = 0; i < NUM_ENTITIES; ++i) {
+      StandardId legalEntityId = StandardId.of("OG", "ABC" + i);
+      ImmutableList.Builder<CdsIsdaCreditCurveNode> nodeBuilder = ImmutableList.builder();
+      for (int j = 0; j < TENORS.length; ++j) {
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntityId.getValue() + TENORS[j].toString()));
+        CdsTemplate template = TenorCdsTemplate.of(TENORS[j], CONVENTION);
+        nodeBuilder.add(CdsIsdaCreditCurveNode.ofParSpread(template, id, legalEntityId));
+        marketDataBuilder.addValue(id, SPREADS[i][j]);
+      }
+      legalEntityBuilder.add(legalEntityId);
+      definitionBuilder.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("credit" + i), EUR, VALUATION_DATE, ACT_365F, nodeBuilder.build(), false, true));
+      recoveryRateBuilder.put(legalEntityId, ConstantRecoveryRates.of(legalEntityId, VALUATION_DATE, 0.4));
+    }
+    LEGAL_ENTITIES = legalEntityBuilder.build();
+    DEFINITIONS = definitionBuilder.build();
+    MARKET_DATA = marketDataBuilder.build();
+    RATES_PROVIDER = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .discountCurves(ImmutableMap.of(EUR, CURVE_YC))
+        .recoveryRateCurves(recoveryRateBuilder.build())
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_calibrate() {
+    IsdaCompliantCreditCurveBatchResult test = IsdaCompliantCreditCurveBatchCalibrator.standard()
+        .calibrate(DEFINITIONS, MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    assertFalse(test.hasFailures());
+    ImmutableCreditRatesProvider provider = test.getRatesProvider();
+    assertEquals(provider.discountFactors(EUR), CURVE_YC);
+    for (int i = 0; i < NUM_ENTITIES; ++i) {
+      // the node trades are resolved from the shared node trades, with the coupons of the legal entity
+      LegalEntitySurvivalProbabilities expected = FastCreditCurveCalibrator.standard()
+          .calibrate(DEFINITIONS.get(i), MARKET_DATA, RATES_PROVIDER, REF_DATA);
+      assertEquals(provider.survivalProbabilities(LEGAL_ENTITIES.get(i), EUR), expected);
+    }
+  }
+
+  public void test_calibrate_existingCurves() {
+    StandardId otherId = StandardId.of("OG", "OTHER");
+    LegalEntitySurvivalProbabilities other = LegalEntitySurvivalProbabilities.of(
+        otherId, IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, CurveName.of("other"), TIME_YC, RATE_YC, ACT_365F));
+    ImmutableCreditRatesProvider ratesProvider = RATES_PROVIDER.toBuilder()
+        .creditCurves(ImmutableMap.of(Pair.of(otherId, USD), other))
+        .build();
+    IsdaCompliantCreditCurveBatchResult test = IsdaCompliantCreditCurveBatchCalibrator.standard()
+        .calibrate(DEFINITIONS.subList(0, 1), MARKET_DATA, ratesProvider, REF_DATA);
+    assertEquals(test.getRatesProvider().survivalProbabilities(otherId, USD), other);
+    assertEquals(
+        test.getRatesProvider().survivalProbabilities(LEGAL_ENTITIES.get(0), EUR),
+        FastCreditCurveCalibrator.standard().calibrate(DEFINITIONS.get(0), MARKET_DATA, RATES_PROVIDER, REF_DATA));
+  }
+
+  public void test_calibrate_failure() {
+    StandardId missingId = StandardId.of("OG", "MISSING");
+    CdsIsdaCreditCurveNode node = CdsIsdaCreditCurveNode.ofParSpread(
+        TenorCdsTemplate.of(Tenor.TENOR_5Y, CONVENTION), QuoteId.of(StandardId.of("OG", "NoQuote")), missingId);
+    IsdaCreditCurveDefinition missing = IsdaCreditCurveDefinition.of(
+        CurveName.of("missing"), EUR, VALUATION_DATE, ACT_365F, ImmutableList.of(node), false, false);
+    List<IsdaCreditCurveDefinition> definitions = ImmutableList.<IsdaCreditCurveDefinition>builder()
+        .addAll(DEFINITIONS)
+        .add(missing)
+        .build();
+    IsdaCompliantCreditCurveBatchResult test = IsdaCompliantCreditCurveBatchCalibrator.standard()
+        .calibrate(definitions, MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    // the other legal entities are not affected by the failure
+    assertTrue(test.hasFailures());
+    assertEquals(test.getFailures().keySet(), ImmutableSet.of(Pair.of(missingId, EUR)));
+    assertEquals(test.getFailures().get(Pair.of(missingId, EUR)).getReason(), FailureReason.CALCULATION_FAILED);
+    for (int i = 0; i < NUM_ENTITIES; ++i) {
+      assertEquals(
+          test.getRatesProvider().survivalProbabilities(LEGAL_ENTITIES.get(i), EUR),
+          FastCreditCurveCalibrator.standard().calibrate(DEFINITIONS.get(i), MARKET_DATA, RATES_PROVIDER, REF_DATA));
+    }
+  }
+
+  public void test_calibrate_failure_currencies() {
+    StandardId missingId = StandardId.of("OG", "MISSING");
+    CdsIsdaCreditCurveNode node = CdsIsdaCreditCurveNode.ofParSpread(
+        TenorCdsTemplate.of(Tenor.TENOR_5Y, CONVENTION), QuoteId.of(StandardId.of("OG", "NoQuote")), missingId);
+    IsdaCreditCurveDefinition missingEur = IsdaCreditCurveDefinition.of(
+        CurveName.of("missingEur"), EUR, VALUATION_DATE, ACT_365F, ImmutableList.of(node), false, false);
+    IsdaCreditCurveDefinition missingUsd = IsdaCreditCurveDefinition.of(
+        CurveName.of("missingUsd"), USD, VALUATION_DATE, ACT_365F, ImmutableList.of(node), false, false);
+    IsdaCompliantCreditCurveBatchResult test = IsdaCompliantCreditCurveBatchCalibrator.standard()
+        .calibrate(ImmutableList.of(missingEur, missingUsd), MARKET_DATA, RATES_PROVIDER, REF_DATA);
+    // the failures of the same legal entity in different currencies are both kept
+    assertEquals(test.getFailures().keySet(), ImmutableSet.of(Pair.of(missingId, EUR), Pair.of(missingId, USD)));
+    assertTrue(test.getFailures().get(Pair.of(missingId, EUR)).getMessage().contains("missingEur"));
+    assertTrue(test.getFailures().get(Pair.of(missingId, USD)).getMessage().contains("missingUsd"));
+  }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.pricer.common.PriceType.CLEAN;
+import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.CdsIndex;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsIndex;
+
+/**
+ * Test {@link IsdaIntrinsicCdsIndexProductPricer}.
+ */
+@Test
+public class IsdaIntrinsicCdsIndexProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final StandardId INDEX_ID = StandardId.of("OG", "ABCXX");
+  private static final ImmutableList<StandardId> LEGAL_ENTITIES = ImmutableList.of(
+      StandardId.of("OG", "ABC1"), StandardId.of("OG", "ABC2"), StandardId.of("OG", "ABC3"),
+      StandardId.of("OG", "ABC4"), StandardId.of("OG", "ABC5"));
+  private static final double[] SPREAD_FACTORS = new double[] {0.5, 0.8, 1d, 1.3, 2.2};
+  private static final double[] RECOVERY_RATES = new double[] {0.4, 0.4, 0.35, 0.25, 0.3};
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 2, 13);
+  private static final DoubleArray TIME_YC = DoubleArray.of(0.1, 0.5, 1d, 2d, 3d, 5d, 7d, 10d, 20d);
+  private static final DoubleArray RATE_YC =
+      DoubleArray.of(0.0016, 0.0024, 0.0056, 0.0044, 0.0078, 0.0159, 0.0224, 0.0286, 0.0365);
+  private static final IsdaCreditDiscountFactors YIELD_CURVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, CurveName.of("yield"), TIME_YC, RATE_YC, ACT_365F);
+  private static final DoubleArray TIME_CC = DoubleArray.of(1.2, 1.7, 2.7, 3.7, 4.7, 5.7, 7.7, 10.7);
+  private static final DoubleArray RATE_CC =
+      DoubleArray.of(0.00995, 0.01203, 0.01419, 0.01685, 0.01975, 0.02308, 0.02697, 0.02961);
+  private static final CreditRatesProvider RATES_PROVIDER;
+  static {
+    ImmutableMap.Builder<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        ImmutableMap.builder();
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    for (int i = 0; i < LEGAL_ENTITIES.size(); ++i) {
+      StandardId legalEntityId = LEGAL_ENTITIES.get(i);
+      IsdaCreditDiscountFactors creditCurve = IsdaCreditDiscountFactors.of(
+          USD, VALUATION_DATE, CurveName.of("credit" + i), TIME_CC, RATE_CC.multipliedBy(SPREAD_FACTORS[i]), ACT_365F);
+      creditCurves.put(Pair.of(legalEntityId, USD), LegalEntitySurvivalProbabilities.of(legalEntityId, creditCurve));
+      recoveryRates.put(legalEntityId, ConstantRecoveryRates.of(legalEntityId, VALUATION_DATE, RECOVERY_RATES[i]));
+    }
+    RATES_PROVIDER = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(creditCurves.build())
+        .discountCurves(ImmutableMap.of(USD, YIELD_CURVE))
+        .recoveryRateCurves(recoveryRates.build())
+        .build();
+  }
+
+  private static final double NOTIONAL = 1.0e8;
+  private static final LocalDate START_DATE = LocalDate.of(2013, 12, 20);
+  private static final LocalDate MATURITY_DATE = LocalDate.of(2018, 12, 20);
+  private static final double COUPON = 0.01;
+  private static final ResolvedCdsIndex PRODUCT = CdsIndex.of(
+      BUY, INDEX_ID, LEGAL_ENTITIES, USD, NOTIONAL, START_DATE, MATURITY_DATE, P3M, SAT_SUN, COUPON).resolve(REF_DATA);
+  private static final ResolvedCdsIndex PRODUCT_SELL = CdsIndex.of(
+      SELL, INDEX_ID, LEGAL_ENTITIES, USD, NOTIONAL, START_DATE, MATURITY_DATE, P3M, SAT_SUN, COUPON).resolve(REF_DATA);
+  private static final LocalDate SETTLEMENT_STD = PRODUCT.getSettlementDateOffset().adjust(VALUATION_DATE, REF_DATA);
+
+  private static final double TOL = 1.0e-14;
+  private static final IsdaIntrinsicCdsIndexProductPricer PRICER = IsdaIntrinsicCdsIndexProductPricer.DEFAULT;
+  private static final IsdaCdsProductPricer PRICER_CDS = IsdaCdsProductPricer.DEFAULT;
+
+  //-------------------------------------------------------------------------
+  public void test_accFormula() {
+    assertEquals(PRICER.getAccrualOnDefaultFormula(), AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    assertEquals(
+        new IsdaIntrinsicCdsIndexProductPricer(AccrualOnDefaultFormula.MARKIT_FIX).getAccrualOnDefaultFormula(),
+        AccrualOnDefaultFormula.MARKIT_FIX);
+  }
+
+  public void test_constituentValues() {
+    for (AccrualOnDefaultFormula formula : AccrualOnDefaultFormula.values()) {
+      IsdaIntrinsicCdsIndexProductPricer pricer = new IsdaIntrinsicCdsIndexProductPricer(formula);
+      IsdaCdsProductPricer pricerCds = new IsdaCdsProductPricer(formula);
+      for (PriceType priceType : PriceType.values()) {
+        IntrinsicCdsIndexValues test =
+            pricer.constituentValues(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA);
+        assertEquals(test.getCurrency(), USD);
+        assertEquals(test.getLegalEntityIds(), LEGAL_ENTITIES);
+        double total = 0d;
+        for (int i = 0; i < LEGAL_ENTITIES.size(); ++i) {
+          ResolvedCds cds = constituent(PRODUCT, i);
+          double pv = pricerCds.presentValue(cds, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA).getAmount();
+          double annuity = pricerCds.riskyAnnuity(cds, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA);
+          double protection = pricerCds.protectionLeg(cds, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
+          assertEquals(test.getPresentValues().get(i), pv, NOTIONAL * TOL);
+          assertEquals(test.getPresentValue(LEGAL_ENTITIES.get(i)).getAmount(), test.getPresentValues().get(i));
+          assertEquals(test.getRiskyAnnuities().get(i), annuity, TOL);
+          assertEquals(test.getProtectionLegs().get(i), protection, TOL);
+          total += pv;
+        }
+        assertEquals(test.getPresentValue().getAmount(), total, NOTIONAL * TOL);
+        assertEquals(
+            pricer.presentValue(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA),
+            test.getPresentValue());
+      }
+    }
+  }
+
+  public void test_presentValue_sell() {
+    CurrencyAmount buy = PRICER.presentValue(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, CLEAN, REF_DATA);
+    CurrencyAmount sell = PRICER.presentValue(PRODUCT_SELL, RATES_PROVIDER, SETTLEMENT_STD, CLEAN, REF_DATA);
+    assertEquals(sell.getAmount(), -buy.getAmount(), NOTIONAL * TOL);
+  }
+
+  public void test_presentValue_homogeneous() {
+    // identical constituents are consistent with the homogeneous pricer
+    IsdaCreditDiscountFactors indexCurve = IsdaCreditDiscountFactors.of(
+        USD, VALUATION_DATE, CurveName.of("index"), TIME_CC, RATE_CC, ACT_365F);
+    InterpolatedNodalCurve nodalCurve = (InterpolatedNodalCurve) indexCurve.getCurve();
+    IsdaCreditDiscountFactors indexCurveWithFactor = IsdaCreditDiscountFactors.of(USD, VALUATION_DATE,
+        nodalCurve.withMetadata(nodalCurve.getMetadata().withInfo(CurveInfoType.CDS_INDEX_FACTOR, 1d)));
+    ImmutableMap.Builder<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        ImmutableMap.builder();
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    creditCurves.put(Pair.of(INDEX_ID, USD), LegalEntitySurvivalProbabilities.of(INDEX_ID, indexCurveWithFactor));
+    recoveryRates.put(INDEX_ID, ConstantRecoveryRates.of(INDEX_ID, VALUATION_DATE, 0.4));
+    for (StandardId legalEntityId : LEGAL_ENTITIES) {
+      creditCurves.put(Pair.of(legalEntityId, USD), LegalEntitySurvivalProbabilities.of(legalEntityId, indexCurve));
+      recoveryRates.put(legalEntityId, ConstantRecoveryRates.of(legalEntityId, VALUATION_DATE, 0.4));
+    }
+    CreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(creditCurves.build())
+        .discountCurves(ImmutableMap.of(USD, YIELD_CURVE))
+        .recoveryRateCurves(recoveryRates.build())
+        .build();
+    for (PriceType priceType : new PriceType[] {CLEAN, DIRTY}) {
+      CurrencyAmount computed = PRICER.presentValue(PRODUCT, ratesProvider, SETTLEMENT_STD, priceType, REF_DATA);
+      CurrencyAmount expected = IsdaHomogenousCdsIndexProductPricer.DEFAULT
+          .presentValue(PRODUCT, ratesProvider, SETTLEMENT_STD, priceType, REF_DATA);
+      assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL * TOL);
+    }
+    assertEquals(
+        PRICER.parSpread(PRODUCT, ratesProvider, SETTLEMENT_STD, REF_DATA),
+        IsdaHomogenousCdsIndexProductPricer.DEFAULT.parSpread(PRODUCT, ratesProvider, SETTLEMENT_STD, REF_DATA),
+        TOL);
+  }
+
+  public void test_parSpread() {
+    double parSpread = PRICER.parSpread(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
+    ResolvedCdsIndex parProduct = CdsIndex.of(BUY, INDEX_ID, LEGAL_ENTITIES, USD, NOTIONAL, START_DATE, MATURITY_DATE,
+        P3M, SAT_SUN, parSpread).resolve(REF_DATA);
+    CurrencyAmount pv = PRICER.presentValue(parProduct, RATES_PROVIDER, SETTLEMENT_STD, CLEAN, REF_DATA);
+    assertEquals(pv.getAmount(), 0d, NOTIONAL * TOL);
+  }
+
+  public void test_presentValueSensitivity() {
+    PointSensitivities computed =
+        PRICER.presentValueSensitivity(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA).build().normalized();
+    PointSensitivityBuilder expected = PointSensitivityBuilder.none();
+    for (int i = 0; i < LEGAL_ENTITIES.size(); ++i) {
+      expected = expected.combinedWith(
+          PRICER_CDS.presentValueSensitivity(constituent(PRODUCT, i), RATES_PROVIDER, SETTLEMENT_STD, REF_DATA));
+    }
+    assertTrue(computed.equalWithTolerance(expected.build().normalized(), NOTIONAL * TOL));
+    // the sensitivities to the credit curves are expressed for each constituent
+    assertEquals(computed.getSensitivities().stream()
+        .filter(s -> s instanceof CreditCurveZeroRateSensitivity)
+        .map(s -> ((CreditCurveZeroRateSensitivity) s).getLegalEntityId())
+        .distinct()
+        .count(), LEGAL_ENTITIES.size());
+  }
+
+  public void test_expired() {
+    LocalDate valuationDate = MATURITY_DATE.plusDays(1);
+    CreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(
+            USD, valuationDate, CurveName.of("yield"), TIME_YC, RATE_YC, ACT_365F)))
+        .recoveryRateCurves(ImmutableMap.of(INDEX_ID, ConstantRecoveryRates.of(INDEX_ID, valuationDate, 0.4)))
+        .build();
+    IntrinsicCdsIndexValues test = PRICER.constituentValues(PRODUCT, ratesProvider, valuationDate, CLEAN, REF_DATA);
+    assertEquals(test.getPresentValues(), DoubleArray.filled(LEGAL_ENTITIES.size()));
+    assertEquals(test.getPresentValue(), CurrencyAmount.zero(USD));
+    assertEquals(PRICER.presentValueSensitivity(PRODUCT, ratesProvider, valuationDate, REF_DATA),
+        PointSensitivityBuilder.none());
+  }
+
+  //-------------------------------------------------------------------------
+  // the single name CDS on a constituent
+  private static ResolvedCds constituent(ResolvedCdsIndex index, int i) {
+    ResolvedCds cds = index.toSingleNameCds();
+    return cds.toBuilder()
+        .legalEntityId(LEGAL_ENTITIES.get(i))
+        .paymentPeriods(cds.getPaymentPeriods().stream()
+            .map(p -> p.toBuilder().notional(p.getNotional() / LEGAL_ENTITIES.size()).build())
+            .collect(Guavate.toImmutableList()))
+        .build();
+  }
+
+}
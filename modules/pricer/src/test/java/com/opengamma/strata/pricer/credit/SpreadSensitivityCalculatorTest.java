@@ -16,6 +16,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 import org.testng.annotations.Test;
 
@@ -24,6 +25,7 @@ import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DaysAdjustment;
@@ -33,6 +35,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
@@ -287,6 +290,37 @@ public class SpreadSensitivityCalculatorTest {
         analytic.getSensitivity().toArray(), fd.getSensitivity().toArray(), NOTIONAL * ONE_BP * 10d));
   }
 
+  public void bucketedCs01SharedJacobianTest() {
+    AnalyticSpreadSensitivityCalculator calculator =
+        new AnalyticSpreadSensitivityCalculator(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    ImmutableList<ResolvedCdsTrade> bucket = ImmutableList.copyOf(MARKET_CDS);
+    calculator.bucketedCs01(CDS1, bucket, RATES_PROVIDER, REF_DATA);
+    // the second trade reuses the bucket Jacobian of the first one
+    CurrencyParameterSensitivity computed = calculator.bucketedCs01(CDS2, bucket, RATES_PROVIDER, REF_DATA);
+    AnalyticSpreadSensitivityCalculator other =
+        new AnalyticSpreadSensitivityCalculator(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    CurrencyParameterSensitivity expected = other.bucketedCs01(CDS2, bucket, RATES_PROVIDER, REF_DATA);
+    assertEquals(computed, expected);
+    assertEquals(calculator.parallelCs01(CDS1, bucket, RATES_PROVIDER, REF_DATA),
+        CS01_AN.parallelCs01(CDS1, bucket, RATES_PROVIDER, REF_DATA));
+  }
+
+  public void bucketedCs01SharedJacobianLookupTest() {
+    AnalyticSpreadSensitivityCalculator calculator =
+        new AnalyticSpreadSensitivityCalculator(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    CreditRatesProvider lookupProvider = new LookupCreditRatesProvider(RATES_PROVIDER);
+    CurrencyParameterSensitivity computed1 = calculator.bucketedCs01(CDS1, lookupProvider, REF_DATA);
+    CurrencyParameterSensitivity computed2 = calculator.bucketedCs01(CDS2, lookupProvider, REF_DATA);
+    // the curves are new instances on each query, but the second trade hits the cache
+    assertEquals(calculator.jacobianCacheSize(), 1L);
+    assertEquals(computed1, CS01_AN.bucketedCs01(CDS1, RATES_PROVIDER, REF_DATA));
+    assertEquals(computed2, CS01_AN.bucketedCs01(CDS2, RATES_PROVIDER, REF_DATA));
+    // the bucket of the CDS index is converted on each query
+    calculator.bucketedCs01(CDS_INDEX, lookupProvider, REF_DATA);
+    calculator.bucketedCs01(CDS_INDEX, lookupProvider, REF_DATA);
+    assertEquals(calculator.jacobianCacheSize(), 2L);
+  }
+
   //-------------------------------------------------------------------------
   public void parellelCs01IndexTest() {
     CurrencyAmount fdSingle = CS01_FD.parallelCs01(CDS2, ImmutableList.copyOf(MARKET_CDS), RATES_PROVIDER, REF_DATA);
@@ -390,4 +424,71 @@ public class SpreadSensitivityCalculatorTest {
         NOTIONAL * TOL));
   }
 
+  //-------------------------------------------------------------------------
+  // a provider creating the curves on each query, in the same way as the providers based on a market data lookup
+  private static final class LookupCreditRatesProvider implements CreditRatesProvider {
+    private final CreditRatesProvider underlying;
+
+    private LookupCreditRatesProvider(CreditRatesProvider underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public LocalDate getValuationDate() {
+      return underlying.getValuationDate();
+    }
+
+    @Override
+    public LegalEntitySurvivalProbabilities survivalProbabilities(StandardId legalEntityId, Currency currency) {
+      NodalCurve curve = ((IsdaCreditDiscountFactors) underlying.survivalProbabilities(legalEntityId, currency)
+          .getSurvivalProbabilities()).getCurve();
+      return LegalEntitySurvivalProbabilities.of(
+          legalEntityId, CreditDiscountFactors.of(currency, getValuationDate(), curve));
+    }
+
+    @Override
+    public CreditDiscountFactors discountFactors(Currency currency) {
+      NodalCurve curve = ((IsdaCreditDiscountFactors) underlying.discountFactors(currency)).getCurve();
+      return CreditDiscountFactors.of(currency, getValuationDate(), curve);
+    }
+
+    @Override
+    public RecoveryRates recoveryRates(StandardId legalEntityId) {
+      double recoveryRate = ((ConstantRecoveryRates) underlying.recoveryRates(legalEntityId)).getRecoveryRate();
+      return ConstantRecoveryRates.of(legalEntityId, getValuationDate(), recoveryRate);
+    }
+
+    @Override
+    public CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
+      return underlying.parameterSensitivity(pointSensitivities);
+    }
+
+    @Override
+    public CurrencyParameterSensitivity singleCreditCurveParameterSensitivity(
+        PointSensitivities pointSensitivities,
+        StandardId legalEntityId,
+        Currency currency) {
+
+      return underlying.singleCreditCurveParameterSensitivity(pointSensitivities, legalEntityId, currency);
+    }
+
+    @Override
+    public CurrencyParameterSensitivity singleDiscountCurveParameterSensitivity(
+        PointSensitivities pointSensitivities,
+        Currency currency) {
+
+      return underlying.singleDiscountCurveParameterSensitivity(pointSensitivities, currency);
+    }
+
+    @Override
+    public <T> Optional<T> findData(MarketDataName<T> name) {
+      return underlying.findData(name);
+    }
+
+    @Override
+    public ImmutableCreditRatesProvider toImmutableCreditRatesProvider() {
+      return underlying.toImmutableCreditRatesProvider();
+    }
+  }
+
 }
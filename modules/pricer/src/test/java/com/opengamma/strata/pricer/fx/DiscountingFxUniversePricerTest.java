@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fx;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.KRW;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.ResolvedProduct;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fx.ResolvedFxSwap;
+
+/**
+ * Test {@link DiscountingFxUniversePricer}.
+ */
+@Test
+public class DiscountingFxUniversePricerTest {
+
+  private static final RatesProvider PROVIDER = RatesProviderFxDataSets.createProvider();
+  private static final LocalDate VAL_DATE = RatesProviderFxDataSets.VAL_DATE_2014_01_22;
+  private static final double NOTIONAL = 1.0e6;
+  private static final List<ResolvedProduct> PRODUCTS = ImmutableList.of(
+      ResolvedFxSingle.of(CurrencyAmount.of(EUR, NOTIONAL), FxRate.of(EUR, USD, 1.41), VAL_DATE.plusMonths(3)),
+      ResolvedFxSingle.of(CurrencyAmount.of(USD, -NOTIONAL), FxRate.of(USD, KRW, 1110d), VAL_DATE.plusMonths(6)),
+      ResolvedFxSingle.of(CurrencyAmount.of(EUR, -NOTIONAL), FxRate.of(EUR, USD, 1.42), VAL_DATE.plusMonths(3)),
+      ResolvedFxSingle.of(CurrencyAmount.of(GBP, NOTIONAL), FxRate.of(GBP, USD, 1.51), VAL_DATE.minusDays(5)),
+      ResolvedFxSingle.of(CurrencyAmount.of(GBP, NOTIONAL), FxRate.of(GBP, USD, 1.49), VAL_DATE),
+      ResolvedFxSwap.ofForwardPoints(
+          CurrencyAmount.of(USD, NOTIONAL), KRW, 1109.5, 4.45, VAL_DATE.plusWeeks(1), VAL_DATE.plusMonths(6)),
+      ResolvedFxSwap.ofForwardPoints(
+          CurrencyAmount.of(EUR, -NOTIONAL), USD, 1.40, 0.01, VAL_DATE.minusMonths(1), VAL_DATE.plusMonths(1)));
+  private static final FxUniverse UNIVERSE = FxUniverse.of(PRODUCTS);
+  private static final DiscountingFxUniversePricer PRICER = DiscountingFxUniversePricer.DEFAULT;
+  private static final DiscountingFxSingleProductPricer SINGLE_PRICER = DiscountingFxSingleProductPricer.DEFAULT;
+  private static final DiscountingFxSwapProductPricer SWAP_PRICER = DiscountingFxSwapProductPricer.DEFAULT;
+  private static final double TOL = 1.0e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_universe() {
+    assertEquals(UNIVERSE.getProductCount(), PRODUCTS.size());
+    assertEquals(UNIVERSE.getProducts(), PRODUCTS);
+    assertEquals(UNIVERSE.getProduct(5), PRODUCTS.get(5));
+    assertEquals(
+        UNIVERSE.getCurrencyPairs(),
+        ImmutableList.of(CurrencyPair.of(EUR, USD), CurrencyPair.of(USD, KRW), CurrencyPair.of(GBP, USD)));
+    assertEquals(UNIVERSE.getCurrencyPairIndex(0), 0);
+    assertEquals(UNIVERSE.getCurrencyPairIndex(2), 0);
+    assertEquals(UNIVERSE.getCurrencyPairIndex(5), 1);
+    assertEquals(UNIVERSE.getCurrencyPairIndex(4), 2);
+    // the payment dates of the first and third products are shared
+    int usd = UNIVERSE.getCurrencies().indexOf(USD);
+    assertEquals(UNIVERSE.getPaymentDates(usd).length, 7);
+    assertEquals(
+        UNIVERSE.getCounterPaymentDateIndex(UNIVERSE.getLegOffset(0)),
+        UNIVERSE.getCounterPaymentDateIndex(UNIVERSE.getLegOffset(2)));
+    assertEquals(UNIVERSE.getLegOffset(6) - UNIVERSE.getLegOffset(5), 2);
+  }
+
+  public void test_universe_invalidProduct() {
+    ResolvedProduct other = new ResolvedProduct() {};
+    assertThrowsIllegalArg(() -> FxUniverse.of(ImmutableList.of(PRODUCTS.get(0), other)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_values() {
+    FxUniverseValues values = PRICER.values(UNIVERSE, PROVIDER);
+    MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      CurrencyPair pair = UNIVERSE.getCurrencyPairs().get(UNIVERSE.getCurrencyPairIndex(i));
+      MultiCurrencyAmount expected = presentValue(PRODUCTS.get(i));
+      CurrencyParameterSensitivities sensitivity =
+          PROVIDER.parameterSensitivity(presentValueSensitivity(PRODUCTS.get(i)));
+      // the expired products have no value
+      assertEquals(values.getBasePresentValues().get(i), amount(expected, pair.getBase()), NOTIONAL * TOL);
+      assertEquals(values.getCounterPresentValues().get(i), amount(expected, pair.getCounter()), NOTIONAL * 1e4 * TOL);
+      // the zero rates are the parameters of the curves of the provider
+      assertEquals(values.getBasePv01s().get(i), pv01(sensitivity, pair.getBase()), NOTIONAL * TOL);
+      assertEquals(values.getCounterPv01s().get(i), pv01(sensitivity, pair.getCounter()), NOTIONAL * 1e4 * TOL);
+      total = total.plus(expected);
+    }
+    for (CurrencyPair pair : UNIVERSE.getCurrencyPairs()) {
+      MultiCurrencyAmount expected = MultiCurrencyAmount.empty();
+      for (int i = 0; i < PRODUCTS.size(); i++) {
+        if (UNIVERSE.getCurrencyPairs().get(UNIVERSE.getCurrencyPairIndex(i)).equals(pair)) {
+          expected = expected.plus(presentValue(PRODUCTS.get(i)));
+        }
+      }
+      assertAmounts(values.getPresentValue(pair), expected);
+      assertEquals(values.getCurrencyExposure(pair), values.getPresentValue(pair));
+    }
+    assertAmounts(values.getPresentValue(), total);
+    assertEquals(values.getCurrencyExposure(), values.getPresentValue());
+    assertEquals(values.getPv01().getAmount(USD).getAmount(), values.getCurrencyPairBasePv01s().get(1) +
+        values.getCurrencyPairCounterPv01s().get(0) + values.getCurrencyPairCounterPv01s().get(2), TOL);
+    assertThrowsIllegalArg(() -> values.getPresentValue(CurrencyPair.of(EUR, GBP)));
+  }
+
+  public void test_values_empty() {
+    FxUniverseValues values = PRICER.values(FxUniverse.of(ImmutableList.of()), PROVIDER);
+    assertEquals(values.getBasePresentValues().size(), 0);
+    assertEquals(values.getPresentValue(), MultiCurrencyAmount.empty());
+  }
+
+  public void test_presentValueSensitivity() {
+    List<PointSensitivities> computed = PRICER.presentValueSensitivity(UNIVERSE, PROVIDER);
+    assertEquals(computed.size(), UNIVERSE.getCurrencyPairs().size());
+    for (int pair = 0; pair < computed.size(); pair++) {
+      PointSensitivities expected = PointSensitivities.empty();
+      for (int i = 0; i < PRODUCTS.size(); i++) {
+        if (UNIVERSE.getCurrencyPairIndex(i) == pair) {
+          expected = expected.combinedWith(presentValueSensitivity(PRODUCTS.get(i)));
+        }
+      }
+      assertTrue(PROVIDER.parameterSensitivity(computed.get(pair)).equalWithTolerance(
+          PROVIDER.parameterSensitivity(expected), NOTIONAL * 1e4 * TOL));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // prices the product with the standard pricers
+  private static MultiCurrencyAmount presentValue(ResolvedProduct product) {
+    if (product instanceof ResolvedFxSingle) {
+      return SINGLE_PRICER.presentValue((ResolvedFxSingle) product, PROVIDER);
+    }
+    return SWAP_PRICER.presentValue((ResolvedFxSwap) product, PROVIDER);
+  }
+
+  // computes the sensitivity of the product with the standard pricers
+  private static PointSensitivities presentValueSensitivity(ResolvedProduct product) {
+    if (product instanceof ResolvedFxSingle) {
+      return SINGLE_PRICER.presentValueSensitivity((ResolvedFxSingle) product, PROVIDER);
+    }
+    return SWAP_PRICER.presentValueSensitivity((ResolvedFxSwap) product, PROVIDER);
+  }
+
+  // sums the parameter sensitivities of the currency, scaled to one basis point
+  private static double pv01(CurrencyParameterSensitivities sensitivity, Currency ccy) {
+    return sensitivity.getSensitivities().stream()
+        .filter(s -> s.getCurrency().equals(ccy))
+        .mapToDouble(s -> s.getSensitivity().sum())
+        .sum() * 1.0e-4;
+  }
+
+  // compares amounts, ignoring the missing and zero amounts
+  private static void assertAmounts(MultiCurrencyAmount computed, MultiCurrencyAmount expected) {
+    for (CurrencyAmount amount : computed.plus(expected).getAmounts()) {
+      Currency ccy = amount.getCurrency();
+      assertEquals(amount(computed, ccy), amount(expected, ccy), NOTIONAL * 1e4 * TOL);
+    }
+  }
+
+  // gets the amount in the currency, zero if missing
+  private static double amount(MultiCurrencyAmount amounts, Currency ccy) {
+    return amounts.contains(ccy) ? amounts.getAmount(ccy).getAmount() : 0d;
+  }
+
+}
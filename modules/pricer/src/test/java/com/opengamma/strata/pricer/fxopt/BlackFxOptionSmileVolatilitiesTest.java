@@ -108,6 +108,22 @@ public class BlackFxOptionSmileVolatilitiesTest {
     }
   }
 
+  public void test_volatility_strikes() {
+    DoubleArray strikes = DoubleArray.copyOf(TEST_STRIKE);
+    DoubleArray inverseStrikes = strikes.map(strike -> 1d / strike);
+    for (int i = 0; i < NB_EXPIRY; i++) {
+      double expiryTime = VOLS.relativeTime(TEST_EXPIRY[i]);
+      DoubleArray volComputed = VOLS.volatility(CURRENCY_PAIR, expiryTime, strikes, FORWARD[i]);
+      DoubleArray volComputedInverse =
+          VOLS.volatility(CURRENCY_PAIR.inverse(), expiryTime, inverseStrikes, 1d / FORWARD[i]);
+      for (int j = 0; j < NB_STRIKE; ++j) {
+        double volExpected = SMILE_TERM.volatility(expiryTime, TEST_STRIKE[j], FORWARD[i]);
+        assertEquals(volComputed.get(j), volExpected, TOLERANCE);
+        assertEquals(volComputedInverse.get(j), volExpected, TOLERANCE);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_surfaceParameterSensitivity() {
     for (int i = 0; i < NB_EXPIRY; i++) {
@@ -7,7 +7,10 @@ package com.opengamma.strata.pricer.fxopt;
 
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -88,4 +91,26 @@ public class ImpliedTrinomialTreeFxOptionCalibratorTest {
     }
   }
 
+  public void test_cache() {
+    ImpliedTrinomialTreeFxOptionCalibrator calibrator = new ImpliedTrinomialTreeFxOptionCalibrator(39, 10);
+    RecombiningTrinomialTreeData treeData = calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(treeData, TREE_DATA);
+    assertSame(calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS), treeData);
+    // market data rebuilt
+    ImmutableRatesProvider rebuiltProvider = RatesProviderFxDataSets.createProviderEurUsdFlat(VAL_DATE);
+    BlackFxOptionSmileVolatilities rebuiltVols = FxVolatilitySmileDataSet.createVolatilitySmileProvider5(VAL_DATETIME);
+    assertSame(calibrator.calibrateTrinomialTree(CALL, rebuiltProvider, rebuiltVols), treeData);
+    // different market data
+    RecombiningTrinomialTreeData treeDataMrkt = calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT);
+    assertEquals(treeDataMrkt, TREE_DATA_MRKT);
+    assertSame(calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT), treeDataMrkt);
+    assertSame(calibrator.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS), treeData);
+    // no cache
+    assertNotSame(CALIB.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS), TREE_DATA);
+  }
+
+  public void test_cache_invalid() {
+    assertThrowsIllegalArg(() -> new ImpliedTrinomialTreeFxOptionCalibrator(39, -1));
+  }
+
 }
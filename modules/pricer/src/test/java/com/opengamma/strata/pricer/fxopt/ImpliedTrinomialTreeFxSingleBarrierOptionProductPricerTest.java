@@ -14,12 +14,15 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
@@ -331,6 +334,50 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertEquals(ce, ceWithData);
   }
 
+  public void test_batch() {
+    SimpleConstantContinuousBarrier barrierDki =
+        SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_IN, LEVEL_LOW);
+    SimpleConstantContinuousBarrier barrierUko =
+        SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_OUT, LEVEL_HIGH);
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(CALL, BARRIER_UKI, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(PUT, barrierDki, REBATE),
+        ResolvedFxSingleBarrierOption.of(PUT, barrierUko, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_DKO));
+    DoubleArray prices = PRICER_39.price(options, RATE_PROVIDER, VOLS, DATA_39);
+    List<CurrencyAmount> pvs = PRICER_39.presentValue(options, RATE_PROVIDER, VOLS, DATA_39);
+    assertEquals(prices.size(), options.size());
+    assertEquals(pvs.size(), options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertEquals(prices.get(i), PRICER_39.price(options.get(i), RATE_PROVIDER, VOLS, DATA_39));
+      assertEquals(pvs.get(i), PRICER_39.presentValue(options.get(i), RATE_PROVIDER, VOLS, DATA_39));
+    }
+    assertEquals(PRICER_39.price(options, RATE_PROVIDER, VOLS), prices);
+    assertEquals(PRICER_39.presentValue(options, RATE_PROVIDER, VOLS), pvs);
+  }
+
+  public void test_batch_expiryMismatch() {
+    ResolvedFxVanillaOption callShort = CALL.toBuilder().expiry(EXPIRY_DATETIME.minusMonths(6)).build();
+    List<ResolvedFxSingleBarrierOption> options =
+        ImmutableList.of(CALL_DKO, ResolvedFxSingleBarrierOption.of(callShort, BARRIER_DKO));
+    assertThrowsIllegalArg(() -> PRICER_39.price(options, RATE_PROVIDER, VOLS, DATA_39));
+    assertThrowsIllegalArg(() -> PRICER_39.presentValue(ImmutableList.of(), RATE_PROVIDER, VOLS));
+  }
+
+  public void test_cachedCalibrator() {
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(new ImpliedTrinomialTreeFxOptionCalibrator(39, 10));
+    assertEquals(pricer.price(CALL_UKI_C, RATE_PROVIDER, VOLS), PRICER_39.price(CALL_UKI_C, RATE_PROVIDER, VOLS));
+    assertEquals(pricer.presentValue(CALL_DKO, RATE_PROVIDER, VOLS),
+        PRICER_39.presentValue(CALL_DKO, RATE_PROVIDER, VOLS));
+    assertEquals(pricer.currencyExposure(CALL_UKI_C, RATE_PROVIDER, VOLS),
+        PRICER_39.currencyExposure(CALL_UKI_C, RATE_PROVIDER, VOLS));
+    assertTrue(pricer.presentValueSensitivityRates(CALL_UKI_C, RATE_PROVIDER, VOLS)
+        .equalWithTolerance(PRICER_39.presentValueSensitivityRates(CALL_UKI_C, RATE_PROVIDER, VOLS), 0d));
+  }
+
   public void test_expired_calibration() {
     assertThrowsIllegalArg(() -> PRICER_39.getCalibrator().calibrateTrinomialTree(CALL_DKO.getUnderlyingOption(),
         RATE_PROVIDER_AFTER, VOLS_AFTER));
@@ -268,6 +268,33 @@ public class InterpolatedStrikeSmileDeltaTermStructureTest {
     }
   }
 
+  /**
+   * Tests the volatilities for several strikes and the cached smiles.
+   */
+  public void volatilityStrikes() {
+    double forward = 1.40;
+    double timeToExpiry = 0.75;
+    DoubleArray strikes = DoubleArray.of(1.10, 1.35, 1.50, 1.70, 2.20);
+    DoubleArray volComputed = SMILE_TERM.volatility(timeToExpiry, strikes, forward);
+    assertEquals("Smile by delta term structure: number of volatilities", strikes.size(), volComputed.size());
+    SmileDeltaParameters smile = SMILE_TERM.smileForExpiry(timeToExpiry);
+    BoundCurveInterpolator interpolator = INTERPOLATOR_STRIKE.bind(
+        smile.strike(forward), smile.getVolatility(), FLAT, FLAT);
+    for (int i = 0; i < strikes.size(); i++) {
+      assertEquals("Smile by delta term structure: volatilities for several strikes",
+          interpolator.interpolate(strikes.get(i)), volComputed.get(i), TOLERANCE_VOL);
+      assertEquals("Smile by delta term structure: volatilities for several strikes",
+          SMILE_TERM.volatility(timeToExpiry, strikes.get(i), forward), volComputed.get(i), 0d);
+    }
+    assertEquals("Smile by delta term structure: smile strikes",
+        smile.strike(forward), SMILE_TERM.smileStrikesForExpiry(timeToExpiry, forward));
+    // cached smiles are reused, bumped term structures do not share the caches
+    assertEquals("Smile by delta term structure: cached smile", true, smile == SMILE_TERM.smileForExpiry(timeToExpiry));
+    InterpolatedStrikeSmileDeltaTermStructure bumped = SMILE_TERM.withPerturbation((i, value, meta) -> value + 0.01);
+    assertEquals("Smile by delta term structure: bumped smile",
+        false, smile.equals(bumped.smileForExpiry(timeToExpiry)));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(SMILE_TERM);
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.fxopt;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.LongShort.LONG;
 import static com.opengamma.strata.product.common.LongShort.SHORT;
 import static org.testng.Assert.assertEquals;
@@ -16,10 +17,12 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
@@ -151,6 +154,36 @@ public class VannaVolgaFxVanillaOptionProductPricerTest {
     }
   }
 
+  public void test_price_presentValue_batch() {
+    List<ResolvedFxVanillaOption> calls = ImmutableList.copyOf(CALLS);
+    List<ResolvedFxVanillaOption> puts = ImmutableList.copyOf(PUTS);
+    DoubleArray computedCalls = PRICER.price(calls, RATES_PROVIDER, VOLS);
+    DoubleArray computedPuts = PRICER.price(puts, RATES_PROVIDER, VOLS);
+    List<CurrencyAmount> computedPutsPv = PRICER.presentValue(puts, RATES_PROVIDER, VOLS);
+    for (int i = 0; i < NB_STRIKES; ++i) {
+      assertEquals(computedCalls.get(i), PRICER.price(CALLS[i], RATES_PROVIDER, VOLS), TOL);
+      assertEquals(computedPuts.get(i), PRICER.price(PUTS[i], RATES_PROVIDER, VOLS), TOL);
+      assertEquals(computedPutsPv.get(i), PRICER.presentValue(PUTS[i], RATES_PROVIDER, VOLS));
+    }
+    assertEquals(PRICER.price(calls, RATES_PROVIDER_AFTER, VOLS_AFTER), DoubleArray.filled(NB_STRIKES));
+    // calls and puts on the same underlying
+    DoubleArray computedMixed = PRICER.price(ImmutableList.of(CALLS[2], PUTS[3]), RATES_PROVIDER, VOLS);
+    assertEquals(computedMixed, DoubleArray.of(computedCalls.get(2), computedPuts.get(3)));
+  }
+
+  public void test_price_batch_mismatch() {
+    ResolvedFxVanillaOption otherExpiry = CALLS[1].toBuilder().expiry(EXPIRY.plusDays(1)).build();
+    assertThrowsIllegalArg(() -> PRICER.price(ImmutableList.of(CALLS[0], otherExpiry), RATES_PROVIDER, VOLS));
+    ResolvedFxVanillaOption otherPayment = CALLS[1].toBuilder()
+        .underlying(ResolvedFxSingle.of(
+            UNDERLYING[1].getBaseCurrencyPayment().getValue(),
+            UNDERLYING[1].getCounterCurrencyPayment().getValue(),
+            PAY.plusDays(1)))
+        .build();
+    assertThrowsIllegalArg(() -> PRICER.price(ImmutableList.of(CALLS[0], otherPayment), RATES_PROVIDER, VOLS));
+    assertThrowsIllegalArg(() -> PRICER.price(ImmutableList.of(), RATES_PROVIDER, VOLS));
+  }
+
   public void test_price_presentValue_afterExpiry() {
     for (int i = 0; i < NB_STRIKES; ++i) {
       ResolvedFxVanillaOption call = CALLS[i];
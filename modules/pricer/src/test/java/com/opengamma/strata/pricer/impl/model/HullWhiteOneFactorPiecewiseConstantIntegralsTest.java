@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantIntegrals;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPiecewiseConstantIntegrals}.
+ */
+@Test
+public class HullWhiteOneFactorPiecewiseConstantIntegralsTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final HullWhiteOneFactorPiecewiseConstantIntegrals INTEGRALS =
+      HullWhiteOneFactorPiecewiseConstantIntegrals.of(MODEL_PARAMETERS);
+  private static final double[] TIMES = {0d, 0.25, 0.5, 0.75, 1.0, 1.5, 2.0, 3.0, 5.0, 7.5, 10.0};
+  private static final double TOL = 1.0e-12;
+
+  public void test_of() {
+    assertEquals(INTEGRALS.getParameters(), MODEL_PARAMETERS);
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantIntegrals.of(null));
+  }
+
+  public void test_variance_beta() {
+    for (double end : TIMES) {
+      double beta = MODEL.beta(MODEL_PARAMETERS, 0d, end);
+      assertEquals(INTEGRALS.variance(end), beta * beta, TOL);
+      for (double start : TIMES) {
+        if (start < end) {
+          assertEquals(INTEGRALS.beta(start, end), MODEL.beta(MODEL_PARAMETERS, start, end), TOL);
+        }
+      }
+    }
+  }
+
+  public void test_alpha() {
+    for (double expiry : TIMES) {
+      double numeraire = expiry + 0.5;
+      for (double maturity = expiry; maturity < expiry + 10d; maturity += 0.75) {
+        assertEquals(INTEGRALS.alpha(0d, expiry, numeraire, maturity),
+            MODEL.alpha(MODEL_PARAMETERS, 0d, expiry, numeraire, maturity), TOL);
+        assertEquals(INTEGRALS.alpha(0.25, expiry + 0.25, numeraire, maturity),
+            MODEL.alpha(MODEL_PARAMETERS, 0.25, expiry + 0.25, numeraire, maturity), TOL);
+      }
+    }
+  }
+
+  public void test_futuresConvexityFactor() {
+    for (double t0 : TIMES) {
+      double t1 = t0 + 0.01;
+      double t2 = t1 + 0.25;
+      assertEquals(INTEGRALS.futuresConvexityFactor(t0, t1, t2),
+          MODEL.futuresConvexityFactor(MODEL_PARAMETERS, t0, t1, t2), TOL);
+    }
+  }
+
+  public void test_bondFactor() {
+    double expected = (Math.exp(-MEAN_REVERSION * 10d) - Math.exp(-MEAN_REVERSION * 2d)) / MEAN_REVERSION;
+    assertEquals(INTEGRALS.bondFactor(10d, 2d), expected, TOL);
+    assertEquals(INTEGRALS.bondFactor(10d, 10d), 0d, TOL);
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.montecarlo.BrownianBridgeNormalVariateGenerator;
+import com.opengamma.strata.math.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.math.impl.montecarlo.MonteCarloResult;
+import com.opengamma.strata.math.impl.montecarlo.PathPayoff;
+import com.opengamma.strata.math.impl.montecarlo.PseudoRandomNormalVariateGenerator;
+import com.opengamma.strata.math.impl.montecarlo.SobolNormalVariateGenerator;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantPathGenerator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPiecewiseConstantPathGenerator}.
+ */
+@Test
+public class HullWhiteOneFactorPiecewiseConstantPathGeneratorTest {
+
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.05, DoubleArray.of(0.010, 0.011, 0.012, 0.013), DoubleArray.of(0.25, 0.6, 2d));
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 0.75, 1d);
+  private static final double EXPIRY = 1d;
+  private static final double MATURITY = 5d;
+  private static final double STRIKE = 0.92;
+  private static final MonteCarloEngine ENGINE = MonteCarloEngine.of(200_000, true);
+
+  private static double discountFactor(double time) {
+    return Math.exp(-(0.02 + 0.001 * time) * time);
+  }
+
+  public void test_of() {
+    HullWhiteOneFactorPiecewiseConstantPathGenerator test =
+        HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, MATURITY);
+    assertEquals(test.getParameters(), PARAMETERS);
+    assertEquals(test.getTimes(), TIMES);
+    assertEquals(test.getNumeraireTime(), MATURITY);
+    assertEquals(test.getVariateDimension(), TIMES.size());
+    assertEquals(test.getPathSize(), TIMES.size());
+  }
+
+  public void test_generate() {
+    HullWhiteOneFactorPiecewiseConstantPathGenerator test =
+        HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, MATURITY);
+    double[] variates = {0.3, -1.2, 0.7, 0.1};
+    double[] paths = new double[10];
+    test.generate(variates, paths, 2);
+    double factor = 0d;
+    for (int i = 0; i < TIMES.size(); i++) {
+      factor += MODEL.beta(PARAMETERS, i == 0 ? 0d : TIMES.get(i - 1), TIMES.get(i)) * variates[i];
+      assertEquals(paths[2 + i], factor, 1.0e-15);
+    }
+    // bond of numeraire maturity
+    assertEquals(test.bondRatioFactor(paths, 2, 1, MATURITY), 1d, 1.0e-15);
+  }
+
+  public void test_martingale() {
+    HullWhiteOneFactorPiecewiseConstantPathGenerator generator =
+        HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, MATURITY);
+    List<PathPayoff> payoffs = ImmutableList.of(
+        (paths, offset) -> generator.bondRatioFactor(paths, offset, 1, 3d),
+        (paths, offset) -> generator.bondRatioFactor(paths, offset, 3, 1d));
+    List<MonteCarloResult> results =
+        ENGINE.price(generator, PseudoRandomNormalVariateGenerator.of(TIMES.size(), 1L), payoffs);
+    for (MonteCarloResult result : results) {
+      assertEquals(result.getMean(), 1d, 4d * result.getStandardError());
+    }
+  }
+
+  public void test_bondOption() {
+    double alpha = MODEL.alpha(PARAMETERS, 0d, EXPIRY, EXPIRY, MATURITY);
+    double forward = discountFactor(MATURITY) / discountFactor(EXPIRY);
+    double expected = discountFactor(EXPIRY) * BlackFormulaRepository.price(forward, STRIKE, 1d, alpha, true);
+    // numeraire at expiry
+    HullWhiteOneFactorPiecewiseConstantPathGenerator expiryGenerator =
+        HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, EXPIRY);
+    int index = TIMES.size() - 1;
+    PathPayoff expiryPayoff = (paths, offset) ->
+        Math.max(forward * expiryGenerator.bondRatioFactor(paths, offset, index, MATURITY) - STRIKE, 0d);
+    MonteCarloResult expiryResult = ENGINE
+        .price(expiryGenerator, PseudoRandomNormalVariateGenerator.of(TIMES.size(), 2L), expiryPayoff)
+        .multipliedBy(discountFactor(EXPIRY));
+    assertEquals(expiryResult.getMean(), expected, 4d * expiryResult.getStandardError());
+    // numeraire at bond maturity
+    HullWhiteOneFactorPiecewiseConstantPathGenerator maturityGenerator =
+        HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, MATURITY);
+    PathPayoff maturityPayoff = (paths, offset) -> {
+      double inverseBond = maturityGenerator.bondRatioFactor(paths, offset, index, EXPIRY) / forward;
+      return Math.max(1d - STRIKE * inverseBond, 0d);
+    };
+    MonteCarloResult maturityResult = ENGINE
+        .price(maturityGenerator, PseudoRandomNormalVariateGenerator.of(TIMES.size(), 3L), maturityPayoff)
+        .multipliedBy(discountFactor(MATURITY));
+    assertEquals(maturityResult.getMean(), expected, 4d * maturityResult.getStandardError());
+    // quasi-random
+    MonteCarloResult sobolResult = MonteCarloEngine.of(1 << 14, 1 << 10, false, true)
+        .price(expiryGenerator, BrownianBridgeNormalVariateGenerator.of(
+            SobolNormalVariateGenerator.of(TIMES.size(), 1L), TIMES, 1), expiryPayoff)
+        .multipliedBy(discountFactor(EXPIRY));
+    assertEquals(sobolResult.getMean(), expected, 1.0e-4);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantPathGenerator.of(PARAMETERS, TIMES, 0.5));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantPathGenerator.of(
+        PARAMETERS, DoubleArray.of(0d, 1d), MATURITY));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantPathGenerator.of(
+        PARAMETERS, DoubleArray.of(1d, 0.5), MATURITY));
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
@@ -8845,4 +8846,81 @@ public class BlackFormulaRepositoryTest {
     assertEquals(bsD2[1][2], bsD2[2][1], TOLERANCE_1, "AD Second order: 2nd - str-vol");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    // includes the edge cases of zero volatility, zero expiry, at-the-money and zero strike
+    double[] forwards = new double[] {104, 104, 104, 104, 104, 104, 104, 0.02, 0.02, 1e14};
+    double[] strikes = new double[] {85, 104, 150, 120, 95, 100, 0, 0.015, 0.03, 1e14};
+    double[] times = new double[] {4.5, 4.5, 4.5, 0, 2, 1, 3, 10, 0.25, 1};
+    double[] vols = new double[] {0.2, 0.3, 0.5, 0.3, 0, 1e-15, 0.2, 0.35, 0.8, 0.2};
+    boolean[] isCall = new boolean[] {true, false, true, true, false, true, false, false, true, true};
+    double[] price = BlackFormulaRepository.price(forwards, strikes, times, vols, isCall);
+    double[] delta = BlackFormulaRepository.delta(forwards, strikes, times, vols, isCall);
+    double[] gamma = BlackFormulaRepository.gamma(forwards, strikes, times, vols);
+    double[] theta = BlackFormulaRepository.driftlessTheta(forwards, strikes, times, vols);
+    double[] vega = BlackFormulaRepository.vega(forwards, strikes, times, vols);
+    for (int i = 0; i < forwards.length; i++) {
+      assertEquals(price[i], BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall[i]));
+      assertEquals(delta[i], BlackFormulaRepository.delta(forwards[i], strikes[i], times[i], vols[i], isCall[i]));
+      assertEquals(gamma[i], BlackFormulaRepository.gamma(forwards[i], strikes[i], times[i], vols[i]));
+      assertEquals(theta[i], BlackFormulaRepository.driftlessTheta(forwards[i], strikes[i], times[i], vols[i]));
+      assertEquals(vega[i], BlackFormulaRepository.vega(forwards[i], strikes[i], times[i], vols[i]));
+    }
+  }
+
+  public void test_batch_invalid() {
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(
+        new double[] {104}, new double[] {100}, new double[] {1}, new double[] {-0.2}, new boolean[] {true}));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(
+        new double[] {104}, new double[] {100}, new double[] {1}, new double[] {0.2}, new boolean[] {true, false}));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.vega(
+        new double[] {104, 104}, new double[] {100}, new double[] {1}, new double[] {0.2}));
+  }
+
+  public void test_impliedVolatility_batch() {
+    int nStrikes = STRIKES_INPUT.length;
+    int nVols = VOLS.length;
+    int size = 2 * nStrikes * nVols;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    boolean[] isCall = new boolean[size];
+    double[] expected = new double[size];
+    for (int i = 0; i < nStrikes; i++) {
+      for (int j = 0; j < nVols; j++) {
+        for (int k = 0; k < 2; k++) {
+          int index = (i * nVols + j) * 2 + k;
+          forwards[index] = FORWARD;
+          strikes[index] = STRIKES_INPUT[i];
+          times[index] = TIME_TO_EXPIRY;
+          isCall[index] = k == 0;
+          expected[index] = VOLS[j];
+          prices[index] = BlackFormulaRepository.price(FORWARD, STRIKES_INPUT[i], TIME_TO_EXPIRY, VOLS[j], k == 0);
+        }
+      }
+    }
+    double[] computed = BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, isCall);
+    for (int i = 0; i < size; i++) {
+      double single = BlackFormulaRepository.impliedVolatility(prices[i], forwards[i], strikes[i], times[i], isCall[i]);
+      assertEquals(computed[i], expected[i], 1e-8);
+      assertEquals(computed[i], single, 1e-8);
+    }
+  }
+
+  public void test_impliedVolatility_batch_edgeCases() {
+    double[] computed = BlackFormulaRepository.impliedVolatility(
+        new double[] {4, 0, 10, BlackFormulaRepository.price(104, 104, 2, 0.25, true)},
+        new double[] {104, 104, 104, 104},
+        new double[] {100, 120, 94, 104},
+        new double[] {1, 1, 1, 2},
+        new boolean[] {true, true, false, true});
+    assertEquals(computed[0], 0d);
+    assertEquals(computed[1], 0d);
+    assertEquals(computed[2], BlackFormulaRepository.impliedVolatility(10, 104, 94, 1, false), 1e-8);
+    assertEquals(computed[3], 0.25, 1e-12);
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.impliedVolatility(
+        new double[] {3}, new double[] {104}, new double[] {100}, new double[] {1}, new boolean[] {true}));
+  }
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository} batch methods.
+ */
+@Test
+public class NormalFormulaRepositoryTest {
+
+  // includes the edge cases of zero volatility, zero expiry and at-the-money
+  private static final double[] FORWARDS = new double[] {0.02, 0.02, 0.02, 0.02, -0.001, 0.015, 0.015, 0.03};
+  private static final double[] STRIKES = new double[] {0.01, 0.02, 0.03, 0.025, 0.005, 0.015, 0.01, 0.02};
+  private static final double[] TIMES = new double[] {1, 2.5, 10, 0, 0.5, 3, 2, 5};
+  private static final double[] VOLS = new double[] {0.01, 0.005, 0.008, 0.01, 0.006, 0, 0.012, 0.007};
+  private static final PutCall[] PUT_CALLS = new PutCall[] {CALL, PUT, CALL, CALL, PUT, CALL, PUT, CALL};
+
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    double[] price = NormalFormulaRepository.price(FORWARDS, STRIKES, TIMES, VOLS, PUT_CALLS);
+    double[] delta = NormalFormulaRepository.delta(FORWARDS, STRIKES, TIMES, VOLS, PUT_CALLS);
+    double[] gamma = NormalFormulaRepository.gamma(FORWARDS, STRIKES, TIMES, VOLS, PUT_CALLS);
+    double[] theta = NormalFormulaRepository.theta(FORWARDS, STRIKES, TIMES, VOLS, PUT_CALLS);
+    double[] vega = NormalFormulaRepository.vega(FORWARDS, STRIKES, TIMES, VOLS, PUT_CALLS);
+    for (int i = 0; i < FORWARDS.length; i++) {
+      assertEquals(price[i], NormalFormulaRepository.price(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], PUT_CALLS[i]));
+      assertEquals(delta[i], NormalFormulaRepository.delta(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], PUT_CALLS[i]));
+      assertEquals(gamma[i], NormalFormulaRepository.gamma(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], PUT_CALLS[i]));
+      assertEquals(theta[i], NormalFormulaRepository.theta(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], PUT_CALLS[i]));
+      assertEquals(vega[i], NormalFormulaRepository.vega(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], PUT_CALLS[i]));
+    }
+  }
+
+  public void test_batch_invalid() {
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(
+        new double[] {0.01}, new double[] {0.01}, new double[] {1}, new double[] {0.01}, new PutCall[] {CALL, PUT}));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.vega(
+        new double[] {0.01, 0.02}, new double[] {0.01}, new double[] {1}, new double[] {0.01}, new PutCall[] {CALL}));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_impliedVolatility_batch() {
+    int size = FORWARDS.length;
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    for (int i = 0; i < size; i++) {
+      // implied volatility requires a non-zero time value
+      times[i] = TIMES[i] == 0d ? 1d : TIMES[i];
+      vols[i] = VOLS[i] == 0d ? 0.004 : VOLS[i];
+    }
+    double[] prices = NormalFormulaRepository.price(FORWARDS, STRIKES, times, vols, PUT_CALLS);
+    double[] computed = NormalFormulaRepository.impliedVolatility(prices, FORWARDS, STRIKES, times, PUT_CALLS);
+    for (int i = 0; i < size; i++) {
+      double single = NormalFormulaRepository.impliedVolatility(
+          prices[i], FORWARDS[i], STRIKES[i], times[i], 0.01, 1d, PUT_CALLS[i]);
+      assertEquals(computed[i], vols[i], 1e-12);
+      assertEquals(computed[i], single, 1e-12);
+    }
+  }
+
+  public void test_impliedVolatility_batch_intrinsic() {
+    double[] computed = NormalFormulaRepository.impliedVolatility(
+        new double[] {0.01, 0d}, new double[] {0.02, 0.02}, new double[] {0.01, 0.03}, new double[] {1, 1},
+        new PutCall[] {CALL, CALL});
+    assertEquals(computed[0], 0d);
+    assertEquals(computed[1], 0d);
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.impliedVolatility(
+        new double[] {0.005}, new double[] {0.02}, new double[] {0.01}, new double[] {1}, new PutCall[] {CALL}));
+  }
+
+}
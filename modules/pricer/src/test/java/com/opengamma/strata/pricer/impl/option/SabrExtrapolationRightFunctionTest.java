@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -661,4 +662,61 @@ public class SabrExtrapolationRightFunctionTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void priceBatch() {
+    double[] strikes = new double[] {0.001, 0.02, FORWARD, 0.08, CUT_OFF_STRIKE, 0.12, 0.5};
+    int nbStrikes = strikes.length;
+    for (PutCall putCall : new PutCall[] {PutCall.CALL, PutCall.PUT}) {
+      double[] prices = new double[nbStrikes];
+      SABR_EXTRAPOLATION.price(strikes, putCall, prices);
+      double[] pricesForward = new double[nbStrikes];
+      double[] derivativesForward = new double[nbStrikes];
+      SABR_EXTRAPOLATION.priceDerivativeForward(strikes, putCall, pricesForward, derivativesForward);
+      double[] pricesSabr = new double[nbStrikes];
+      double[] derivativesSabr = new double[4 * nbStrikes];
+      SABR_EXTRAPOLATION.priceAdjointSabr(strikes, putCall, pricesSabr, derivativesSabr);
+      double[] pricesAdjoint = new double[nbStrikes];
+      double[] adjointForward = new double[nbStrikes];
+      double[] adjointSabr = new double[4 * nbStrikes];
+      SABR_EXTRAPOLATION.priceAdjoint(strikes, putCall, pricesAdjoint, adjointForward, adjointSabr);
+      for (int i = 0; i < nbStrikes; i++) {
+        double price = SABR_EXTRAPOLATION.price(strikes[i], putCall);
+        assertEquals(prices[i], price);
+        assertEquals(pricesForward[i], price, TOLERANCE_PRICE);
+        assertEquals(pricesSabr[i], price, TOLERANCE_PRICE);
+        assertEquals(derivativesForward[i], SABR_EXTRAPOLATION.priceDerivativeForward(strikes[i], putCall), 1e-10);
+        assertEquals(pricesAdjoint[i], pricesSabr[i]);
+        assertEquals(adjointForward[i], derivativesForward[i]);
+        ValueDerivatives priceAdjointSabr = SABR_EXTRAPOLATION.priceAdjointSabr(strikes[i], putCall);
+        for (int j = 0; j < 4; j++) {
+          assertEquals(derivativesSabr[j * nbStrikes + i], priceAdjointSabr.getDerivative(j), 1e-10);
+          assertEquals(adjointSabr[j * nbStrikes + i], derivativesSabr[j * nbStrikes + i]);
+        }
+      }
+    }
+  }
+
+  public void priceBatch_buffer() {
+    double[] strikes = new double[] {0.001, FORWARD, 0.12};
+    int nbStrikes = strikes.length;
+    double[] volatilityD = new double[SABR_EXTRAPOLATION.volatilityDerivativeCount()];
+    assertEquals(volatilityD.length, 6);
+    double[] prices = new double[nbStrikes];
+    double[] derivativesForward = new double[nbStrikes];
+    double[] derivativesSabr = new double[4 * nbStrikes];
+    double[] pricesExpected = new double[nbStrikes];
+    double[] derivativesForwardExpected = new double[nbStrikes];
+    double[] derivativesSabrExpected = new double[4 * nbStrikes];
+    SABR_EXTRAPOLATION.priceDerivativeForward(strikes, PutCall.CALL, prices, derivativesForward, volatilityD);
+    SABR_EXTRAPOLATION.priceDerivativeForward(strikes, PutCall.CALL, pricesExpected, derivativesForwardExpected);
+    assertEquals(prices, pricesExpected);
+    assertEquals(derivativesForward, derivativesForwardExpected);
+    SABR_EXTRAPOLATION.priceAdjointSabr(strikes, PutCall.PUT, prices, derivativesSabr, volatilityD);
+    SABR_EXTRAPOLATION.priceAdjointSabr(strikes, PutCall.PUT, pricesExpected, derivativesSabrExpected);
+    assertEquals(prices, pricesExpected);
+    assertEquals(derivativesSabr, derivativesSabrExpected);
+    assertThrowsIllegalArg(() -> SABR_EXTRAPOLATION.priceAdjointSabr(
+        strikes, PutCall.PUT, prices, derivativesSabr, new double[5]));
+  }
+
 }
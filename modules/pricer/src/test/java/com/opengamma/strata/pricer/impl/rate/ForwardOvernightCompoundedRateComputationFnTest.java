@@ -22,6 +22,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -958,6 +959,47 @@ public class ForwardOvernightCompoundedRateComputationFnTest {
         PricingException.class);
   }
 
+  /** Long period with all fixings in the past. Checking against the compounding of each fixing. */
+  public void rateFedFund0CutOffLongPeriodPast() {
+    LocalDate startDate = date(2014, 1, 8);
+    LocalDate endDate = date(2015, 1, 8);
+    LocalDate valuationDate = date(2015, 2, 2);
+    HolidayCalendar calendar = REF_DATA.getValue(USD_FED_FUND.getFixingCalendar());
+    OvernightCompoundedRateComputation ro =
+        OvernightCompoundedRateComputation.of(USD_FED_FUND, startDate, endDate, 0, REF_DATA);
+    LocalDateDoubleTimeSeriesBuilder tsb = LocalDateDoubleTimeSeries.builder();
+    double investmentFactor = 1.0;
+    double afTotal = 0.0;
+    int i = 0;
+    for (LocalDate fixing = startDate; fixing.isBefore(endDate); fixing = calendar.next(fixing)) {
+      double rate = 0.0010 + 0.00001 * i++;
+      tsb.put(fixing, rate);
+      LocalDate endPeriod = USD_FED_FUND.calculateMaturityFromEffective(fixing, REF_DATA);
+      double af = USD_FED_FUND.getDayCount().yearFraction(fixing, endPeriod);
+      afTotal += af;
+      investmentFactor *= 1.0d + af * rate;
+    }
+    tsb.put(date(2014, 7, 5), 0.05); // non-business day ignored
+    OvernightIndexRates mockRates = mock(OvernightIndexRates.class);
+    when(mockRates.getIndex()).thenReturn(USD_FED_FUND);
+    when(mockRates.getValuationDate()).thenReturn(valuationDate);
+    when(mockRates.getFixings()).thenReturn(tsb.build());
+    SimpleRatesProvider simpleProv = new SimpleRatesProvider(valuationDate, mockRates);
+    double rateExpected = (investmentFactor - 1.0d) / afTotal;
+    double rateComputed = OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, simpleProv);
+    assertEquals(rateComputed, rateExpected, TOLERANCE_RATE);
+    // missing fixing in the middle of the period
+    OvernightIndexRates mockRatesMissing = mock(OvernightIndexRates.class);
+    when(mockRatesMissing.getIndex()).thenReturn(USD_FED_FUND);
+    when(mockRatesMissing.getValuationDate()).thenReturn(valuationDate);
+    when(mockRatesMissing.getFixings()).thenReturn(
+        tsb.build().filter((fixingDate, value) -> !fixingDate.equals(date(2014, 7, 7))));
+    SimpleRatesProvider simpleProvMissing = new SimpleRatesProvider(valuationDate, mockRatesMissing);
+    assertThrows(
+        () -> OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, simpleProvMissing),
+        PricingException.class);
+  }
+
   //-------------------------------------------------------------------------
   private static final CurveInterpolator INTERPOLATOR = CurveInterpolators.DOUBLE_QUADRATIC;
   private static final LocalDateDoubleTimeSeries TIME_SERIES;
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate;
+
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
+
+/**
+ * Test {@link OvernightFixingProducts}.
+ */
+@Test
+public class OvernightFixingProductsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final OvernightCompoundedRateComputation COMPUTATION =
+      OvernightCompoundedRateComputation.of(USD_FED_FUND, date(2015, 1, 8), date(2015, 1, 15), 0, REF_DATA);
+  private static final LocalDate[] FIXING_DATES = new LocalDate[] {
+      date(2015, 1, 7),
+      date(2015, 1, 8),
+      date(2015, 1, 9),
+      date(2015, 1, 12),
+      date(2015, 1, 13),
+      date(2015, 1, 14),
+      date(2015, 1, 15)};
+  private static final double[] FIXING_RATES = {0.0012, 0.0023, 0.0034, 0.0045, 0.0056, 0.0067, 0.0078};
+  private static final LocalDateDoubleTimeSeries FIXINGS;
+  static {
+    LocalDateDoubleTimeSeries fixings = LocalDateDoubleTimeSeries.empty();
+    for (int i = 0; i < FIXING_DATES.length; i++) {
+      fixings = fixings.toBuilder().put(FIXING_DATES[i], FIXING_RATES[i]).build();
+    }
+    FIXINGS = fixings;
+  }
+  private static final double TOLERANCE = 1.0E-14;
+
+  //-------------------------------------------------------------------------
+  public void test_compositionFactor() {
+    OvernightFixingProducts test = OvernightFixingProducts.of(FIXINGS, COMPUTATION);
+    for (int start = 0; start < FIXING_DATES.length; start++) {
+      double expected = 1d;
+      for (int end = start + 1; end < FIXING_DATES.length; end++) {
+        LocalDate maturityDate = COMPUTATION.calculateMaturityFromEffective(FIXING_DATES[end - 1]);
+        double af = USD_FED_FUND.getDayCount().yearFraction(FIXING_DATES[end - 1], maturityDate);
+        expected *= 1d + af * FIXING_RATES[end - 1];
+        OptionalDouble computed = test.compositionFactor(FIXING_DATES[start], FIXING_DATES[end]);
+        assertEquals(computed.getAsDouble(), expected, TOLERANCE);
+      }
+    }
+    assertEquals(test.compositionFactor(FIXING_DATES[2], FIXING_DATES[2]), OptionalDouble.of(1d));
+  }
+
+  public void test_compositionFactor_missingFixing() {
+    LocalDateDoubleTimeSeries fixings = FIXINGS.filter((date, value) -> !date.equals(FIXING_DATES[3]));
+    OvernightFixingProducts test = OvernightFixingProducts.of(fixings, COMPUTATION);
+    assertTrue(test.compositionFactor(FIXING_DATES[0], FIXING_DATES[3]).isPresent());
+    assertFalse(test.compositionFactor(FIXING_DATES[0], FIXING_DATES[4]).isPresent());
+    assertFalse(test.compositionFactor(FIXING_DATES[3], FIXING_DATES[5]).isPresent());
+    assertTrue(test.compositionFactor(FIXING_DATES[4], FIXING_DATES[6]).isPresent());
+    // range extending beyond the time-series
+    assertFalse(test.compositionFactor(FIXING_DATES[4], date(2015, 1, 20)).isPresent());
+    assertFalse(test.compositionFactor(date(2015, 1, 6), FIXING_DATES[2]).isPresent());
+  }
+
+  public void test_compositionFactor_nonBusinessDay() {
+    LocalDateDoubleTimeSeries fixings = FIXINGS.toBuilder().put(date(2015, 1, 10), 0.05).build();
+    OvernightFixingProducts test = OvernightFixingProducts.of(fixings, COMPUTATION);
+    OvernightFixingProducts expected = OvernightFixingProducts.of(FIXINGS, COMPUTATION);
+    assertEquals(
+        test.compositionFactor(FIXING_DATES[0], FIXING_DATES[6]),
+        expected.compositionFactor(FIXING_DATES[0], FIXING_DATES[6]));
+  }
+
+  public void test_isCompatible() {
+    OvernightFixingProducts test = OvernightFixingProducts.of(FIXINGS, COMPUTATION);
+    assertTrue(test.isCompatible(COMPUTATION));
+    assertFalse(test.isCompatible(
+        OvernightCompoundedRateComputation.of(GBP_SONIA, date(2015, 1, 8), date(2015, 1, 15), 0, REF_DATA)));
+  }
+
+}
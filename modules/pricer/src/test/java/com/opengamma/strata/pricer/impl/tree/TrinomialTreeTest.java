@@ -82,4 +82,80 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test the batch methods against the single option methods.
+   */
+  public void test_batch() {
+    int nSteps = 47;
+    double interest = 0.03;
+    double dividend = 0.01;
+    double vol = 0.2;
+    RecombiningTrinomialTreeData treeData = treeData(nSteps, vol, interest, dividend);
+    List<OptionFunction> functions = new ArrayList<>();
+    for (double strike : STRIKES) {
+      functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps));
+      functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.PUT, nSteps));
+    }
+    DoubleArray prices = TRINOMIAL_TREE.optionPrice(functions, treeData);
+    List<ValueDerivatives> priceDerivs = TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData);
+    assertEquals(prices.size(), functions.size());
+    assertEquals(priceDerivs.size(), functions.size());
+    for (int i = 0; i < functions.size(); ++i) {
+      ValueDerivatives expected = TRINOMIAL_TREE.optionPriceAdjoint(functions.get(i), treeData);
+      assertEquals(prices.get(i), TRINOMIAL_TREE.optionPrice(functions.get(i), treeData));
+      assertEquals(priceDerivs.get(i), expected);
+    }
+  }
+
+  /**
+   * Test the default buffer methods of {@code OptionFunction}, delegating to the {@code DoubleArray} methods.
+   */
+  public void test_defaultBufferMethods() {
+    int nSteps = 31;
+    RecombiningTrinomialTreeData treeData = treeData(nSteps, 0.15, 0.02, 0d);
+    for (double strike : STRIKES) {
+      EuropeanVanillaOptionFunction vanilla = EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.PUT, nSteps);
+      OptionFunction function = new OptionFunction() {
+        @Override
+        public double getTimeToExpiry() {
+          return vanilla.getTimeToExpiry();
+        }
+
+        @Override
+        public int getNumberOfSteps() {
+          return vanilla.getNumberOfSteps();
+        }
+
+        @Override
+        public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+          return vanilla.getPayoffAtExpiryTrinomial(stateValue);
+        }
+      };
+      assertEquals(TRINOMIAL_TREE.optionPriceAdjoint(function, treeData),
+          TRINOMIAL_TREE.optionPriceAdjoint(vanilla, treeData));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static RecombiningTrinomialTreeData treeData(int nSteps, double vol, double interest, double dividend) {
+    double dt = TIME / nSteps;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(vol, interest - dividend, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    return RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+  }
+
 }
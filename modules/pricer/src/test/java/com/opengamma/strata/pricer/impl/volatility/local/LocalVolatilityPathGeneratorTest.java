@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.volatility.local;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.surface.ConstantSurface;
+import com.opengamma.strata.math.impl.montecarlo.MonteCarloEngine;
+import com.opengamma.strata.math.impl.montecarlo.MonteCarloResult;
+import com.opengamma.strata.math.impl.montecarlo.PathPayoff;
+import com.opengamma.strata.math.impl.montecarlo.PseudoRandomNormalVariateGenerator;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Test {@link LocalVolatilityPathGenerator}.
+ */
+@Test
+public class LocalVolatilityPathGeneratorTest {
+
+  private static final double SPOT = 1.4;
+  private static final double VOLATILITY = 0.2;
+  private static final double STRIKE = 1.45;
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 0.75, 1d);
+  private static final Function<Double, Double> INTEREST_RATE = t -> 0.02 + 0.002 * t;
+  private static final Function<Double, Double> DIVIDEND_RATE = t -> 0.01;
+  private static final LocalVolatilityPathGenerator GENERATOR = LocalVolatilityPathGenerator.of(
+      SPOT, TIMES, INTEREST_RATE, DIVIDEND_RATE, ConstantSurface.of("localVol", VOLATILITY));
+  private static final int N_TIMES = TIMES.size();
+  private static final double EXPIRY = TIMES.get(N_TIMES - 1);
+
+  public void test_of() {
+    assertEquals(GENERATOR.getSpot(), SPOT);
+    assertEquals(GENERATOR.getTimes(), TIMES);
+    assertEquals(GENERATOR.getLocalVolatility(), ConstantSurface.of("localVol", VOLATILITY));
+    assertEquals(GENERATOR.getVariateDimension(), N_TIMES);
+    assertEquals(GENERATOR.getPathSize(), N_TIMES);
+    assertEquals(GENERATOR.discountFactor(1), Math.exp(-INTEREST_RATE.apply(0.5) * 0.5), 1.0e-15);
+  }
+
+  public void test_generate() {
+    double[] variates = new double[N_TIMES];
+    double[] paths = new double[N_TIMES];
+    GENERATOR.generate(variates, paths, 0);
+    // forward without diffusion, corrected by the convexity
+    for (int i = 0; i < N_TIMES; i++) {
+      double time = TIMES.get(i);
+      double forward = SPOT * Math.exp((INTEREST_RATE.apply(time) - DIVIDEND_RATE.apply(time)) * time);
+      assertEquals(paths[i], forward * Math.exp(-0.5 * VOLATILITY * VOLATILITY * time), 1.0e-12);
+    }
+  }
+
+  public void test_black() {
+    double discountFactor = GENERATOR.discountFactor(N_TIMES - 1);
+    double forward = SPOT * Math.exp((INTEREST_RATE.apply(EXPIRY) - DIVIDEND_RATE.apply(EXPIRY)) * EXPIRY);
+    // geometric average of the spot at the times
+    double meanLog = 0d;
+    double varianceLog = 0d;
+    for (int i = 0; i < N_TIMES; i++) {
+      double time = TIMES.get(i);
+      meanLog += (Math.log(SPOT * Math.exp((INTEREST_RATE.apply(time) - DIVIDEND_RATE.apply(time)) * time)) -
+          0.5 * VOLATILITY * VOLATILITY * time) / N_TIMES;
+      for (int j = 0; j < N_TIMES; j++) {
+        varianceLog += VOLATILITY * VOLATILITY * Math.min(time, TIMES.get(j)) / (N_TIMES * N_TIMES);
+      }
+    }
+    double geometricForward = Math.exp(meanLog + 0.5 * varianceLog);
+    double[] expected = {
+        discountFactor * BlackFormulaRepository.price(forward, STRIKE, EXPIRY, VOLATILITY, true),
+        discountFactor * BlackFormulaRepository.price(
+            geometricForward, STRIKE, EXPIRY, Math.sqrt(varianceLog / EXPIRY), true)};
+    List<PathPayoff> payoffs = ImmutableList.of(
+        (paths, offset) -> discountFactor * Math.max(paths[offset + N_TIMES - 1] - STRIKE, 0d),
+        (paths, offset) -> {
+          double sumLog = 0d;
+          for (int i = 0; i < N_TIMES; i++) {
+            sumLog += Math.log(paths[offset + i]);
+          }
+          return discountFactor * Math.max(Math.exp(sumLog / N_TIMES) - STRIKE, 0d);
+        });
+    List<MonteCarloResult> results = MonteCarloEngine.of(200_000, true)
+        .price(GENERATOR, PseudoRandomNormalVariateGenerator.of(N_TIMES, 42L), payoffs);
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(results.get(i).getMean(), expected[i], 4d * results.get(i).getStandardError());
+    }
+  }
+
+  public void test_invalid() {
+    ConstantSurface surface = ConstantSurface.of("localVol", VOLATILITY);
+    assertThrowsIllegalArg(() -> LocalVolatilityPathGenerator.of(
+        0d, TIMES, INTEREST_RATE, DIVIDEND_RATE, surface));
+    assertThrowsIllegalArg(() -> LocalVolatilityPathGenerator.of(
+        SPOT, DoubleArray.of(0.5, 0.5), INTEREST_RATE, DIVIDEND_RATE, surface));
+    assertThrowsIllegalArg(() -> LocalVolatilityPathGenerator.of(
+        SPOT, TIMES, INTEREST_RATE, DIVIDEND_RATE, null));
+  }
+
+}
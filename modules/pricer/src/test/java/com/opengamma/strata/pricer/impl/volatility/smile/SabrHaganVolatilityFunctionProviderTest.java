@@ -561,6 +561,40 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     throw new MathException("enum not found");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_volatilityAdjoint_buffer() {
+    // includes at-the-money, a strike below the cut-off and deep out-of-the-money strikes
+    double[] strikes = new double[] {0.0, 0.01, STRIKE_ITM, F, F + 1e-9, STRIKE_OTM, 0.2};
+    int nbStrikes = strikes.length;
+    SabrFormulaData[] data = new SabrFormulaData[] {
+        DATA, DATA.withAlpha(0d), DATA.withBeta(0d), DATA.withBeta(1d), DATA.withRho(0.95)};
+    for (SabrFormulaData sabr : data) {
+      double[] volatilities = new double[nbStrikes];
+      double[] derivatives = new double[6 * nbStrikes];
+      FUNCTION.volatilityAdjoint(F, strikes, T, sabr, volatilities, derivatives);
+      double[] volatilitiesOnly = new double[nbStrikes];
+      FUNCTION.volatility(F, strikes, T, sabr, volatilitiesOnly);
+      double[] buffer = new double[6];
+      for (int i = 0; i < nbStrikes; i++) {
+        ValueDerivatives expected = FUNCTION.volatilityAdjoint(F, strikes[i], T, sabr);
+        assertEquals(volatilities[i], expected.getValue());
+        assertEquals(volatilitiesOnly[i], FUNCTION.volatility(F, strikes[i], T, sabr));
+        assertEquals(FUNCTION.volatilityAdjoint(F, strikes[i], T, sabr, buffer), expected.getValue());
+        for (int j = 0; j < 6; j++) {
+          assertEquals(derivatives[j * nbStrikes + i], expected.getDerivative(j));
+          assertEquals(buffer[j], expected.getDerivative(j));
+        }
+      }
+    }
+  }
+
+  public void test_volatilityAdjoint_buffer_invalid() {
+    assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(F, STRIKE_ITM, T, DATA, new double[5]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(
+        F, new double[] {STRIKE_ITM, STRIKE_OTM}, T, DATA, new double[2], new double[11]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatility(F, new double[] {STRIKE_ITM, STRIKE_OTM}, T, DATA, new double[1]));
+  }
+
   private Function<SabrFormulaData, Double> getVolatilityFunction(EuropeanVanillaOption option, double forward) {
     return new Function<SabrFormulaData, Double>() {
       @Override
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_SWAP_LEG_REC_GBP_MULTI;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.GBP_FIXED_1Y_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.ColumnarSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+
+/**
+ * Test {@link DiscountingColumnarSwapLegPricer}.
+ */
+@Test
+public class DiscountingColumnarSwapLegPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_GBP = RatesProviderDataSets.MULTI_GBP;
+  private static final double NOTIONAL = 1_000_000d;
+  private static final double TOLERANCE_PV = 1.0E-8;
+  private static final double TOLERANCE_RATE = 1.0E-12;
+
+  private static final ResolvedSwap SWAP = GBP_FIXED_1Y_LIBOR_3M
+      .createTrade(RATES_GBP.getValuationDate(), Period.ofMonths(1), TENOR_10Y, BUY, NOTIONAL, 0.015, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+  private static final ResolvedSwap SWAP_SEASONED = GBP_FIXED_1Y_LIBOR_3M
+      .createTrade(date(2012, 1, 20), TENOR_10Y, BUY, NOTIONAL, 0.015, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+  private static final ResolvedSwapLeg FIXED_LEG = SWAP.getLegs(SwapLegType.FIXED).get(0);
+  private static final ResolvedSwapLeg IBOR_LEG = SWAP.getLegs(SwapLegType.IBOR).get(0);
+  private static final ResolvedSwapLeg FIXED_LEG_SEASONED = SWAP_SEASONED.getLegs(SwapLegType.FIXED).get(0);
+  private static final ResolvedSwapLeg[] LEGS =
+      new ResolvedSwapLeg[] {FIXED_LEG, IBOR_LEG, FIXED_LEG_SEASONED, IBOR_SWAP_LEG_REC_GBP_MULTI};
+
+  private static final DiscountingColumnarSwapLegPricer PRICER = DiscountingColumnarSwapLegPricer.DEFAULT;
+  private static final DiscountingSwapLegPricer PRICER_LEG = DiscountingSwapLegPricer.DEFAULT;
+  private static final DiscountingSwapLegPricer PRICER_LEG_COLUMNAR = new DiscountingSwapLegPricer(
+      SwapPaymentPeriodPricer.standard(), SwapPaymentEventPricer.standard(), PRICER);
+  private static final DiscountingSwapProductPricer PRICER_SWAP = DiscountingSwapProductPricer.DEFAULT;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    for (ResolvedSwapLeg leg : LEGS) {
+      ColumnarSwapLeg columnar = leg.findColumnarForm().get();
+      CurrencyAmount computed = PRICER.presentValue(columnar, RATES_GBP);
+      CurrencyAmount expected = PRICER_LEG.presentValue(leg, RATES_GBP);
+      assertEquals(computed.getCurrency(), expected.getCurrency());
+      assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE_PV);
+      assertEquals(PRICER_LEG_COLUMNAR.presentValue(leg, RATES_GBP).getAmount(), expected.getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  public void test_forecastValue() {
+    for (ResolvedSwapLeg leg : LEGS) {
+      ColumnarSwapLeg columnar = leg.findColumnarForm().get();
+      CurrencyAmount computed = PRICER.forecastValue(columnar, RATES_GBP);
+      CurrencyAmount expected = PRICER_LEG.forecastValue(leg, RATES_GBP);
+      assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE_PV);
+      assertEquals(PRICER_LEG_COLUMNAR.forecastValue(leg, RATES_GBP).getAmount(), expected.getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  public void test_pvbp() {
+    for (ResolvedSwapLeg leg : new ResolvedSwapLeg[] {FIXED_LEG, IBOR_LEG}) {
+      ColumnarSwapLeg columnar = leg.findColumnarForm().get();
+      assertEquals(PRICER.pvbp(columnar, RATES_GBP), PRICER_LEG.pvbp(leg, RATES_GBP), TOLERANCE_PV);
+      assertEquals(PRICER_LEG_COLUMNAR.pvbp(leg, RATES_GBP), PRICER_LEG.pvbp(leg, RATES_GBP), TOLERANCE_PV);
+    }
+  }
+
+  public void test_parRate() {
+    double computed = PRICER.parRate(
+        FIXED_LEG.findColumnarForm().get(), IBOR_LEG.findColumnarForm().get(), RATES_GBP);
+    double expected = PRICER_SWAP.parRate(SWAP, RATES_GBP);
+    assertEquals(computed, expected, TOLERANCE_RATE);
+    DiscountingSwapProductPricer pricerSwapColumnar = new DiscountingSwapProductPricer(PRICER_LEG_COLUMNAR);
+    assertEquals(pricerSwapColumnar.parRate(SWAP, RATES_GBP), expected, TOLERANCE_RATE);
+  }
+
+  public void test_parRate_differentCurrency() {
+    ResolvedSwap swapUsd = USD_FIXED_6M_LIBOR_3M
+        .createTrade(RATES_GBP.getValuationDate(), TENOR_10Y, BUY, NOTIONAL, 0.015, REF_DATA)
+        .resolve(REF_DATA)
+        .getProduct();
+    ColumnarSwapLeg fixedLegUsd = swapUsd.getLegs(SwapLegType.FIXED).get(0).findColumnarForm().get();
+    assertThrowsIllegalArg(() -> PRICER.parRate(fixedLegUsd, IBOR_LEG.findColumnarForm().get(), RATES_GBP));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValueSensitivity() {
+    for (ResolvedSwapLeg leg : LEGS) {
+      ColumnarSwapLeg columnar = leg.findColumnarForm().get();
+      PointSensitivities computed = PRICER.presentValueSensitivity(columnar, RATES_GBP).build().normalized();
+      PointSensitivities expected = PRICER_LEG.presentValueSensitivity(leg, RATES_GBP).build().normalized();
+      assertTrue(computed.equalWithTolerance(expected, TOLERANCE_PV));
+    }
+  }
+
+  public void test_forecastValueSensitivity() {
+    for (ResolvedSwapLeg leg : new ResolvedSwapLeg[] {FIXED_LEG, IBOR_LEG}) {
+      ColumnarSwapLeg columnar = leg.findColumnarForm().get();
+      PointSensitivities computed = PRICER.forecastValueSensitivity(columnar, RATES_GBP).build().normalized();
+      PointSensitivities expected = PRICER_LEG.forecastValueSensitivity(leg, RATES_GBP).build().normalized();
+      assertTrue(computed.equalWithTolerance(expected, TOLERANCE_PV));
+    }
+  }
+
+  public void test_pvbpSensitivity() {
+    ColumnarSwapLeg columnar = FIXED_LEG.findColumnarForm().get();
+    PointSensitivities computed = PRICER.pvbpSensitivity(columnar, RATES_GBP).build().normalized();
+    PointSensitivities expected = PRICER_LEG.pvbpSensitivity(FIXED_LEG, RATES_GBP).build().normalized();
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_PV));
+  }
+
+  public void test_parRateSensitivity() {
+    PointSensitivities computed = PRICER.parRateSensitivity(
+        FIXED_LEG.findColumnarForm().get(), IBOR_LEG.findColumnarForm().get(), RATES_GBP).build().normalized();
+    PointSensitivities expected = PRICER_SWAP.parRateSensitivity(SWAP, RATES_GBP).build().normalized();
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_RATE));
+  }
+
+}
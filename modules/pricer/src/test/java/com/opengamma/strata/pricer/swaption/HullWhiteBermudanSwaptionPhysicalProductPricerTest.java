@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_6M;
+import static com.opengamma.strata.basics.schedule.Frequency.P12M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static com.opengamma.strata.product.common.PayReceive.PAY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.common.PayReceive;
+import com.opengamma.strata.product.swap.FixedRateCalculation;
+import com.opengamma.strata.product.swap.IborRateCalculation;
+import com.opengamma.strata.product.swap.NotionalSchedule;
+import com.opengamma.strata.product.swap.PaymentSchedule;
+import com.opengamma.strata.product.swap.RateCalculationSwapLeg;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.SwapLeg;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlement;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlementMethod;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+import com.opengamma.strata.product.swaption.SwaptionSettlement;
+
+/**
+ * Test {@link HullWhiteBermudanSwaptionPhysicalProductPricer}.
+ */
+@Test
+public class HullWhiteBermudanSwaptionPhysicalProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final BusinessDayAdjustment BDA_MF = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, CALENDAR);
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final LocalDate END = LocalDate.of(2017, 7, 11);
+  private static final double NOTIONAL = 100_000_000d;
+  private static final double RATE = 0.0175;
+  private static final int NB_EXERCISES = 5;
+  private static final PaymentSchedule PAYMENT_FIXED = PaymentSchedule.builder()
+      .paymentFrequency(P12M)
+      .paymentDateOffset(DaysAdjustment.NONE)
+      .build();
+  private static final PaymentSchedule PAYMENT_IBOR = PaymentSchedule.builder()
+      .paymentFrequency(P6M)
+      .paymentDateOffset(DaysAdjustment.NONE)
+      .build();
+
+  private static final List<ResolvedSwaption> BERMUDAN_REC_LONG = bermudan(RECEIVE, LONG);
+  private static final List<ResolvedSwaption> BERMUDAN_REC_SHORT = bermudan(RECEIVE, SHORT);
+  private static final List<ResolvedSwaption> BERMUDAN_PAY_LONG = bermudan(PAY, LONG);
+
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATES_PROVIDER =
+      HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+
+  private static final HullWhiteBermudanSwaptionPhysicalProductPricer PRICER =
+      HullWhiteBermudanSwaptionPhysicalProductPricer.DEFAULT;
+  private static final HullWhiteSwaptionPhysicalProductPricer PRICER_EUROPEAN =
+      HullWhiteSwaptionPhysicalProductPricer.DEFAULT;
+  private static final double TOL = 1.0e-12;
+  private static final double TOL_GRID = 1.0e-4;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_singleExercise() {
+    for (int i = 0; i < NB_EXERCISES; i++) {
+      for (List<ResolvedSwaption> bermudan : ImmutableList.of(BERMUDAN_REC_LONG, BERMUDAN_PAY_LONG)) {
+        ResolvedSwaption european = bermudan.get(i);
+        CurrencyAmount computed = PRICER.presentValue(ImmutableList.of(european), RATES_PROVIDER, HW_PROVIDER);
+        CurrencyAmount expected = PRICER_EUROPEAN.presentValue(european, RATES_PROVIDER, HW_PROVIDER);
+        assertEquals(computed.getCurrency(), EUR);
+        assertEquals(computed.getAmount(), expected.getAmount(), Math.abs(expected.getAmount()) * TOL_GRID);
+      }
+    }
+  }
+
+  public void test_presentValue_bounds() {
+    double computed = PRICER.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER).getAmount();
+    double maxEuropean = 0d;
+    double sumEuropean = 0d;
+    for (ResolvedSwaption european : BERMUDAN_REC_LONG) {
+      double pv = PRICER_EUROPEAN.presentValue(european, RATES_PROVIDER, HW_PROVIDER).getAmount();
+      maxEuropean = Math.max(maxEuropean, pv);
+      sumEuropean += pv;
+    }
+    assertTrue(computed > maxEuropean);
+    assertTrue(computed < sumEuropean);
+    // more exercise dates, more value
+    double computedLess = PRICER.presentValue(
+        BERMUDAN_REC_LONG.subList(1, NB_EXERCISES), RATES_PROVIDER, HW_PROVIDER).getAmount();
+    assertTrue(computedLess < computed);
+  }
+
+  public void test_presentValue_longShort() {
+    CurrencyAmount computedLong = PRICER.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER);
+    CurrencyAmount computedShort = PRICER.presentValue(BERMUDAN_REC_SHORT, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(computedShort.getAmount(), -computedLong.getAmount(), NOTIONAL * TOL);
+  }
+
+  public void test_presentValue_grid() {
+    HullWhiteBermudanSwaptionPhysicalProductPricer finer =
+        new HullWhiteBermudanSwaptionPhysicalProductPricer(DiscountingPaymentPricer.DEFAULT, 1601, 10d);
+    double computed = PRICER.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER).getAmount();
+    double computedFiner = finer.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER).getAmount();
+    assertEquals(computed, computedFiner, computedFiner * TOL_GRID);
+  }
+
+  public void test_presentValue_expired() {
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteIborFutureDataSet.createHullWhiteProvider(END);
+    ImmutableRatesProvider ratesProvider = HullWhiteIborFutureDataSet.createRatesProvider(END);
+    CurrencyAmount computed = PRICER.presentValue(BERMUDAN_REC_LONG, ratesProvider, hwProvider);
+    assertEquals(computed, CurrencyAmount.zero(EUR));
+    assertEquals(PRICER.exerciseBoundaries(BERMUDAN_REC_LONG, ratesProvider, hwProvider), DoubleArray.EMPTY);
+  }
+
+  public void test_presentValue_partiallyExpired() {
+    LocalDate valuation = BERMUDAN_REC_LONG.get(0).getExpiryDate().plusDays(1);
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteIborFutureDataSet.createHullWhiteProvider(valuation);
+    ImmutableRatesProvider ratesProvider = HullWhiteIborFutureDataSet.createRatesProvider(valuation);
+    CurrencyAmount computed = PRICER.presentValue(BERMUDAN_REC_LONG, ratesProvider, hwProvider);
+    CurrencyAmount expected =
+        PRICER.presentValue(BERMUDAN_REC_LONG.subList(1, NB_EXERCISES), ratesProvider, hwProvider);
+    assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL * TOL);
+  }
+
+  public void test_currencyExposure() {
+    MultiCurrencyAmount computed = PRICER.currencyExposure(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER);
+    CurrencyAmount pv = PRICER.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(computed, MultiCurrencyAmount.of(pv));
+  }
+
+  public void test_exerciseBoundaries() {
+    DoubleArray computed = PRICER.exerciseBoundaries(BERMUDAN_REC_LONG, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(computed.size(), NB_EXERCISES);
+    for (int i = 0; i < NB_EXERCISES; i++) {
+      assertFalse(Double.isNaN(computed.get(i)));
+    }
+    // single exercise: the boundary is where the underlying swap is worth zero
+    DoubleArray computedEuropean = PRICER.exerciseBoundaries(
+        ImmutableList.of(BERMUDAN_REC_LONG.get(NB_EXERCISES - 1)), RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(computedEuropean.size(), 1);
+    assertFalse(Double.isNaN(computedEuropean.get(0)));
+  }
+
+  public void test_validation() {
+    assertThrowsIllegalArg(() -> PRICER.presentValue(ImmutableList.of(), RATES_PROVIDER, HW_PROVIDER));
+    assertThrowsIllegalArg(() -> PRICER.presentValue(
+        ImmutableList.of(BERMUDAN_REC_LONG.get(1), BERMUDAN_REC_LONG.get(0)), RATES_PROVIDER, HW_PROVIDER));
+    assertThrowsIllegalArg(() -> PRICER.presentValue(
+        ImmutableList.of(BERMUDAN_REC_LONG.get(0), BERMUDAN_REC_SHORT.get(1)), RATES_PROVIDER, HW_PROVIDER));
+    ResolvedSwaption otherEnd = swaption(
+        BERMUDAN_REC_LONG.get(1).getExpiryDate(), END.plusYears(1), RECEIVE, LONG, PhysicalSwaptionSettlement.DEFAULT);
+    assertThrowsIllegalArg(() -> PRICER.presentValue(
+        ImmutableList.of(BERMUDAN_REC_LONG.get(0), otherEnd), RATES_PROVIDER, HW_PROVIDER));
+    LocalDate expiry = BERMUDAN_REC_LONG.get(0).getExpiryDate();
+    ResolvedSwaption cash = swaption(
+        expiry, END, RECEIVE, LONG, CashSwaptionSettlement.of(expiry, CashSwaptionSettlementMethod.PAR_YIELD));
+    assertThrowsIllegalArg(() -> PRICER.presentValue(ImmutableList.of(cash), RATES_PROVIDER, HW_PROVIDER));
+    assertThrowsIllegalArg(
+        () -> new HullWhiteBermudanSwaptionPhysicalProductPricer(DiscountingPaymentPricer.DEFAULT, 400, 8d));
+  }
+
+  //-------------------------------------------------------------------------
+  // co-terminal swaptions with yearly exercise dates
+  static List<ResolvedSwaption> bermudan(PayReceive fixedPayReceive, LongShort longShort) {
+    ImmutableList.Builder<ResolvedSwaption> builder = ImmutableList.builder();
+    for (int i = 0; i < NB_EXERCISES; i++) {
+      LocalDate expiry = BDA_MF.adjust(VALUATION.plusYears(i + 1), REF_DATA);
+      builder.add(swaption(expiry, END, fixedPayReceive, longShort, PhysicalSwaptionSettlement.DEFAULT));
+    }
+    return builder.build();
+  }
+
+  // swaption with the underlying swap starting two days after expiry
+  static ResolvedSwaption swaption(
+      LocalDate expiry,
+      LocalDate end,
+      PayReceive fixedPayReceive,
+      LongShort longShort,
+      SwaptionSettlement settlement) {
+
+    LocalDate start = BDA_MF.adjust(CALENDAR.resolve(REF_DATA).shift(expiry, 2), REF_DATA);
+    PeriodicSchedule fixedSchedule = PeriodicSchedule.builder()
+        .startDate(start)
+        .endDate(end)
+        .frequency(P12M)
+        .businessDayAdjustment(BDA_MF)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+    PeriodicSchedule iborSchedule = PeriodicSchedule.builder()
+        .startDate(start)
+        .endDate(end)
+        .frequency(P6M)
+        .businessDayAdjustment(BDA_MF)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+    SwapLeg fixedLeg = RateCalculationSwapLeg.builder()
+        .payReceive(fixedPayReceive)
+        .accrualSchedule(fixedSchedule)
+        .paymentSchedule(PAYMENT_FIXED)
+        .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+        .calculation(FixedRateCalculation.builder().dayCount(THIRTY_U_360).rate(ValueSchedule.of(RATE)).build())
+        .build();
+    SwapLeg iborLeg = RateCalculationSwapLeg.builder()
+        .payReceive(fixedPayReceive.isPay() ? RECEIVE : PAY)
+        .accrualSchedule(iborSchedule)
+        .paymentSchedule(PAYMENT_IBOR)
+        .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+        .calculation(IborRateCalculation.builder()
+            .index(EUR_EURIBOR_6M)
+            .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CALENDAR, BDA_MF))
+            .build())
+        .build();
+    return Swaption.builder()
+        .expiryDate(AdjustableDate.of(expiry))
+        .expiryTime(LocalTime.NOON)
+        .expiryZone(ZoneOffset.UTC)
+        .swaptionSettlement(settlement)
+        .longShort(longShort)
+        .underlying(Swap.of(fixedLeg, iborLeg))
+        .build()
+        .resolve(REF_DATA);
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static com.opengamma.strata.product.common.PayReceive.PAY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+
+/**
+ * Test {@link HullWhiteSwaptionPhysicalCalibrator}.
+ */
+@Test
+public class HullWhiteSwaptionPhysicalCalibratorTest {
+
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final ZonedDateTime VALUATION_DATE_TIME = VALUATION.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC);
+  private static final ImmutableRatesProvider RATES_PROVIDER =
+      HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+  private static final double MEAN_REVERSION = 0.02;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.008, 0.009, 0.0085, 0.0095, 0.010);
+  private static final List<ResolvedSwaption> SWAPTIONS =
+      HullWhiteBermudanSwaptionPhysicalProductPricerTest.bermudan(RECEIVE, LONG);
+
+  private static final HullWhiteSwaptionPhysicalCalibrator CALIBRATOR = HullWhiteSwaptionPhysicalCalibrator.DEFAULT;
+  private static final HullWhiteSwaptionPhysicalProductPricer PRICER = HullWhiteSwaptionPhysicalProductPricer.DEFAULT;
+  private static final double TOL_VOL = 1.0e-7;
+  private static final double TOL_PRICE = 1.0e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_calibrateCoTerminal() {
+    int nSwaptions = SWAPTIONS.size();
+    double[] expiries = new double[nSwaptions - 1];
+    for (int i = 0; i < nSwaptions - 1; i++) {
+      expiries[i] = ACT_ACT_ISDA.yearFraction(VALUATION, SWAPTIONS.get(i).getExpiryDate());
+    }
+    HullWhiteOneFactorPiecewiseConstantParameters parameters =
+        HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, DoubleArray.ofUnsafe(expiries));
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteOneFactorPiecewiseConstantParametersProvider.of(parameters, ACT_ACT_ISDA, VALUATION_DATE_TIME);
+    double[] prices = new double[nSwaptions];
+    for (int i = 0; i < nSwaptions; i++) {
+      prices[i] = PRICER.presentValue(SWAPTIONS.get(i), RATES_PROVIDER, hwProvider).getAmount();
+    }
+    HullWhiteOneFactorPiecewiseConstantParametersProvider computed = CALIBRATOR.calibrateCoTerminal(
+        SWAPTIONS, DoubleArray.ofUnsafe(prices), MEAN_REVERSION, RATES_PROVIDER, ACT_ACT_ISDA, VALUATION_DATE_TIME);
+    assertEquals(computed.getValuationDateTime(), VALUATION_DATE_TIME);
+    assertEquals(computed.getDayCount(), ACT_ACT_ISDA);
+    assertEquals(computed.getParameters().getMeanReversion(), MEAN_REVERSION);
+    assertEquals(computed.getParameters().getVolatilityTime(), parameters.getVolatilityTime());
+    for (int i = 0; i < nSwaptions; i++) {
+      assertEquals(computed.getParameters().getVolatility().get(i), VOLATILITY.get(i), TOL_VOL);
+      double price = PRICER.presentValue(SWAPTIONS.get(i), RATES_PROVIDER, computed).getAmount();
+      assertEquals(price, prices[i], Math.abs(prices[i]) * TOL_PRICE);
+    }
+    // the calibrated model prices the Bermudan swaption above the co-terminal swaptions
+    double bermudan = HullWhiteBermudanSwaptionPhysicalProductPricer.DEFAULT
+        .presentValue(SWAPTIONS, RATES_PROVIDER, computed).getAmount();
+    for (int i = 0; i < nSwaptions; i++) {
+      assertTrue(bermudan > prices[i]);
+    }
+  }
+
+  public void test_calibrateCoTerminal_payerShort() {
+    List<ResolvedSwaption> swaptions = HullWhiteBermudanSwaptionPhysicalProductPricerTest.bermudan(PAY, SHORT);
+    HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider =
+        HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+    int nSwaptions = swaptions.size();
+    double[] prices = new double[nSwaptions];
+    for (int i = 0; i < nSwaptions; i++) {
+      prices[i] = PRICER.presentValue(swaptions.get(i), RATES_PROVIDER, hwProvider).getAmount();
+    }
+    HullWhiteOneFactorPiecewiseConstantParametersProvider computed = CALIBRATOR.calibrateCoTerminal(
+        swaptions, DoubleArray.ofUnsafe(prices), hwProvider.getParameters().getMeanReversion(),
+        RATES_PROVIDER, ACT_ACT_ISDA, VALUATION_DATE_TIME);
+    for (int i = 0; i < nSwaptions; i++) {
+      double price = PRICER.presentValue(swaptions.get(i), RATES_PROVIDER, computed).getAmount();
+      assertEquals(price, prices[i], Math.abs(prices[i]) * TOL_PRICE);
+    }
+  }
+
+  public void test_calibrateCoTerminal_invalid() {
+    DoubleArray prices = DoubleArray.filled(SWAPTIONS.size(), 1_000_000d);
+    assertThrowsIllegalArg(() -> CALIBRATOR.calibrateCoTerminal(
+        SWAPTIONS, DoubleArray.of(1d), MEAN_REVERSION, RATES_PROVIDER, ACT_ACT_ISDA, VALUATION_DATE_TIME));
+    assertThrowsIllegalArg(() -> CALIBRATOR.calibrateCoTerminal(
+        SWAPTIONS, prices, MEAN_REVERSION, RATES_PROVIDER, ACT_ACT_ISDA, VALUATION_DATE_TIME.plusDays(1)));
+    // identical prices imply a decreasing variance after the first expiry
+    assertThrowsIllegalArg(() -> CALIBRATOR.calibrateCoTerminal(
+        SWAPTIONS, DoubleArray.filled(SWAPTIONS.size(), 1d), MEAN_REVERSION, RATES_PROVIDER, ACT_ACT_ISDA,
+        VALUATION_DATE_TIME));
+  }
+
+}
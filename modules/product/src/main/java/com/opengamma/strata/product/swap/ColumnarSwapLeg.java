@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.swap;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+
+/**
+ * A columnar form of a vanilla resolved swap leg, ready for fast pricing.
+ * <p>
+ * The standard form of a leg, {@link ResolvedSwapLeg}, is a list of payment period beans,
+ * each with nested accrual period beans, which are priced by virtual dispatch.
+ * This class holds the same information for the common vanilla case as a set of parallel
+ * primitive arrays, with one row per payment period and one row per payment event.
+ * Pricers can then process the leg in a tight loop.
+ * <p>
+ * A leg can be represented in columnar form only if all of the following hold:
+ * <ul>
+ * <li>every payment period is a {@link RatePaymentPeriod} without FX reset
+ * <li>every payment period has exactly one accrual period, thus no compounding
+ * <li>every rate computation is a {@link FixedRateComputation} or an {@link IborRateComputation}
+ * <li>all Ibor rate computations refer to the same index
+ * <li>every payment event is a {@link NotionalExchange}
+ * </ul>
+ * The columnar form is created the first time it is requested, see {@link ResolvedSwapLeg#findColumnarForm()},
+ * and is then cached by the leg.
+ * <p>
+ * Dates are held as epoch days to allow cheap comparison.
+ * The payment dates are also held as {@code LocalDate}, referring to the instances in the standard form,
+ * as these are needed to query curves.
+ * <p>
+ * This class is immutable and thread-safe, however the accessors do not validate the row index.
+ */
+public final class ColumnarSwapLeg {
+
+  /**
+   * The currency of the leg.
+   */
+  private final Currency currency;
+  /**
+   * The Ibor index, null if the leg has no Ibor rows.
+   */
+  private final IborIndex iborIndex;
+  /**
+   * The payment dates of the periods.
+   */
+  private final LocalDate[] paymentDates;
+  /**
+   * The payment dates of the periods, as epoch days.
+   */
+  private final int[] paymentEpochDays;
+  /**
+   * The accrual start dates of the periods, as epoch days.
+   */
+  private final int[] startEpochDays;
+  /**
+   * The accrual end dates of the periods, as epoch days.
+   */
+  private final int[] endEpochDays;
+  /**
+   * The fixing dates of the periods, as epoch days, the payment date for fixed rows.
+   */
+  private final int[] fixingEpochDays;
+  /**
+   * The year fractions of the periods.
+   */
+  private final double[] yearFractions;
+  /**
+   * The notionals of the periods, signed.
+   */
+  private final double[] notionals;
+  /**
+   * The gearings of the periods.
+   */
+  private final double[] gearings;
+  /**
+   * The spreads of the periods.
+   */
+  private final double[] spreads;
+  /**
+   * The fixed rates of the periods, zero for Ibor rows.
+   */
+  private final double[] fixedRates;
+  /**
+   * The negative rate methods of the periods.
+   */
+  private final NegativeRateMethod[] negativeRateMethods;
+  /**
+   * The Ibor observations of the periods, null for fixed rows.
+   */
+  private final IborIndexObservation[] iborObservations;
+  /**
+   * The payment dates of the events.
+   */
+  private final LocalDate[] eventPaymentDates;
+  /**
+   * The payment dates of the events, as epoch days.
+   */
+  private final int[] eventPaymentEpochDays;
+  /**
+   * The amounts of the events, signed.
+   */
+  private final double[] eventAmounts;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the columnar form of a leg, if the leg is vanilla.
+   * <p>
+   * An empty optional is returned if the leg cannot be represented in columnar form.
+   *
+   * @param leg  the leg
+   * @return the columnar form, empty if the leg is not supported
+   */
+  public static Optional<ColumnarSwapLeg> of(ResolvedSwapLeg leg) {
+    ArgChecker.notNull(leg, "leg");
+    return leg.findColumnarForm();
+  }
+
+  // creates the columnar form from the leg data, returning null if not supported
+  static ColumnarSwapLeg compile(
+      Currency currency,
+      List<SwapPaymentPeriod> paymentPeriods,
+      List<SwapPaymentEvent> paymentEvents) {
+
+    // validate first, so that unsupported legs do not allocate the arrays
+    IborIndex iborIndex = null;
+    for (SwapPaymentPeriod period : paymentPeriods) {
+      if (!(period instanceof RatePaymentPeriod)) {
+        return null;
+      }
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      if (ratePeriod.getFxReset().isPresent() || ratePeriod.getAccrualPeriods().size() != 1) {
+        return null;
+      }
+      RateComputation computation = ratePeriod.getAccrualPeriods().get(0).getRateComputation();
+      if (computation instanceof IborRateComputation) {
+        IborIndex index = ((IborRateComputation) computation).getIndex();
+        if (iborIndex == null) {
+          iborIndex = index;
+        } else if (!iborIndex.equals(index)) {
+          return null;
+        }
+      } else if (!(computation instanceof FixedRateComputation)) {
+        return null;
+      }
+    }
+    for (SwapPaymentEvent event : paymentEvents) {
+      if (!(event instanceof NotionalExchange)) {
+        return null;
+      }
+    }
+    return new ColumnarSwapLeg(currency, iborIndex, paymentPeriods, paymentEvents);
+  }
+
+  // creates an instance from validated periods and events
+  private ColumnarSwapLeg(
+      Currency currency,
+      IborIndex iborIndex,
+      List<SwapPaymentPeriod> paymentPeriods,
+      List<SwapPaymentEvent> paymentEvents) {
+
+    this.currency = currency;
+    this.iborIndex = iborIndex;
+    int periodCount = paymentPeriods.size();
+    this.paymentDates = new LocalDate[periodCount];
+    this.paymentEpochDays = new int[periodCount];
+    this.startEpochDays = new int[periodCount];
+    this.endEpochDays = new int[periodCount];
+    this.fixingEpochDays = new int[periodCount];
+    this.yearFractions = new double[periodCount];
+    this.notionals = new double[periodCount];
+    this.gearings = new double[periodCount];
+    this.spreads = new double[periodCount];
+    this.fixedRates = new double[periodCount];
+    this.negativeRateMethods = new NegativeRateMethod[periodCount];
+    this.iborObservations = new IborIndexObservation[periodCount];
+    for (int i = 0; i < periodCount; i++) {
+      RatePaymentPeriod period = (RatePaymentPeriod) paymentPeriods.get(i);
+      RateAccrualPeriod accrual = period.getAccrualPeriods().get(0);
+      paymentDates[i] = period.getPaymentDate();
+      paymentEpochDays[i] = (int) period.getPaymentDate().toEpochDay();
+      startEpochDays[i] = (int) accrual.getStartDate().toEpochDay();
+      endEpochDays[i] = (int) accrual.getEndDate().toEpochDay();
+      yearFractions[i] = accrual.getYearFraction();
+      notionals[i] = period.getNotional();
+      gearings[i] = accrual.getGearing();
+      spreads[i] = accrual.getSpread();
+      negativeRateMethods[i] = accrual.getNegativeRateMethod();
+      RateComputation computation = accrual.getRateComputation();
+      if (computation instanceof IborRateComputation) {
+        IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+        iborObservations[i] = observation;
+        fixingEpochDays[i] = (int) observation.getFixingDate().toEpochDay();
+      } else {
+        fixedRates[i] = ((FixedRateComputation) computation).getRate();
+        fixingEpochDays[i] = paymentEpochDays[i];
+      }
+    }
+    int eventCount = paymentEvents.size();
+    this.eventPaymentDates = new LocalDate[eventCount];
+    this.eventPaymentEpochDays = new int[eventCount];
+    this.eventAmounts = new double[eventCount];
+    for (int i = 0; i < eventCount; i++) {
+      NotionalExchange event = (NotionalExchange) paymentEvents.get(i);
+      eventPaymentDates[i] = event.getPaymentDate();
+      eventPaymentEpochDays[i] = (int) event.getPaymentDate().toEpochDay();
+      eventAmounts[i] = event.getPaymentAmount().getAmount();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency of the leg.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the Ibor index of the leg, if the leg has any Ibor rows.
+   *
+   * @return the Ibor index, empty if all the periods are fixed
+   */
+  public Optional<IborIndex> getIborIndex() {
+    return Optional.ofNullable(iborIndex);
+  }
+
+  /**
+   * Gets the number of payment periods.
+   *
+   * @return the number of periods
+   */
+  public int getPeriodCount() {
+    return paymentDates.length;
+  }
+
+  /**
+   * Gets the number of payment events.
+   *
+   * @return the number of events
+   */
+  public int getEventCount() {
+    return eventPaymentDates.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the payment date of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the payment date
+   */
+  public LocalDate getPaymentDate(int index) {
+    return paymentDates[index];
+  }
+
+  /**
+   * Gets the payment date of a period, as an epoch day.
+   *
+   * @param index  the zero-based period index
+   * @return the payment date epoch day
+   */
+  public int getPaymentEpochDay(int index) {
+    return paymentEpochDays[index];
+  }
+
+  /**
+   * Gets the accrual start date of a period, as an epoch day.
+   *
+   * @param index  the zero-based period index
+   * @return the start date epoch day
+   */
+  public int getStartEpochDay(int index) {
+    return startEpochDays[index];
+  }
+
+  /**
+   * Gets the accrual end date of a period, as an epoch day.
+   *
+   * @param index  the zero-based period index
+   * @return the end date epoch day
+   */
+  public int getEndEpochDay(int index) {
+    return endEpochDays[index];
+  }
+
+  /**
+   * Gets the fixing date of a period, as an epoch day.
+   * <p>
+   * For fixed rows, the payment date is returned.
+   *
+   * @param index  the zero-based period index
+   * @return the fixing date epoch day
+   */
+  public int getFixingEpochDay(int index) {
+    return fixingEpochDays[index];
+  }
+
+  /**
+   * Gets the year fraction of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the year fraction
+   */
+  public double getYearFraction(int index) {
+    return yearFractions[index];
+  }
+
+  /**
+   * Gets the signed notional of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the notional
+   */
+  public double getNotional(int index) {
+    return notionals[index];
+  }
+
+  /**
+   * Gets the gearing of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the gearing
+   */
+  public double getGearing(int index) {
+    return gearings[index];
+  }
+
+  /**
+   * Gets the spread of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the spread
+   */
+  public double getSpread(int index) {
+    return spreads[index];
+  }
+
+  /**
+   * Checks if a period is fixed.
+   *
+   * @param index  the zero-based period index
+   * @return true if the period is fixed, false if it is based on an Ibor index
+   */
+  public boolean isFixed(int index) {
+    return iborObservations[index] == null;
+  }
+
+  /**
+   * Gets the fixed rate of a period.
+   * <p>
+   * Zero is returned for periods based on an Ibor index.
+   *
+   * @param index  the zero-based period index
+   * @return the fixed rate
+   */
+  public double getFixedRate(int index) {
+    return fixedRates[index];
+  }
+
+  /**
+   * Gets the Ibor observation of a period.
+   * <p>
+   * Null is returned for fixed periods.
+   *
+   * @param index  the zero-based period index
+   * @return the Ibor observation, null for fixed periods
+   */
+  public IborIndexObservation getIborObservation(int index) {
+    return iborObservations[index];
+  }
+
+  /**
+   * Gets the negative rate method of a period.
+   *
+   * @param index  the zero-based period index
+   * @return the negative rate method
+   */
+  public NegativeRateMethod getNegativeRateMethod(int index) {
+    return negativeRateMethods[index];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the payment date of an event.
+   *
+   * @param index  the zero-based event index
+   * @return the payment date
+   */
+  public LocalDate getEventPaymentDate(int index) {
+    return eventPaymentDates[index];
+  }
+
+  /**
+   * Gets the payment date of an event, as an epoch day.
+   *
+   * @param index  the zero-based event index
+   * @return the payment date epoch day
+   */
+  public int getEventPaymentEpochDay(int index) {
+    return eventPaymentEpochDays[index];
+  }
+
+  /**
+   * Gets the signed amount of an event.
+   *
+   * @param index  the zero-based event index
+   * @return the amount
+   */
+  public double getEventAmount(int index) {
+    return eventAmounts[index];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ColumnarSwapLeg[" + currency + ", periods=" + paymentDates.length + ", events=" +
+        eventPaymentDates.length + "]";
+  }
+
+}
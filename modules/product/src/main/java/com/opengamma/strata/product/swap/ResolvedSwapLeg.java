@@ -28,6 +28,8 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -102,6 +104,10 @@ public final class ResolvedSwapLeg
    * The currency of the leg.
    */
   private final transient Currency currency;  // not a property, derived and cached from input data
+  /**
+   * The columnar form of the leg, empty if not supported, compiled on first use.
+   */
+  private final transient Supplier<Optional<ColumnarSwapLeg>> columnarForm;  // not a property, derived lazily
 
   //-------------------------------------------------------------------------
   @ImmutableConstructor
@@ -123,6 +129,7 @@ public final class ResolvedSwapLeg
       throw new IllegalArgumentException("Swap leg must have a single currency, found: " + currencies);
     }
     this.currency = Iterables.getOnlyElement(currencies);
+    this.columnarForm = columnarFormSupplier();
   }
 
   // trusted constructor
@@ -138,6 +145,13 @@ public final class ResolvedSwapLeg
     this.paymentPeriods = ImmutableList.copyOf(paymentPeriods);
     this.paymentEvents = ImmutableList.copyOf(paymentEvents);
     this.currency = currency;
+    this.columnarForm = columnarFormSupplier();
+  }
+
+  // the columnar form is only compiled when requested, as only specific pricers use it
+  private Supplier<Optional<ColumnarSwapLeg>> columnarFormSupplier() {
+    return Suppliers.memoize(
+        () -> Optional.ofNullable(ColumnarSwapLeg.compile(currency, paymentPeriods, paymentEvents)));
   }
 
   // ensure standard constructor is invoked
@@ -181,6 +195,20 @@ public final class ResolvedSwapLeg
     return currency;
   }
 
+  /**
+   * Finds the columnar form of the leg.
+   * <p>
+   * Vanilla fixed and Ibor legs are converted to a columnar form the first time this method is called.
+   * The columnar form holds the period data in primitive arrays, allowing fast pricing.
+   * See {@link ColumnarSwapLeg} for the conditions under which a leg is supported.
+   * If the leg is not supported, an empty optional is returned.
+   * 
+   * @return the columnar form, empty if the leg is not vanilla
+   */
+  public Optional<ColumnarSwapLeg> findColumnarForm() {
+    return columnarForm.get();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Finds the payment period applicable for the specified accrual date.
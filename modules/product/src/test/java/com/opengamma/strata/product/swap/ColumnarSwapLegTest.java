@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.product.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static com.opengamma.strata.product.swap.SwapLegType.IBOR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.schedule.SchedulePeriod;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+
+/**
+ * Test {@link ColumnarSwapLeg}.
+ */
+@Test
+public class ColumnarSwapLegTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate DATE_2014_06_30 = date(2014, 6, 30);
+  private static final LocalDate DATE_2014_09_30 = date(2014, 9, 30);
+  private static final LocalDate DATE_2014_12_30 = date(2014, 12, 30);
+  private static final LocalDate DATE_2014_10_01 = date(2014, 10, 1);
+  private static final LocalDate DATE_2015_01_01 = date(2015, 1, 1);
+  private static final IborRateComputation GBP_LIBOR_3M_2014_06_28 =
+      IborRateComputation.of(GBP_LIBOR_3M, date(2014, 6, 28), REF_DATA);
+  private static final NotionalExchange NOTIONAL_EXCHANGE =
+      NotionalExchange.of(CurrencyAmount.of(GBP, 2000d), DATE_2014_10_01);
+  private static final RateAccrualPeriod RAP1 = RateAccrualPeriod.builder()
+      .startDate(DATE_2014_06_30)
+      .endDate(DATE_2014_09_30)
+      .yearFraction(0.25d)
+      .rateComputation(GBP_LIBOR_3M_2014_06_28)
+      .gearing(1.5d)
+      .spread(0.001d)
+      .build();
+  private static final RateAccrualPeriod RAP2 = RateAccrualPeriod.builder()
+      .startDate(DATE_2014_09_30)
+      .endDate(DATE_2014_12_30)
+      .yearFraction(0.26d)
+      .rateComputation(FixedRateComputation.of(0.015d))
+      .negativeRateMethod(NegativeRateMethod.NOT_NEGATIVE)
+      .build();
+  private static final RatePaymentPeriod RPP1 = RatePaymentPeriod.builder()
+      .paymentDate(DATE_2014_10_01)
+      .accrualPeriods(RAP1)
+      .dayCount(ACT_365F)
+      .currency(GBP)
+      .notional(5000d)
+      .build();
+  private static final RatePaymentPeriod RPP2 = RatePaymentPeriod.builder()
+      .paymentDate(DATE_2015_01_01)
+      .accrualPeriods(RAP2)
+      .dayCount(ACT_365F)
+      .currency(GBP)
+      .notional(6000d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1, RPP2)
+        .paymentEvents(NOTIONAL_EXCHANGE)
+        .build();
+    ColumnarSwapLeg test = ColumnarSwapLeg.of(leg).get();
+    assertEquals(leg.findColumnarForm(), Optional.of(test));
+    assertEquals(test.getCurrency(), GBP);
+    assertEquals(test.getIborIndex(), Optional.of(GBP_LIBOR_3M));
+    assertEquals(test.getPeriodCount(), 2);
+    assertEquals(test.getEventCount(), 1);
+    // Ibor period
+    assertEquals(test.getPaymentDate(0), DATE_2014_10_01);
+    assertEquals(test.getPaymentEpochDay(0), DATE_2014_10_01.toEpochDay());
+    assertEquals(test.getStartEpochDay(0), DATE_2014_06_30.toEpochDay());
+    assertEquals(test.getEndEpochDay(0), DATE_2014_09_30.toEpochDay());
+    assertEquals(test.getFixingEpochDay(0), date(2014, 6, 28).toEpochDay());
+    assertEquals(test.getYearFraction(0), 0.25d);
+    assertEquals(test.getNotional(0), 5000d);
+    assertEquals(test.getGearing(0), 1.5d);
+    assertEquals(test.getSpread(0), 0.001d);
+    assertFalse(test.isFixed(0));
+    assertEquals(test.getFixedRate(0), 0d);
+    assertEquals(test.getIborObservation(0), GBP_LIBOR_3M_2014_06_28.getObservation());
+    assertEquals(test.getNegativeRateMethod(0), NegativeRateMethod.ALLOW_NEGATIVE);
+    // fixed period
+    assertEquals(test.getPaymentDate(1), DATE_2015_01_01);
+    assertEquals(test.getFixingEpochDay(1), DATE_2015_01_01.toEpochDay());
+    assertEquals(test.getYearFraction(1), 0.26d);
+    assertEquals(test.getNotional(1), 6000d);
+    assertTrue(test.isFixed(1));
+    assertEquals(test.getFixedRate(1), 0.015d);
+    assertEquals(test.getIborObservation(1), null);
+    assertEquals(test.getNegativeRateMethod(1), NegativeRateMethod.NOT_NEGATIVE);
+    // event
+    assertEquals(test.getEventPaymentDate(0), DATE_2014_10_01);
+    assertEquals(test.getEventPaymentEpochDay(0), DATE_2014_10_01.toEpochDay());
+    assertEquals(test.getEventAmount(0), 2000d);
+  }
+
+  public void test_of_fixedOnly() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(SwapLegType.FIXED)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP2)
+        .build();
+    ColumnarSwapLeg test = ColumnarSwapLeg.of(leg).get();
+    assertEquals(test.getIborIndex(), Optional.empty());
+    assertEquals(test.getPeriodCount(), 1);
+    assertEquals(test.getEventCount(), 0);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_notSupported_compounding() {
+    RatePaymentPeriod compounded = RPP1.toBuilder()
+        .accrualPeriods(RAP1, RAP1.toBuilder().startDate(DATE_2014_09_30).endDate(DATE_2014_12_30).build())
+        .compoundingMethod(CompoundingMethod.STRAIGHT)
+        .build();
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(compounded)
+        .build();
+    assertEquals(ColumnarSwapLeg.of(leg), Optional.empty());
+  }
+
+  public void test_of_notSupported_mixedIndices() {
+    RateAccrualPeriod rap = RAP1.toBuilder()
+        .rateComputation(IborRateComputation.of(GBP_LIBOR_6M, date(2014, 6, 28), REF_DATA))
+        .build();
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1, RPP2.toBuilder().accrualPeriods(rap).build())
+        .build();
+    assertEquals(ColumnarSwapLeg.of(leg), Optional.empty());
+  }
+
+  public void test_of_notSupported_knownAmount() {
+    Payment payment = Payment.of(GBP, 1000, DATE_2015_01_01);
+    SchedulePeriod schedulePeriod = SchedulePeriod.of(DATE_2014_09_30, DATE_2014_12_30);
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(KnownAmountSwapPaymentPeriod.of(payment, schedulePeriod))
+        .build();
+    assertEquals(ColumnarSwapLeg.of(leg), Optional.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ResolvedSwapLeg leg = ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(RPP1)
+        .build();
+    assertEquals(ColumnarSwapLeg.of(leg).get().toString(), "ColumnarSwapLeg[GBP, periods=1, events=0]");
+  }
+
+}